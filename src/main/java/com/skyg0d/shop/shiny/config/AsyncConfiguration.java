@@ -0,0 +1,76 @@
+package com.skyg0d.shop.shiny.config;
+
+import com.skyg0d.shop.shiny.property.ExportProps;
+import com.skyg0d.shop.shiny.property.OrderExpiryProps;
+import com.skyg0d.shop.shiny.property.ProductImportProps;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfiguration {
+
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("notification-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingExecutor(ExportProps exportProps) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(exportProps.getThreads());
+        executor.setMaxPoolSize(exportProps.getThreads());
+        executor.setThreadNamePrefix("streaming-");
+
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor stripeExecutor(OrderExpiryProps orderExpiryProps) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(orderExpiryProps.getStripeThreads());
+        executor.setMaxPoolSize(orderExpiryProps.getStripeThreads());
+        executor.setQueueCapacity(orderExpiryProps.getBatchSize());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("stripe-");
+
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(ProductImportProps productImportProps) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(productImportProps.getThreads());
+        executor.setMaxPoolSize(productImportProps.getThreads());
+        executor.setThreadNamePrefix("import-");
+
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor importStripeExecutor(ProductImportProps productImportProps) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(productImportProps.getStripeThreads());
+        executor.setMaxPoolSize(productImportProps.getStripeThreads());
+        executor.setQueueCapacity(productImportProps.getBatchSize());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("import-stripe-");
+
+        return executor;
+    }
+
+}
@@ -1,14 +1,34 @@
 package com.skyg0d.shop.shiny.config;
 
 import com.skyg0d.shop.shiny.converter.StringToEnumConverter;
+import com.skyg0d.shop.shiny.property.ExportProps;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor streamingExecutor;
+
+    private final ExportProps exportProps;
+
+    public WebConfiguration(@Qualifier("streamingExecutor") AsyncTaskExecutor streamingExecutor, ExportProps exportProps) {
+        this.streamingExecutor = streamingExecutor;
+        this.exportProps = exportProps;
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new StringToEnumConverter());
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(exportProps.getTimeout().toMillis());
+    }
 }
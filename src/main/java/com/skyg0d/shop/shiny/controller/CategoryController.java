@@ -6,7 +6,9 @@ import com.skyg0d.shop.shiny.payload.request.CreateCategoryRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceCategoryRequest;
 import com.skyg0d.shop.shiny.payload.response.CategoryResponse;
 import com.skyg0d.shop.shiny.payload.search.CategoryParameterSearch;
+import com.skyg0d.shop.shiny.service.CatalogVersionService;
 import com.skyg0d.shop.shiny.service.CategoryService;
+import com.skyg0d.shop.shiny.util.HttpUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -28,25 +31,32 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    private final CatalogVersionService catalogVersionService;
+
     @GetMapping
     @Operation(summary = "Returns all categories with pagination", tags = "Categories")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successful"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Page<CategoryResponse>> listAll(@ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(categoryService.listAll(pageable));
+    public ResponseEntity<Page<CategoryResponse>> listAll(@ParameterObject Pageable pageable, WebRequest request) {
+        String eTag = HttpUtils.eTag(catalogVersionService.categories());
+
+        return HttpUtils.conditionalGet(request, eTag, () -> categoryService.listAll(pageable));
     }
 
     @GetMapping("/{slug}")
     @Operation(summary = "Returns category by slug", tags = "Categories")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successful"),
+            @ApiResponse(responseCode = "304", description = "When category has not changed since the given ETag"),
             @ApiResponse(responseCode = "400", description = "When category not found"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<CategoryResponse> findBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(categoryService.findBySlugMapped(slug));
+    public ResponseEntity<CategoryResponse> findBySlug(@PathVariable String slug, WebRequest request) {
+        String eTag = HttpUtils.eTag(slug, categoryService.findUpdatedAtBySlug(slug).orElse(null));
+
+        return HttpUtils.conditionalGet(request, eTag, () -> categoryService.findBySlugMapped(slug));
     }
 
     @RequestMapping(value = "/{slug}", method = RequestMethod.HEAD)
@@ -71,8 +81,10 @@ public class CategoryController {
             @ApiResponse(responseCode = "200", description = "Successful"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Page<CategoryResponse>> search(@ParameterObject CategoryParameterSearch search, @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(categoryService.search(search, pageable));
+    public ResponseEntity<Page<CategoryResponse>> search(@ParameterObject CategoryParameterSearch search, @ParameterObject Pageable pageable, WebRequest request) {
+        String eTag = HttpUtils.eTag(catalogVersionService.categories());
+
+        return HttpUtils.conditionalGet(request, eTag, () -> categoryService.search(search, pageable));
     }
 
     @PostMapping
@@ -2,11 +2,16 @@ package com.skyg0d.shop.shiny.controller;
 
 import com.skyg0d.shop.shiny.annotations.IsAdmin;
 import com.skyg0d.shop.shiny.annotations.IsStaff;
+import com.skyg0d.shop.shiny.model.EDataFormat;
 import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.payload.request.ChangeOrdersStatusRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderRequest;
+import com.skyg0d.shop.shiny.payload.response.ChangeOrdersStatusResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatsResponse;
 import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
 import com.skyg0d.shop.shiny.security.service.UserDetailsImpl;
+import com.skyg0d.shop.shiny.service.OrderExportService;
 import com.skyg0d.shop.shiny.service.OrderService;
 import com.skyg0d.shop.shiny.util.AuthUtils;
 import com.stripe.exception.StripeException;
@@ -17,12 +22,17 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -31,6 +41,7 @@ import javax.validation.Valid;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
     private final AuthUtils authUtils;
 
     @GetMapping
@@ -63,6 +74,39 @@ public class OrderController {
         return ResponseEntity.ok(orderService.listAllByUser(pageable, userDetails.getEmail()));
     }
 
+    @GetMapping("/stats")
+    @IsAdmin
+    @Operation(summary = "Returns orders count, revenue and units per day and status, defaults to the last year", tags = "Orders")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successful"),
+            @ApiResponse(responseCode = "400", description = "When from is after to"),
+            @ApiResponse(responseCode = "401", description = "When not authorized"),
+            @ApiResponse(responseCode = "403", description = "When forbidden"),
+            @ApiResponse(responseCode = "500", description = "When server error")
+    })
+    public ResponseEntity<OrderStatsResponse> stats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) EOrderStatus status
+    ) {
+        return ResponseEntity.ok(orderService.stats(from, to, status));
+    }
+
+    @PostMapping("/stats/rebuild")
+    @IsAdmin
+    @Operation(summary = "Rebuilds the orders stats from the orders table", tags = "Orders")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Successful"),
+            @ApiResponse(responseCode = "401", description = "When not authorized"),
+            @ApiResponse(responseCode = "403", description = "When forbidden"),
+            @ApiResponse(responseCode = "500", description = "When server error")
+    })
+    public ResponseEntity<Void> rebuildStats() {
+        orderService.rebuildStats();
+
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Returns order by id", tags = "Orders")
     @ApiResponses({
@@ -87,6 +131,23 @@ public class OrderController {
         return ResponseEntity.ok(orderService.search(search, pageable));
     }
 
+    @GetMapping("/export")
+    @IsAdmin
+    @Operation(summary = "Streams all searched orders as CSV or NDJSON", tags = "Orders")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successful"),
+            @ApiResponse(responseCode = "401", description = "When not authorized"),
+            @ApiResponse(responseCode = "403", description = "When forbidden"),
+            @ApiResponse(responseCode = "500", description = "When server error")
+    })
+    public ResponseEntity<StreamingResponseBody> export(@ParameterObject OrderParameterSearch search, @RequestParam(defaultValue = "CSV") EDataFormat format) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders." + format.getExtension())
+                .body((outputStream) -> orderExportService.export(search, format, outputStream));
+    }
+
     @GetMapping("/my/search")
     @Operation(summary = "Returns all searched orders of an user with pagination", tags = "Orders")
     @ApiResponses({
@@ -108,10 +169,14 @@ public class OrderController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successful"),
             @ApiResponse(responseCode = "401", description = "When not authorized"),
+            @ApiResponse(responseCode = "409", description = "When idempotency key is in use or was used with a different request"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<OrderResponse> create(@RequestBody @Valid CreateOrderRequest request) throws StripeException {
-        return new ResponseEntity<>(orderService.create(request, authUtils.getUserDetails().getEmail()), HttpStatus.CREATED);
+    public ResponseEntity<OrderResponse> create(
+            @RequestBody @Valid CreateOrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) throws StripeException {
+        return new ResponseEntity<>(orderService.create(request, authUtils.getUserDetails().getEmail(), idempotencyKey), HttpStatus.CREATED);
     }
 
     @PatchMapping("/{id}/cancel")
@@ -126,6 +191,20 @@ public class OrderController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @PatchMapping("/status")
+    @IsAdmin
+    @Operation(summary = "Updates the status of many orders at once, reporting the result of each one", tags = "Orders")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successful"),
+            @ApiResponse(responseCode = "400", description = "When status is not SHIPPED, ON_THE_WAY or DELIVERED"),
+            @ApiResponse(responseCode = "401", description = "When not authorized"),
+            @ApiResponse(responseCode = "403", description = "When forbidden"),
+            @ApiResponse(responseCode = "500", description = "When server error")
+    })
+    public ResponseEntity<ChangeOrdersStatusResponse> bulkChangeStatus(@RequestBody @Valid ChangeOrdersStatusRequest request) {
+        return ResponseEntity.ok(orderService.bulkChangeStatus(request));
+    }
+
     @PatchMapping("/{id}/ship")
     @IsAdmin
     @Operation(summary = "Updates order status to shipped", tags = "Orders")
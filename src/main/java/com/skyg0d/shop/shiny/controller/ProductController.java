@@ -3,45 +3,77 @@ package com.skyg0d.shop.shiny.controller;
 import com.skyg0d.shop.shiny.annotations.IsAdmin;
 import com.skyg0d.shop.shiny.annotations.IsStaff;
 import com.skyg0d.shop.shiny.exception.SlugAlreadyExistsException;
+import com.skyg0d.shop.shiny.model.EDataFormat;
 import com.skyg0d.shop.shiny.payload.ApplyDiscountParams;
 import com.skyg0d.shop.shiny.payload.request.ApplyDiscountRequest;
 import com.skyg0d.shop.shiny.payload.request.ChangeAmountRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceProductRequest;
 import com.skyg0d.shop.shiny.payload.response.AdminProductResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductSearchResponse;
 import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
 import com.skyg0d.shop.shiny.payload.search.ProductParametersSearch;
+import com.skyg0d.shop.shiny.property.ProductImportProps;
+import com.skyg0d.shop.shiny.service.CatalogVersionService;
+import com.skyg0d.shop.shiny.service.ProductImportService;
 import com.skyg0d.shop.shiny.service.ProductService;
+import com.skyg0d.shop.shiny.util.HttpUtils;
+import com.skyg0d.shop.shiny.wrapper.EmitterOutputStream;
 import com.stripe.exception.StripeException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import lombok.RequiredArgsConstructor;
 import org.springdoc.api.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/products")
-@RequiredArgsConstructor
 public class ProductController {
 
     private final ProductService productService;
 
+    private final CatalogVersionService catalogVersionService;
+
+    private final ProductImportService productImportService;
+
+    private final ProductImportProps productImportProps;
+
+    private final TaskExecutor importExecutor;
+
+    public ProductController(ProductService productService, CatalogVersionService catalogVersionService, ProductImportService productImportService, ProductImportProps productImportProps, @Qualifier("importExecutor") TaskExecutor importExecutor) {
+        this.productService = productService;
+        this.catalogVersionService = catalogVersionService;
+        this.productImportService = productImportService;
+        this.productImportProps = productImportProps;
+        this.importExecutor = importExecutor;
+    }
+
     @GetMapping
     @Operation(summary = "Returns all active products with pagination", tags = "Products")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successful"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Page<UserProductResponse>> listAllActive(@ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(productService.listAllActive(pageable));
+    public ResponseEntity<Page<UserProductResponse>> listAllActive(@ParameterObject Pageable pageable, WebRequest request) {
+        String eTag = HttpUtils.eTag(catalogVersionService.products());
+
+        return HttpUtils.conditionalGet(request, eTag, () -> productService.listAllActive(pageable));
     }
 
     @GetMapping("/all")
@@ -61,11 +93,25 @@ public class ProductController {
     @Operation(summary = "Returns product by slug", tags = "Products")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successful"),
+            @ApiResponse(responseCode = "304", description = "When product has not changed since the given ETag"),
             @ApiResponse(responseCode = "400", description = "When product not found"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<UserProductResponse> findBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(productService.findBySlugMapped(slug));
+    public ResponseEntity<UserProductResponse> findBySlug(@PathVariable String slug, WebRequest request) {
+        String eTag = HttpUtils.eTag(slug, productService.findUpdatedAtBySlug(slug).orElse(null), catalogVersionService.categories(), catalogVersionService.productRatings(slug));
+
+        return HttpUtils.conditionalGet(request, eTag, () -> productService.findBySlugMapped(slug));
+    }
+
+    @GetMapping("/{slug}/related")
+    @Operation(summary = "Returns products frequently bought together with the product", tags = "Products")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successful"),
+            @ApiResponse(responseCode = "400", description = "When product not found or limit is out of range"),
+            @ApiResponse(responseCode = "500", description = "When server error")
+    })
+    public ResponseEntity<List<UserProductResponse>> findRelated(@PathVariable String slug, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.findRelated(slug, limit));
     }
 
     @RequestMapping(value = "/{slug}", method = RequestMethod.HEAD)
@@ -85,13 +131,15 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Returns products searched with pagination", tags = "Products")
+    @Operation(summary = "Returns products searched with pagination and their facet counts", tags = "Products")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successful"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Page<UserProductResponse>> search(@ParameterObject ProductParametersSearch search, @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(productService.search(search, pageable));
+    public ResponseEntity<ProductSearchResponse<UserProductResponse>> search(@ParameterObject ProductParametersSearch search, @ParameterObject Pageable pageable, WebRequest request) {
+        String eTag = HttpUtils.eTag(catalogVersionService.products());
+
+        return HttpUtils.conditionalGet(request, eTag, () -> productService.search(search, pageable));
     }
 
     @PostMapping
@@ -107,6 +155,38 @@ public class ProductController {
         return new ResponseEntity<>(productService.create(request), HttpStatus.CREATED);
     }
 
+    @PostMapping("/import")
+    @IsAdmin
+    @Operation(summary = "Imports products from CSV or NDJSON and streams a report for each row", tags = "Products")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successful"),
+            @ApiResponse(responseCode = "401", description = "When not authorized"),
+            @ApiResponse(responseCode = "403", description = "When forbidden"),
+            @ApiResponse(responseCode = "500", description = "When server error")
+    })
+    public ResponseEntity<ResponseBodyEmitter> importProducts(@RequestParam(defaultValue = "CSV") EDataFormat format, HttpServletRequest request) throws IOException {
+        InputStream inputStream = request.getInputStream();
+        MediaType mediaType = MediaType.parseMediaType(format.getContentType());
+
+        // Imports run on their own threads and timeout instead of the mvc async executor sized for exports.
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(productImportProps.getTimeout().toMillis());
+
+        importExecutor.execute(() -> {
+            try {
+                productImportService.importProducts(inputStream, format, new EmitterOutputStream(emitter, mediaType));
+
+                emitter.complete();
+            } catch (RuntimeException ex) {
+                emitter.completeWithError(ex);
+            }
+        });
+
+        return ResponseEntity
+                .ok()
+                .contentType(mediaType)
+                .body(emitter);
+    }
+
     @PutMapping
     @IsStaff
     @Operation(summary = "Updates product", tags = "Products")
@@ -131,7 +211,7 @@ public class ProductController {
             @ApiResponse(responseCode = "403", description = "When forbidden"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Void> toggleActive(@PathVariable String slug) throws StripeException {
+    public ResponseEntity<Void> toggleActive(@PathVariable String slug) {
         productService.toggleActive(slug);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -146,7 +226,7 @@ public class ProductController {
             @ApiResponse(responseCode = "403", description = "When forbidden"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Void> applyDiscount(@PathVariable String slug, @Valid @RequestBody ApplyDiscountRequest request) throws StripeException {
+    public ResponseEntity<Void> applyDiscount(@PathVariable String slug, @Valid @RequestBody ApplyDiscountRequest request) {
         productService.applyDiscount(ApplyDiscountParams.fromRequest(request, slug));
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -161,7 +241,7 @@ public class ProductController {
             @ApiResponse(responseCode = "403", description = "When forbidden"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Void> removeDiscount(@PathVariable String slug) throws StripeException {
+    public ResponseEntity<Void> removeDiscount(@PathVariable String slug) {
         productService.removeDiscount(slug);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -191,7 +271,7 @@ public class ProductController {
             @ApiResponse(responseCode = "403", description = "When forbidden"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Void> addCategory(@PathVariable String productSlug, @PathVariable String categorySlug) throws StripeException {
+    public ResponseEntity<Void> addCategory(@PathVariable String productSlug, @PathVariable String categorySlug) {
         productService.addCategory(productSlug, categorySlug);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -206,7 +286,7 @@ public class ProductController {
             @ApiResponse(responseCode = "403", description = "When forbidden"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Void> removeCategory(@PathVariable String productSlug, @PathVariable String categorySlug) throws StripeException {
+    public ResponseEntity<Void> removeCategory(@PathVariable String productSlug, @PathVariable String categorySlug) {
         productService.removeCategory(productSlug, categorySlug);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -221,7 +301,7 @@ public class ProductController {
             @ApiResponse(responseCode = "403", description = "When forbidden"),
             @ApiResponse(responseCode = "500", description = "When server error")
     })
-    public ResponseEntity<Void> delete(@PathVariable String slug) throws StripeException {
+    public ResponseEntity<Void> delete(@PathVariable String slug) {
         productService.delete(slug);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
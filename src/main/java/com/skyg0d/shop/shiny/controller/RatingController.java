@@ -4,8 +4,10 @@ import com.skyg0d.shop.shiny.annotations.IsUser;
 import com.skyg0d.shop.shiny.payload.request.CreateRatingRequest;
 import com.skyg0d.shop.shiny.payload.response.RatingResponse;
 import com.skyg0d.shop.shiny.payload.response.RatingStarsAverageResponse;
+import com.skyg0d.shop.shiny.service.CatalogVersionService;
 import com.skyg0d.shop.shiny.service.RatingService;
 import com.skyg0d.shop.shiny.util.AuthUtils;
+import com.skyg0d.shop.shiny.util.HttpUtils;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -13,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -26,19 +29,27 @@ public class RatingController {
 
     private final AuthUtils authUtils;
 
+    private final CatalogVersionService catalogVersionService;
+
     @GetMapping("/user/{email}/all")
-    public ResponseEntity<Page<RatingResponse>> listAllByUser(@PathVariable String email, @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(ratingService.findAllByUser(email, pageable));
+    public ResponseEntity<Page<RatingResponse>> listAllByUser(@PathVariable String email, @ParameterObject Pageable pageable, WebRequest request) {
+        String eTag = HttpUtils.eTag(catalogVersionService.ratings());
+
+        return HttpUtils.conditionalGet(request, eTag, () -> ratingService.findAllByUser(email, pageable));
     }
 
     @GetMapping("/product/{slug}/all")
-    public ResponseEntity<Page<RatingResponse>> listAllByProduct(@PathVariable String slug, @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(ratingService.findAllByProduct(slug, pageable));
+    public ResponseEntity<Page<RatingResponse>> listAllByProduct(@PathVariable String slug, @ParameterObject Pageable pageable, WebRequest request) {
+        String eTag = HttpUtils.eTag(slug, catalogVersionService.productRatings(slug));
+
+        return HttpUtils.conditionalGet(request, eTag, () -> ratingService.findAllByProduct(slug, pageable));
     }
 
     @GetMapping("/product/{slug}/average")
-    public ResponseEntity<RatingStarsAverageResponse> productStarsAverage(@PathVariable String slug) {
-        return ResponseEntity.ok(ratingService.productStarsAverage(slug));
+    public ResponseEntity<RatingStarsAverageResponse> productStarsAverage(@PathVariable String slug, WebRequest request) {
+        String eTag = HttpUtils.eTag(slug, catalogVersionService.productRatings(slug));
+
+        return HttpUtils.conditionalGet(request, eTag, () -> ratingService.productStarsAverage(slug));
     }
 
     @PostMapping
@@ -0,0 +1,43 @@
+package com.skyg0d.shop.shiny.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.payload.response.OrderProductResponse;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+@Converter
+public class OrderProductListConverter implements AttributeConverter<List<OrderProductResponse>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final TypeReference<List<OrderProductResponse>> TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<OrderProductResponse> lines) {
+        try {
+            return MAPPER.writeValueAsString(lines == null ? new ArrayList<>() : lines);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    @Override
+    public List<OrderProductResponse> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.skyg0d.shop.shiny.event;
+
+import com.skyg0d.shop.shiny.property.NotificationProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class OrderNotificationListener {
+
+    private static final String INSERT_NOTIFICATION = "INSERT INTO notifications (id, created_at, updated_at, content, category, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String CATEGORY = "order";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TaskExecutor notificationExecutor;
+
+    private final NotificationProps notificationProps;
+
+    private final BlockingQueue<OrderStatusChangedEvent> pending;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private final Counter droppedQueueFull;
+
+    private final Counter droppedWriteFailed;
+
+    public OrderNotificationListener(JdbcTemplate jdbcTemplate, @Qualifier("notificationExecutor") TaskExecutor notificationExecutor, NotificationProps notificationProps, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationExecutor = notificationExecutor;
+        this.notificationProps = notificationProps;
+        this.pending = new LinkedBlockingQueue<>(notificationProps.getQueueCapacity());
+        this.droppedQueueFull = dropped(meterRegistry, "queue_full");
+        this.droppedWriteFailed = dropped(meterRegistry, "write_failed");
+    }
+
+    // Notifications are best effort, a full queue drops the event instead of writing it on the committing thread.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!pending.offer(event)) {
+            droppedQueueFull.increment();
+        }
+
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            notificationExecutor.execute(this::drain);
+        } catch (TaskRejectedException ex) {
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        List<OrderStatusChangedEvent> batch = new ArrayList<>(notificationProps.getBatchSize());
+
+        try {
+            while (pending.drainTo(batch, notificationProps.getBatchSize()) > 0) {
+                write(batch);
+
+                batch.clear();
+            }
+        } catch (RuntimeException ex) {
+            droppedWriteFailed.increment(batch.size());
+        } finally {
+            draining.set(false);
+
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter
+                .builder("shop.notifications.dropped")
+                .description("Order notifications discarded before being written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private void write(List<OrderStatusChangedEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, events, events.size(), (ps, event) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setString(4, event.getStatus().getNotificationMessage());
+            ps.setString(5, CATEGORY);
+            ps.setString(6, event.getUserId().toString());
+        });
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.skyg0d.shop.shiny.event;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.recommendation.RelatedProductsIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class OrderRelatedProductsListener {
+
+    private final RelatedProductsIndex relatedProductsIndex;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        boolean purchased = event.getPreviousStatus() == EOrderStatus.WAITING && RelatedProductsIndex.PURCHASED_STATUSES.contains(event.getStatus());
+
+        if (purchased) {
+            relatedProductsIndex.record(event.getOrderId());
+        }
+    }
+
+}
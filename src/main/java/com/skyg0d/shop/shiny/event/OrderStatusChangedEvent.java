@@ -0,0 +1,22 @@
+package com.skyg0d.shop.shiny.event;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@Builder
+@ToString
+public class OrderStatusChangedEvent {
+
+    private final UUID orderId;
+
+    private final UUID userId;
+
+    private final EOrderStatus previousStatus;
+
+    private final EOrderStatus status;
+
+}
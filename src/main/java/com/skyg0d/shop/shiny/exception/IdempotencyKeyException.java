@@ -0,0 +1,7 @@
+package com.skyg0d.shop.shiny.exception;
+
+public class IdempotencyKeyException extends RuntimeException {
+    public IdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.skyg0d.shop.shiny.exception;
+
+public class OrderStatusConflictException extends RuntimeException {
+    public OrderStatusConflictException(String id) {
+        super("Order " + id + " status was changed concurrently, try again.");
+    }
+}
@@ -84,6 +84,20 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                                 .createExceptionDetails(ex, HttpStatus.BAD_REQUEST, "Order Status Incorrect");
         }
 
+        @ExceptionHandler(OrderStatusConflictException.class)
+        @ResponseStatus(HttpStatus.CONFLICT)
+        public ExceptionDetails handleOrderStatusConflictException(OrderStatusConflictException ex) {
+                return ExceptionDetails
+                                .createExceptionDetails(ex, HttpStatus.CONFLICT, "Order Status Conflict");
+        }
+
+        @ExceptionHandler(IdempotencyKeyException.class)
+        @ResponseStatus(HttpStatus.CONFLICT)
+        public ExceptionDetails handleIdempotencyKeyException(IdempotencyKeyException ex) {
+                return ExceptionDetails
+                                .createExceptionDetails(ex, HttpStatus.CONFLICT, "Idempotency Key Conflict");
+        }
+
         @ExceptionHandler(PermissionInsufficient.class)
         @ResponseStatus(HttpStatus.FORBIDDEN)
         public ExceptionDetails handlePermissionInsufficient(PermissionInsufficient ex) {
@@ -1,12 +1,17 @@
 package com.skyg0d.shop.shiny.mapper;
 
 import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.OrderDailyStats;
+import com.skyg0d.shop.shiny.model.OrderItem;
+import com.skyg0d.shop.shiny.model.OrderSummary;
 import com.skyg0d.shop.shiny.model.Product;
 import com.skyg0d.shop.shiny.model.Role;
+import com.skyg0d.shop.shiny.payload.response.OrderDailyStatsResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderProductResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 
@@ -19,29 +24,48 @@ public abstract class OrderMapper {
 
     public static final OrderMapper INSTANCE = Mappers.getMapper(OrderMapper.class);
 
+    @Mapping(source = "items", target = "products")
     @Mapping(source = "paymentLink.paymentUrl", target = "paymentLink", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.SET_TO_NULL)
     public abstract OrderResponse toOrderResponse(Order order);
 
-    List<OrderProductResponse> map(List<Product> products) {
-        return products
-                .stream()
-                .collect(Collectors.groupingBy(Product::getSlug))
-                .entrySet()
+    @Mapping(source = "orderId", target = "id")
+    @Mapping(source = "orderCreatedAt", target = "createdAt")
+    @Mapping(source = "lines", target = "products")
+    @Mapping(source = "paymentUrl", target = "paymentLink")
+    @Mapping(source = "userUsername", target = "user.username")
+    @Mapping(source = "userFullName", target = "user.fullName")
+    @Mapping(source = "userEmail", target = "user.email")
+    public abstract OrderResponse toOrderResponse(OrderSummary summary);
+
+    public abstract OrderDailyStatsResponse toOrderDailyStatsResponse(OrderDailyStats stats);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(source = "id", target = "orderId")
+    @Mapping(source = "createdAt", target = "orderCreatedAt")
+    @Mapping(source = "items", target = "lines")
+    @Mapping(source = "paymentLink.paymentUrl", target = "paymentUrl")
+    @Mapping(source = "user.username", target = "userUsername")
+    @Mapping(source = "user.fullName", target = "userFullName")
+    @Mapping(source = "user.email", target = "userEmail")
+    public abstract void updateOrderSummary(Order order, @MappingTarget OrderSummary summary);
+
+    List<OrderProductResponse> map(List<OrderItem> items) {
+        return items
                 .stream()
-                .map((entry) -> {
-                    String key = entry.getKey();
-                    List<Product> productsValue = entry.getValue();
-                    Product product = productsValue.get(0);
+                .map((item) -> {
+                    Product product = item.getProduct();
 
                     return OrderProductResponse
                             .builder()
-                            .slug(key)
+                            .slug(product.getSlug())
                             .name(product.getName())
                             .thumbnail(product.getThumbnail())
                             .brand(product.getBrand())
-                            .price(product.getPrice())
-                            .discount(product.getDiscount())
-                            .amount((long) productsValue.size())
+                            .price(item.getPrice())
+                            .discount(item.getDiscount())
+                            .amount(item.getAmount())
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -5,12 +5,17 @@ import com.skyg0d.shop.shiny.model.Product;
 import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceProductRequest;
 import com.skyg0d.shop.shiny.payload.response.AdminProductResponse;
+import com.skyg0d.shop.shiny.payload.response.CategoryResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductRatingStatsResponse;
 import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
+import com.skyg0d.shop.shiny.repository.projection.ProductCategoryView;
+import com.skyg0d.shop.shiny.repository.projection.ProductView;
 import com.skyg0d.shop.shiny.service.CategoryService;
 import org.mapstruct.*;
 import org.mapstruct.factory.Mappers;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,6 +35,15 @@ public abstract class ProductMapper {
 
     public abstract UserProductResponse toUserProductResponse(Product product);
 
+    @Mapping(target = "categories", source = "categories")
+    @Mapping(target = "images", source = "images")
+    @Mapping(target = "sizes", source = "sizes")
+    @Mapping(target = "features", source = "features")
+    @Mapping(target = "rating", source = "rating")
+    public abstract UserProductResponse toUserProductResponse(ProductView view, Set<CategoryResponse> categories, List<String> images, List<String> sizes, List<String> features, ProductRatingStatsResponse rating);
+
+    public abstract CategoryResponse toCategoryResponse(ProductCategoryView view);
+
     public abstract AdminProductResponse toAdminProductResponse(Product product);
 
     @Named("mapCategories")
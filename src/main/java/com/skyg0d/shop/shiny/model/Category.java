@@ -5,6 +5,7 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotBlank;
@@ -20,6 +21,9 @@ import javax.validation.constraints.NotBlank;
         name = "categories",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = "slug")
+        },
+        indexes = {
+                @Index(name = "idx_categories_updated_at", columnList = "updated_at")
         }
 )
 public class Category extends BaseEntity {
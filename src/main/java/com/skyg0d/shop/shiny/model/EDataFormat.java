@@ -0,0 +1,24 @@
+package com.skyg0d.shop.shiny.model;
+
+public enum EDataFormat {
+    CSV("text/csv", "csv"),
+
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String extension;
+
+    EDataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
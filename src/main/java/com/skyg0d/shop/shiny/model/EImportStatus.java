@@ -0,0 +1,7 @@
+package com.skyg0d.shop.shiny.model;
+
+public enum EImportStatus {
+    CREATED,
+
+    FAILED
+}
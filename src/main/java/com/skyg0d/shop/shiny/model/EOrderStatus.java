@@ -1,5 +1,10 @@
 package com.skyg0d.shop.shiny.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum EOrderStatus {
     WAITING("Order placed, awaiting payment confirmation"),
 
@@ -13,6 +18,17 @@ public enum EOrderStatus {
 
     DELIVERED("Your order has been delivered");
 
+    private static final Map<EOrderStatus, Set<EOrderStatus>> TRANSITIONS = new EnumMap<>(EOrderStatus.class);
+
+    static {
+        TRANSITIONS.put(WAITING, EnumSet.of(PAID, CANCELED));
+        TRANSITIONS.put(PAID, EnumSet.of(SHIPPED, CANCELED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(ON_THE_WAY));
+        TRANSITIONS.put(ON_THE_WAY, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(CANCELED, EnumSet.noneOf(EOrderStatus.class));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(EOrderStatus.class));
+    }
+
     private final String notificationMessage;
 
     EOrderStatus(String notificationMessage) {
@@ -22,4 +38,8 @@ public enum EOrderStatus {
     public String getNotificationMessage() {
         return notificationMessage;
     }
+
+    public boolean canChangeTo(EOrderStatus status) {
+        return TRANSITIONS.get(this).contains(status);
+    }
 }
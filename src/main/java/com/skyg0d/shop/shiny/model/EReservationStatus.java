@@ -0,0 +1,9 @@
+package com.skyg0d.shop.shiny.model;
+
+public enum EReservationStatus {
+    ACTIVE,
+
+    CONFIRMED,
+
+    RELEASED
+}
@@ -0,0 +1,13 @@
+package com.skyg0d.shop.shiny.model;
+
+public enum EStripeOutboxType {
+    UPDATE_PRODUCT,
+
+    CHANGE_PRICE,
+
+    CHANGE_DISCOUNT,
+
+    DELETE_PRODUCT,
+
+    DEACTIVATE_PAYMENT_LINK
+}
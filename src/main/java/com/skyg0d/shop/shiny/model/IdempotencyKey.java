@@ -0,0 +1,66 @@
+package com.skyg0d.shop.shiny.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotBlank;
+import java.time.Instant;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true, exclude = "response")
+@Getter
+@Setter
+@Entity
+@Table(
+        name = "idempotency_keys",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"idempotency_key", "scope"})
+        },
+        indexes = {
+                @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+        }
+)
+public class IdempotencyKey extends BaseEntity {
+
+    @NotBlank
+    @Column(name = "idempotency_key", nullable = false)
+    @Schema(description = "Key sent by the client on the Idempotency-Key header")
+    private String idempotencyKey;
+
+    @NotBlank
+    @Column(nullable = false)
+    @Schema(description = "Owner of the key, so different users can reuse the same value")
+    private String scope;
+
+    @NotBlank
+    @Column(nullable = false)
+    @Schema(description = "Fingerprint of the request body sent with the key")
+    private String requestHash;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Whether the first attempt is still running or already completed")
+    private EIdempotencyStatus status = EIdempotencyStatus.IN_PROGRESS;
+
+    @Lob
+    @Schema(description = "Response stored when the first attempt completed")
+    private String response;
+
+    @Column(name = "claimed_by")
+    @Schema(description = "Attempt currently holding the key")
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    @Schema(description = "Until when the attempt holding the key is considered alive")
+    private Instant claimedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    @Schema(description = "When the key can be reused")
+    private Instant expiresAt;
+
+}
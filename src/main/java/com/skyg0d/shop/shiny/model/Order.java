@@ -3,6 +3,7 @@ package com.skyg0d.shop.shiny.model;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -18,7 +19,13 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "orders")
+@DynamicUpdate
+@Table(
+        name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_status_created_at", columnList = "status, created_at")
+        }
+)
 public class Order extends BaseEntity {
 
     @Positive
@@ -26,13 +33,9 @@ public class Order extends BaseEntity {
 
     @Builder.Default
     @NotNull
-    @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable(
-            name = "order_product",
-            joinColumns = @JoinColumn(name = "order_id"),
-            inverseJoinColumns = @JoinColumn(name = "product_id")
-    )
-    private List<Product> products = new ArrayList<>();
+    @OneToMany(mappedBy = "order", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Schema(description = "Order items, one per product with the quantity ordered")
+    private List<OrderItem> items = new ArrayList<>();
 
     @ManyToOne
     @JoinColumn(name = "user_id")
@@ -0,0 +1,49 @@
+package com.skyg0d.shop.shiny.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true)
+@Getter
+@Setter
+@Entity
+@Table(
+        name = "order_daily_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_order_daily_stats_day_status", columnNames = {"stats_day", "status"})
+        }
+)
+public class OrderDailyStats extends BaseEntity {
+
+    @NotNull
+    @Column(name = "stats_day", nullable = false)
+    @Schema(description = "Day the orders were placed")
+    private LocalDate day;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Current status of the orders")
+    private EOrderStatus status;
+
+    @Schema(description = "Amount of orders")
+    private long orderCount;
+
+    @Builder.Default
+    @Column(nullable = false)
+    @Schema(description = "Sum of the orders price")
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Schema(description = "Sum of the units ordered")
+    private long units;
+
+}
@@ -0,0 +1,55 @@
+package com.skyg0d.shop.shiny.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.*;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true, exclude = "order")
+@Getter
+@Setter
+@Entity
+@Table(
+        name = "order_items",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"order_id", "product_id"})
+        }
+)
+public class OrderItem extends BaseEntity {
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    @Schema(description = "Order that owns this item")
+    private Order order;
+
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "product_id", nullable = false)
+    @Schema(description = "Product ordered")
+    private Product product;
+
+    @Positive
+    @Schema(description = "Quantity of units ordered")
+    private long amount;
+
+    @Positive
+    @Schema(description = "Product base price when the order was placed")
+    private BigDecimal price;
+
+    @PositiveOrZero
+    @Max(100)
+    @Builder.Default
+    @Schema(description = "Product discount percentage when the order was placed")
+    private int discount = 0;
+
+}
@@ -0,0 +1,75 @@
+package com.skyg0d.shop.shiny.model;
+
+import com.skyg0d.shop.shiny.converter.OrderProductListConverter;
+import com.skyg0d.shop.shiny.payload.response.OrderProductResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true)
+@Getter
+@Setter
+@Entity
+@DynamicUpdate
+@Table(
+        name = "order_summaries",
+        indexes = {
+                @Index(name = "idx_order_summaries_user_email", columnList = "user_email"),
+                @Index(name = "idx_order_summaries_status_order_created_at", columnList = "status, order_created_at"),
+                @Index(name = "idx_order_summaries_order_created_at", columnList = "order_created_at")
+        }
+)
+public class OrderSummary extends BaseEntity {
+
+    @Type(type = "uuid-char")
+    @Column(name = "order_id", columnDefinition = "VARCHAR(255)", nullable = false, unique = true)
+    @Schema(description = "Summarized order")
+    private UUID orderId;
+
+    @Column(name = "order_created_at")
+    @Schema(description = "Order creation time")
+    private LocalDateTime orderCreatedAt;
+
+    @Schema(description = "Order price")
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    @Schema(description = "Order status")
+    private EOrderStatus status;
+
+    @Schema(description = "Order payment link url")
+    private String paymentUrl;
+
+    @Schema(description = "Order additional and details")
+    private String extra;
+
+    @Schema(description = "Username of the order owner")
+    private String userUsername;
+
+    @Schema(description = "Full name of the order owner")
+    private String userFullName;
+
+    @Column(name = "user_email")
+    @Schema(description = "Email of the order owner")
+    private String userEmail;
+
+    @Builder.Default
+    @Convert(converter = OrderProductListConverter.class)
+    @Column(columnDefinition = "TEXT")
+    @Schema(description = "Order lines as shown on order listings")
+    private List<OrderProductResponse> lines = new ArrayList<>();
+
+}
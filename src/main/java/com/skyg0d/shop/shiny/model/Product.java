@@ -1,5 +1,6 @@
 package com.skyg0d.shop.shiny.model;
 
+import com.skyg0d.shop.shiny.search.ProductSearchListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -10,6 +11,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -22,10 +24,16 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ProductSearchListener.class)
+@NamedEntityGraph(name = "Product.detail", attributeNodes = @NamedAttributeNode("categories"))
 @Table(
         name = "products",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = "slug")
+        },
+        indexes = {
+                @Index(name = "idx_products_effective_price", columnList = "effective_price"),
+                @Index(name = "idx_products_updated_at", columnList = "updated_at")
         }
 )
 public class Product extends BaseEntity {
@@ -76,6 +84,10 @@ public class Product extends BaseEntity {
     @Schema(description = "Code to apply discount")
     private String discountCode;
 
+    // Rounded to cents for filtering and sorting, checkout charges the unrounded discountedPrice().
+    @Schema(description = "Price of product with discount applied")
+    private BigDecimal effectivePrice;
+
     @Builder.Default
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
@@ -105,4 +117,18 @@ public class Product extends BaseEntity {
     @Schema(description = "Flag to check if a product is active")
     private boolean active = true;
 
+    @PrePersist
+    @PreUpdate
+    public void updateEffectivePrice() {
+        effectivePrice = price == null
+                ? null
+                : discountedPrice().setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal discountedPrice() {
+        return discount > 0
+                ? price.subtract(price.multiply(BigDecimal.valueOf(discount, 2)))
+                : price;
+    }
+
 }
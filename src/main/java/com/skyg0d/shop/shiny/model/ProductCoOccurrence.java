@@ -0,0 +1,42 @@
+package com.skyg0d.shop.shiny.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true)
+@Getter
+@Setter
+@Entity
+@Table(
+        name = "product_co_occurrences",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_product_co_occurrences_product_related", columnNames = {"product_id", "related_product_id"})
+        }
+)
+public class ProductCoOccurrence extends BaseEntity {
+
+    @NotNull
+    @Type(type = "uuid-char")
+    @Column(name = "product_id", columnDefinition = "VARCHAR(255)", nullable = false)
+    @Schema(description = "Product bought")
+    private UUID productId;
+
+    @NotNull
+    @Type(type = "uuid-char")
+    @Column(name = "related_product_id", columnDefinition = "VARCHAR(255)", nullable = false)
+    @Schema(description = "Product bought in the same orders")
+    private UUID relatedProductId;
+
+    @Schema(description = "Amount of paid orders containing both products")
+    private int orderCount;
+
+}
@@ -0,0 +1,52 @@
+package com.skyg0d.shop.shiny.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true, exclude = "product")
+@Getter
+@Setter
+@Entity
+@Table(
+        name = "product_rating_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_product_rating_stats_product", columnNames = "product_id")
+        }
+)
+public class ProductRatingStats extends BaseEntity {
+
+    @NotNull
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @Schema(description = "Product rated")
+    private Product product;
+
+    @Schema(description = "Amount of ratings")
+    private long ratingCount;
+
+    @Schema(description = "Sum of the ratings stars")
+    private long starsSum;
+
+    @Schema(description = "Amount of one star ratings")
+    private long oneStar;
+
+    @Schema(description = "Amount of two stars ratings")
+    private long twoStars;
+
+    @Schema(description = "Amount of three stars ratings")
+    private long threeStars;
+
+    @Schema(description = "Amount of four stars ratings")
+    private long fourStars;
+
+    @Schema(description = "Amount of five stars ratings")
+    private long fiveStars;
+
+}
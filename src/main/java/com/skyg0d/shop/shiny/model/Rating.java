@@ -15,7 +15,12 @@ import javax.validation.constraints.NotNull;
 @Getter
 @Setter
 @Entity
-@Table(name = "ratings")
+@Table(
+        name = "ratings",
+        indexes = {
+                @Index(name = "idx_ratings_updated_at", columnList = "updated_at")
+        }
+)
 public class Rating extends BaseEntity {
 
     @NotBlank
@@ -0,0 +1,43 @@
+package com.skyg0d.shop.shiny.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true, exclude = "order")
+@Getter
+@Setter
+@Entity
+@Table(name = "stock_reservations")
+public class StockReservation extends BaseEntity {
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    @Schema(description = "Order holding the units")
+    private Order order;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @Schema(description = "Product reserved")
+    private Product product;
+
+    @Positive
+    @Schema(description = "Quantity of units held")
+    private long amount;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Reservation status")
+    private EReservationStatus status = EReservationStatus.ACTIVE;
+
+}
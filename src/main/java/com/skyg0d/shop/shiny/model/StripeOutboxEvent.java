@@ -0,0 +1,79 @@
+package com.skyg0d.shop.shiny.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true)
+@Getter
+@Setter
+@Entity
+@Table(
+        name = "stripe_outbox_events",
+        indexes = {
+                @Index(name = "idx_stripe_outbox_events_status_product", columnList = "status, stripe_product_id"),
+                @Index(name = "idx_stripe_outbox_events_status_type", columnList = "status, type, next_attempt_at"),
+                @Index(name = "idx_stripe_outbox_events_claimed_by", columnList = "claimed_by")
+        }
+)
+public class StripeOutboxEvent extends BaseEntity {
+
+    // Payment link events have no product, product events of products never synced to stripe are parked as failed.
+    @Column(name = "stripe_product_id")
+    @Schema(description = "Id of product in stripe the event applies to")
+    private String stripeProductId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Change to apply in stripe")
+    private EStripeOutboxType type;
+
+    @Schema(description = "Id of price in stripe to be deactivated")
+    private String stripePriceId;
+
+    @Schema(description = "Id of promotion code in stripe to be removed")
+    private String stripePromotionCodeId;
+
+    @Schema(description = "Id of coupon in stripe to be removed")
+    private String stripeCouponId;
+
+    @Schema(description = "Id of payment link in stripe to be deactivated")
+    private String stripePaymentLinkId;
+
+    @Schema(description = "Name of discount to be created in stripe")
+    private String discountName;
+
+    @Schema(description = "Code of discount to be created in stripe")
+    private String discountCode;
+
+    @Schema(description = "Percentage of discount to be created in stripe")
+    private int discount;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Event status")
+    private EOutboxStatus status = EOutboxStatus.PENDING;
+
+    @Schema(description = "Dispatch attempts already made")
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @Schema(description = "When the event can be dispatched again")
+    private Instant nextAttemptAt;
+
+    @Column(name = "claimed_by")
+    @Schema(description = "Dispatch run that claimed the event")
+    private String claimedBy;
+
+    @Column(length = 1000)
+    @Schema(description = "Error of the last failed attempt")
+    private String lastError;
+
+}
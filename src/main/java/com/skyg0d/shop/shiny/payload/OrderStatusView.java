@@ -0,0 +1,25 @@
+package com.skyg0d.shop.shiny.payload;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface OrderStatusView {
+
+    UUID getId();
+
+    EOrderStatus getStatus();
+
+    UUID getUserId();
+
+    LocalDateTime getCreatedAt();
+
+    BigDecimal getPrice();
+
+    Long getUnits();
+
+    String getPaymentId();
+
+}
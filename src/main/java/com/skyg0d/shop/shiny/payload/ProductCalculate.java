@@ -18,6 +18,10 @@ public class ProductCalculate {
 
     private BigDecimal price;
 
+    private BigDecimal unitPrice;
+
+    private int discount;
+
     private long amount;
 
     private String name;
@@ -0,0 +1,28 @@
+package com.skyg0d.shop.shiny.payload.request;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChangeOrdersStatusRequest {
+
+    @NotEmpty
+    @Size(max = 1000)
+    @Schema(description = "Ids of the orders to change")
+    private List<String> ids;
+
+    @NotNull
+    @Schema(description = "Target status, one of SHIPPED, ON_THE_WAY or DELIVERED")
+    private EOrderStatus status;
+
+}
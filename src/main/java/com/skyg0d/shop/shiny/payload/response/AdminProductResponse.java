@@ -32,6 +32,8 @@ public class AdminProductResponse {
 
     private BigDecimal price;
 
+    private BigDecimal effectivePrice;
+
     private long amount;
 
     private int discount;
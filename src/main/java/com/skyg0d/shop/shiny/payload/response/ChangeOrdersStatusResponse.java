@@ -0,0 +1,31 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ChangeOrdersStatusResponse {
+
+    @Schema(description = "Status applied to the orders")
+    private EOrderStatus status;
+
+    @Schema(description = "Amount of orders changed")
+    private long changed;
+
+    @Schema(description = "Amount of orders not changed")
+    private long failed;
+
+    @Builder.Default
+    @Schema(description = "Result for each requested order id")
+    private List<OrderStatusChangeResponse> results = new ArrayList<>();
+
+}
@@ -0,0 +1,20 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class FacetCountResponse {
+
+    @Schema(description = "Facet value")
+    private String value;
+
+    @Schema(description = "Amount of searched products with this value")
+    private long count;
+
+}
@@ -0,0 +1,33 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class OrderDailyStatsResponse {
+
+    @Schema(description = "Day the orders were placed")
+    private LocalDate day;
+
+    @Schema(description = "Current status of the orders")
+    private EOrderStatus status;
+
+    @Schema(description = "Amount of orders")
+    private long orderCount;
+
+    @Schema(description = "Sum of the orders price")
+    private BigDecimal revenue;
+
+    @Schema(description = "Sum of the units ordered")
+    private long units;
+
+}
@@ -0,0 +1,37 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OrderStatsResponse {
+
+    @Schema(description = "First day included")
+    private LocalDate from;
+
+    @Schema(description = "Last day included")
+    private LocalDate to;
+
+    @Schema(description = "Amount of orders in the period")
+    private long orderCount;
+
+    @Schema(description = "Sum of the orders price in the period")
+    private BigDecimal revenue;
+
+    @Schema(description = "Sum of the units ordered in the period")
+    private long units;
+
+    @Builder.Default
+    @Schema(description = "Totals of each day and status")
+    private List<OrderDailyStatsResponse> days = new ArrayList<>();
+
+}
@@ -0,0 +1,24 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode
+@ToString
+public class OrderStatusChangeResponse {
+
+    @Schema(description = "Order id as sent in the request")
+    private String id;
+
+    @Schema(description = "Whether the order status was changed")
+    private boolean success;
+
+    @Schema(description = "Reason of the failure, when not changed")
+    private String message;
+
+}
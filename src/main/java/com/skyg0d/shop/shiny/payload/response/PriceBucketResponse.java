@@ -0,0 +1,25 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class PriceBucketResponse {
+
+    @Schema(description = "Lowest price included")
+    private BigDecimal from;
+
+    @Schema(description = "Price the bucket ends before (null for the last bucket)")
+    private BigDecimal to;
+
+    @Schema(description = "Amount of searched products in the bucket")
+    private long count;
+
+}
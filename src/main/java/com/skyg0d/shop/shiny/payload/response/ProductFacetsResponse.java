@@ -0,0 +1,34 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ProductFacetsResponse {
+
+    @Builder.Default
+    @Schema(description = "Searched products by category name")
+    private List<FacetCountResponse> categories = new ArrayList<>();
+
+    @Builder.Default
+    @Schema(description = "Searched products by brand")
+    private List<FacetCountResponse> brands = new ArrayList<>();
+
+    @Builder.Default
+    @Schema(description = "Searched products by price range")
+    private List<PriceBucketResponse> prices = new ArrayList<>();
+
+    @Schema(description = "Amount of searched products with a discount")
+    private long withDiscount;
+
+    @Schema(description = "Amount of searched products without a discount")
+    private long withoutDiscount;
+
+}
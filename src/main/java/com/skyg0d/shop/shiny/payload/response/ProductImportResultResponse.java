@@ -0,0 +1,27 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import com.skyg0d.shop.shiny.model.EImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class ProductImportResultResponse {
+
+    @Schema(description = "Position of the row in the imported file, starting at 1")
+    private long row;
+
+    @Schema(description = "Slug of the imported product")
+    private String slug;
+
+    @Schema(description = "Import status of the row")
+    private EImportStatus status;
+
+    @Schema(description = "Why the row was not imported")
+    private String error;
+
+}
@@ -0,0 +1,27 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class ProductRatingStatsResponse {
+
+    @Schema(description = "Amount of ratings")
+    private long count;
+
+    @Schema(description = "Average of the ratings stars")
+    private double average;
+
+    @Builder.Default
+    @Schema(description = "Amount of ratings by stars, from 1 to 5")
+    private Map<Integer, Long> histogram = new LinkedHashMap<>();
+
+}
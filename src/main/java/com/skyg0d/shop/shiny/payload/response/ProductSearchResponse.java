@@ -0,0 +1,22 @@
+package com.skyg0d.shop.shiny.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+@Getter
+public class ProductSearchResponse<T> extends PageImpl<T> {
+
+    @Schema(description = "Counts of every searched product, not only the ones in the page")
+    private final ProductFacetsResponse facets;
+
+    public ProductSearchResponse(List<T> content, Pageable pageable, long total, ProductFacetsResponse facets) {
+        super(content, pageable, total);
+
+        this.facets = facets;
+    }
+
+}
@@ -33,6 +33,8 @@ public class UserProductResponse {
 
     private BigDecimal price;
 
+    private BigDecimal effectivePrice;
+
     private Long amount;
 
     private Integer discount;
@@ -51,4 +53,6 @@ public class UserProductResponse {
     @Builder.Default
     private List<String> features = new ArrayList<>();
 
+    private ProductRatingStatsResponse rating;
+
 }
@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 @Setter
 public class ProductParametersSearch extends AbstractParameterSearch {
 
+    private String text;
     private String name;
     private String description;
     private String thumbnail;
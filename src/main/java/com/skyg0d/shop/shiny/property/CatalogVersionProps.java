@@ -0,0 +1,20 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.catalog-version")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogVersionProps {
+
+    private Duration ttl = Duration.ofSeconds(1);
+
+}
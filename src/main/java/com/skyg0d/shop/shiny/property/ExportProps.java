@@ -0,0 +1,23 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportProps {
+
+    private int fetchSize = 500;
+    private int flushSize = 500;
+    private int threads = 2;
+    private Duration timeout = Duration.ofMinutes(30);
+
+}
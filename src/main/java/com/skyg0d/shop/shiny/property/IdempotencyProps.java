@@ -0,0 +1,24 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyProps {
+
+    private Duration ttl = Duration.ofHours(24);
+    private Duration lease = Duration.ofMinutes(2);
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private Duration pollInterval = Duration.ofMillis(200);
+    private Duration cleanupInterval = Duration.ofHours(1);
+
+}
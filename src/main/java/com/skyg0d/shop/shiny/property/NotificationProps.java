@@ -0,0 +1,19 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.notification")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationProps {
+
+    private int queueCapacity = 10000;
+    private int batchSize = 200;
+
+}
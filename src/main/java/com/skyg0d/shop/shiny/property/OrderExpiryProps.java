@@ -0,0 +1,22 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.order-expiry")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderExpiryProps {
+
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    private int batchSize = 100;
+    private int stripeThreads = 4;
+
+}
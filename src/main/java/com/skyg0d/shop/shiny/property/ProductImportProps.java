@@ -0,0 +1,26 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.product-import")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportProps {
+
+    private int batchSize = 200;
+    private int stripeMaxAttempts = 5;
+    private Duration stripeBackoff = Duration.ofMillis(500);
+    private Duration stripeMaxBackoff = Duration.ofSeconds(10);
+    private int threads = 2;
+    private int stripeThreads = 4;
+    private Duration timeout = Duration.ofMinutes(30);
+
+}
@@ -0,0 +1,32 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.product-search")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchProps {
+
+    // Writes only update the index of the instance that made them, other instances see them after their next rebuild.
+    private Duration rebuildInterval = Duration.ofMinutes(5);
+    private int batchSize = 500;
+    private List<BigDecimal> priceBuckets = List.of(
+            BigDecimal.ZERO,
+            BigDecimal.valueOf(50),
+            BigDecimal.valueOf(100),
+            BigDecimal.valueOf(250),
+            BigDecimal.valueOf(500),
+            BigDecimal.valueOf(1000)
+    );
+
+}
@@ -0,0 +1,22 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.related-products")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class RelatedProductsProps {
+
+    private int topK = 10;
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+    private int batchSize = 500;
+
+}
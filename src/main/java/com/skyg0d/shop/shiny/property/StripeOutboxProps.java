@@ -0,0 +1,25 @@
+package com.skyg0d.shop.shiny.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.stripe-outbox")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class StripeOutboxProps {
+
+    private Duration dispatchInterval = Duration.ofSeconds(5);
+    private int batchSize = 100;
+    private int maxAttempts = 10;
+    private Duration backoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(10);
+    private Duration claimTtl = Duration.ofMinutes(5);
+
+}
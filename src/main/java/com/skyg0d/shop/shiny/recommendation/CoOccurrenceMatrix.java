@@ -0,0 +1,199 @@
+package com.skyg0d.shop.shiny.recommendation;
+
+import com.skyg0d.shop.shiny.repository.projection.OrderItemProductView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+class CoOccurrenceMatrix {
+
+    private static final int[] NONE = new int[0];
+
+    private final int topK;
+    private final Map<UUID, Integer> docs = new HashMap<>();
+    private final Map<String, Integer> slugs = new HashMap<>();
+    private final List<UUID> productIds = new ArrayList<>();
+    private final List<String> productSlugs = new ArrayList<>();
+    private final List<IntCounter> counts = new ArrayList<>();
+    private final List<int[]> tops = new ArrayList<>();
+
+    CoOccurrenceMatrix(int topK) {
+        this.topK = topK;
+    }
+
+    int size() {
+        return docs.size();
+    }
+
+    Set<UUID> productIds() {
+        return docs.keySet();
+    }
+
+    void record(Collection<OrderItemProductView> items) {
+        int[] bought = items
+                .stream()
+                .mapToInt((item) -> docOf(item.getProductId(), item.getProductSlug()))
+                .distinct()
+                .toArray();
+
+        for (int i = 0; i < bought.length; i++) {
+            for (int j = i + 1; j < bought.length; j++) {
+                increment(bought[i], bought[j], 1);
+                increment(bought[j], bought[i], 1);
+            }
+        }
+    }
+
+    void put(UUID productId, String productSlug, UUID relatedProductId, String relatedProductSlug, int orderCount) {
+        int doc = docOf(productId, productSlug);
+        int related = docOf(relatedProductId, relatedProductSlug);
+
+        if (doc != related && orderCount > 0) {
+            increment(doc, related, orderCount - counts.get(doc).get(related));
+        }
+    }
+
+    Set<UUID> remove(UUID productId) {
+        Integer doc = docs.remove(productId);
+
+        if (doc == null) {
+            return Set.of();
+        }
+
+        Set<UUID> neighbors = new HashSet<>();
+
+        slugs.remove(productSlugs.get(doc));
+
+        counts.get(doc).forEach((related, count) -> {
+            counts.get(related).remove(doc);
+
+            rank(related);
+
+            neighbors.add(productIds.get(related));
+        });
+
+        productIds.set(doc, null);
+        productSlugs.set(doc, null);
+        counts.set(doc, new IntCounter());
+        tops.set(doc, NONE);
+
+        return neighbors;
+    }
+
+    List<String> related(String productSlug, int limit) {
+        Integer doc = slugs.get(productSlug);
+
+        if (doc == null || limit < 1) {
+            return List.of();
+        }
+
+        int[] top = tops.get(doc);
+        List<String> related = new ArrayList<>(Math.min(limit, top.length));
+
+        for (int i = 0; i < top.length && related.size() < limit; i++) {
+            related.add(productSlugs.get(top[i]));
+        }
+
+        return related;
+    }
+
+    Map<UUID, Integer> countsOf(UUID productId) {
+        Integer doc = docs.get(productId);
+
+        if (doc == null) {
+            return Map.of();
+        }
+
+        Map<UUID, Integer> related = new LinkedHashMap<>();
+
+        counts.get(doc).forEach((other, count) -> related.put(productIds.get(other), count));
+
+        return related;
+    }
+
+    private int docOf(UUID productId, String productSlug) {
+        Integer existing = docs.get(productId);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        int doc = productIds.size();
+
+        docs.put(productId, doc);
+        slugs.put(productSlug, doc);
+        productIds.add(productId);
+        productSlugs.add(productSlug);
+        counts.add(new IntCounter());
+        tops.add(NONE);
+
+        return doc;
+    }
+
+    private void increment(int doc, int related, int delta) {
+        int count = counts.get(doc).add(related, delta);
+        int[] top = tops.get(doc);
+        int position = indexOf(top, related);
+
+        if (position < 0) {
+            if (top.length < topK) {
+                top = Arrays.copyOf(top, top.length + 1);
+            } else if (top.length == 0 || !outranks(doc, related, count, top[top.length - 1])) {
+                return;
+            }
+
+            position = top.length - 1;
+            top[position] = related;
+        }
+
+        while (position > 0 && outranks(doc, related, count, top[position - 1])) {
+            top[position] = top[position - 1];
+            top[--position] = related;
+        }
+
+        tops.set(doc, top);
+    }
+
+    private void rank(int doc) {
+        IntCounter related = counts.get(doc);
+        long[] ranked = new long[related.size()];
+        int[] size = {0};
+
+        related.forEach((other, count) -> ranked[size[0]++] = (long) (Integer.MAX_VALUE - count) << 32 | other);
+
+        Arrays.sort(ranked);
+
+        int[] top = new int[Math.min(topK, ranked.length)];
+
+        for (int i = 0; i < top.length; i++) {
+            top[i] = (int) ranked[i];
+        }
+
+        tops.set(doc, top);
+    }
+
+    private boolean outranks(int doc, int related, int count, int other) {
+        int otherCount = counts.get(doc).get(other);
+
+        return count > otherCount || count == otherCount && related < other;
+    }
+
+    private static int indexOf(int[] top, int related) {
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == related) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
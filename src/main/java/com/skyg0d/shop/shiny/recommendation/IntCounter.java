@@ -0,0 +1,129 @@
+package com.skyg0d.shop.shiny.recommendation;
+
+import java.util.Arrays;
+
+class IntCounter {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    IntCounter() {
+        this(4);
+    }
+
+    IntCounter(int capacity) {
+        keys = new int[Integer.highestOneBit(Math.max(capacity, 2) * 4 - 1)];
+        values = new int[keys.length];
+
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int key) {
+        int slot = slotOf(key);
+
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    int add(int key, int delta) {
+        int slot = slotOf(key);
+
+        if (keys[slot] != key) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+
+                slot = slotOf(key);
+            }
+
+            keys[slot] = key;
+            size++;
+        }
+
+        values[slot] += delta;
+
+        return values[slot];
+    }
+
+    void put(int key, int value) {
+        add(key, value - get(key));
+    }
+
+    void remove(int key) {
+        int slot = slotOf(key);
+
+        if (keys[slot] != key) {
+            return;
+        }
+
+        keys[slot] = EMPTY;
+        values[slot] = 0;
+        size--;
+
+        int mask = keys.length - 1;
+
+        for (int next = (slot + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int moved = keys[next];
+            int value = values[next];
+
+            keys[next] = EMPTY;
+            values[next] = 0;
+
+            int target = slotOf(moved);
+
+            keys[target] = moved;
+            values[target] = value;
+        }
+    }
+
+    void forEach(Entry entry) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                entry.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new int[oldKeys.length * 2];
+        values = new int[keys.length];
+
+        Arrays.fill(keys, EMPTY);
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int target = slotOf(oldKeys[slot]);
+
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+            }
+        }
+    }
+
+    interface Entry {
+
+        void accept(int key, int value);
+
+    }
+
+}
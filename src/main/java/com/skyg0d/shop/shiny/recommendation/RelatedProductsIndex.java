@@ -0,0 +1,234 @@
+package com.skyg0d.shop.shiny.recommendation;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.ProductCoOccurrence;
+import com.skyg0d.shop.shiny.property.RelatedProductsProps;
+import com.skyg0d.shop.shiny.repository.OrderRepository;
+import com.skyg0d.shop.shiny.repository.ProductCoOccurrenceRepository;
+import com.skyg0d.shop.shiny.repository.projection.OrderItemProductView;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Component
+public class RelatedProductsIndex {
+
+    public static final Set<EOrderStatus> PURCHASED_STATUSES = EnumSet.of(EOrderStatus.PAID, EOrderStatus.SHIPPED, EOrderStatus.ON_THE_WAY, EOrderStatus.DELIVERED);
+
+    private final OrderRepository orderRepository;
+
+    private final ProductCoOccurrenceRepository productCoOccurrenceRepository;
+
+    private final RelatedProductsProps relatedProductsProps;
+
+    private final TransactionTemplate readTransaction;
+
+    private final TransactionTemplate writeTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CoOccurrenceMatrix matrix;
+
+    private Map<UUID, List<OrderItemProductView>> recordedDuringRebuild;
+
+    private Set<UUID> removedDuringRebuild;
+
+    public RelatedProductsIndex(OrderRepository orderRepository, ProductCoOccurrenceRepository productCoOccurrenceRepository, RelatedProductsProps relatedProductsProps, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.productCoOccurrenceRepository = productCoOccurrenceRepository;
+        this.relatedProductsProps = relatedProductsProps;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.matrix = new CoOccurrenceMatrix(relatedProductsProps.getTopK());
+    }
+
+    public List<String> findRelatedSlugs(String productSlug, int limit) {
+        lock.readLock().lock();
+
+        try {
+            return matrix.related(productSlug, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return matrix.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Only this instance sees the order, the others catch up on their next rebuild.
+    public void record(UUID orderId) {
+        List<OrderItemProductView> items = readTransaction.execute((status) -> orderRepository.findAllItemProductsByIdIn(List.of(orderId)));
+
+        if (items.size() < 2) {
+            return;
+        }
+
+        apply((current) -> {
+            current.record(items);
+
+            if (recordedDuringRebuild != null) {
+                recordedDuringRebuild.put(orderId, items);
+            }
+        });
+    }
+
+    public void remove(UUID productId) {
+        afterCommit(() -> apply((current) -> {
+            current.remove(productId);
+
+            if (removedDuringRebuild != null) {
+                removedDuringRebuild.add(productId);
+            }
+        }));
+    }
+
+    public void load() {
+        if (productCoOccurrenceRepository.count() == 0) {
+            rebuild();
+
+            return;
+        }
+
+        CoOccurrenceMatrix loaded = new CoOccurrenceMatrix(relatedProductsProps.getTopK());
+
+        readTransaction
+                .execute((status) -> productCoOccurrenceRepository.findAllViews())
+                .forEach((view) -> loaded.put(view.getProductId(), view.getProductSlug(), view.getRelatedProductId(), view.getRelatedProductSlug(), view.getOrderCount()));
+
+        apply((current) -> matrix = loaded);
+    }
+
+    // Counts always come from the orders, so every instance converges on the same matrix and the
+    // snapshot written here is complete instead of holding only what one instance recorded.
+    @Scheduled(fixedDelayString = "#{@relatedProductsProps.rebuildInterval.toMillis()}", initialDelayString = "#{@relatedProductsProps.rebuildInterval.toMillis()}")
+    public synchronized void rebuild() {
+        apply((current) -> {
+            recordedDuringRebuild = new HashMap<>();
+            removedDuringRebuild = new HashSet<>();
+        });
+
+        try {
+            CoOccurrenceMatrix rebuilt = new CoOccurrenceMatrix(relatedProductsProps.getTopK());
+            Set<UUID> rebuiltOrderIds = new HashSet<>();
+
+            for (int page = 0; ; page++) {
+                PageRequest pageable = PageRequest.of(page, relatedProductsProps.getBatchSize());
+
+                List<UUID> orderIds = readTransaction.execute((status) -> orderRepository.findAllIdsByStatusIn(PURCHASED_STATUSES, pageable));
+
+                if (orderIds.isEmpty()) {
+                    break;
+                }
+
+                rebuiltOrderIds.addAll(orderIds);
+
+                readTransaction
+                        .execute((status) -> orderRepository.findAllItemProductsByIdIn(orderIds))
+                        .stream()
+                        .collect(Collectors.groupingBy(OrderItemProductView::getOrderId))
+                        .values()
+                        .forEach(rebuilt::record);
+
+                if (orderIds.size() < relatedProductsProps.getBatchSize()) {
+                    break;
+                }
+            }
+
+            apply((current) -> {
+                recordedDuringRebuild.forEach((orderId, items) -> {
+                    if (!rebuiltOrderIds.contains(orderId)) {
+                        rebuilt.record(items);
+                    }
+                });
+
+                removedDuringRebuild.forEach(rebuilt::remove);
+
+                matrix = rebuilt;
+            });
+        } finally {
+            apply((current) -> {
+                recordedDuringRebuild = null;
+                removedDuringRebuild = null;
+            });
+        }
+
+        snapshot();
+    }
+
+    private void snapshot() {
+        List<ProductCoOccurrence> rows = new ArrayList<>();
+
+        lock.readLock().lock();
+
+        try {
+            matrix.productIds().forEach((productId) -> matrix.countsOf(productId).forEach((relatedProductId, orderCount) -> rows.add(ProductCoOccurrence
+                    .builder()
+                    .productId(productId)
+                    .relatedProductId(relatedProductId)
+                    .orderCount(orderCount)
+                    .build())));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        writeTransaction.executeWithoutResult((status) -> {
+            productCoOccurrenceRepository.deleteAllInBatch();
+
+            productCoOccurrenceRepository.saveAll(rows);
+        });
+    }
+
+    private void apply(Consumer<CoOccurrenceMatrix> mutation) {
+        lock.writeLock().lock();
+
+        try {
+            mutation.accept(matrix);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+}
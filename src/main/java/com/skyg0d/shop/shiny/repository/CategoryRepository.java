@@ -1,9 +1,15 @@
 package com.skyg0d.shop.shiny.repository;
 
 import com.skyg0d.shop.shiny.model.Category;
+import com.skyg0d.shop.shiny.repository.projection.EntityVersionView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,6 +17,14 @@ public interface CategoryRepository extends JpaRepository<Category, UUID>, JpaSp
 
     Optional<Category> findBySlug(String slug);
 
+    List<Category> findAllBySlugIn(Collection<String> slugs);
+
     Boolean existsBySlug(String slug);
 
+    @Query("SELECT c.updatedAt FROM Category c WHERE c.slug = :slug")
+    Optional<LocalDateTime> findUpdatedAtBySlug(@Param("slug") String slug);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.EntityVersionView(MAX(c.updatedAt), COUNT(c)) FROM Category c")
+    EntityVersionView findVersion();
+
 }
@@ -0,0 +1,48 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.EIdempotencyStatus;
+import com.skyg0d.shop.shiny.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, UUID> {
+
+    Optional<IdempotencyKey> findByIdempotencyKeyAndScope(String idempotencyKey, String scope);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IdempotencyKey k SET k.claimedBy = :claimedBy, k.claimedUntil = :claimedUntil, k.expiresAt = :expiresAt WHERE k.idempotencyKey = :idempotencyKey AND k.scope = :scope AND k.requestHash = :requestHash AND k.status = :status AND k.claimedUntil < :now")
+    int takeOverStale(
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("scope") String scope,
+            @Param("requestHash") String requestHash,
+            @Param("status") EIdempotencyStatus status,
+            @Param("now") Instant now,
+            @Param("claimedBy") String claimedBy,
+            @Param("claimedUntil") Instant claimedUntil,
+            @Param("expiresAt") Instant expiresAt
+    );
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IdempotencyKey k SET k.status = :status, k.response = :response WHERE k.id = :id AND k.claimedBy = :claimedBy")
+    int complete(@Param("id") UUID id, @Param("claimedBy") String claimedBy, @Param("status") EIdempotencyStatus status, @Param("response") String response);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.claimedBy = :claimedBy")
+    int release(@Param("id") UUID id, @Param("claimedBy") String claimedBy);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteAllExpired(@Param("now") Instant now);
+
+}
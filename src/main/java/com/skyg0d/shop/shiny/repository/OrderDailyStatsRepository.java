@@ -0,0 +1,45 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.OrderDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderDailyStatsRepository extends JpaRepository<OrderDailyStats, UUID> {
+
+    boolean existsByDayAndStatus(LocalDate day, EOrderStatus status);
+
+    List<OrderDailyStats> findAllByDayBetweenOrderByDayAscStatusAsc(LocalDate from, LocalDate to);
+
+    List<OrderDailyStats> findAllByDayBetweenAndStatusOrderByDayAsc(LocalDate from, LocalDate to, EOrderStatus status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OrderDailyStats s SET s.orderCount = s.orderCount + :orderCount, s.revenue = s.revenue + :revenue, s.units = s.units + :units WHERE s.day = :day AND s.status = :status")
+    int increment(@Param("day") LocalDate day, @Param("status") EOrderStatus status, @Param("orderCount") long orderCount, @Param("revenue") BigDecimal revenue, @Param("units") long units);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OrderDailyStats> findAllByDay(LocalDate day);
+
+    @Query("SELECT DISTINCT s.day FROM OrderDailyStats s")
+    List<LocalDate> findAllDays();
+
+    @Query("SELECT DISTINCT CAST(o.createdAt AS date) FROM Order o")
+    List<Object> findAllOrderDays();
+
+    @Query("SELECT o.status, COUNT(o), SUM(o.price) FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to GROUP BY o.status")
+    List<Object[]> sumOrdersByStatusBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT o.status, SUM(i.amount) FROM OrderItem i JOIN i.order o WHERE o.createdAt >= :from AND o.createdAt < :to GROUP BY o.status")
+    List<Object[]> sumUnitsByStatusBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+}
@@ -1,17 +1,48 @@
 package com.skyg0d.shop.shiny.repository;
 
+import com.skyg0d.shop.shiny.model.EOrderStatus;
 import com.skyg0d.shop.shiny.model.Order;
 import com.skyg0d.shop.shiny.model.User;
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
+import com.skyg0d.shop.shiny.repository.projection.OrderItemProductView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
 
     Page<Order> findAllByUser(Pageable pageable, User user);
 
+    @Query("SELECT o FROM Order o WHERE NOT EXISTS (SELECT s FROM OrderSummary s WHERE s.orderId = o.id)")
+    List<Order> findAllWithoutSummary(Pageable pageable);
+
+    @Query("SELECT o.id AS id, o.status AS status, o.user.id AS userId, o.createdAt AS createdAt, o.price AS price, (SELECT SUM(i.amount) FROM OrderItem i WHERE i.order = o) AS units, o.paymentLink.paymentId AS paymentId FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusView> findAllStatusesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT o.id AS id, o.status AS status, o.user.id AS userId, o.createdAt AS createdAt, o.price AS price, (SELECT SUM(i.amount) FROM OrderItem i WHERE i.order = o) AS units, o.paymentLink.paymentId AS paymentId FROM Order o WHERE o.status = :status AND o.createdAt < :createdAt ORDER BY o.createdAt")
+    List<OrderStatusView> findAllStatusesByStatusAndCreatedAtBefore(@Param("status") EOrderStatus status, @Param("createdAt") LocalDateTime createdAt, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id = :id AND o.status = :expected")
+    int changeStatus(@Param("id") UUID id, @Param("expected") EOrderStatus expected, @Param("status") EOrderStatus status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id IN :ids AND o.status = :expected")
+    int changeStatusByIdIn(@Param("ids") Collection<UUID> ids, @Param("expected") EOrderStatus expected, @Param("status") EOrderStatus status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses ORDER BY o.id")
+    List<UUID> findAllIdsByStatusIn(@Param("statuses") Collection<EOrderStatus> statuses, Pageable pageable);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.OrderItemProductView(i.order.id, i.product.id, i.product.slug) FROM OrderItem i WHERE i.order.id IN :ids")
+    List<OrderItemProductView> findAllItemProductsByIdIn(@Param("ids") Collection<UUID> ids);
 
 }
@@ -0,0 +1,32 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, UUID>, JpaSpecificationExecutor<OrderSummary>, OrderSummaryRepositoryCustom {
+
+    Optional<OrderSummary> findByOrderId(UUID orderId);
+
+    Page<OrderSummary> findAllByUserEmail(Pageable pageable, String userEmail);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderSummary s SET s.status = :status, s.updatedAt = :updatedAt WHERE s.orderId IN :orderIds")
+    int updateStatusByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds, @Param("status") EOrderStatus status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderSummary s SET s.userUsername = :username, s.userFullName = :fullName, s.updatedAt = :updatedAt WHERE s.userEmail = :email")
+    int updateUserByUserEmail(@Param("email") String email, @Param("username") String username, @Param("fullName") String fullName, @Param("updatedAt") LocalDateTime updatedAt);
+
+}
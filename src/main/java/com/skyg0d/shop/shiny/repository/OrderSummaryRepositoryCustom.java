@@ -0,0 +1,12 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface OrderSummaryRepositoryCustom {
+
+    Stream<OrderSummary> streamAll(Specification<OrderSummary> specification, int fetchSize);
+
+}
@@ -0,0 +1,42 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.stream.Stream;
+
+public class OrderSummaryRepositoryCustomImpl implements OrderSummaryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<OrderSummary> streamAll(Specification<OrderSummary> specification, int fetchSize) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = builder.createQuery(OrderSummary.class);
+        Root<OrderSummary> root = query.from(OrderSummary.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.orderBy(builder.asc(root.get("orderCreatedAt")));
+
+        return entityManager
+                .createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+}
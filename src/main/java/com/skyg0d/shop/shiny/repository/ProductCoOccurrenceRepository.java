@@ -0,0 +1,16 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.ProductCoOccurrence;
+import com.skyg0d.shop.shiny.repository.projection.ProductCoOccurrenceView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductCoOccurrenceRepository extends JpaRepository<ProductCoOccurrence, UUID> {
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductCoOccurrenceView(c.productId, p.slug, c.relatedProductId, r.slug, c.orderCount) FROM ProductCoOccurrence c, Product p, Product r WHERE p.id = c.productId AND r.id = c.relatedProductId")
+    List<ProductCoOccurrenceView> findAllViews();
+
+}
@@ -0,0 +1,45 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.ProductRatingStats;
+import com.skyg0d.shop.shiny.repository.projection.ProductRatingStatsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProductRatingStatsRepository extends JpaRepository<ProductRatingStats, UUID> {
+
+    boolean existsByProductId(UUID productId);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductRatingStatsView(s.product.id, s.ratingCount, s.starsSum, s.oneStar, s.twoStars, s.threeStars, s.fourStars, s.fiveStars) FROM ProductRatingStats s WHERE s.product.id IN :productIds")
+    List<ProductRatingStatsView> findAllViewsByProductIdIn(@Param("productIds") Collection<UUID> productIds);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductRatingStatsView(p.id, s.ratingCount, s.starsSum, s.oneStar, s.twoStars, s.threeStars, s.fourStars, s.fiveStars) FROM Product p LEFT JOIN ProductRatingStats s ON s.product = p WHERE p.slug = :slug")
+    Optional<ProductRatingStatsView> findViewByProductSlug(@Param("slug") String slug);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductRatingStats s SET s.ratingCount = s.ratingCount + :ratingCount, s.starsSum = s.starsSum + :starsSum, s.oneStar = s.oneStar + :oneStar, s.twoStars = s.twoStars + :twoStars, s.threeStars = s.threeStars + :threeStars, s.fourStars = s.fourStars + :fourStars, s.fiveStars = s.fiveStars + :fiveStars WHERE s.product.id = :productId")
+    int increment(
+            @Param("productId") UUID productId,
+            @Param("ratingCount") long ratingCount,
+            @Param("starsSum") long starsSum,
+            @Param("oneStar") long oneStar,
+            @Param("twoStars") long twoStars,
+            @Param("threeStars") long threeStars,
+            @Param("fourStars") long fourStars,
+            @Param("fiveStars") long fiveStars
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ProductRatingStats s WHERE s.product.id = :productId")
+    int deleteByProductId(@Param("productId") UUID productId);
+
+    @Query("SELECT r.product.id, r.stars, COUNT(r) FROM Rating r GROUP BY r.product.id, r.stars")
+    List<Object[]> countRatingsByProductAndStars();
+
+}
@@ -1,20 +1,98 @@
 package com.skyg0d.shop.shiny.repository;
 
 import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.repository.projection.EntityVersionView;
+import com.skyg0d.shop.shiny.repository.projection.ProductCategoryView;
+import com.skyg0d.shop.shiny.repository.projection.ProductElementView;
+import com.skyg0d.shop.shiny.repository.projection.ProductView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
 
     Boolean existsBySlug(String slug);
 
-    Page<Product> findAllByActiveTrue(Pageable pageable);
+    @Query(value = "SELECT new com.skyg0d.shop.shiny.repository.projection.ProductView(p.id, p.createdAt, p.updatedAt, p.slug, p.name, p.description, p.thumbnail, p.brand, p.price, p.effectivePrice, p.amount, p.discount, p.discountCode) FROM Product p WHERE p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true")
+    Page<ProductView> findAllActiveViews(Pageable pageable);
 
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductView(p.id, p.createdAt, p.updatedAt, p.slug, p.name, p.description, p.thumbnail, p.brand, p.price, p.effectivePrice, p.amount, p.discount, p.discountCode) FROM Product p WHERE p.slug = :slug")
+    Optional<ProductView> findViewBySlug(@Param("slug") String slug);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductView(p.id, p.createdAt, p.updatedAt, p.slug, p.name, p.description, p.thumbnail, p.brand, p.price, p.effectivePrice, p.amount, p.discount, p.discountCode) FROM Product p WHERE p.id IN :ids")
+    List<ProductView> findAllViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductCategoryView(p.id, c.slug, c.name, c.description, c.thumbnail) FROM Product p JOIN p.categories c WHERE p.id IN :ids")
+    List<ProductCategoryView> findAllCategoryViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductElementView(p.id, i) FROM Product p JOIN p.images i WHERE p.id IN :ids")
+    List<ProductElementView> findAllImageViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductElementView(p.id, s) FROM Product p JOIN p.sizes s WHERE p.id IN :ids")
+    List<ProductElementView> findAllSizeViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.ProductElementView(p.id, f) FROM Product p JOIN p.features f WHERE p.id IN :ids")
+    List<ProductElementView> findAllFeatureViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph("Product.detail")
     Optional<Product> findBySlug(String slug);
 
+    @EntityGraph("Product.detail")
+    Optional<Product> findByStripeProductId(String stripeProductId);
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.categories WHERE p.slug IN :slugs")
+    List<Product> findAllBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    @Query("SELECT p.updatedAt FROM Product p WHERE p.slug = :slug")
+    Optional<LocalDateTime> findUpdatedAtBySlug(@Param("slug") String slug);
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.EntityVersionView(MAX(p.updatedAt), COUNT(p)) FROM Product p")
+    EntityVersionView findVersion();
+
+    @Query("SELECT p.slug FROM Product p WHERE p.slug IN :slugs")
+    Set<String> findAllSlugsBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    @Query("SELECT p.id FROM Product p")
+    List<UUID> findAllIds();
+
+    @Query("SELECT p.id FROM Product p JOIN p.categories c WHERE c.id = :categoryId")
+    List<UUID> findAllIdsByCategoryId(@Param("categoryId") UUID categoryId);
+
+    @Query("SELECT p.amount FROM Product p WHERE p.id = :id AND p.active = true")
+    Optional<Long> findActiveAmountById(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stripePromotionCodeId = :stripePromotionCodeId, p.stripeCouponId = :stripeCouponId WHERE p.stripeProductId = :stripeProductId AND p.discountCode = :discountCode AND p.stripePromotionCodeId IS NULL")
+    int changeStripePromotionCode(@Param("stripeProductId") String stripeProductId, @Param("discountCode") String discountCode, @Param("stripePromotionCodeId") String stripePromotionCodeId, @Param("stripeCouponId") String stripeCouponId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.amount = p.amount - :amount, p.updatedAt = :now WHERE p.id = :id AND p.amount >= :amount AND p.active = true")
+    int decreaseAmount(@Param("id") UUID id, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.amount = p.amount + :amount, p.updatedAt = :now WHERE p.id = :id")
+    int increaseAmount(@Param("id") UUID id, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE products p SET amount = amount + (SELECT SUM(r.amount) FROM stock_reservations r WHERE r.product_id = p.id AND r.status IN :statuses AND r.order_id IN :orderIds), updated_at = :now WHERE p.id IN (SELECT r.product_id FROM stock_reservations r WHERE r.status IN :statuses AND r.order_id IN :orderIds)", nativeQuery = true)
+    int increaseAmountByReservations(@Param("orderIds") Collection<String> orderIds, @Param("statuses") Collection<String> statuses, @Param("now") LocalDateTime now);
+
 }
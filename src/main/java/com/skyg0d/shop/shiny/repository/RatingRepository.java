@@ -3,10 +3,12 @@ package com.skyg0d.shop.shiny.repository;
 import com.skyg0d.shop.shiny.model.Product;
 import com.skyg0d.shop.shiny.model.Rating;
 import com.skyg0d.shop.shiny.model.User;
+import com.skyg0d.shop.shiny.repository.projection.EntityVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
@@ -16,9 +18,12 @@ public interface RatingRepository extends JpaRepository<Rating, UUID> {
 
     Page<Rating> findAllByProduct(Product product, Pageable pageable);
 
-    @Query("SELECT AVG(r.stars) FROM Rating r JOIN r.product p WHERE p.slug = ?1")
-    double productStarsAverage(String productSlug);
-
     boolean existsByProductAndUser(Product product, User user);
 
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.EntityVersionView(MAX(r.updatedAt), COUNT(r)) FROM Rating r")
+    EntityVersionView findVersion();
+
+    @Query("SELECT new com.skyg0d.shop.shiny.repository.projection.EntityVersionView(MAX(r.updatedAt), COUNT(r)) FROM Rating r WHERE r.product.slug = :slug")
+    EntityVersionView findVersionByProductSlug(@Param("slug") String slug);
+
 }
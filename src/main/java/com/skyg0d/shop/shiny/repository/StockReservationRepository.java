@@ -0,0 +1,35 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.EReservationStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    List<StockReservation> findAllByOrder(Order order);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :status WHERE r.id = :id AND r.status = :expected")
+    int changeStatus(@Param("id") UUID id, @Param("expected") EReservationStatus expected, @Param("status") EReservationStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<StockReservation> findAllByStatusInAndOrderIdIn(Collection<EReservationStatus> statuses, Collection<UUID> orderIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :status WHERE r.order.id IN :orderIds AND r.status IN :expected")
+    int changeStatusByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds, @Param("expected") Collection<EReservationStatus> expected, @Param("status") EReservationStatus status);
+
+}
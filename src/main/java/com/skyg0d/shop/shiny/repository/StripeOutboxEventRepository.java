@@ -0,0 +1,55 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.EOutboxStatus;
+import com.skyg0d.shop.shiny.model.EStripeOutboxType;
+import com.skyg0d.shop.shiny.model.StripeOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StripeOutboxEventRepository extends JpaRepository<StripeOutboxEvent, UUID> {
+
+    @Query("SELECT e.stripeProductId FROM StripeOutboxEvent e WHERE e.status = :status AND e.stripeProductId IS NOT NULL GROUP BY e.stripeProductId HAVING MAX(e.nextAttemptAt) <= :now ORDER BY MIN(e.createdAt)")
+    List<String> findAllDueStripeProductIds(@Param("status") EOutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    @Query("SELECT e.id FROM StripeOutboxEvent e WHERE e.status = :status AND e.type = :type AND e.nextAttemptAt <= :now ORDER BY e.createdAt")
+    List<UUID> findAllDueIdsByType(@Param("status") EOutboxStatus status, @Param("type") EStripeOutboxType type, @Param("now") Instant now, Pageable pageable);
+
+    List<StripeOutboxEvent> findAllByStatusAndClaimedByOrderByCreatedAt(EOutboxStatus status, String claimedBy);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StripeOutboxEvent e SET e.claimedBy = :claimedBy, e.nextAttemptAt = :claimedUntil WHERE e.status = :status AND e.stripeProductId IN :stripeProductIds AND e.nextAttemptAt <= :now")
+    int claimAllByStripeProductIdIn(@Param("status") EOutboxStatus status, @Param("stripeProductIds") Collection<String> stripeProductIds, @Param("claimedBy") String claimedBy, @Param("now") Instant now, @Param("claimedUntil") Instant claimedUntil);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StripeOutboxEvent e SET e.claimedBy = :claimedBy, e.nextAttemptAt = :claimedUntil WHERE e.status = :status AND e.id IN :ids AND e.nextAttemptAt <= :now")
+    int claimAllByIdIn(@Param("status") EOutboxStatus status, @Param("ids") Collection<UUID> ids, @Param("claimedBy") String claimedBy, @Param("now") Instant now, @Param("claimedUntil") Instant claimedUntil);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StripeOutboxEvent e SET e.status = :failed, e.lastError = :error WHERE e.status = :status AND e.stripeProductId IS NULL AND e.stripePaymentLinkId IS NULL")
+    int failAllWithoutTarget(@Param("status") EOutboxStatus status, @Param("failed") EOutboxStatus failed, @Param("error") String error);
+
+    long countByStatus(EOutboxStatus status);
+
+    @Query("SELECT MIN(e.createdAt) FROM StripeOutboxEvent e WHERE e.status = :status")
+    Optional<LocalDateTime> findOldestCreatedAtByStatus(@Param("status") EOutboxStatus status);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StripeOutboxEvent e WHERE e.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+}
@@ -0,0 +1,16 @@
+package com.skyg0d.shop.shiny.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class EntityVersionView {
+
+    private final LocalDateTime updatedAt;
+
+    private final long count;
+
+}
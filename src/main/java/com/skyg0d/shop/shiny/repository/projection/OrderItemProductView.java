@@ -0,0 +1,18 @@
+package com.skyg0d.shop.shiny.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class OrderItemProductView {
+
+    private final UUID orderId;
+
+    private final UUID productId;
+
+    private final String productSlug;
+
+}
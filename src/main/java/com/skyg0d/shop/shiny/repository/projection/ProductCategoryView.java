@@ -0,0 +1,22 @@
+package com.skyg0d.shop.shiny.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ProductCategoryView {
+
+    private final UUID productId;
+
+    private final String slug;
+
+    private final String name;
+
+    private final String description;
+
+    private final String thumbnail;
+
+}
@@ -0,0 +1,22 @@
+package com.skyg0d.shop.shiny.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ProductCoOccurrenceView {
+
+    private final UUID productId;
+
+    private final String productSlug;
+
+    private final UUID relatedProductId;
+
+    private final String relatedProductSlug;
+
+    private final int orderCount;
+
+}
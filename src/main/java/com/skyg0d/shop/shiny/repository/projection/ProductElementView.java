@@ -0,0 +1,16 @@
+package com.skyg0d.shop.shiny.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ProductElementView {
+
+    private final UUID productId;
+
+    private final String value;
+
+}
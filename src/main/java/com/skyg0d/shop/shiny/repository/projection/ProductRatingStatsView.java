@@ -0,0 +1,28 @@
+package com.skyg0d.shop.shiny.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ProductRatingStatsView {
+
+    private final UUID productId;
+
+    private final Long ratingCount;
+
+    private final Long starsSum;
+
+    private final Long oneStar;
+
+    private final Long twoStars;
+
+    private final Long threeStars;
+
+    private final Long fourStars;
+
+    private final Long fiveStars;
+
+}
@@ -0,0 +1,40 @@
+package com.skyg0d.shop.shiny.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ProductView {
+
+    private final UUID id;
+
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime updatedAt;
+
+    private final String slug;
+
+    private final String name;
+
+    private final String description;
+
+    private final String thumbnail;
+
+    private final String brand;
+
+    private final BigDecimal price;
+
+    private final BigDecimal effectivePrice;
+
+    private final long amount;
+
+    private final int discount;
+
+    private final String discountCode;
+
+}
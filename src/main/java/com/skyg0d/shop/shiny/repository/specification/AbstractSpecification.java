@@ -34,9 +34,9 @@ public abstract class AbstractSpecification {
 
     protected static <T> Specification<T> inDateOrBefore(String date, String property) {
         return getSpec(date, (root, query, builder) -> (
-                builder.lessThanOrEqualTo(root.get(property), LocalDateTime.of(
-                        LocalDate.parse(date),
-                        LocalTime.MAX
+                builder.lessThan(root.get(property), LocalDateTime.of(
+                        LocalDate.parse(date).plusDays(1),
+                        LocalTime.MIN
                 ))
         ));
     }
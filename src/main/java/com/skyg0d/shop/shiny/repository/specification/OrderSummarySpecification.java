@@ -0,0 +1,100 @@
+package com.skyg0d.shop.shiny.repository.specification;
+
+import com.skyg0d.shop.shiny.converter.StringToEnumConverter;
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.OrderItem;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.math.BigDecimal;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+
+public class OrderSummarySpecification extends AbstractSpecification {
+
+    public static Specification<OrderSummary> getSpecification(OrderParameterSearch search) {
+        return where(withGreaterThanOrEqualToPrice(search.getGreaterThanOrEqualToPrice()))
+                .and(where(withLessThanOrEqualToPrice(search.getLessThanOrEqualToPrice())))
+                .and(where(withOrderCreatedInDateOrAfter(search.getCreatedInDateOrAfter())))
+                .and(where(withOrderCreatedInDateOrBefore(search.getCreatedInDateOrBefore())))
+                .and(where(withProductName(search.getProductName())))
+                .and(where(withProductDescription(search.getProductDescription())))
+                .and(where(withProductBrand(search.getProductBrand())))
+                .and(where(withUserUsername(search.getUserUsername())))
+                .and(where(withUserFullName(search.getUserFullName())))
+                .and(where(withUserEmail(search.getUserEmail())))
+                .and(where(withStatus(search.getStatus())));
+    }
+
+    private static Specification<OrderSummary> withGreaterThanOrEqualToPrice(BigDecimal price) {
+        return greaterThanOrEqual(price, "price");
+    }
+
+    private static Specification<OrderSummary> withLessThanOrEqualToPrice(BigDecimal price) {
+        return lessThanOrEqual(price, "price");
+    }
+
+    private static Specification<OrderSummary> withOrderCreatedInDateOrAfter(String date) {
+        return inDateOrAfter(date, "orderCreatedAt");
+    }
+
+    private static Specification<OrderSummary> withOrderCreatedInDateOrBefore(String date) {
+        return inDateOrBefore(date, "orderCreatedAt");
+    }
+
+    private static Specification<OrderSummary> withProductName(String productName) {
+        return likeProduct(productName, "name");
+    }
+
+    private static Specification<OrderSummary> withProductDescription(String productDescription) {
+        return likeProduct(productDescription, "description");
+    }
+
+    private static Specification<OrderSummary> withProductBrand(String productBrand) {
+        return likeProduct(productBrand, "brand");
+    }
+
+    private static Specification<OrderSummary> withUserUsername(String username) {
+        return like(username, "userUsername");
+    }
+
+    private static Specification<OrderSummary> withUserFullName(String fullName) {
+        return like(fullName, "userFullName");
+    }
+
+    private static Specification<OrderSummary> withUserEmail(String email) {
+        return like(email, "userEmail");
+    }
+
+    private static Specification<OrderSummary> withStatus(String status) {
+        EOrderStatus eStatus = (status == null || status.isBlank())
+                ? null
+                : new StringToEnumConverter().convert(status);
+
+        return getSpec(eStatus, (root, query, builder) -> (
+                builder.equal(root.get("status"), eStatus)
+        ));
+    }
+
+    private static Specification<OrderSummary> likeProduct(String string, String property) {
+        string = string == null ? "" : string;
+
+        String liked = "%" + string.toLowerCase() + "%";
+
+        return getSpec(string, (root, query, builder) -> {
+            Subquery<OrderItem> items = query.subquery(OrderItem.class);
+            Root<OrderItem> item = items.from(OrderItem.class);
+
+            return builder.exists(items
+                    .select(item)
+                    .where(
+                            builder.equal(item.get("order").get("id"), root.get("orderId")),
+                            builder.like(builder.lower(item.get("product").get(property)), liked)
+                    ));
+        });
+    }
+
+}
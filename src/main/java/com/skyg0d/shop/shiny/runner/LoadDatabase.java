@@ -4,21 +4,41 @@ import com.skyg0d.shop.shiny.model.ERole;
 import com.skyg0d.shop.shiny.model.Role;
 import com.skyg0d.shop.shiny.model.User;
 import com.skyg0d.shop.shiny.property.DefaultDataProps;
+import com.skyg0d.shop.shiny.recommendation.RelatedProductsIndex;
 import com.skyg0d.shop.shiny.repository.RoleRepository;
 import com.skyg0d.shop.shiny.repository.UserRepository;
+import com.skyg0d.shop.shiny.service.OrderStatsService;
+import com.skyg0d.shop.shiny.service.OrderSummaryService;
+import com.skyg0d.shop.shiny.service.ProductRatingStatsService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Configuration
 public class LoadDatabase {
 
+    private static final int LEGACY_ORDER_BATCH_SIZE = 500;
+
     @Bean
+    @Order(1)
     CommandLineRunner createDefaultRolesIfNoneExists(RoleRepository roleRepository) {
         return (args) -> {
             if (roleRepository.count() > 0) {
@@ -45,6 +65,7 @@ public class LoadDatabase {
     }
 
     @Bean
+    @Order(2)
     CommandLineRunner createDefaultUsersIfNoneExists(UserRepository userRepository, RoleRepository roleRepository, DefaultDataProps data) {
         return (args) -> {
             if (userRepository.count() > 0) {
@@ -66,4 +87,152 @@ public class LoadDatabase {
         };
     }
 
+    @Bean
+    @Order(3)
+    CommandLineRunner migrateLegacyOrderProducts(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        return (args) -> {
+            Boolean hasLegacyTable = jdbcTemplate.execute((ConnectionCallback<Boolean>) (connection) -> {
+                try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, "order_product", null)) {
+                    return tables.next();
+                }
+            });
+
+            if (!Boolean.TRUE.equals(hasLegacyTable)) {
+                return;
+            }
+
+            // paged by order id and committed per page, so a large legacy table neither sits in one transaction
+            // nor starts over after a failure, migrated orders are skipped by the NOT EXISTS
+            String lastOrderId = "";
+
+            while (true) {
+                List<String> orderIds = jdbcTemplate.queryForList("SELECT DISTINCT order_id FROM order_product WHERE order_id > ? ORDER BY order_id LIMIT ?", String.class, lastOrderId, LEGACY_ORDER_BATCH_SIZE);
+
+                if (orderIds.isEmpty()) {
+                    break;
+                }
+
+                String fromOrderId = lastOrderId;
+                String toOrderId = orderIds.get(orderIds.size() - 1);
+
+                transactionTemplate.executeWithoutResult((status) -> migrateLegacyOrderLines(jdbcTemplate, fromOrderId, toOrderId));
+
+                if (orderIds.size() < LEGACY_ORDER_BATCH_SIZE) {
+                    break;
+                }
+
+                lastOrderId = toOrderId;
+            }
+
+            // order_product is kept until the migrated order_items are verified, drop it by hand afterwards
+        };
+    }
+
+    @Bean
+    @Order(4)
+    CommandLineRunner backfillProductEffectivePrices(JdbcTemplate jdbcTemplate) {
+        return (args) -> jdbcTemplate.update("UPDATE products SET effective_price = ROUND(price * (100 - discount) / 100, 2) " +
+                "WHERE effective_price IS NULL AND price IS NOT NULL");
+    }
+
+    @Bean
+    @Order(5)
+    CommandLineRunner backfillOrderSummaries(OrderSummaryService orderSummaryService) {
+        return (args) -> orderSummaryService.backfill();
+    }
+
+    @Bean
+    @Order(6)
+    CommandLineRunner rebuildOrderStatsIfNoneExists(OrderStatsService orderStatsService) {
+        return (args) -> {
+            if (orderStatsService.isEmpty()) {
+                orderStatsService.rebuild();
+            }
+        };
+    }
+
+    @Bean
+    @Order(7)
+    CommandLineRunner loadRelatedProducts(RelatedProductsIndex relatedProductsIndex) {
+        return (args) -> relatedProductsIndex.load();
+    }
+
+    @Bean
+    @Order(8)
+    CommandLineRunner rebuildProductRatingStatsIfNoneExists(ProductRatingStatsService productRatingStatsService) {
+        return (args) -> {
+            if (productRatingStatsService.isEmpty()) {
+                productRatingStatsService.rebuild();
+            }
+        };
+    }
+
+    private static void migrateLegacyOrderLines(JdbcTemplate jdbcTemplate, String fromOrderId, String toOrderId) {
+        List<LegacyOrderLine> lines = jdbcTemplate.query("SELECT op.order_id, op.product_id, COUNT(*) AS amount, p.price, p.discount, o.price AS order_price " +
+                "FROM order_product op JOIN products p ON p.id = op.product_id JOIN orders o ON o.id = op.order_id " +
+                "WHERE op.order_id > ? AND op.order_id <= ? " +
+                "AND NOT EXISTS (SELECT 1 FROM order_items oi WHERE oi.order_id = op.order_id AND oi.product_id = op.product_id) " +
+                "GROUP BY op.order_id, op.product_id, p.price, p.discount, o.price", (rs, rowNum) -> new LegacyOrderLine(
+                rs.getString("order_id"),
+                rs.getString("product_id"),
+                rs.getLong("amount"),
+                rs.getBigDecimal("price"),
+                rs.getInt("discount"),
+                rs.getBigDecimal("order_price")
+        ), fromOrderId, toOrderId);
+
+        // legacy rows only kept product ids, so the current prices are scaled to add up to the order total that was charged
+        lines
+                .stream()
+                .collect(Collectors.groupingBy(LegacyOrderLine::getOrderId))
+                .values()
+                .forEach(LoadDatabase::scaleToOrderPrice);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (id, created_at, updated_at, order_id, product_id, amount, price, discount) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", lines, LEGACY_ORDER_BATCH_SIZE, (ps, line) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setObject(2, now);
+            ps.setObject(3, now);
+            ps.setString(4, line.getOrderId());
+            ps.setString(5, line.getProductId());
+            ps.setLong(6, line.getAmount());
+            ps.setBigDecimal(7, line.getPrice());
+            ps.setInt(8, line.getDiscount());
+        });
+    }
+
+    private static void scaleToOrderPrice(List<LegacyOrderLine> lines) {
+        BigDecimal orderPrice = lines.get(0).getOrderPrice();
+        BigDecimal currentPrice = lines
+                .stream()
+                .map((line) -> line.getPrice().multiply(BigDecimal.valueOf((100L - line.getDiscount()) * line.getAmount())).movePointLeft(2))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        if (orderPrice == null || orderPrice.signum() <= 0 || currentPrice.signum() <= 0) {
+            return;
+        }
+
+        lines.forEach((line) -> line.setPrice(line.getPrice().multiply(orderPrice).divide(currentPrice, 2, RoundingMode.HALF_UP)));
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    private static class LegacyOrderLine {
+
+        private String orderId;
+
+        private String productId;
+
+        private long amount;
+
+        private BigDecimal price;
+
+        private int discount;
+
+        private BigDecimal orderPrice;
+
+    }
+
 }
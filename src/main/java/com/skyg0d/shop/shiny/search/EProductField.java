@@ -0,0 +1,33 @@
+package com.skyg0d.shop.shiny.search;
+
+public enum EProductField {
+    NAME(3),
+
+    BRAND(2),
+
+    CATEGORY_NAME(1.5),
+
+    DESCRIPTION(1),
+
+    FEATURES(0.5),
+
+    CATEGORY_DESCRIPTION(0.5),
+
+    THUMBNAIL(0),
+
+    SIZES(0);
+
+    private final double boost;
+
+    EProductField(double boost) {
+        this.boost = boost;
+    }
+
+    public double getBoost() {
+        return boost;
+    }
+
+    public boolean isFullText() {
+        return boost > 0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.skyg0d.shop.shiny.search;
+
+import com.skyg0d.shop.shiny.model.Category;
+import com.skyg0d.shop.shiny.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Getter
+@AllArgsConstructor
+public class ProductDocument {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final UUID id;
+    private final String name;
+    private final String brand;
+    private final Set<String> categoryNames;
+    private final BigDecimal effectivePrice;
+
+    @With
+    private final long amount;
+
+    private final int discount;
+    private final boolean active;
+    private final LocalDateTime createdAt;
+    private final Map<EProductField, Set<String>> terms;
+
+    public static ProductDocument from(Product product) {
+        Map<EProductField, Set<String>> terms = new EnumMap<>(EProductField.class);
+
+        terms.put(EProductField.NAME, tokenize(product.getName()));
+        terms.put(EProductField.DESCRIPTION, tokenize(product.getDescription()));
+        terms.put(EProductField.BRAND, tokenize(product.getBrand()));
+        terms.put(EProductField.THUMBNAIL, tokenize(product.getThumbnail()));
+        terms.put(EProductField.CATEGORY_NAME, tokenize(product.getCategories().stream().map(Category::getName)));
+        terms.put(EProductField.CATEGORY_DESCRIPTION, tokenize(product.getCategories().stream().map(Category::getDescription)));
+        terms.put(EProductField.SIZES, tokenize(product.getSizes()));
+        terms.put(EProductField.FEATURES, tokenize(product.getFeatures()));
+
+        return new ProductDocument(
+                product.getId(),
+                product.getName(),
+                product.getBrand() == null || product.getBrand().isBlank() ? null : product.getBrand().trim(),
+                product.getCategories().stream().map(Category::getName).collect(Collectors.toSet()),
+                product.getEffectivePrice(),
+                product.getAmount(),
+                product.getDiscount(),
+                product.isActive(),
+                product.getCreatedAt(),
+                terms
+        );
+    }
+
+    public static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+
+        String folded = MARKS
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        return Arrays
+                .stream(SEPARATORS.split(folded))
+                .filter((token) -> !token.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Set<String> tokenize(Collection<String> texts) {
+        return tokenize(texts.stream());
+    }
+
+    private static Set<String> tokenize(Stream<String> texts) {
+        return texts
+                .filter(Objects::nonNull)
+                .map(ProductDocument::tokenize)
+                .flatMap(Set::stream)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+}
@@ -0,0 +1,457 @@
+package com.skyg0d.shop.shiny.search;
+
+import com.skyg0d.shop.shiny.payload.response.FacetCountResponse;
+import com.skyg0d.shop.shiny.payload.response.PriceBucketResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductFacetsResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductSearchResponse;
+import com.skyg0d.shop.shiny.payload.search.ProductParametersSearch;
+import com.skyg0d.shop.shiny.util.CollectionUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class ProductIndex {
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private static final Map<String, Comparator<ProductDocument>> SORTABLE = Map.of(
+            "name", Comparator.comparing(ProductDocument::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)),
+            "price", Comparator.comparing(ProductDocument::getEffectivePrice, Comparator.nullsLast(Comparator.naturalOrder())),
+            "amount", Comparator.comparingLong(ProductDocument::getAmount),
+            "discount", Comparator.comparingInt(ProductDocument::getDiscount),
+            "createdAt", Comparator.comparing(ProductDocument::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+    );
+
+    private final List<ProductDocument> documents = new ArrayList<>();
+    private final Map<UUID, Integer> docs = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet active = new BitSet();
+    private final Map<EProductField, NavigableMap<String, BitSet>> terms = new EnumMap<>(EProductField.class);
+    private final NavigableMap<BigDecimal, BitSet> prices = new TreeMap<>();
+    private final NavigableMap<Long, BitSet> amounts = new TreeMap<>();
+    private final NavigableMap<Integer, BitSet> discounts = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, BitSet> creations = new TreeMap<>();
+    private final NavigableMap<String, BitSet> categoryFacets = new TreeMap<>();
+    private final NavigableMap<String, BitSet> brandFacets = new TreeMap<>();
+    private final BitSet discounted = new BitSet();
+    private final List<BigDecimal> priceBuckets;
+    private final List<BitSet> priceBucketFacets = new ArrayList<>();
+
+    ProductIndex(List<BigDecimal> priceBuckets) {
+        for (EProductField field : EProductField.values()) {
+            terms.put(field, new TreeMap<>());
+        }
+
+        this.priceBuckets = priceBuckets.stream().sorted().distinct().collect(Collectors.toList());
+
+        this.priceBuckets.forEach((bucket) -> priceBucketFacets.add(new BitSet()));
+    }
+
+    int size() {
+        return docs.size();
+    }
+
+    void add(ProductDocument document) {
+        Integer existing = docs.get(document.getId());
+        int doc;
+
+        if (existing != null) {
+            doc = existing;
+
+            unpost(doc);
+        } else {
+            doc = documents.size();
+
+            documents.add(null);
+            docs.put(document.getId(), doc);
+        }
+
+        documents.set(doc, document);
+        live.set(doc);
+        active.set(doc, document.isActive());
+        discounted.set(doc, document.getDiscount() > 0);
+
+        document.getTerms().forEach((field, fieldTerms) -> fieldTerms.forEach((term) -> post(terms.get(field), term, doc)));
+
+        post(prices, document.getEffectivePrice(), doc);
+        post(amounts, document.getAmount(), doc);
+        post(discounts, document.getDiscount(), doc);
+        post(creations, document.getCreatedAt(), doc);
+        post(brandFacets, document.getBrand(), doc);
+
+        document.getCategoryNames().forEach((categoryName) -> post(categoryFacets, categoryName, doc));
+
+        priceBucketOf(document).ifPresent((bucket) -> bucket.set(doc));
+    }
+
+    void remove(UUID productId) {
+        Integer doc = docs.remove(productId);
+
+        if (doc == null) {
+            return;
+        }
+
+        unpost(doc);
+
+        documents.set(doc, null);
+        live.clear(doc);
+        active.clear(doc);
+        discounted.clear(doc);
+    }
+
+    void changeAmount(UUID productId, long delta) {
+        Integer doc = docs.get(productId);
+
+        if (doc == null) {
+            return;
+        }
+
+        ProductDocument document = documents.get(doc);
+        ProductDocument changed = document.withAmount(document.getAmount() + delta);
+
+        unpost(amounts, document.getAmount(), doc);
+        post(amounts, changed.getAmount(), doc);
+
+        documents.set(doc, changed);
+    }
+
+    ProductSearchResponse<UUID> search(ProductParametersSearch search, Pageable pageable) {
+        BitSet matches = (BitSet) live.clone();
+        List<List<TermMatch>> textMatches = new ArrayList<>();
+
+        for (String token : ProductDocument.tokenize(search.getText())) {
+            List<TermMatch> tokenMatches = new ArrayList<>();
+
+            for (EProductField field : EProductField.values()) {
+                if (field.isFullText()) {
+                    tokenMatches.addAll(expand(field, token));
+                }
+            }
+
+            matches.and(union(tokenMatches));
+            textMatches.add(tokenMatches);
+        }
+
+        matchAll(EProductField.NAME, search.getName(), matches);
+        matchAll(EProductField.DESCRIPTION, search.getDescription(), matches);
+        matchAll(EProductField.THUMBNAIL, search.getThumbnail(), matches);
+        matchAll(EProductField.BRAND, search.getBrand(), matches);
+        matchAll(EProductField.CATEGORY_NAME, search.getCategoryName(), matches);
+        matchAll(EProductField.CATEGORY_DESCRIPTION, search.getCategoryDescription(), matches);
+        matchAny(EProductField.SIZES, search.getSizes(), matches);
+        matchAny(EProductField.FEATURES, search.getFeatures(), matches);
+
+        matchRange(prices, positive(search.getGreaterThanOrEqualToPrice()), positive(search.getLessThanOrEqualToPrice()), matches);
+        matchRange(amounts, positive(search.getGreaterThenOrEqualToAmount()), positive(search.getLessThenOrEqualToAmount()), matches);
+        matchRange(discounts, positive(search.getGreaterThenOrEqualToDiscount()), positive(search.getLessThenOrEqualToDiscount()), matches);
+        matchRange(creations, startOf(search.getCreatedInDateOrAfter()), endOf(search.getCreatedInDateOrBefore()), matches);
+
+        if (search.getActive() == 1) {
+            matches.and(active);
+        } else if (search.getActive() == 0) {
+            matches.andNot(active);
+        }
+
+        int total = matches.cardinality();
+        int limit = pageable.isPaged() ? (int) Math.min(pageable.getOffset() + pageable.getPageSize(), total) : total;
+        int offset = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), limit) : 0;
+
+        Comparator<Integer> order = comparator(pageable.getSort(), score(matches, textMatches));
+        PriorityQueue<Integer> top = new PriorityQueue<>(order.reversed());
+
+        matches.stream().forEach((doc) -> {
+            top.offer(doc);
+
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+
+        List<Integer> sorted = new ArrayList<>(top);
+        sorted.sort(order);
+
+        List<UUID> ids = sorted
+                .subList(offset, sorted.size())
+                .stream()
+                .map((doc) -> documents.get(doc).getId())
+                .collect(Collectors.toList());
+
+        return new ProductSearchResponse<>(ids, pageable, total, facets(matches));
+    }
+
+    private ProductFacetsResponse facets(BitSet matches) {
+        List<PriceBucketResponse> prices = new ArrayList<>();
+
+        for (int i = 0; i < priceBuckets.size(); i++) {
+            prices.add(PriceBucketResponse
+                    .builder()
+                    .from(priceBuckets.get(i))
+                    .to(i + 1 < priceBuckets.size() ? priceBuckets.get(i + 1) : null)
+                    .count(count(priceBucketFacets.get(i), matches))
+                    .build());
+        }
+
+        long withDiscount = count(discounted, matches);
+
+        return ProductFacetsResponse
+                .builder()
+                .categories(counts(categoryFacets, matches))
+                .brands(counts(brandFacets, matches))
+                .prices(prices)
+                .withDiscount(withDiscount)
+                .withoutDiscount(matches.cardinality() - withDiscount)
+                .build();
+    }
+
+    private Optional<BitSet> priceBucketOf(ProductDocument document) {
+        if (document.getEffectivePrice() == null) {
+            return Optional.empty();
+        }
+
+        int position = Collections.binarySearch(priceBuckets, document.getEffectivePrice());
+        int bucket = position >= 0 ? position : -position - 2;
+
+        return bucket < 0 ? Optional.empty() : Optional.of(priceBucketFacets.get(bucket));
+    }
+
+    private void matchAll(EProductField field, String text, BitSet matches) {
+        for (String token : ProductDocument.tokenize(text)) {
+            matches.and(union(expand(field, token)));
+        }
+    }
+
+    private void matchAny(EProductField field, String values, BitSet matches) {
+        if (values == null || values.isBlank()) {
+            return;
+        }
+
+        BitSet any = new BitSet();
+
+        for (String value : CollectionUtils.parseList(values)) {
+            Set<String> tokens = ProductDocument.tokenize(value);
+
+            if (tokens.isEmpty()) {
+                continue;
+            }
+
+            BitSet valueMatches = (BitSet) live.clone();
+
+            matchAll(field, value, valueMatches);
+
+            any.or(valueMatches);
+        }
+
+        matches.and(any);
+    }
+
+    private List<TermMatch> expand(EProductField field, String token) {
+        NavigableMap<String, BitSet> fieldTerms = terms.get(field);
+        List<TermMatch> expanded = new ArrayList<>();
+
+        NavigableMap<String, BitSet> candidates = token.length() >= MIN_PREFIX_LENGTH
+                ? fieldTerms.subMap(token, true, token + Character.MAX_VALUE, true)
+                : fieldTerms.subMap(token, true, token, true);
+
+        candidates.forEach((term, postings) -> {
+            double idf = Math.log(1 + (double) docs.size() / postings.cardinality());
+            double weight = field.getBoost() * idf * (term.equals(token) ? 1 : PREFIX_WEIGHT);
+
+            expanded.add(new TermMatch(postings, weight));
+        });
+
+        return expanded;
+    }
+
+    private Map<Integer, Double> score(BitSet matches, List<List<TermMatch>> textMatches) {
+        if (textMatches.isEmpty()) {
+            return null;
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+
+        matches.stream().forEach((doc) -> {
+            double score = 0;
+
+            for (List<TermMatch> tokenMatches : textMatches) {
+                double best = 0;
+
+                for (TermMatch match : tokenMatches) {
+                    if (match.getWeight() > best && match.getPostings().get(doc)) {
+                        best = match.getWeight();
+                    }
+                }
+
+                score += best;
+            }
+
+            scores.put(doc, score);
+        });
+
+        return scores;
+    }
+
+    private Comparator<Integer> comparator(Sort sort, Map<Integer, Double> scores) {
+        Comparator<Integer> order = (first, second) -> 0;
+
+        for (Sort.Order sortOrder : sort) {
+            Comparator<ProductDocument> property = SORTABLE.get(sortOrder.getProperty());
+
+            if (property != null) {
+                order = order.thenComparing(documents::get, sortOrder.isDescending() ? property.reversed() : property);
+            }
+        }
+
+        if (scores != null) {
+            order = order.thenComparing(scores::get, Comparator.reverseOrder());
+        }
+
+        return order
+                .thenComparing(documents::get, SORTABLE.get("name"))
+                .thenComparing(Comparator.naturalOrder());
+    }
+
+    private void unpost(int doc) {
+        ProductDocument document = documents.get(doc);
+
+        document.getTerms().forEach((field, fieldTerms) -> fieldTerms.forEach((term) -> unpost(terms.get(field), term, doc)));
+
+        unpost(prices, document.getEffectivePrice(), doc);
+        unpost(amounts, document.getAmount(), doc);
+        unpost(discounts, document.getDiscount(), doc);
+        unpost(creations, document.getCreatedAt(), doc);
+        unpost(brandFacets, document.getBrand(), doc);
+
+        document.getCategoryNames().forEach((categoryName) -> unpost(categoryFacets, categoryName, doc));
+
+        priceBucketOf(document).ifPresent((bucket) -> bucket.clear(doc));
+    }
+
+    private static List<FacetCountResponse> counts(NavigableMap<String, BitSet> facets, BitSet matches) {
+        List<FacetCountResponse> counts = new ArrayList<>();
+
+        facets.forEach((value, postings) -> {
+            long count = count(postings, matches);
+
+            if (count > 0) {
+                counts.add(new FacetCountResponse(value, count));
+            }
+        });
+
+        counts.sort(Comparator.comparingLong(FacetCountResponse::getCount).reversed());
+
+        return counts;
+    }
+
+    private static long count(BitSet postings, BitSet matches) {
+        BitSet both = (BitSet) postings.clone();
+
+        both.and(matches);
+
+        return both.cardinality();
+    }
+
+    private static BitSet union(List<TermMatch> matches) {
+        BitSet union = new BitSet();
+
+        matches.forEach((match) -> union.or(match.getPostings()));
+
+        return union;
+    }
+
+    private static <K> void matchRange(NavigableMap<K, BitSet> postings, K from, K to, BitSet matches) {
+        if (from == null && to == null) {
+            return;
+        }
+
+        NavigableMap<K, BitSet> range = postings;
+
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+
+        if (to != null) {
+            range = range.headMap(to, true);
+        }
+
+        BitSet union = new BitSet();
+
+        range.values().forEach(union::or);
+
+        matches.and(union);
+    }
+
+    private static <K> void post(NavigableMap<K, BitSet> postings, K key, int doc) {
+        if (key != null) {
+            postings.computeIfAbsent(key, (ignored) -> new BitSet()).set(doc);
+        }
+    }
+
+    private static <K> void unpost(NavigableMap<K, BitSet> postings, K key, int doc) {
+        if (key == null) {
+            return;
+        }
+
+        BitSet keyPostings = postings.get(key);
+
+        if (keyPostings != null) {
+            keyPostings.clear(doc);
+
+            if (keyPostings.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static BigDecimal positive(BigDecimal value) {
+        return value == null || value.signum() < 0 ? null : value;
+    }
+
+    private static Long positive(long value) {
+        return value < 0 ? null : value;
+    }
+
+    private static Integer positive(int value) {
+        return value < 0 ? null : value;
+    }
+
+    private static LocalDateTime startOf(String date) {
+        return date == null || date.isEmpty() ? null : LocalDate.parse(date).atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(String date) {
+        return date == null || date.isEmpty() ? null : LocalDateTime.of(LocalDate.parse(date), LocalTime.MAX);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class TermMatch {
+
+        private final BitSet postings;
+
+        private final double weight;
+
+    }
+
+}
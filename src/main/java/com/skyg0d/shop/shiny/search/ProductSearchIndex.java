@@ -0,0 +1,240 @@
+package com.skyg0d.shop.shiny.search;
+
+import com.skyg0d.shop.shiny.payload.response.ProductSearchResponse;
+import com.skyg0d.shop.shiny.payload.search.ProductParametersSearch;
+import com.skyg0d.shop.shiny.property.ProductSearchProps;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductSearchIndex {
+
+    private final ProductRepository productRepository;
+
+    private final ProductSearchProps productSearchProps;
+
+    private final TransactionTemplate readTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ProductIndex index;
+
+    private Set<UUID> changedDuringRebuild;
+
+    public ProductSearchIndex(ProductRepository productRepository, ProductSearchProps productSearchProps, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productSearchProps = productSearchProps;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.index = new ProductIndex(productSearchProps.getPriceBuckets());
+    }
+
+    public ProductSearchResponse<UUID> search(ProductParametersSearch search, Pageable pageable) {
+        lock.readLock().lock();
+
+        try {
+            return index.search(search, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void reindex(UUID productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reindex(List.of(productId));
+
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<UUID> pending = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+
+        if (pending == null) {
+            Set<UUID> productIds = new LinkedHashSet<>();
+
+            TransactionSynchronizationManager.bindResource(this, productIds);
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        partition(new ArrayList<>(productIds)).forEach(ProductSearchIndex.this::reindex);
+                    } catch (RuntimeException ex) {
+                        // the change is already committed, the next rebuild picks it up
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProductSearchIndex.this);
+                }
+            });
+
+            pending = productIds;
+        }
+
+        pending.add(productId);
+    }
+
+    public void reindexCategory(UUID categoryId) {
+        afterCommit(() -> {
+            List<UUID> productIds = readTransaction.execute((status) -> productRepository.findAllIdsByCategoryId(categoryId));
+
+            partition(productIds).forEach(this::reindex);
+        });
+    }
+
+    public void remove(UUID productId) {
+        afterCommit(() -> apply(List.of(productId), (current) -> current.remove(productId)));
+    }
+
+    public void changeAmount(UUID productId, long delta) {
+        afterCommit(() -> apply(List.of(productId), (current) -> current.changeAmount(productId, delta)));
+    }
+
+    @Scheduled(fixedDelayString = "#{@productSearchProps.rebuildInterval.toMillis()}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            ProductIndex rebuilt = new ProductIndex(productSearchProps.getPriceBuckets());
+
+            List<UUID> productIds = readTransaction.execute((status) -> productRepository.findAllIds());
+
+            partition(productIds).forEach((ids) -> load(ids).forEach(rebuilt::add));
+
+            while (true) {
+                Set<UUID> changed;
+
+                lock.writeLock().lock();
+
+                try {
+                    if (changedDuringRebuild.isEmpty()) {
+                        index = rebuilt;
+
+                        return;
+                    }
+
+                    changed = changedDuringRebuild;
+                    changedDuringRebuild = new HashSet<>();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                replace(rebuilt, changed);
+            }
+        } finally {
+            lock.writeLock().lock();
+
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void reindex(Collection<UUID> productIds) {
+        List<ProductDocument> documents = load(productIds);
+
+        apply(productIds, (current) -> {
+            productIds.forEach(current::remove);
+            documents.forEach(current::add);
+        });
+    }
+
+    private void replace(ProductIndex target, Collection<UUID> productIds) {
+        List<ProductDocument> documents = load(productIds);
+
+        productIds.forEach(target::remove);
+        documents.forEach(target::add);
+    }
+
+    private void apply(Collection<UUID> productIds, Consumer<ProductIndex> mutation) {
+        lock.writeLock().lock();
+
+        try {
+            mutation.accept(index);
+
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(productIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<ProductDocument> load(Collection<UUID> productIds) {
+        return readTransaction.execute((status) -> productRepository
+                .findAllById(productIds)
+                .stream()
+                .map(ProductDocument::from)
+                .collect(Collectors.toList()));
+    }
+
+    private List<List<UUID>> partition(List<UUID> productIds) {
+        List<List<UUID>> batches = new ArrayList<>();
+
+        for (int from = 0; from < productIds.size(); from += productSearchProps.getBatchSize()) {
+            batches.add(productIds.subList(from, Math.min(from + productSearchProps.getBatchSize(), productIds.size())));
+        }
+
+        return batches;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    change.run();
+                } catch (RuntimeException ex) {
+                    // the change is already committed, the next rebuild picks it up
+                }
+            }
+        });
+    }
+
+}
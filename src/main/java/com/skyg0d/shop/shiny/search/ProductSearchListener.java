@@ -0,0 +1,29 @@
+package com.skyg0d.shop.shiny.search;
+
+import com.skyg0d.shop.shiny.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSearchListener {
+
+    private final ObjectProvider<ProductSearchIndex> productSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Product product) {
+        productSearchIndex.ifAvailable((index) -> index.reindex(product.getId()));
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        productSearchIndex.ifAvailable((index) -> index.remove(product.getId()));
+    }
+
+}
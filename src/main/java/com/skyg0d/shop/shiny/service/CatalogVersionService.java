@@ -0,0 +1,79 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.property.CatalogVersionProps;
+import com.skyg0d.shop.shiny.repository.CategoryRepository;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.RatingRepository;
+import com.skyg0d.shop.shiny.repository.projection.EntityVersionView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService {
+
+    private final ProductRepository productRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final RatingRepository ratingRepository;
+
+    private final CatalogVersionProps catalogVersionProps;
+
+    private final Map<String, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    // Read from the database so every instance hands out the same ETags, stock updates touch updatedAt too.
+    // Every list request needs these aggregates, so they are reused for a short ttl.
+    public String products() {
+        return String.join(":", cached("products", productRepository::findVersion), categories(), ratings());
+    }
+
+    public String categories() {
+        return cached("categories", categoryRepository::findVersion);
+    }
+
+    public String ratings() {
+        return cached("ratings", ratingRepository::findVersion);
+    }
+
+    public String productRatings(String slug) {
+        return format(ratingRepository.findVersionByProductSlug(slug));
+    }
+
+    private String cached(String name, Supplier<EntityVersionView> loader) {
+        Instant now = Instant.now();
+        CachedVersion cached = versions.get(name);
+
+        if (cached != null && cached.getExpiresAt().isAfter(now)) {
+            return cached.getVersion();
+        }
+
+        String version = format(loader.get());
+
+        versions.put(name, new CachedVersion(version, now.plus(catalogVersionProps.getTtl())));
+
+        return version;
+    }
+
+    private String format(EntityVersionView version) {
+        return version.getUpdatedAt() + "/" + version.getCount();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedVersion {
+
+        private final String version;
+
+        private final Instant expiresAt;
+
+    }
+
+}
@@ -10,11 +10,15 @@ import com.skyg0d.shop.shiny.payload.response.CategoryResponse;
 import com.skyg0d.shop.shiny.payload.search.CategoryParameterSearch;
 import com.skyg0d.shop.shiny.repository.CategoryRepository;
 import com.skyg0d.shop.shiny.repository.specification.CategorySpecification;
+import com.skyg0d.shop.shiny.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
@@ -22,6 +26,10 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper mapper;
 
+    private final ProductCacheService productCacheService;
+
+    private final ProductSearchIndex productSearchIndex;
+
     public Page<CategoryResponse> listAll(Pageable pageable) {
         return categoryRepository.findAll(pageable).map(mapper::toCategoryResponse);
     }
@@ -36,6 +44,10 @@ public class CategoryService {
         return mapper.toCategoryResponse(findBySlug(slug));
     }
 
+    public Optional<LocalDateTime> findUpdatedAtBySlug(String slug) {
+        return categoryRepository.findUpdatedAtBySlug(slug);
+    }
+
     public Page<CategoryResponse> search(CategoryParameterSearch search, Pageable pageable) {
         return categoryRepository
                 .findAll(CategorySpecification.getSpecification(search), pageable)
@@ -63,10 +75,16 @@ public class CategoryService {
         categoryMapped.setId(categoryFound.getId());
 
         categoryRepository.save(categoryMapped);
+
+        productCacheService.evictAll();
+
+        productSearchIndex.reindexCategory(categoryFound.getId());
     }
 
     public void delete(String slug) {
         categoryRepository.delete(findBySlug(slug));
+
+        productCacheService.evictAll();
     }
 
 }
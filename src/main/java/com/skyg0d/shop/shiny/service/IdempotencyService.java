@@ -0,0 +1,227 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.exception.BadRequestException;
+import com.skyg0d.shop.shiny.exception.IdempotencyKeyException;
+import com.skyg0d.shop.shiny.model.EIdempotencyStatus;
+import com.skyg0d.shop.shiny.model.IdempotencyKey;
+import com.skyg0d.shop.shiny.property.IdempotencyProps;
+import com.skyg0d.shop.shiny.repository.IdempotencyKeyRepository;
+import com.stripe.exception.StripeException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final IdempotencyProps idempotencyProps;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public <T> T execute(String key, String scope, Object request, Class<T> responseType, IdempotentAction<T> action) throws StripeException {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(String.format("Idempotency-Key must have between 1 and %d characters", MAX_KEY_LENGTH));
+        }
+
+        String requestHash = hash(request);
+        Instant deadline = Instant.now().plus(idempotencyProps.getWaitTimeout());
+
+        while (true) {
+            Optional<IdempotencyKey> claimed = claim(key, scope, requestHash);
+
+            if (claimed.isPresent()) {
+                return run(claimed.get(), responseType, action);
+            }
+
+            Optional<T> stored = awaitStored(key, scope, requestHash, responseType, deadline);
+
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@idempotencyProps.cleanupInterval.toMillis()}")
+    public void deleteExpired() {
+        idempotencyKeyRepository.deleteAllExpired(Instant.now());
+    }
+
+    private Optional<IdempotencyKey> claim(String key, String scope, String requestHash) {
+        Instant now = Instant.now();
+
+        IdempotencyKey idempotencyKey = IdempotencyKey
+                .builder()
+                .idempotencyKey(key)
+                .scope(scope)
+                .requestHash(requestHash)
+                .claimedBy(UUID.randomUUID().toString())
+                .claimedUntil(now.plus(idempotencyProps.getLease()))
+                .expiresAt(now.plus(idempotencyProps.getTtl()))
+                .build();
+
+        try {
+            return Optional.of(idempotencyKeyRepository.saveAndFlush(idempotencyKey));
+        } catch (DataIntegrityViolationException ex) {
+            return takeOverStale(key, scope, requestHash, now);
+        }
+    }
+
+    // An attempt that dies neither completes nor releases its key, so once its lease runs out the next retry takes it over.
+    private Optional<IdempotencyKey> takeOverStale(String key, String scope, String requestHash, Instant now) {
+        int taken = idempotencyKeyRepository.takeOverStale(
+                key,
+                scope,
+                requestHash,
+                EIdempotencyStatus.IN_PROGRESS,
+                now,
+                UUID.randomUUID().toString(),
+                now.plus(idempotencyProps.getLease()),
+                now.plus(idempotencyProps.getTtl())
+        );
+
+        return taken > 0 ? idempotencyKeyRepository.findByIdempotencyKeyAndScope(key, scope) : Optional.empty();
+    }
+
+    private <T> T run(IdempotencyKey idempotencyKey, Class<T> responseType, IdempotentAction<T> action) throws StripeException {
+        String inFlightKey = inFlightKey(idempotencyKey.getIdempotencyKey(), idempotencyKey.getScope());
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        inFlight.put(inFlightKey, done);
+
+        try {
+            T response;
+
+            try {
+                response = action.execute();
+            } catch (StripeException | RuntimeException ex) {
+                idempotencyKeyRepository.release(idempotencyKey.getId(), idempotencyKey.getClaimedBy());
+
+                throw ex;
+            }
+
+            // Only the attempt still holding the key may store its response, a retry that took it over owns it now.
+            if (idempotencyKeyRepository.complete(idempotencyKey.getId(), idempotencyKey.getClaimedBy(), EIdempotencyStatus.COMPLETED, write(response)) == 0) {
+                throw new IdempotencyKeyException("The request with this Idempotency-Key was taken over by a retry");
+            }
+
+            return response;
+        } finally {
+            inFlight.remove(inFlightKey, done);
+            done.complete(null);
+        }
+    }
+
+    private <T> Optional<T> awaitStored(String key, String scope, String requestHash, Class<T> responseType, Instant deadline) {
+        while (true) {
+            Optional<IdempotencyKey> found = idempotencyKeyRepository.findByIdempotencyKeyAndScope(key, scope);
+
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+
+            IdempotencyKey idempotencyKey = found.get();
+
+            if (idempotencyKey.getExpiresAt().isBefore(Instant.now())) {
+                idempotencyKeyRepository.delete(idempotencyKey);
+
+                return Optional.empty();
+            }
+
+            if (!idempotencyKey.getRequestHash().equals(requestHash)) {
+                throw new IdempotencyKeyException("Idempotency-Key was already used with a different request");
+            }
+
+            if (idempotencyKey.getStatus().equals(EIdempotencyStatus.COMPLETED)) {
+                return Optional.of(read(idempotencyKey.getResponse(), responseType));
+            }
+
+            if (idempotencyKey.getClaimedUntil() != null && idempotencyKey.getClaimedUntil().isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+
+            Duration remaining = Duration.between(Instant.now(), deadline);
+
+            if (remaining.isNegative() || remaining.isZero()) {
+                throw new IdempotencyKeyException("A request with this Idempotency-Key is still being processed");
+            }
+
+            waitInFlight(inFlightKey(key, scope), remaining);
+        }
+    }
+
+    private void waitInFlight(String inFlightKey, Duration remaining) {
+        CompletableFuture<Void> done = inFlight.get(inFlightKey);
+        long waitMillis = done != null
+                ? remaining.toMillis()
+                : Math.min(remaining.toMillis(), idempotencyProps.getPollInterval().toMillis());
+
+        try {
+            if (done != null) {
+                done.get(waitMillis, TimeUnit.MILLISECONDS);
+            } else {
+                Thread.sleep(waitMillis);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+            throw new IdempotencyKeyException("Interrupted while waiting for the request with this Idempotency-Key");
+        } catch (ExecutionException | TimeoutException ignored) {
+        }
+    }
+
+    private String inFlightKey(String key, String scope) {
+        return scope + ":" + key;
+    }
+
+    private String hash(Object request) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private <T> T read(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @FunctionalInterface
+    public interface IdempotentAction<T> {
+        T execute() throws StripeException;
+    }
+
+}
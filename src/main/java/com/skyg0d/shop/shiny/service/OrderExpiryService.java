@@ -0,0 +1,60 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
+import com.skyg0d.shop.shiny.property.OrderExpiryProps;
+import com.skyg0d.shop.shiny.property.ReservationProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class OrderExpiryService {
+
+    private final OrderService orderService;
+
+    private final OrderExpiryProps orderExpiryProps;
+
+    private final ReservationProps reservationProps;
+
+    private final Counter ordersExpired;
+
+    private final DistributionSummary ordersExpiredPerRun;
+
+    public OrderExpiryService(OrderService orderService, OrderExpiryProps orderExpiryProps, ReservationProps reservationProps, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderExpiryProps = orderExpiryProps;
+        this.reservationProps = reservationProps;
+        this.ordersExpired = Counter
+                .builder("shop.orders.expired")
+                .description("Waiting orders canceled because their stock hold expired")
+                .register(meterRegistry);
+        this.ordersExpiredPerRun = DistributionSummary
+                .builder("shop.orders.expired.run")
+                .description("Waiting orders canceled by each expiry run")
+                .baseUnit("orders")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@orderExpiryProps.sweepInterval.toMillis()}")
+    public void expireStale() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(reservationProps.getTtl());
+
+        int expired = 0;
+        List<OrderStatusView> batch;
+
+        do {
+            batch = orderService.expireWaiting(createdBefore, orderExpiryProps.getBatchSize());
+
+            expired += batch.size();
+        } while (batch.size() >= orderExpiryProps.getBatchSize());
+
+        ordersExpired.increment(expired);
+        ordersExpiredPerRun.record(expired);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.mapper.OrderMapper;
+import com.skyg0d.shop.shiny.model.EDataFormat;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import com.skyg0d.shop.shiny.payload.response.OrderProductResponse;
+import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
+import com.skyg0d.shop.shiny.property.ExportProps;
+import com.skyg0d.shop.shiny.repository.OrderSummaryRepository;
+import com.skyg0d.shop.shiny.repository.specification.OrderSummarySpecification;
+import com.skyg0d.shop.shiny.util.CsvUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class OrderExportService {
+
+    private static final List<String> CSV_HEADER = List.of(
+            "id", "createdAt", "status", "price", "userEmail", "userUsername", "userFullName", "products", "paymentLink", "extra"
+    );
+
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    private final ExportProps exportProps;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final OrderMapper mapper = OrderMapper.INSTANCE;
+
+    public OrderExportService(OrderSummaryRepository orderSummaryRepository, ExportProps exportProps, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.exportProps = exportProps;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public void export(OrderParameterSearch search, EDataFormat format, OutputStream outputStream) {
+        readOnlyTransactionTemplate.executeWithoutResult((status) -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+            try (Stream<OrderSummary> summaries = orderSummaryRepository.streamAll(OrderSummarySpecification.getSpecification(search), exportProps.getFetchSize())) {
+                if (format.equals(EDataFormat.CSV)) {
+                    writeCsvLine(writer, CSV_HEADER);
+                }
+
+                Iterator<OrderSummary> iterator = summaries.iterator();
+                long rows = 0;
+
+                while (iterator.hasNext()) {
+                    writeRow(writer, format, iterator.next());
+
+                    if (++rows % exportProps.getFlushSize() == 0) {
+                        writer.flush();
+                    }
+                }
+
+                writer.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void writeRow(Writer writer, EDataFormat format, OrderSummary summary) throws IOException {
+        if (format.equals(EDataFormat.NDJSON)) {
+            writer.write(objectMapper.writeValueAsString(mapper.toOrderResponse(summary)));
+            writer.write('\n');
+
+            return;
+        }
+
+        writeCsvLine(writer, List.of(
+                summary.getOrderId().toString(),
+                Objects.toString(summary.getOrderCreatedAt(), ""),
+                Objects.toString(summary.getStatus(), ""),
+                Objects.toString(summary.getPrice(), ""),
+                Objects.toString(summary.getUserEmail(), ""),
+                Objects.toString(summary.getUserUsername(), ""),
+                Objects.toString(summary.getUserFullName(), ""),
+                summary
+                        .getLines()
+                        .stream()
+                        .map(this::formatLine)
+                        .collect(Collectors.joining("; ")),
+                Objects.toString(summary.getPaymentUrl(), ""),
+                Objects.toString(summary.getExtra(), "")
+        ));
+    }
+
+    private String formatLine(OrderProductResponse line) {
+        return line.getSlug() + " x" + line.getAmount();
+    }
+
+    private void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        writer.write(values.stream().map(CsvUtils::escape).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+    }
+
+}
@@ -1,32 +1,39 @@
 package com.skyg0d.shop.shiny.service;
 
+import com.skyg0d.shop.shiny.event.OrderStatusChangedEvent;
 import com.skyg0d.shop.shiny.exception.*;
 import com.skyg0d.shop.shiny.mapper.OrderMapper;
 import com.skyg0d.shop.shiny.model.*;
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
 import com.skyg0d.shop.shiny.payload.ProductCalculate;
-import com.skyg0d.shop.shiny.payload.request.CreateNotificationRequest;
+import com.skyg0d.shop.shiny.payload.request.ChangeOrdersStatusRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderProduct;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderRequest;
+import com.skyg0d.shop.shiny.payload.response.ChangeOrdersStatusResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatsResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatusChangeResponse;
 import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
 import com.skyg0d.shop.shiny.repository.OrderRepository;
-import com.skyg0d.shop.shiny.repository.specification.OrderSpecification;
 import com.skyg0d.shop.shiny.util.AuthUtils;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentLink;
 import com.stripe.param.PaymentLinkCreateParams;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.transaction.Transactional;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,16 +50,30 @@ public class OrderService {
 
     private final StripeService stripeService;
 
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final StockReservationService stockReservationService;
+
+    private final IdempotencyService idempotencyService;
+
+    private final OrderSummaryService orderSummaryService;
+
+    private final OrderStatsService orderStatsService;
+
+    private final StripeOutboxService stripeOutboxService;
+
+    private final TransactionTemplate transactionTemplate;
 
     private final OrderMapper mapper = OrderMapper.INSTANCE;
 
+    private static final Set<EOrderStatus> BULK_STATUSES = EnumSet.of(EOrderStatus.SHIPPED, EOrderStatus.ON_THE_WAY, EOrderStatus.DELIVERED);
+
     public Page<OrderResponse> listAll(Pageable pageable) {
-        return orderRepository.findAll(pageable).map(mapper::toOrderResponse);
+        return orderSummaryService.listAll(pageable);
     }
 
     public Page<OrderResponse> listAllByUser(Pageable pageable, String email) {
-        return orderRepository.findAllByUser(pageable, userService.findByEmail(email)).map(mapper::toOrderResponse);
+        return orderSummaryService.listAllByUser(pageable, email);
     }
 
     public Order findById(String id) throws ResourceNotFoundException {
@@ -66,54 +87,48 @@ public class OrderService {
     }
 
     public Page<OrderResponse> search(OrderParameterSearch search, Pageable pageable) {
-        return orderRepository.findAll(OrderSpecification.getSpecification(search), pageable).map(mapper::toOrderResponse);
+        return orderSummaryService.search(search, pageable);
     }
 
-    @Transactional
-    public OrderResponse create(CreateOrderRequest request, String userEmail) throws StripeException {
-        User user = userService.findByEmail(userEmail);
+    public OrderStatsResponse stats(LocalDate from, LocalDate to, EOrderStatus status) {
+        LocalDate lastDay = to == null ? LocalDate.now() : to;
+        LocalDate firstDay = from == null ? lastDay.minusYears(1).plusDays(1) : from;
 
-        List<ProductCalculate> products = getProducts(request.getProducts());
+        if (firstDay.isAfter(lastDay)) {
+            throw new BadRequestException("Stats start day must not be after end day.");
+        }
 
-        List<Product> productsIds = getProductsIds(products);
+        return orderStatsService.findDaily(firstDay, lastDay, status);
+    }
 
-        BigDecimal price = products
-                .stream()
-                .map(ProductCalculate::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public void rebuildStats() {
+        orderStatsService.rebuild();
+    }
 
-        String productsExtra = products
-                .stream()
-                .filter(product -> product.getExtra() != null && !product.getExtra().isBlank())
-                .map((product) -> String.format("%s - %s", product.getName(), product.getExtra()))
-                .collect(Collectors.joining("\n"));
+    public OrderResponse create(CreateOrderRequest request, String userEmail, String idempotencyKey) throws StripeException {
+        if (idempotencyKey == null) {
+            return create(request, userEmail);
+        }
 
-        String extra = StringUtils.isBlank(productsExtra) ? "" : productsExtra + request.getExtra();
+        return idempotencyService.execute(idempotencyKey, userEmail, request, OrderResponse.class, () -> create(request, userEmail));
+    }
 
-        Order order = Order
-                .builder()
-                .status(EOrderStatus.WAITING)
-                .price(price)
-                .products(productsIds)
-                .user(user)
-                .extra(extra)
-                .build();
+    public OrderResponse create(CreateOrderRequest request, String userEmail) throws StripeException {
+        Order order = transactionTemplate.execute((status) -> reserveOrder(request, userEmail));
 
-        Order orderSaved = orderRepository.save(order);
+        PaymentLink paymentLink;
 
-        PaymentLink paymentLink = createPaymentLink(products, userEmail, orderSaved.getId().toString());
+        try {
+            paymentLink = createPaymentLink(order.getItems(), userEmail, order.getId().toString());
+        } catch (StripeException | RuntimeException ex) {
+            transactionTemplate.execute((status) -> releaseOrder(order));
 
-        orderSaved.setPaymentLink(
-                MyPaymentLink
-                        .builder()
-                        .paymentId(paymentLink.getId())
-                        .paymentUrl(paymentLink.getUrl())
-                        .build()
-        );
+            throw ex;
+        }
 
-        OrderResponse orderResponse = mapper.toOrderResponse(orderRepository.save(orderSaved));
+        OrderResponse orderResponse = transactionTemplate.execute((status) -> attachPaymentLink(order, paymentLink));
 
-        sendNotification(EOrderStatus.WAITING.getNotificationMessage(), user.getEmail());
+        publishStatusChanged(order, null, EOrderStatus.WAITING);
 
         return orderResponse;
     }
@@ -141,7 +156,7 @@ public class OrderService {
 
         orderFound.setPaymentLink(null);
 
-        orderRepository.save(orderFound);
+        orderSummaryService.sync(orderRepository.save(orderFound));
     }
 
     @Transactional
@@ -155,58 +170,253 @@ public class OrderService {
         updateStatus(orderFound, status);
     }
 
-    private PaymentLink createPaymentLink(List<ProductCalculate> products, String email, String orderId) throws StripeException {
-        List<PaymentLinkCreateParams.LineItem> productsStripePrices = products
+    @Transactional
+    public ChangeOrdersStatusResponse bulkChangeStatus(ChangeOrdersStatusRequest request) throws OrderStatusException {
+        EOrderStatus status = request.getStatus();
+
+        if (!BULK_STATUSES.contains(status)) {
+            throw new OrderStatusException("Bulk status change only supports " + BULK_STATUSES + ", received: " + status);
+        }
+
+        Map<String, UUID> idsByRaw = new LinkedHashMap<>();
+
+        request.getIds().forEach((id) -> idsByRaw.put(id, parseOrderId(id)));
+
+        Map<UUID, OrderStatusView> ordersFound = findAllStatuses(idsByRaw.values());
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        Map<EOrderStatus, List<UUID>> idsByExpectedStatus = new EnumMap<>(EOrderStatus.class);
+
+        idsByRaw.forEach((id, uuid) -> {
+            OrderStatusView order = uuid == null ? null : ordersFound.get(uuid);
+            String error = getStatusChangeError(id, order, status);
+
+            if (error == null) {
+                idsByExpectedStatus.computeIfAbsent(order.getStatus(), (expected) -> new ArrayList<>()).add(uuid);
+            }
+
+            errors.put(id, error);
+        });
+
+        Set<UUID> idsChanged = changeAllStatus(idsByExpectedStatus, ordersFound, status);
+
+        List<OrderStatusChangeResponse> results = new ArrayList<>();
+
+        errors.forEach((id, error) -> {
+            if (error == null && !idsChanged.contains(idsByRaw.get(id))) {
+                error = new OrderStatusConflictException(id).getMessage();
+            }
+
+            results.add(OrderStatusChangeResponse
+                    .builder()
+                    .id(id)
+                    .success(error == null)
+                    .message(error)
+                    .build());
+        });
+
+        return ChangeOrdersStatusResponse
+                .builder()
+                .status(status)
+                .changed(idsChanged.size())
+                .failed(results.size() - idsChanged.size())
+                .results(results)
+                .build();
+    }
+
+    @Transactional
+    public List<OrderStatusView> expireWaiting(LocalDateTime createdBefore, int batchSize) {
+        Map<UUID, OrderStatusView> ordersFound = orderRepository
+                .findAllStatusesByStatusAndCreatedAtBefore(EOrderStatus.WAITING, createdBefore, PageRequest.of(0, batchSize))
                 .stream()
-                .map((rawProduct) -> {
-                    String stripePriceId = productService.findBySlug(rawProduct.getSlug()).getStripePriceId();
+                .collect(Collectors.toMap(OrderStatusView::getId, Function.identity()));
 
-                    return PaymentLinkCreateParams.LineItem
-                            .builder()
-                            .setPrice(stripePriceId)
-                            .setQuantity(rawProduct.getAmount())
-                            .build();
-                })
+        if (ordersFound.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> idsChanged = changeAllStatus(Map.of(EOrderStatus.WAITING, new ArrayList<>(ordersFound.keySet())), ordersFound, EOrderStatus.CANCELED);
+
+        List<OrderStatusView> ordersExpired = idsChanged
+                .stream()
+                .map(ordersFound::get)
                 .collect(Collectors.toList());
 
-        return stripeService.createPaymentLink(productsStripePrices, email, orderId);
+        // Recorded with the cancel, so the link is retried until stripe stops accepting payments for the restocked order.
+        ordersExpired
+                .stream()
+                .map(OrderStatusView::getPaymentId)
+                .filter(Objects::nonNull)
+                .forEach(stripeOutboxService::deactivatePaymentLink);
+
+        return ordersExpired;
     }
 
-    private void updateStatus(Order order, EOrderStatus status) {
-        order.setStatus(status);
+    private Set<UUID> changeAllStatus(Map<EOrderStatus, List<UUID>> idsByExpectedStatus, Map<UUID, OrderStatusView> ordersFound, EOrderStatus status) {
+        List<UUID> idsToChange = idsByExpectedStatus.values().stream().flatMap(List::stream).collect(Collectors.toList());
+
+        LocalDateTime now = LocalDateTime.now();
+
+        int changed = idsByExpectedStatus
+                .entrySet()
+                .stream()
+                .mapToInt((entry) -> orderRepository.changeStatusByIdIn(entry.getValue(), entry.getKey(), status, now))
+                .sum();
+
+        Set<UUID> idsChanged = changed == idsToChange.size()
+                ? new HashSet<>(idsToChange)
+                : findAllStatuses(idsToChange).values().stream().filter((order) -> order.getStatus().equals(status)).map(OrderStatusView::getId).collect(Collectors.toSet());
 
-        orderRepository.save(order);
+        if (!idsChanged.isEmpty()) {
+            // Bulk changes never move a waiting order to paid, so only cancels touch the reservations.
+            if (status.equals(EOrderStatus.CANCELED)) {
+                stockReservationService.releaseAll(idsChanged);
+            }
 
-        sendNotification(status.getNotificationMessage(), order.getUser().getEmail());
+            orderSummaryService.syncStatus(idsChanged, status);
+
+            orderStatsService.moveAll(idsChanged.stream().map(ordersFound::get).collect(Collectors.toList()), status);
+
+            idsChanged.forEach((id) -> publishStatusChanged(id, ordersFound.get(id).getUserId(), ordersFound.get(id).getStatus(), status));
+        }
+
+        return idsChanged;
     }
 
-    private List<ProductCalculate> getProducts(List<CreateOrderProduct> products) throws InactiveProductOnOrderException, ProductOverflowAmountException {
-        return products
+    private Order reserveOrder(CreateOrderRequest request, String userEmail) throws InactiveProductOnOrderException, ProductOverflowAmountException {
+        User user = userService.findByEmail(userEmail);
+
+        Map<String, Product> productsBySlug = productService.findAllBySlug(request
+                .getProducts()
                 .stream()
-                .map((productRaw) -> {
-                    Product product = productService.findBySlug(productRaw.getSlug());
+                .map(CreateOrderProduct::getSlug)
+                .collect(Collectors.toSet()));
 
-                    checkProductValid(productRaw, product);
+        List<ProductCalculate> products = getProducts(request.getProducts(), productsBySlug);
 
-                    long amount = product.getAmount() - productRaw.getAmount();
-                    productService.changeAmount(product.getSlug(), amount);
+        BigDecimal price = products
+                .stream()
+                .map(ProductCalculate::getPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-                    BigDecimal price = product.getPrice();
+        String productsExtra = products
+                .stream()
+                .filter(product -> product.getExtra() != null && !product.getExtra().isBlank())
+                .map((product) -> String.format("%s - %s", product.getName(), product.getExtra()))
+                .collect(Collectors.joining("\n"));
+
+        String extra = StringUtils.isBlank(productsExtra) ? "" : productsExtra + request.getExtra();
+
+        Order order = Order
+                .builder()
+                .status(EOrderStatus.WAITING)
+                .price(price)
+                .user(user)
+                .extra(extra)
+                .build();
+
+        order.setItems(getOrderItems(products, productsBySlug, order));
+
+        Order orderSaved = orderRepository.saveAndFlush(order);
+
+        stockReservationService.hold(orderSaved);
+
+        orderSummaryService.sync(orderSaved);
+
+        orderStatsService.add(orderSaved);
+
+        return orderSaved;
+    }
+
+    private Order releaseOrder(Order order) {
+        stockReservationService.release(order);
+
+        Order orderFound = findById(order.getId().toString());
+        EOrderStatus expected = orderFound.getStatus();
+
+        if (expected.canChangeTo(EOrderStatus.CANCELED) && orderRepository.changeStatus(orderFound.getId(), expected, EOrderStatus.CANCELED, LocalDateTime.now()) > 0) {
+            orderFound.setStatus(EOrderStatus.CANCELED);
+
+            orderSummaryService.sync(orderFound);
+
+            orderStatsService.move(orderFound, expected);
+        }
+
+        return orderFound;
+    }
+
+    private OrderResponse attachPaymentLink(Order order, PaymentLink paymentLink) {
+        Order orderFound = findById(order.getId().toString());
+
+        orderFound.setPaymentLink(
+                MyPaymentLink
+                        .builder()
+                        .paymentId(paymentLink.getId())
+                        .paymentUrl(paymentLink.getUrl())
+                        .build()
+        );
 
-                    if (product.getDiscount() > 0) {
-                        BigDecimal discount = new BigDecimal(product.getDiscount());
-                        BigDecimal percentage = discount.divide(new BigDecimal(100), 2, RoundingMode.DOWN);
+        Order orderSaved = orderRepository.save(orderFound);
 
-                        price = price.subtract(price.multiply(percentage));
-                    }
+        orderSummaryService.sync(orderSaved);
 
-                    price = price.multiply(new BigDecimal(productRaw.getAmount()));
+        return mapper.toOrderResponse(orderSaved);
+    }
+
+    private PaymentLink createPaymentLink(List<OrderItem> items, String email, String orderId) throws StripeException {
+        List<PaymentLinkCreateParams.LineItem> productsStripePrices = items
+                .stream()
+                .map((item) -> PaymentLinkCreateParams.LineItem
+                        .builder()
+                        .setPrice(item.getProduct().getStripePriceId())
+                        .setQuantity(item.getAmount())
+                        .build())
+                .collect(Collectors.toList());
+
+        return stripeService.createPaymentLink(productsStripePrices, email, orderId);
+    }
+
+    private void updateStatus(Order order, EOrderStatus status) throws OrderStatusException, OrderStatusConflictException {
+        EOrderStatus expected = order.getStatus();
+
+        if (!expected.canChangeTo(status)) {
+            throw new OrderStatusException(String.format("Order status could not change from %s to %s.", expected, status));
+        }
+
+        if (orderRepository.changeStatus(order.getId(), expected, status, LocalDateTime.now()) == 0) {
+            throw new OrderStatusConflictException(order.getId().toString());
+        }
+
+        order.setStatus(status);
+
+        if (status.equals(EOrderStatus.CANCELED)) {
+            stockReservationService.release(order);
+        } else if (expected.equals(EOrderStatus.WAITING)) {
+            stockReservationService.confirm(order);
+        }
+
+        orderSummaryService.sync(order);
+
+        orderStatsService.move(order, expected);
+
+        publishStatusChanged(order, expected, status);
+    }
+
+    private List<ProductCalculate> getProducts(List<CreateOrderProduct> products, Map<String, Product> productsBySlug) throws InactiveProductOnOrderException, ProductOverflowAmountException {
+        return products
+                .stream()
+                .map((productRaw) -> {
+                    Product product = productsBySlug.get(productRaw.getSlug());
+
+                    checkProductValid(productRaw, product);
 
                     return ProductCalculate
                             .builder()
                             .slug(product.getSlug())
                             .id(product.getId())
-                            .price(price)
+                            .price(product.discountedPrice().multiply(BigDecimal.valueOf(productRaw.getAmount())))
+                            .unitPrice(product.getPrice())
+                            .discount(product.getDiscount())
                             .name(product.getName())
                             .extra(productRaw.getExtra())
                             .amount(productRaw.getAmount())
@@ -215,26 +425,27 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
-    private List<Product> getProductsIds(List<ProductCalculate> products) {
-        return products
-                .stream()
-                .map((product) -> {
-                    List<Product> totalProducts = new ArrayList<>();
-
-                    for (int i = 0; i < product.getAmount(); i++) {
-                        Product productCreated = Product
-                                .builder()
-                                .id(product.getId())
-                                .slug(product.getSlug())
-                                .build();
+    private List<OrderItem> getOrderItems(List<ProductCalculate> products, Map<String, Product> productsBySlug, Order order) {
+        Map<String, OrderItem> itemsBySlug = new LinkedHashMap<>();
 
-                        totalProducts.add(productCreated);
-                    }
-
-                    return totalProducts;
-                })
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
+        products.forEach((product) -> itemsBySlug.merge(
+                product.getSlug(),
+                OrderItem
+                        .builder()
+                        .order(order)
+                        .product(productsBySlug.get(product.getSlug()))
+                        .amount(product.getAmount())
+                        .price(product.getUnitPrice())
+                        .discount(product.getDiscount())
+                        .build(),
+                (item, duplicated) -> {
+                    item.setAmount(item.getAmount() + duplicated.getAmount());
+
+                    return item;
+                }
+        ));
+
+        return new ArrayList<>(itemsBySlug.values());
     }
 
     private void checkProductValid(CreateOrderProduct productRaw, Product product) throws InactiveProductOnOrderException, ProductOverflowAmountException {
@@ -249,15 +460,55 @@ public class OrderService {
         }
     }
 
-    private void sendNotification(String content, String email) {
-        CreateNotificationRequest notificationRequest = CreateNotificationRequest
-                .builder()
-                .content(content)
-                .category("order")
-                .userEmail(email)
-                .build();
+    private String getStatusChangeError(String id, OrderStatusView order, EOrderStatus status) {
+        if (order == null) {
+            return "Order not found with id: " + id;
+        }
+
+        if (order.getStatus().equals(EOrderStatus.CANCELED)) {
+            return "Order canceled, could not change status to " + status + ".";
+        }
+
+        if (order.getStatus().equals(status)) {
+            return "Order already " + status + ".";
+        }
+
+        if (!order.getStatus().canChangeTo(status)) {
+            return String.format("Order status could not change from %s to %s.", order.getStatus(), status);
+        }
+
+        return null;
+    }
+
+    private Map<UUID, OrderStatusView> findAllStatuses(Collection<UUID> ids) {
+        return orderRepository
+                .findAllStatusesByIdIn(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(OrderStatusView::getId, Function.identity()));
+    }
+
+    private UUID parseOrderId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
 
-        notificationService.create(notificationRequest);
+    private void publishStatusChanged(Order order, EOrderStatus previousStatus, EOrderStatus status) {
+        publishStatusChanged(order.getId(), order.getUser().getId(), previousStatus, status);
+    }
+
+    private void publishStatusChanged(UUID orderId, UUID userId, EOrderStatus previousStatus, EOrderStatus status) {
+        eventPublisher.publishEvent(
+                OrderStatusChangedEvent
+                        .builder()
+                        .orderId(orderId)
+                        .userId(userId)
+                        .previousStatus(previousStatus)
+                        .status(status)
+                        .build()
+        );
     }
 
 }
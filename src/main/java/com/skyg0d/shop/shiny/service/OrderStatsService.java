@@ -0,0 +1,172 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.mapper.OrderMapper;
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.OrderDailyStats;
+import com.skyg0d.shop.shiny.model.OrderItem;
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
+import com.skyg0d.shop.shiny.payload.response.OrderDailyStatsResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatsResponse;
+import com.skyg0d.shop.shiny.repository.OrderDailyStatsRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderStatsService {
+
+    private final OrderDailyStatsRepository orderDailyStatsRepository;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final OrderMapper mapper = OrderMapper.INSTANCE;
+
+    public OrderStatsService(OrderDailyStatsRepository orderDailyStatsRepository, PlatformTransactionManager transactionManager) {
+        this.orderDailyStatsRepository = orderDailyStatsRepository;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public OrderStatsResponse findDaily(LocalDate from, LocalDate to, EOrderStatus status) {
+        List<OrderDailyStats> stats = status == null
+                ? orderDailyStatsRepository.findAllByDayBetweenOrderByDayAscStatusAsc(from, to)
+                : orderDailyStatsRepository.findAllByDayBetweenAndStatusOrderByDayAsc(from, to, status);
+
+        List<OrderDailyStatsResponse> days = stats
+                .stream()
+                .map(mapper::toOrderDailyStatsResponse)
+                .collect(Collectors.toList());
+
+        return OrderStatsResponse
+                .builder()
+                .from(from)
+                .to(to)
+                .orderCount(days.stream().mapToLong(OrderDailyStatsResponse::getOrderCount).sum())
+                .revenue(days.stream().map(OrderDailyStatsResponse::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .units(days.stream().mapToLong(OrderDailyStatsResponse::getUnits).sum())
+                .days(days)
+                .build();
+    }
+
+    public void add(Order order) {
+        increment(order.getCreatedAt().toLocalDate(), order.getStatus(), 1, order.getPrice(), countUnits(order));
+    }
+
+    public void move(Order order, EOrderStatus from) {
+        LocalDate day = order.getCreatedAt().toLocalDate();
+        long units = countUnits(order);
+
+        increment(day, from, -1, order.getPrice().negate(), -units);
+        increment(day, order.getStatus(), 1, order.getPrice(), units);
+    }
+
+    public void moveAll(Collection<OrderStatusView> orders, EOrderStatus status) {
+        orders
+                .stream()
+                .collect(Collectors.groupingBy(OrderStatusView::getStatus, Collectors.groupingBy((order) -> order.getCreatedAt().toLocalDate())))
+                .forEach((from, ordersByDay) -> ordersByDay.forEach((day, ordersMoved) -> {
+                    BigDecimal revenue = ordersMoved.stream().map(OrderStatusView::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+                    long units = ordersMoved.stream().mapToLong((order) -> order.getUnits() == null ? 0 : order.getUnits()).sum();
+
+                    increment(day, from, -ordersMoved.size(), revenue.negate(), -units);
+                    increment(day, status, ordersMoved.size(), revenue, units);
+                }));
+    }
+
+    // Rows are overwritten day by day instead of truncated, so live increments always find their row, and each
+    // day is summed only after its rows are locked, so an increment either lands before the sums or after them.
+    public void rebuild() {
+        Set<LocalDate> days = new TreeSet<>(orderDailyStatsRepository.findAllDays());
+
+        orderDailyStatsRepository
+                .findAllOrderDays()
+                .forEach((day) -> days.add(toLocalDate(day)));
+
+        days.forEach((day) -> newTransactionTemplate.executeWithoutResult((transaction) -> rebuildDay(day)));
+    }
+
+    public boolean isEmpty() {
+        return orderDailyStatsRepository.count() == 0;
+    }
+
+    private void increment(LocalDate day, EOrderStatus status, long orderCount, BigDecimal revenue, long units) {
+        if (!orderDailyStatsRepository.existsByDayAndStatus(day, status)) {
+            createRow(day, status);
+        }
+
+        orderDailyStatsRepository.increment(day, status, orderCount, revenue, units);
+    }
+
+    private Optional<OrderDailyStats> createRow(LocalDate day, EOrderStatus status) {
+        try {
+            return Optional.ofNullable(newTransactionTemplate.execute((transaction) -> orderDailyStatsRepository.saveAndFlush(OrderDailyStats
+                    .builder()
+                    .day(day)
+                    .status(status)
+                    .build())));
+        } catch (DataIntegrityViolationException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private void rebuildDay(LocalDate day) {
+        Map<EOrderStatus, OrderDailyStats> statsByStatus = new EnumMap<>(EOrderStatus.class);
+
+        orderDailyStatsRepository.findAllByDay(day).forEach((stats) -> {
+            stats.setOrderCount(0);
+            stats.setRevenue(BigDecimal.ZERO);
+            stats.setUnits(0);
+
+            statsByStatus.put(stats.getStatus(), stats);
+        });
+
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+
+        orderDailyStatsRepository.sumOrdersByStatusBetween(from, to).forEach((row) -> {
+            OrderDailyStats stats = getOrCreate(statsByStatus, day, (EOrderStatus) row[0]);
+
+            stats.setOrderCount(((Number) row[1]).longValue());
+            stats.setRevenue(row[2] == null ? BigDecimal.ZERO : (BigDecimal) row[2]);
+        });
+
+        orderDailyStatsRepository.sumUnitsByStatusBetween(from, to).forEach((row) -> {
+            OrderDailyStats stats = getOrCreate(statsByStatus, day, (EOrderStatus) row[0]);
+
+            stats.setUnits(((Number) row[1]).longValue());
+        });
+
+        orderDailyStatsRepository.saveAll(statsByStatus.values());
+    }
+
+    private OrderDailyStats getOrCreate(Map<EOrderStatus, OrderDailyStats> statsByStatus, LocalDate day, EOrderStatus status) {
+        return statsByStatus.computeIfAbsent(status, (key) -> OrderDailyStats
+                .builder()
+                .day(day)
+                .status(status)
+                .build());
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        return value instanceof LocalDate ? (LocalDate) value : ((Date) value).toLocalDate();
+    }
+
+    private long countUnits(Order order) {
+        return order
+                .getItems()
+                .stream()
+                .mapToLong(OrderItem::getAmount)
+                .sum();
+    }
+
+}
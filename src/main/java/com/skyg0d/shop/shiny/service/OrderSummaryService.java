@@ -0,0 +1,83 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.mapper.OrderMapper;
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import com.skyg0d.shop.shiny.model.User;
+import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
+import com.skyg0d.shop.shiny.repository.OrderRepository;
+import com.skyg0d.shop.shiny.repository.OrderSummaryRepository;
+import com.skyg0d.shop.shiny.repository.specification.OrderSummarySpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryService {
+
+    private static final int BACKFILL_BATCH_SIZE = 100;
+
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OrderMapper mapper = OrderMapper.INSTANCE;
+
+    public Page<OrderResponse> listAll(Pageable pageable) {
+        return orderSummaryRepository.findAll(pageable).map(mapper::toOrderResponse);
+    }
+
+    public Page<OrderResponse> listAllByUser(Pageable pageable, String email) {
+        return orderSummaryRepository.findAllByUserEmail(pageable, email).map(mapper::toOrderResponse);
+    }
+
+    public Page<OrderResponse> search(OrderParameterSearch search, Pageable pageable) {
+        return orderSummaryRepository.findAll(OrderSummarySpecification.getSpecification(search), pageable).map(mapper::toOrderResponse);
+    }
+
+    public void sync(Order order) {
+        OrderSummary summary = orderSummaryRepository
+                .findByOrderId(order.getId())
+                .orElseGet(OrderSummary::new);
+
+        mapper.updateOrderSummary(order, summary);
+
+        orderSummaryRepository.save(summary);
+    }
+
+    public void syncStatus(Collection<UUID> orderIds, EOrderStatus status) {
+        orderSummaryRepository.updateStatusByOrderIdIn(orderIds, status, LocalDateTime.now());
+    }
+
+    public void syncUser(User user) {
+        orderSummaryRepository.updateUserByUserEmail(user.getEmail(), user.getUsername(), user.getFullName(), LocalDateTime.now());
+    }
+
+    public void backfill() {
+        int synced;
+
+        do {
+            synced = transactionTemplate.execute((status) -> {
+                List<Order> orders = orderRepository.findAllWithoutSummary(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+
+                orders.forEach(this::sync);
+
+                return orders.size();
+            });
+        } while (synced == BACKFILL_BATCH_SIZE);
+    }
+
+}
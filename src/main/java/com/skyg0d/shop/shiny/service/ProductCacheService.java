@@ -0,0 +1,132 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
+import com.skyg0d.shop.shiny.property.ProductCacheProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+public class ProductCacheService {
+
+    private final ProductCacheProps productCacheProps;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter sizeEvictions;
+
+    private final Counter expiredEvictions;
+
+    private final Map<String, CachedProduct> products;
+
+    private long generation;
+
+    public ProductCacheService(ProductCacheProps productCacheProps, MeterRegistry meterRegistry) {
+        this.productCacheProps = productCacheProps;
+        this.hits = meterRegistry.counter("shop.product.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("shop.product.cache.requests", "result", "miss");
+        this.sizeEvictions = meterRegistry.counter("shop.product.cache.evictions", "cause", "size");
+        this.expiredEvictions = meterRegistry.counter("shop.product.cache.evictions", "cause", "expired");
+        this.products = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedProduct> eldest) {
+                boolean full = size() > productCacheProps.getMaxSize();
+
+                if (full) {
+                    sizeEvictions.increment();
+                }
+
+                return full;
+            }
+        };
+    }
+
+    public UserProductResponse get(String slug, Function<String, UserProductResponse> loader) {
+        long loadGeneration;
+
+        synchronized (products) {
+            CachedProduct cached = products.get(slug);
+
+            if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+                hits.increment();
+
+                return cached.getProduct();
+            }
+
+            if (cached != null) {
+                products.remove(slug);
+
+                expiredEvictions.increment();
+            }
+
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+
+        UserProductResponse product = loader.apply(slug);
+
+        synchronized (products) {
+            if (loadGeneration == generation) {
+                products.put(slug, new CachedProduct(product, Instant.now().plus(productCacheProps.getTtl())));
+            }
+        }
+
+        return product;
+    }
+
+    public void evict(String slug) {
+        runNowAndAfterCommit(() -> {
+            synchronized (products) {
+                products.remove(slug);
+
+                generation++;
+            }
+        });
+    }
+
+    public void evictAll() {
+        runNowAndAfterCommit(() -> {
+            synchronized (products) {
+                products.clear();
+
+                generation++;
+            }
+        });
+    }
+
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedProduct {
+
+        private final UserProductResponse product;
+
+        private final Instant expiresAt;
+
+    }
+
+}
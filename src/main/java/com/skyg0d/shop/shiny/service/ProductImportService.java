@@ -0,0 +1,513 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.exception.SlugAlreadyExistsException;
+import com.skyg0d.shop.shiny.model.Category;
+import com.skyg0d.shop.shiny.model.EDataFormat;
+import com.skyg0d.shop.shiny.model.EImportStatus;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
+import com.skyg0d.shop.shiny.payload.response.ProductImportResultResponse;
+import com.skyg0d.shop.shiny.property.ProductImportProps;
+import com.skyg0d.shop.shiny.repository.CategoryRepository;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.util.CsvUtils;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Price;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportService {
+
+    private static final List<String> CSV_HEADER = List.of("row", "slug", "status", "error");
+
+    private static final String CSV_LIST_SEPARATOR = ";";
+
+    private final ProductRepository productRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final StripeService stripeService;
+
+    private final ProductImportProps productImportProps;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final TaskExecutor importStripeExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImportService(ProductRepository productRepository, CategoryRepository categoryRepository, StripeService stripeService, ProductImportProps productImportProps, ObjectMapper objectMapper, Validator validator, @Qualifier("importStripeExecutor") TaskExecutor importStripeExecutor, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.stripeService = stripeService;
+        this.productImportProps = productImportProps;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.importStripeExecutor = importStripeExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void importProducts(InputStream inputStream, EDataFormat format, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+
+            if (format.equals(EDataFormat.CSV)) {
+                header = readCsvHeader(reader);
+
+                writeCsvLine(writer, CSV_HEADER);
+            }
+
+            List<ImportRow> batch = new ArrayList<>(productImportProps.getBatchSize());
+            long rowNumber = 0;
+            ImportRow row;
+
+            while ((row = format.equals(EDataFormat.CSV) ? readCsvRow(reader, header, rowNumber + 1) : readNdjsonRow(reader, rowNumber + 1)) != null) {
+                rowNumber++;
+
+                batch.add(row);
+
+                if (batch.size() >= productImportProps.getBatchSize()) {
+                    importBatch(batch);
+                    writeResults(writer, format, batch);
+
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                importBatch(batch);
+                writeResults(writer, format, batch);
+            }
+
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void importBatch(List<ImportRow> rows) {
+        rows.forEach(this::validate);
+
+        rejectDuplicatedSlugs(rows);
+
+        Map<String, Category> categories = resolveCategories(rows);
+
+        CompletableFuture<?>[] creations = pending(rows)
+                .stream()
+                .map((row) -> CompletableFuture.runAsync(() -> createInStripe(row, categories), importStripeExecutor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(creations).join();
+
+        save(pending(rows));
+    }
+
+    private void validate(ImportRow row) {
+        if (row.getError() != null) {
+            return;
+        }
+
+        CreateProductRequest request = row.getRequest();
+
+        if (request.getPrice() == null) {
+            row.setError("price: must not be null");
+
+            return;
+        }
+
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+
+        if (!violations.isEmpty()) {
+            row.setError(violations
+                    .stream()
+                    .map((violation) -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private void rejectDuplicatedSlugs(List<ImportRow> rows) {
+        Set<String> slugs = new HashSet<>();
+
+        pending(rows)
+                .stream()
+                .filter((row) -> !slugs.add(row.getRequest().getSlug()))
+                .forEach((row) -> row.setError(String.format("Slug [%s] is repeated in the import", row.getRequest().getSlug())));
+
+        if (slugs.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingSlugs = productRepository.findAllSlugsBySlugIn(slugs);
+
+        pending(rows)
+                .stream()
+                .filter((row) -> existingSlugs.contains(row.getRequest().getSlug()))
+                .forEach((row) -> row.setError(new SlugAlreadyExistsException("Product", row.getRequest().getSlug()).getMessage()));
+    }
+
+    private Map<String, Category> resolveCategories(List<ImportRow> rows) {
+        Set<String> slugs = pending(rows)
+                .stream()
+                .flatMap((row) -> row.getRequest().getCategories().stream())
+                .collect(Collectors.toSet());
+
+        if (slugs.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Category> categories = categoryRepository
+                .findAllBySlugIn(slugs)
+                .stream()
+                .collect(Collectors.toMap(Category::getSlug, Function.identity()));
+
+        pending(rows).forEach((row) -> row
+                .getRequest()
+                .getCategories()
+                .stream()
+                .filter((slug) -> !categories.containsKey(slug))
+                .findFirst()
+                .ifPresent((slug) -> row.setError("Category not found with slug: " + slug)));
+
+        return categories;
+    }
+
+    private void createInStripe(ImportRow row, Map<String, Category> categories) {
+        CreateProductRequest request = row.getRequest();
+        com.stripe.model.Product stripeProduct;
+
+        try {
+            stripeProduct = withBackoff(() -> stripeService.createProduct(request));
+        } catch (StripeException | RuntimeException ex) {
+            row.setError("Could not create product in Stripe: " + ex.getMessage());
+
+            return;
+        }
+
+        try {
+            Price stripePrice = withBackoff(() -> stripeService.createPrice(stripeProduct.getId(), request.getPrice()));
+
+            row.setProduct(Product
+                    .builder()
+                    .slug(request.getSlug())
+                    .name(request.getName())
+                    .description(request.getDescription())
+                    .thumbnail(request.getThumbnail())
+                    .brand(request.getBrand())
+                    .price(request.getPrice())
+                    .amount(request.getAmount())
+                    .images(new ArrayList<>(request.getImages()))
+                    .sizes(new ArrayList<>(request.getSizes()))
+                    .features(new ArrayList<>(request.getFeatures()))
+                    .categories(request.getCategories().stream().map(categories::get).collect(Collectors.toSet()))
+                    .stripeProductId(stripeProduct.getId())
+                    .stripePriceId(stripePrice.getId())
+                    .build());
+        } catch (StripeException | RuntimeException ex) {
+            row.setError("Could not create price in Stripe: " + ex.getMessage());
+
+            deactivateInStripe(stripeProduct.getId());
+        }
+    }
+
+    private void save(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult((status) -> productRepository.saveAll(rows
+                    .stream()
+                    .map(ImportRow::getProduct)
+                    .collect(Collectors.toList())));
+        } catch (RuntimeException ex) {
+            // one bad row rolls the whole batch back, retry row by row so only that row fails
+            rows.forEach(this::saveOne);
+        }
+    }
+
+    private void saveOne(ImportRow row) {
+        try {
+            transactionTemplate.executeWithoutResult((status) -> productRepository.save(row.getProduct()));
+        } catch (RuntimeException ex) {
+            row.setError("Could not save product: " + ex.getMessage());
+
+            deactivateInStripe(row.getProduct().getStripeProductId());
+        }
+    }
+
+    private void deactivateInStripe(String stripeProductId) {
+        try {
+            stripeService.setProductActive(stripeProductId, false);
+        } catch (StripeException | RuntimeException ex) {
+            // the product stays orphaned in stripe, nothing else references it
+        }
+    }
+
+    private <T> T withBackoff(StripeCall<T> call) throws StripeException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.execute();
+            } catch (StripeException ex) {
+                if (!isRateLimited(ex) || attempt >= productImportProps.getStripeMaxAttempts()) {
+                    throw ex;
+                }
+
+                try {
+                    Thread.sleep(backoff(attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private boolean isRateLimited(StripeException ex) {
+        return ex instanceof RateLimitException || Integer.valueOf(429).equals(ex.getStatusCode());
+    }
+
+    private long backoff(int attempt) {
+        long backoff = Math.min(
+                productImportProps.getStripeBackoff().toMillis() << Math.min(attempt - 1, 16),
+                productImportProps.getStripeMaxBackoff().toMillis()
+        );
+
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private List<ImportRow> pending(List<ImportRow> rows) {
+        return rows
+                .stream()
+                .filter((row) -> row.getError() == null)
+                .collect(Collectors.toList());
+    }
+
+    private ImportRow readNdjsonRow(BufferedReader reader, long rowNumber) throws IOException {
+        String line;
+
+        do {
+            line = reader.readLine();
+
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return new ImportRow(rowNumber, normalize(objectMapper.readValue(line, CreateProductRequest.class)));
+        } catch (JsonProcessingException ex) {
+            return new ImportRow(rowNumber, "Malformed row: " + ex.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        List<String> columns = readCsvRecord(reader);
+        Map<String, Integer> header = new HashMap<>();
+
+        for (int i = 0; columns != null && i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+
+        return header;
+    }
+
+    private ImportRow readCsvRow(BufferedReader reader, Map<String, Integer> header, long rowNumber) throws IOException {
+        List<String> values;
+
+        do {
+            values = readCsvRecord(reader);
+
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        List<String> record = values;
+        Function<String, String> column = (name) -> {
+            Integer index = header.get(name);
+
+            return index == null || index >= record.size() || record.get(index).isBlank() ? null : record.get(index).trim();
+        };
+
+        try {
+            CreateProductRequest request = CreateProductRequest
+                    .builder()
+                    .slug(column.apply("slug"))
+                    .name(column.apply("name"))
+                    .description(column.apply("description"))
+                    .thumbnail(column.apply("thumbnail"))
+                    .brand(column.apply("brand"))
+                    .price(column.apply("price") == null ? null : new BigDecimal(column.apply("price")))
+                    .amount(column.apply("amount") == null ? 0 : Long.parseLong(column.apply("amount")))
+                    .categories(parseCsvList(column.apply("categories")))
+                    .images(parseCsvList(column.apply("images")))
+                    .sizes(parseCsvList(column.apply("sizes")))
+                    .features(parseCsvList(column.apply("features")))
+                    .build();
+
+            return new ImportRow(rowNumber, request);
+        } catch (NumberFormatException ex) {
+            return new ImportRow(rowNumber, "Malformed row: price and amount must be numbers");
+        }
+    }
+
+    private List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int character;
+
+        while ((character = reader.read()) != -1) {
+            read = true;
+
+            if (quoted) {
+                if (character != '"') {
+                    value.append((char) character);
+
+                    continue;
+                }
+
+                reader.mark(1);
+
+                if (reader.read() == '"') {
+                    value.append('"');
+                } else {
+                    reader.reset();
+
+                    quoted = false;
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                values.add(value.toString());
+
+                value.setLength(0);
+            } else if (character == '\n') {
+                values.add(value.toString());
+
+                return values;
+            } else if (character != '\r') {
+                value.append((char) character);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+
+        values.add(value.toString());
+
+        return values;
+    }
+
+    private Set<String> parseCsvList(String value) {
+        if (value == null) {
+            return new LinkedHashSet<>();
+        }
+
+        return Arrays
+                .stream(value.split(CSV_LIST_SEPARATOR))
+                .map(String::trim)
+                .filter((item) -> !item.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private CreateProductRequest normalize(CreateProductRequest request) {
+        request.setCategories(request.getCategories() == null ? new LinkedHashSet<>() : request.getCategories());
+        request.setImages(request.getImages() == null ? new LinkedHashSet<>() : request.getImages());
+        request.setSizes(request.getSizes() == null ? new LinkedHashSet<>() : request.getSizes());
+        request.setFeatures(request.getFeatures() == null ? new LinkedHashSet<>() : request.getFeatures());
+
+        return request;
+    }
+
+    private void writeResults(Writer writer, EDataFormat format, List<ImportRow> rows) throws IOException {
+        for (ImportRow row : rows) {
+            ProductImportResultResponse result = ProductImportResultResponse
+                    .builder()
+                    .row(row.getRowNumber())
+                    .slug(row.getRequest() == null ? null : row.getRequest().getSlug())
+                    .status(row.getError() == null ? EImportStatus.CREATED : EImportStatus.FAILED)
+                    .error(row.getError())
+                    .build();
+
+            if (format.equals(EDataFormat.NDJSON)) {
+                writer.write(objectMapper.writeValueAsString(result));
+                writer.write('\n');
+            } else {
+                writeCsvLine(writer, List.of(
+                        String.valueOf(result.getRow()),
+                        Objects.toString(result.getSlug(), ""),
+                        result.getStatus().name(),
+                        Objects.toString(result.getError(), "")
+                ));
+            }
+        }
+
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        writer.write(values.stream().map(CsvUtils::escape).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+    }
+
+    private interface StripeCall<T> {
+
+        T execute() throws StripeException;
+
+    }
+
+    @Getter
+    @Setter
+    private static class ImportRow {
+
+        private final long rowNumber;
+
+        private final CreateProductRequest request;
+
+        private volatile String error;
+
+        private volatile Product product;
+
+        ImportRow(long rowNumber, CreateProductRequest request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+
+        ImportRow(long rowNumber, String error) {
+            this.rowNumber = rowNumber;
+            this.request = null;
+            this.error = error;
+        }
+
+    }
+
+}
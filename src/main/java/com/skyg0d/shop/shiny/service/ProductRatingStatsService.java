@@ -0,0 +1,161 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.exception.ResourceNotFoundException;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.ProductRatingStats;
+import com.skyg0d.shop.shiny.model.Rating;
+import com.skyg0d.shop.shiny.payload.response.ProductRatingStatsResponse;
+import com.skyg0d.shop.shiny.repository.ProductRatingStatsRepository;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.projection.ProductRatingStatsView;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.transaction.Transactional;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductRatingStatsService {
+
+    private final ProductRatingStatsRepository productRatingStatsRepository;
+
+    private final ProductRepository productRepository;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    public ProductRatingStatsService(ProductRatingStatsRepository productRatingStatsRepository, ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRatingStatsRepository = productRatingStatsRepository;
+        this.productRepository = productRepository;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public ProductRatingStatsResponse findByProductSlug(String slug) throws ResourceNotFoundException {
+        return productRatingStatsRepository
+                .findViewByProductSlug(slug)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with slug: " + slug));
+    }
+
+    public Map<UUID, ProductRatingStatsResponse> findAllByProductIds(Collection<UUID> productIds) {
+        return productRatingStatsRepository
+                .findAllViewsByProductIdIn(productIds)
+                .stream()
+                .collect(Collectors.toMap(ProductRatingStatsView::getProductId, this::toResponse));
+    }
+
+    public ProductRatingStatsResponse empty() {
+        return toResponse(new ProductRatingStatsView(null, 0L, 0L, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    public void add(Rating rating) {
+        increment(rating.getProduct().getId(), rating.getStars(), 1);
+    }
+
+    public void remove(Rating rating) {
+        increment(rating.getProduct().getId(), rating.getStars(), -1);
+    }
+
+    public void removeProduct(Product product) {
+        productRatingStatsRepository.deleteByProductId(product.getId());
+    }
+
+    @Transactional
+    public void rebuild() {
+        Map<UUID, ProductRatingStats> statsByProduct = new LinkedHashMap<>();
+
+        productRatingStatsRepository.countRatingsByProductAndStars().forEach((row) -> {
+            UUID productId = (UUID) row[0];
+            int stars = ((Number) row[1]).intValue();
+            long count = ((Number) row[2]).longValue();
+
+            ProductRatingStats stats = statsByProduct.computeIfAbsent(productId, (id) -> ProductRatingStats
+                    .builder()
+                    .product(productRepository.getReferenceById(id))
+                    .build());
+
+            stats.setRatingCount(stats.getRatingCount() + count);
+            stats.setStarsSum(stats.getStarsSum() + stars * count);
+
+            switch (stars) {
+                case 1:
+                    stats.setOneStar(count);
+                    break;
+                case 2:
+                    stats.setTwoStars(count);
+                    break;
+                case 3:
+                    stats.setThreeStars(count);
+                    break;
+                case 4:
+                    stats.setFourStars(count);
+                    break;
+                case 5:
+                    stats.setFiveStars(count);
+                    break;
+                default:
+                    break;
+            }
+        });
+
+        productRatingStatsRepository.deleteAllInBatch();
+
+        productRatingStatsRepository.saveAll(statsByProduct.values());
+    }
+
+    public boolean isEmpty() {
+        return productRatingStatsRepository.count() == 0;
+    }
+
+    private void increment(UUID productId, int stars, long delta) {
+        if (!productRatingStatsRepository.existsByProductId(productId)) {
+            createRow(productId);
+        }
+
+        productRatingStatsRepository.increment(
+                productId,
+                delta,
+                stars * delta,
+                stars == 1 ? delta : 0,
+                stars == 2 ? delta : 0,
+                stars == 3 ? delta : 0,
+                stars == 4 ? delta : 0,
+                stars == 5 ? delta : 0
+        );
+    }
+
+    private Optional<ProductRatingStats> createRow(UUID productId) {
+        try {
+            return Optional.ofNullable(newTransactionTemplate.execute((transaction) -> productRatingStatsRepository.saveAndFlush(ProductRatingStats
+                    .builder()
+                    .product(productRepository.getReferenceById(productId))
+                    .build())));
+        } catch (DataIntegrityViolationException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private ProductRatingStatsResponse toResponse(ProductRatingStatsView view) {
+        long count = Objects.requireNonNullElse(view.getRatingCount(), 0L);
+        long sum = Objects.requireNonNullElse(view.getStarsSum(), 0L);
+
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, Objects.requireNonNullElse(view.getOneStar(), 0L));
+        histogram.put(2, Objects.requireNonNullElse(view.getTwoStars(), 0L));
+        histogram.put(3, Objects.requireNonNullElse(view.getThreeStars(), 0L));
+        histogram.put(4, Objects.requireNonNullElse(view.getFourStars(), 0L));
+        histogram.put(5, Objects.requireNonNullElse(view.getFiveStars(), 0L));
+
+        return ProductRatingStatsResponse
+                .builder()
+                .count(count)
+                .average(count == 0 ? 0 : (double) sum / count)
+                .histogram(histogram)
+                .build();
+    }
+
+}
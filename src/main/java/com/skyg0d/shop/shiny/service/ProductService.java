@@ -1,36 +1,59 @@
 package com.skyg0d.shop.shiny.service;
 
+import com.skyg0d.shop.shiny.exception.BadRequestException;
+import com.skyg0d.shop.shiny.exception.InactiveProductOnOrderException;
 import com.skyg0d.shop.shiny.exception.ProductCategoryNotFoundException;
+import com.skyg0d.shop.shiny.exception.ProductOverflowAmountException;
 import com.skyg0d.shop.shiny.exception.ResourceNotFoundException;
 import com.skyg0d.shop.shiny.exception.SlugAlreadyExistsException;
 import com.skyg0d.shop.shiny.mapper.ProductMapper;
 import com.skyg0d.shop.shiny.model.Category;
 import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.StockReservation;
 import com.skyg0d.shop.shiny.payload.ApplyDiscountParams;
-import com.skyg0d.shop.shiny.payload.PromotionCodeCreated;
 import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceProductRequest;
 import com.skyg0d.shop.shiny.payload.response.AdminProductResponse;
+import com.skyg0d.shop.shiny.payload.response.CategoryResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductRatingStatsResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductSearchResponse;
 import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
 import com.skyg0d.shop.shiny.payload.search.ProductParametersSearch;
+import com.skyg0d.shop.shiny.recommendation.RelatedProductsIndex;
 import com.skyg0d.shop.shiny.repository.ProductRepository;
-import com.skyg0d.shop.shiny.repository.specification.ProductSpecification;
+import com.skyg0d.shop.shiny.repository.projection.ProductCategoryView;
+import com.skyg0d.shop.shiny.repository.projection.ProductElementView;
+import com.skyg0d.shop.shiny.repository.projection.ProductView;
+import com.skyg0d.shop.shiny.search.ProductSearchIndex;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Price;
-import com.stripe.param.ProductUpdateParams;
-import com.stripe.param.common.EmptyParam;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    public static final int MAX_RELATED_LIMIT = 50;
+
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
 
@@ -38,12 +61,28 @@ public class ProductService {
 
     private final ProductMapper mapper;
 
+    private final ProductCacheService productCacheService;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    private final StripeOutboxService stripeOutboxService;
+
+    private final ProductRatingStatsService productRatingStatsService;
+
+    private final RelatedProductsIndex relatedProductsIndex;
+
+    @Transactional
     public Page<AdminProductResponse> listAll(Pageable pageable) {
         return productRepository.findAll(pageable).map(mapper::toAdminProductResponse);
     }
 
+    @Transactional
     public Page<UserProductResponse> listAllActive(Pageable pageable) {
-        return productRepository.findAllByActiveTrue(pageable).map(mapper::toUserProductResponse);
+        Page<ProductView> views = productRepository.findAllActiveViews(pageable);
+
+        List<UserProductResponse> content = new ArrayList<>(toUserProductResponses(views.getContent()).values());
+
+        return new PageImpl<>(content, views.getPageable(), views.getTotalElements());
     }
 
     public Product findBySlug(String slug) throws ResourceNotFoundException {
@@ -52,8 +91,53 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with slug: " + slug));
     }
 
+    public Map<String, Product> findAllBySlug(Collection<String> slugs) throws ResourceNotFoundException {
+        Map<String, Product> products = productRepository
+                .findAllBySlugIn(slugs)
+                .stream()
+                .collect(Collectors.toMap(Product::getSlug, Function.identity()));
+
+        slugs
+                .stream()
+                .filter((slug) -> !products.containsKey(slug))
+                .findFirst()
+                .ifPresent((slug) -> {
+                    throw new ResourceNotFoundException("Product not found with slug: " + slug);
+                });
+
+        return products;
+    }
+
+    @Transactional
     public UserProductResponse findBySlugMapped(String slug) throws ResourceNotFoundException {
-        return mapper.toUserProductResponse(findBySlug(slug));
+        return productCacheService.get(slug, (key) -> productRepository
+                .findViewBySlug(key)
+                .map((view) -> toUserProductResponses(List.of(view)).get(view.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with slug: " + key)));
+    }
+
+    public List<UserProductResponse> findRelated(String slug, int limit) throws ResourceNotFoundException {
+        if (limit < 1 || limit > MAX_RELATED_LIMIT) {
+            throw new BadRequestException(String.format("Related products limit must be between 1 and %d.", MAX_RELATED_LIMIT));
+        }
+
+        findBySlugMapped(slug);
+
+        List<UserProductResponse> related = new ArrayList<>();
+
+        for (String relatedSlug : relatedProductsIndex.findRelatedSlugs(slug, limit)) {
+            try {
+                related.add(findBySlugMapped(relatedSlug));
+            } catch (ResourceNotFoundException ignored) {
+                // deleted after the index was read, the index drops it once the delete commits
+            }
+        }
+
+        return related;
+    }
+
+    public Optional<LocalDateTime> findUpdatedAtBySlug(String slug) {
+        return productRepository.findUpdatedAtBySlug(slug);
     }
 
     public void verifySlugExists(String slug) throws SlugAlreadyExistsException {
@@ -62,10 +146,20 @@ public class ProductService {
         }
     }
 
-    public Page<UserProductResponse> search(ProductParametersSearch search, Pageable pageable) {
-        return productRepository
-                .findAll(ProductSpecification.getSpecification(search), pageable)
-                .map(mapper::toUserProductResponse);
+    @Transactional
+    public ProductSearchResponse<UserProductResponse> search(ProductParametersSearch search, Pageable pageable) {
+        ProductSearchResponse<UUID> productIds = productSearchIndex.search(search, pageable);
+
+        Map<UUID, UserProductResponse> products = toUserProductResponses(productRepository.findAllViewsByIdIn(productIds.getContent()));
+
+        List<UserProductResponse> content = productIds
+                .getContent()
+                .stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return new ProductSearchResponse<>(content, pageable, productIds.getTotalElements(), productIds.getFacets());
     }
 
     public AdminProductResponse create(CreateProductRequest request) throws StripeException {
@@ -87,56 +181,61 @@ public class ProductService {
     @Transactional
     public void replace(ReplaceProductRequest request) throws StripeException {
         Product productFound = findBySlug(request.getSlug());
-        Product productMapped = mapper.toProduct(request, productFound);
 
         boolean priceHasChanged = productFound.getPrice().compareTo(request.getPrice()) != 0;
 
-        if (priceHasChanged) {
-            stripeService.desactivePrice(productFound.getStripePriceId());
-            stripeService.createPrice(productFound.getStripeProductId(), request.getPrice());
+        if (priceHasChanged && productFound.getStripeProductId() != null) {
+            // Checkout charges the product stripe price, so it has to match the local price as soon as this commits.
+            Price stripePrice = stripeService.createPrice(productFound.getStripeProductId(), request.getPrice());
+
+            stripeOutboxService.retirePrice(productFound);
+
+            productFound.setStripePriceId(stripePrice.getId());
         }
 
+        Product productMapped = mapper.toProduct(request, productFound);
+
         Product productSaved = productRepository.save(productMapped);
 
-        ProductUpdateParams productUpdateParams = ProductUpdateParams
-                .builder()
-                .setName(productSaved.getName())
-                .setDescription(productSaved.getDescription())
-                .setImages(productSaved.getImages())
-                .build();
+        stripeOutboxService.updateProduct(productSaved);
 
-        stripeService.updateProduct(productSaved.getStripeProductId(), productUpdateParams);
+        productCacheService.evict(productSaved.getSlug());
     }
 
-    public void toggleActive(String slug) throws StripeException {
+    @Transactional
+    public void toggleActive(String slug) {
         Product productFound = findBySlug(slug);
 
-        boolean isActive = !productFound.isActive();
-        productFound.setActive(isActive);
-        stripeService.setProductActive(productFound.getStripeProductId(), isActive);
+        productFound.setActive(!productFound.isActive());
 
         productRepository.save(productFound);
+
+        stripeOutboxService.updateProduct(productFound);
+
+        productCacheService.evict(productFound.getSlug());
     }
 
     @Transactional
-    public void applyDiscount(ApplyDiscountParams params) throws StripeException {
+    public void applyDiscount(ApplyDiscountParams params) {
         Product productFound = findBySlug(params.getProductSlug());
 
-        PromotionCodeCreated promotionCode = stripeService.createPromotionCode(params, productFound.getStripeProductId());
+        stripeOutboxService.applyDiscount(productFound, params);
 
         productFound.setDiscount(params.getDiscount());
         productFound.setDiscountCode(params.getCode());
-        productFound.setStripePromotionCodeId(promotionCode.getPromotionCodeId());
-        productFound.setStripeCouponId(promotionCode.getCouponId());
+        productFound.setStripePromotionCodeId(null);
+        productFound.setStripeCouponId(null);
 
         productRepository.save(productFound);
+
+        productCacheService.evict(productFound.getSlug());
     }
 
     @Transactional
-    public void removeDiscount(String productSlug) throws StripeException {
+    public void removeDiscount(String productSlug) {
         Product productFound = findBySlug(productSlug);
 
-        stripeService.deletePromotionCode(productFound.getStripePromotionCodeId(), productFound.getStripeCouponId());
+        stripeOutboxService.removeDiscount(productFound);
 
         productFound.setStripeCouponId(null);
         productFound.setStripePromotionCodeId(null);
@@ -144,6 +243,8 @@ public class ProductService {
         productFound.setDiscount(0);
 
         productRepository.save(productFound);
+
+        productCacheService.evict(productFound.getSlug());
     }
 
     public void changeAmount(String slug, long amount) {
@@ -152,20 +253,67 @@ public class ProductService {
         productFound.setAmount(amount);
 
         productRepository.save(productFound);
+
+        productCacheService.evict(productFound.getSlug());
+    }
+
+    public void decreaseAmount(Product product, long amount) throws InactiveProductOnOrderException, ProductOverflowAmountException {
+        int productsUpdated = productRepository.decreaseAmount(product.getId(), amount, LocalDateTime.now());
+
+        if (productsUpdated == 0) {
+            long available = productRepository
+                    .findActiveAmountById(product.getId())
+                    .orElseThrow(() -> new InactiveProductOnOrderException(product.getSlug()));
+
+            throw new ProductOverflowAmountException(product.getSlug(), available);
+        }
+
+        productCacheService.evict(product.getSlug());
+
+        productSearchIndex.changeAmount(product.getId(), -amount);
+    }
+
+    public void increaseAmount(Product product, long amount) {
+        productRepository.increaseAmount(product.getId(), amount, LocalDateTime.now());
+
+        productCacheService.evict(product.getSlug());
+
+        productSearchIndex.changeAmount(product.getId(), amount);
     }
 
-    public void addCategory(String productSlug, String categorySlug) throws StripeException {
+    public void increaseAmountByReservations(Collection<StockReservation> reservations) {
+        productRepository.increaseAmountByReservations(
+                reservations.stream().map((reservation) -> reservation.getOrder().getId().toString()).distinct().collect(Collectors.toList()),
+                reservations.stream().map((reservation) -> reservation.getStatus().name()).distinct().collect(Collectors.toList()),
+                LocalDateTime.now()
+        );
+
+        productCacheService.evictAll();
+
+        reservations.forEach((reservation) -> productSearchIndex.changeAmount(reservation.getProduct().getId(), reservation.getAmount()));
+    }
+
+    @Transactional
+    public void addCategory(String productSlug, String categorySlug) {
         Product productFound = findBySlug(productSlug);
         Category categoryFound = categoryService.findBySlug(categorySlug);
 
         productFound.getCategories().add(categoryFound);
 
-        stripeService.updateProductMetadata(productFound.getStripeProductId(), productFound.getCategories());
+        // Category links live in a join table and do not dirty the product, its ETag follows updatedAt.
+        productFound.setUpdatedAt(LocalDateTime.now());
 
         productRepository.save(productFound);
+
+        stripeOutboxService.updateProduct(productFound);
+
+        productCacheService.evict(productFound.getSlug());
+
+        productSearchIndex.reindex(productFound.getId());
     }
 
-    public void removeCategory(String productSlug, String categorySlug) throws StripeException {
+    @Transactional
+    public void removeCategory(String productSlug, String categorySlug) {
         Product productFound = findBySlug(productSlug);
 
         Predicate<Category> existsCategory = (category) -> category.getSlug().equalsIgnoreCase(categorySlug);
@@ -180,24 +328,73 @@ public class ProductService {
 
         productFound.getCategories().removeIf(existsCategory);
 
-        stripeService.updateProductMetadata(productFound.getStripeProductId(), productFound.getCategories());
+        productFound.setUpdatedAt(LocalDateTime.now());
 
         productRepository.save(productFound);
+
+        stripeOutboxService.updateProduct(productFound);
+
+        productCacheService.evict(productFound.getSlug());
+
+        productSearchIndex.reindex(productFound.getId());
     }
 
     @Transactional
-    public void delete(String slug) throws StripeException {
+    public void delete(String slug) {
         Product productFound = findBySlug(slug);
 
-        try {
-            stripeService.desactivePrice(productFound.getStripePriceId());
-            stripeService.updateProduct(productFound.getStripeProductId(), ProductUpdateParams.builder().setDefaultPrice(EmptyParam.EMPTY).build());
-            stripeService.deleteProduct(productFound.getStripeProductId());
-        } catch (Exception ex) {
-            stripeService.setProductActive(productFound.getStripeProductId(), false);
-        }
+        stripeOutboxService.deleteProduct(productFound);
+
+        productRatingStatsService.removeProduct(productFound);
+
+        relatedProductsIndex.remove(productFound.getId());
 
         productRepository.delete(productFound);
+
+        productCacheService.evict(productFound.getSlug());
+    }
+
+    private Map<UUID, UserProductResponse> toUserProductResponses(List<ProductView> views) {
+        if (views.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<UUID> ids = views
+                .stream()
+                .map(ProductView::getId)
+                .collect(Collectors.toSet());
+
+        Map<UUID, Set<CategoryResponse>> categories = productRepository
+                .findAllCategoryViewsByIdIn(ids)
+                .stream()
+                .collect(Collectors.groupingBy(ProductCategoryView::getProductId, Collectors.mapping(mapper::toCategoryResponse, Collectors.toSet())));
+
+        Map<UUID, List<String>> images = groupByProduct(productRepository.findAllImageViewsByIdIn(ids));
+        Map<UUID, List<String>> sizes = groupByProduct(productRepository.findAllSizeViewsByIdIn(ids));
+        Map<UUID, List<String>> features = groupByProduct(productRepository.findAllFeatureViewsByIdIn(ids));
+        Map<UUID, ProductRatingStatsResponse> ratings = productRatingStatsService.findAllByProductIds(ids);
+
+        return views
+                .stream()
+                .collect(Collectors.toMap(
+                        ProductView::getId,
+                        (view) -> mapper.toUserProductResponse(
+                                view,
+                                categories.getOrDefault(view.getId(), Set.of()),
+                                images.getOrDefault(view.getId(), List.of()),
+                                sizes.getOrDefault(view.getId(), List.of()),
+                                features.getOrDefault(view.getId(), List.of()),
+                                ratings.getOrDefault(view.getId(), productRatingStatsService.empty())
+                        ),
+                        (first, second) -> first,
+                        LinkedHashMap::new
+                ));
+    }
+
+    private Map<UUID, List<String>> groupByProduct(List<ProductElementView> elements) {
+        return elements
+                .stream()
+                .collect(Collectors.groupingBy(ProductElementView::getProductId, Collectors.mapping(ProductElementView::getValue, Collectors.toList())));
     }
 
 }
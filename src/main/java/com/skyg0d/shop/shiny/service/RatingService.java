@@ -17,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import java.util.UUID;
 
 @Service
@@ -28,7 +29,10 @@ public class RatingService {
     private final ProductService productService;
     private final RatingMapper mapper;
     private final AuthUtils authUtils;
+    private final ProductRatingStatsService productRatingStatsService;
+    private final ProductCacheService productCacheService;
 
+    @Transactional
     public Page<RatingResponse> findAllByUser(String userEmail, Pageable pageable) {
         User user = userService.findByEmail(userEmail);
 
@@ -37,6 +41,7 @@ public class RatingService {
                 .map(mapper::toRatingResponse);
     }
 
+    @Transactional
     public Page<RatingResponse> findAllByProduct(String productSlug, Pageable pageable) {
         Product product = productService.findBySlug(productSlug);
 
@@ -46,14 +51,13 @@ public class RatingService {
     }
 
     public RatingStarsAverageResponse productStarsAverage(String productSlug) {
-        productService.findBySlug(productSlug);
-
         return RatingStarsAverageResponse
                 .builder()
-                .stars(ratingRepository.productStarsAverage(productSlug))
+                .stars(productRatingStatsService.findByProductSlug(productSlug).getAverage())
                 .build();
     }
 
+    @Transactional
     public RatingResponse create(CreateRatingRequest request, String userEmail) {
         Product product = productService.findBySlug(request.getProductSlug());
         User user = userService.findByEmail(userEmail);
@@ -66,15 +70,26 @@ public class RatingService {
 
         Rating ratingToSave = mapper.toRating(request, userEmail);
 
-        return mapper.toRatingResponse(ratingRepository.save(ratingToSave));
+        Rating ratingSaved = ratingRepository.save(ratingToSave);
+
+        productRatingStatsService.add(ratingSaved);
+
+        productCacheService.evict(product.getSlug());
+
+        return mapper.toRatingResponse(ratingSaved);
     }
 
+    @Transactional
     public void delete(String id) {
         Rating rating = findById(id);
 
         validateUser(rating);
 
         ratingRepository.delete(rating);
+
+        productRatingStatsService.remove(rating);
+
+        productCacheService.evict(rating.getProduct().getSlug());
     }
 
     private Rating findById(String id) throws ResourceNotFoundException {
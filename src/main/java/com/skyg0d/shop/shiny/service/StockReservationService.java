@@ -0,0 +1,82 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.exception.InactiveProductOnOrderException;
+import com.skyg0d.shop.shiny.exception.ProductOverflowAmountException;
+import com.skyg0d.shop.shiny.model.EReservationStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.StockReservation;
+import com.skyg0d.shop.shiny.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private static final Set<EReservationStatus> HOLDING_STATUSES = EnumSet.of(EReservationStatus.ACTIVE, EReservationStatus.CONFIRMED);
+
+    private final StockReservationRepository reservationRepository;
+
+    private final ProductService productService;
+
+    public List<StockReservation> hold(Order order) throws InactiveProductOnOrderException, ProductOverflowAmountException {
+        List<StockReservation> reservations = order
+                .getItems()
+                .stream()
+                .map((item) -> {
+                    productService.decreaseAmount(item.getProduct(), item.getAmount());
+
+                    return StockReservation
+                            .builder()
+                            .order(order)
+                            .product(item.getProduct())
+                            .amount(item.getAmount())
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        return reservationRepository.saveAll(reservations);
+    }
+
+    public void confirm(Order order) {
+        reservationRepository
+                .findAllByOrder(order)
+                .forEach((reservation) -> changeStatus(reservation, EReservationStatus.ACTIVE, EReservationStatus.CONFIRMED));
+    }
+
+    public void release(Order order) {
+        reservationRepository
+                .findAllByOrder(order)
+                .forEach(this::release);
+    }
+
+    public void releaseAll(Collection<UUID> orderIds) {
+        List<StockReservation> reservations = reservationRepository.findAllByStatusInAndOrderIdIn(HOLDING_STATUSES, orderIds);
+
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        productService.increaseAmountByReservations(reservations);
+
+        reservationRepository.changeStatusByOrderIdIn(orderIds, HOLDING_STATUSES, EReservationStatus.RELEASED);
+    }
+
+    private void release(StockReservation reservation) {
+        if (HOLDING_STATUSES.contains(reservation.getStatus()) && changeStatus(reservation, reservation.getStatus(), EReservationStatus.RELEASED)) {
+            productService.increaseAmount(reservation.getProduct(), reservation.getAmount());
+        }
+    }
+
+    private boolean changeStatus(StockReservation reservation, EReservationStatus expected, EReservationStatus status) {
+        return reservationRepository.changeStatus(reservation.getId(), expected, status) > 0;
+    }
+
+}
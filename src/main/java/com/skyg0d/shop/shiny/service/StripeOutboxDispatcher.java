@@ -0,0 +1,401 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.model.Category;
+import com.skyg0d.shop.shiny.model.EOutboxStatus;
+import com.skyg0d.shop.shiny.model.EStripeOutboxType;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.StripeOutboxEvent;
+import com.skyg0d.shop.shiny.payload.ApplyDiscountParams;
+import com.skyg0d.shop.shiny.payload.PromotionCodeCreated;
+import com.skyg0d.shop.shiny.property.StripeOutboxProps;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.StripeOutboxEventRepository;
+import com.stripe.exception.StripeException;
+import com.stripe.param.ProductUpdateParams;
+import com.stripe.param.common.EmptyParam;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class StripeOutboxDispatcher {
+
+    private static final int HTTP_NOT_FOUND = 404;
+
+    private static final String MISSING_TARGET_ERROR = "Outbox event has no stripe product nor payment link";
+
+    private final StripeOutboxEventRepository stripeOutboxEventRepository;
+
+    private final ProductRepository productRepository;
+
+    private final StripeService stripeService;
+
+    private final StripeOutboxProps stripeOutboxProps;
+
+    private final TaskExecutor stripeExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final TransactionTemplate readTransaction;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong lag = new AtomicLong();
+
+    private final DistributionSummary eventsPerDispatch;
+
+    public StripeOutboxDispatcher(StripeOutboxEventRepository stripeOutboxEventRepository, ProductRepository productRepository, StripeService stripeService, StripeOutboxProps stripeOutboxProps, @Qualifier("stripeExecutor") TaskExecutor stripeExecutor, MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.stripeOutboxEventRepository = stripeOutboxEventRepository;
+        this.productRepository = productRepository;
+        this.stripeService = stripeService;
+        this.stripeOutboxProps = stripeOutboxProps;
+        this.stripeExecutor = stripeExecutor;
+        this.meterRegistry = meterRegistry;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.eventsPerDispatch = DistributionSummary
+                .builder("shop.stripe.outbox.coalesced")
+                .description("Outbox events applied by each dispatch to a stripe product")
+                .baseUnit("events")
+                .register(meterRegistry);
+
+        Gauge
+                .builder("shop.stripe.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting to be dispatched to stripe")
+                .register(meterRegistry);
+
+        Gauge
+                .builder("shop.stripe.outbox.failed", failed, AtomicLong::get)
+                .description("Outbox events parked after exhausting their attempts")
+                .register(meterRegistry);
+
+        Gauge
+                .builder("shop.stripe.outbox.lag", lag, AtomicLong::get)
+                .description("Age of the oldest outbox event waiting to be dispatched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@stripeOutboxProps.dispatchInterval.toMillis()}")
+    public void dispatch() {
+        stripeOutboxEventRepository.failAllWithoutTarget(EOutboxStatus.PENDING, EOutboxStatus.FAILED, MISSING_TARGET_ERROR);
+
+        List<String> stripeProductIds;
+
+        do {
+            Instant now = Instant.now();
+
+            stripeProductIds = stripeOutboxEventRepository.findAllDueStripeProductIds(EOutboxStatus.PENDING, now, PageRequest.of(0, stripeOutboxProps.getBatchSize()));
+
+            if (stripeProductIds.isEmpty()) {
+                break;
+            }
+
+            // Claiming pushes next_attempt_at past the claim ttl, so other instances skip these products
+            // until the events are completed, failed or the claim expires.
+            String claimedBy = UUID.randomUUID().toString();
+
+            stripeOutboxEventRepository.claimAllByStripeProductIdIn(EOutboxStatus.PENDING, stripeProductIds, claimedBy, now, now.plus(stripeOutboxProps.getClaimTtl()));
+
+            Map<String, List<StripeOutboxEvent>> eventsByProduct = stripeOutboxEventRepository
+                    .findAllByStatusAndClaimedByOrderByCreatedAt(EOutboxStatus.PENDING, claimedBy)
+                    .stream()
+                    .collect(Collectors.groupingBy(StripeOutboxEvent::getStripeProductId, LinkedHashMap::new, Collectors.toList()));
+
+            CompletableFuture<?>[] dispatches = eventsByProduct
+                    .values()
+                    .stream()
+                    .map((events) -> CompletableFuture.runAsync(() -> dispatch(events), stripeExecutor))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(dispatches).join();
+        } while (stripeProductIds.size() >= stripeOutboxProps.getBatchSize());
+
+        dispatchPaymentLinks();
+
+        pending.set(stripeOutboxEventRepository.countByStatus(EOutboxStatus.PENDING));
+        failed.set(stripeOutboxEventRepository.countByStatus(EOutboxStatus.FAILED));
+        lag.set(stripeOutboxEventRepository
+                .findOldestCreatedAtByStatus(EOutboxStatus.PENDING)
+                .map((createdAt) -> Duration.between(createdAt, LocalDateTime.now()).toSeconds())
+                .orElse(0L));
+    }
+
+    // Payment links of canceled orders are independent of each other, so they are claimed by id instead of by product.
+    private void dispatchPaymentLinks() {
+        List<UUID> ids;
+
+        do {
+            Instant now = Instant.now();
+
+            ids = stripeOutboxEventRepository.findAllDueIdsByType(EOutboxStatus.PENDING, EStripeOutboxType.DEACTIVATE_PAYMENT_LINK, now, PageRequest.of(0, stripeOutboxProps.getBatchSize()));
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            String claimedBy = UUID.randomUUID().toString();
+
+            stripeOutboxEventRepository.claimAllByIdIn(EOutboxStatus.PENDING, ids, claimedBy, now, now.plus(stripeOutboxProps.getClaimTtl()));
+
+            CompletableFuture<?>[] deactivations = stripeOutboxEventRepository
+                    .findAllByStatusAndClaimedByOrderByCreatedAt(EOutboxStatus.PENDING, claimedBy)
+                    .stream()
+                    .map((event) -> CompletableFuture.runAsync(() -> deactivatePaymentLink(event), stripeExecutor))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(deactivations).join();
+        } while (ids.size() >= stripeOutboxProps.getBatchSize());
+    }
+
+    private void deactivatePaymentLink(StripeOutboxEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+
+        try {
+            ignoreMissing(() -> stripeService.desactivePaymentLink(event.getStripePaymentLinkId()));
+
+            stripeOutboxEventRepository.deleteAllByIdIn(List.of(event.getId()));
+        } catch (StripeException | RuntimeException ex) {
+            outcome = "failure";
+
+            fail(List.of(event), ex);
+        }
+
+        sample.stop(meterRegistry.timer("shop.stripe.payment_link.deactivate", "outcome", outcome));
+    }
+
+    private void dispatch(List<StripeOutboxEvent> events) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        List<StripeOutboxEvent> remaining = new ArrayList<>(events);
+
+        try {
+            if (!ofType(events, EStripeOutboxType.DELETE_PRODUCT).isEmpty()) {
+                deleteProduct(events);
+                complete(remaining, events);
+            } else {
+                retirePrices(ofType(events, EStripeOutboxType.CHANGE_PRICE));
+                complete(remaining, ofType(events, EStripeOutboxType.CHANGE_PRICE));
+
+                changeDiscount(ofType(events, EStripeOutboxType.CHANGE_DISCOUNT));
+                complete(remaining, ofType(events, EStripeOutboxType.CHANGE_DISCOUNT));
+
+                updateProduct(ofType(events, EStripeOutboxType.UPDATE_PRODUCT));
+                complete(remaining, ofType(events, EStripeOutboxType.UPDATE_PRODUCT));
+            }
+        } catch (StripeException | RuntimeException ex) {
+            outcome = "failure";
+
+            fail(remaining, ex);
+        }
+
+        eventsPerDispatch.record(events.size());
+
+        sample.stop(meterRegistry.timer("shop.stripe.outbox.dispatch", "outcome", outcome));
+    }
+
+    // The new price is created and saved on the product by the change itself, only the replaced ones are left here.
+    private void retirePrices(List<StripeOutboxEvent> events) throws StripeException {
+        for (String stripePriceId : distinct(events.stream().map(StripeOutboxEvent::getStripePriceId))) {
+            ignoreMissing(() -> stripeService.desactivePrice(stripePriceId));
+        }
+    }
+
+    private void changeDiscount(List<StripeOutboxEvent> events) throws StripeException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        retireDiscounts(events);
+
+        StripeOutboxEvent last = events.get(events.size() - 1);
+
+        if (last.getDiscountCode() == null) {
+            return;
+        }
+
+        ApplyDiscountParams params = ApplyDiscountParams
+                .builder()
+                .name(last.getDiscountName())
+                .code(last.getDiscountCode())
+                .discount(last.getDiscount())
+                .build();
+
+        PromotionCodeCreated promotionCode = stripeService.createPromotionCode(params, last.getStripeProductId());
+
+        int productsUpdated = productRepository.changeStripePromotionCode(
+                last.getStripeProductId(),
+                last.getDiscountCode(),
+                promotionCode.getPromotionCodeId(),
+                promotionCode.getCouponId()
+        );
+
+        if (productsUpdated == 0) {
+            stripeService.deletePromotionCode(promotionCode.getPromotionCodeId(), promotionCode.getCouponId());
+        }
+    }
+
+    private void updateProduct(List<StripeOutboxEvent> events) throws StripeException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        String stripeProductId = events.get(0).getStripeProductId();
+
+        Optional<ProductUpdateParams> params = readTransaction.execute((status) -> productRepository
+                .findByStripeProductId(stripeProductId)
+                .map(this::toProductUpdateParams));
+
+        if (params != null && params.isPresent()) {
+            stripeService.updateProduct(stripeProductId, params.get());
+        }
+    }
+
+    private void deleteProduct(List<StripeOutboxEvent> events) throws StripeException {
+        String stripeProductId = events.get(0).getStripeProductId();
+
+        retireDiscounts(ofType(events, EStripeOutboxType.CHANGE_DISCOUNT));
+
+        List<String> stripePriceIds = distinct(events
+                .stream()
+                .filter((event) -> event.getType() == EStripeOutboxType.CHANGE_PRICE || event.getType() == EStripeOutboxType.DELETE_PRODUCT)
+                .map(StripeOutboxEvent::getStripePriceId));
+
+        try {
+            for (String stripePriceId : stripePriceIds) {
+                stripeService.desactivePrice(stripePriceId);
+            }
+
+            stripeService.updateProduct(stripeProductId, ProductUpdateParams.builder().setDefaultPrice(EmptyParam.EMPTY).build());
+            stripeService.deleteProduct(stripeProductId);
+        } catch (StripeException | RuntimeException ex) {
+            ignoreMissing(() -> stripeService.setProductActive(stripeProductId, false));
+        }
+    }
+
+    private void retireDiscounts(List<StripeOutboxEvent> events) throws StripeException {
+        for (StripeOutboxEvent event : events) {
+            if (event.getStripePromotionCodeId() != null && event.getStripeCouponId() != null) {
+                ignoreMissing(() -> stripeService.deletePromotionCode(event.getStripePromotionCodeId(), event.getStripeCouponId()));
+            }
+        }
+    }
+
+    private ProductUpdateParams toProductUpdateParams(Product product) {
+        String categories = product
+                .getCategories()
+                .stream()
+                .map(Category::getName)
+                .collect(Collectors.joining(", "));
+
+        return ProductUpdateParams
+                .builder()
+                .setName(product.getName())
+                .setDescription(product.getDescription())
+                .setImages(new ArrayList<>(product.getImages()))
+                .setActive(product.isActive())
+                .putMetadata("categories", categories)
+                .build();
+    }
+
+    private void complete(List<StripeOutboxEvent> remaining, List<StripeOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        stripeOutboxEventRepository.deleteAllByIdIn(events.stream().map(StripeOutboxEvent::getId).collect(Collectors.toList()));
+
+        remaining.removeAll(events);
+    }
+
+    private void fail(List<StripeOutboxEvent> events, Exception ex) {
+        int attempts = events
+                .stream()
+                .mapToInt(StripeOutboxEvent::getAttempts)
+                .max()
+                .orElse(0) + 1;
+
+        Instant nextAttemptAt = Instant.now().plusMillis(backoff(attempts));
+        String error = Objects.toString(ex.getMessage(), ex.getClass().getName());
+
+        events.forEach((event) -> {
+            event.setClaimedBy(null);
+            event.setAttempts(attempts);
+            event.setNextAttemptAt(nextAttemptAt);
+            event.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+
+            if (attempts >= stripeOutboxProps.getMaxAttempts()) {
+                event.setStatus(EOutboxStatus.FAILED);
+            }
+        });
+
+        stripeOutboxEventRepository.saveAll(events);
+    }
+
+    private long backoff(int attempts) {
+        long backoff = Math.min(
+                stripeOutboxProps.getBackoff().toMillis() << Math.min(attempts - 1, 16),
+                stripeOutboxProps.getMaxBackoff().toMillis()
+        );
+
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private void ignoreMissing(StripeCall call) throws StripeException {
+        try {
+            call.execute();
+        } catch (StripeException ex) {
+            if (!Integer.valueOf(HTTP_NOT_FOUND).equals(ex.getStatusCode())) {
+                throw ex;
+            }
+        }
+    }
+
+    private List<StripeOutboxEvent> ofType(List<StripeOutboxEvent> events, EStripeOutboxType type) {
+        return events
+                .stream()
+                .filter((event) -> event.getType() == type)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> distinct(Stream<String> values) {
+        return values
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private interface StripeCall {
+
+        void execute() throws StripeException;
+
+    }
+
+}
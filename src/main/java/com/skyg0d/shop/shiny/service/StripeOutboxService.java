@@ -0,0 +1,71 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.model.EStripeOutboxType;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.StripeOutboxEvent;
+import com.skyg0d.shop.shiny.payload.ApplyDiscountParams;
+import com.skyg0d.shop.shiny.repository.StripeOutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(Transactional.TxType.MANDATORY)
+public class StripeOutboxService {
+
+    private final StripeOutboxEventRepository stripeOutboxEventRepository;
+
+    public void updateProduct(Product product) {
+        stripeOutboxEventRepository.save(event(product, EStripeOutboxType.UPDATE_PRODUCT).build());
+    }
+
+    public void retirePrice(Product product) {
+        stripeOutboxEventRepository.save(event(product, EStripeOutboxType.CHANGE_PRICE)
+                .stripePriceId(product.getStripePriceId())
+                .build());
+    }
+
+    public void applyDiscount(Product product, ApplyDiscountParams params) {
+        stripeOutboxEventRepository.save(event(product, EStripeOutboxType.CHANGE_DISCOUNT)
+                .stripePromotionCodeId(product.getStripePromotionCodeId())
+                .stripeCouponId(product.getStripeCouponId())
+                .discountName(params.getName())
+                .discountCode(params.getCode())
+                .discount(params.getDiscount())
+                .build());
+    }
+
+    public void removeDiscount(Product product) {
+        stripeOutboxEventRepository.save(event(product, EStripeOutboxType.CHANGE_DISCOUNT)
+                .stripePromotionCodeId(product.getStripePromotionCodeId())
+                .stripeCouponId(product.getStripeCouponId())
+                .build());
+    }
+
+    public void deleteProduct(Product product) {
+        stripeOutboxEventRepository.save(event(product, EStripeOutboxType.DELETE_PRODUCT)
+                .stripePriceId(product.getStripePriceId())
+                .build());
+    }
+
+    public void deactivatePaymentLink(String stripePaymentLinkId) {
+        stripeOutboxEventRepository.save(StripeOutboxEvent
+                .builder()
+                .stripePaymentLinkId(stripePaymentLinkId)
+                .type(EStripeOutboxType.DEACTIVATE_PAYMENT_LINK)
+                .nextAttemptAt(Instant.now())
+                .build());
+    }
+
+    private StripeOutboxEvent.StripeOutboxEventBuilder<?, ?> event(Product product, EStripeOutboxType type) {
+        return StripeOutboxEvent
+                .builder()
+                .stripeProductId(product.getStripeProductId())
+                .type(type)
+                .nextAttemptAt(Instant.now());
+    }
+
+}
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -28,6 +29,8 @@ public class UserService {
 
     final RoleService roleService;
 
+    final OrderSummaryService orderSummaryService;
+
     final UserMapper mapper = UserMapper.INSTANCE;
 
     public Page<UserResponse> listAll(Pageable pageable) {
@@ -54,6 +57,7 @@ public class UserService {
                 .map(mapper::toUserResponse);
     }
 
+    @Transactional
     public void replace(ReplaceUserRequest request) {
         User userFound = findByEmail(request.getEmail());
 
@@ -63,7 +67,7 @@ public class UserService {
         userMapped.setRoles(userFound.getRoles());
         userMapped.setPassword(userFound.getPassword());
 
-        userRepository.save(userMapped);
+        orderSummaryService.syncUser(userRepository.save(userMapped));
     }
 
     public void promote(String email, Set<String> roles) {
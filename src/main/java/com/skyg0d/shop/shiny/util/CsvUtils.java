@@ -0,0 +1,20 @@
+package com.skyg0d.shop.shiny.util;
+
+public class CsvUtils {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    public static String escape(String value) {
+        // spreadsheets evaluate cells starting with these as formulas, the leading quote keeps them as text
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            return "\"'" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+    }
+
+}
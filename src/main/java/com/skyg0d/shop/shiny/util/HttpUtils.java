@@ -1,10 +1,18 @@
 package com.skyg0d.shop.shiny.util;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class HttpUtils {
 
@@ -42,4 +50,21 @@ public class HttpUtils {
         return request.getRemoteAddr();
     }
 
+    public static String eTag(Object... parts) {
+        String value = Arrays
+                .stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining(":"));
+
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static <T> ResponseEntity<T> conditionalGet(WebRequest request, String eTag, Supplier<T> body) {
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(body.get());
+    }
+
 }
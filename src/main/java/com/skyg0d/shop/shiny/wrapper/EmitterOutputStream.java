@@ -0,0 +1,49 @@
+package com.skyg0d.shop.shiny.wrapper;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class EmitterOutputStream extends OutputStream {
+
+    private final ResponseBodyEmitter emitter;
+
+    private final MediaType mediaType;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    public EmitterOutputStream(ResponseBodyEmitter emitter, MediaType mediaType) {
+        this.emitter = emitter;
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.write(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        buffer.write(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.size() == 0) {
+            return;
+        }
+
+        emitter.send(buffer.toByteArray(), mediaType);
+
+        buffer.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+}
@@ -6,6 +6,7 @@ import com.skyg0d.shop.shiny.payload.request.CreateCategoryRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceCategoryRequest;
 import com.skyg0d.shop.shiny.payload.response.CategoryResponse;
 import com.skyg0d.shop.shiny.payload.search.CategoryParameterSearch;
+import com.skyg0d.shop.shiny.service.CatalogVersionService;
 import com.skyg0d.shop.shiny.service.CategoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,9 +20,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -38,6 +43,9 @@ public class CategoryControllerTest {
     @Mock
     CategoryService categoryService;
 
+    @Mock
+    CatalogVersionService catalogVersionService;
+
     @BeforeEach
     void setUp() {
         PageImpl<CategoryResponse> categoryPage = new PageImpl<>(List.of(createCategoryResponse()));
@@ -75,7 +83,7 @@ public class CategoryControllerTest {
     void listAll_ReturnsListOfCategoriesInsidePageObject_WhenSuccessful() {
         CategoryResponse expectedCategory = createCategoryResponse();
 
-        ResponseEntity<Page<CategoryResponse>> entity = categoryController.listAll(PageRequest.of(0, 1));
+        ResponseEntity<Page<CategoryResponse>> entity = categoryController.listAll(PageRequest.of(0, 1), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -96,7 +104,7 @@ public class CategoryControllerTest {
     void findBySlug_ReturnsCategory_WhenSuccessful() {
         Category expectedCategory = createCategory();
 
-        ResponseEntity<CategoryResponse> entity = categoryController.findBySlug(expectedCategory.getSlug());
+        ResponseEntity<CategoryResponse> entity = categoryController.findBySlug(expectedCategory.getSlug(), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -113,7 +121,7 @@ public class CategoryControllerTest {
     void search_ReturnsListOfCategoriesInsidePageObject_WhenSuccessful() {
         CategoryResponse expectedCategory = createCategoryResponse();
 
-        ResponseEntity<Page<CategoryResponse>> entity = categoryController.search(createCategortyParameterSearch(), PageRequest.of(0, 1));
+        ResponseEntity<Page<CategoryResponse>> entity = categoryController.search(createCategortyParameterSearch(), PageRequest.of(0, 1), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -205,4 +213,14 @@ public class CategoryControllerTest {
 
     }
 
+    private ServletWebRequest createWebRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
 }
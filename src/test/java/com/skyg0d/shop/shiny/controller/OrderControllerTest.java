@@ -1,11 +1,16 @@
 package com.skyg0d.shop.shiny.controller;
 
+import com.skyg0d.shop.shiny.model.EDataFormat;
 import com.skyg0d.shop.shiny.model.EOrderStatus;
 import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.payload.request.ChangeOrdersStatusRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderRequest;
+import com.skyg0d.shop.shiny.payload.response.ChangeOrdersStatusResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatsResponse;
 import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
 import com.skyg0d.shop.shiny.security.service.UserDetailsImpl;
+import com.skyg0d.shop.shiny.service.OrderExportService;
 import com.skyg0d.shop.shiny.service.OrderService;
 import com.skyg0d.shop.shiny.util.AuthUtils;
 import com.skyg0d.shop.shiny.util.MockUtils;
@@ -22,10 +27,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -43,6 +54,9 @@ public class OrderControllerTest {
     @Mock
     OrderService orderService;
 
+    @Mock
+    OrderExportService orderExportService;
+
     @Mock
     AuthUtils authUtils;
 
@@ -68,9 +82,24 @@ public class OrderControllerTest {
                 .thenReturn(ordersPage);
 
         BDDMockito
-                .when(orderService.create(ArgumentMatchers.any(CreateOrderRequest.class), ArgumentMatchers.anyString()))
+                .when(orderService.create(ArgumentMatchers.any(CreateOrderRequest.class), ArgumentMatchers.anyString(), ArgumentMatchers.any()))
                 .thenReturn(createOrderResponse());
 
+        BDDMockito
+                .when(orderService.bulkChangeStatus(ArgumentMatchers.any(ChangeOrdersStatusRequest.class)))
+                .thenReturn(createChangeOrdersStatusResponse());
+
+        BDDMockito
+                .when(orderService.stats(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(OrderStatsResponse
+                        .builder()
+                        .from(LocalDate.now().minusYears(1))
+                        .to(LocalDate.now())
+                        .orderCount(1)
+                        .revenue(BigDecimal.TEN)
+                        .units(1)
+                        .build());
+
         BDDMockito
                 .when(authUtils.getUserDetails())
                 .thenReturn(new UserDetailsImpl(UUID.randomUUID(), USERNAME, EMAIL, PASSWORD, null));
@@ -131,6 +160,34 @@ public class OrderControllerTest {
         assertThat(entity.getBody().getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
     }
 
+    @Test
+    @DisplayName("stats Returns Orders Stats When Successful")
+    void stats_ReturnsOrdersStats_WhenSuccessful() {
+        ResponseEntity<OrderStatsResponse> entity = orderController.stats(null, null, null);
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getBody()).isNotNull();
+
+        assertThat(entity.getBody().getOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rebuildStats Rebuilds Orders Stats When Successful")
+    void rebuildStats_RebuildsOrdersStats_WhenSuccessful() {
+        ResponseEntity<Void> entity = orderController.rebuildStats();
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        BDDMockito
+                .verify(orderService)
+                .rebuildStats();
+    }
+
     @Test
     @DisplayName("findById Returns Order When Successful")
     @SuppressWarnings("null")
@@ -169,6 +226,33 @@ public class OrderControllerTest {
         assertThat(entity.getBody().getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
     }
 
+    @Test
+    @DisplayName("export Streams Searched Orders When Successful")
+    @SneakyThrows
+    void export_StreamsSearchedOrders_WhenSuccessful() {
+        OrderParameterSearch search = createOrderParameterSearch();
+
+        ResponseEntity<StreamingResponseBody> entity = orderController.export(search, EDataFormat.NDJSON);
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("application/x-ndjson"));
+
+        assertThat(entity.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("orders.ndjson");
+
+        assertThat(entity.getBody()).isNotNull();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        entity.getBody().writeTo(outputStream);
+
+        BDDMockito
+                .verify(orderExportService)
+                .export(search, EDataFormat.NDJSON, outputStream);
+    }
+
     @Test
     @DisplayName("mySearch Returns List Of Orders Inside Page Object When Successful")
     @SuppressWarnings("null")
@@ -197,7 +281,7 @@ public class OrderControllerTest {
     void create_PersistsOrder_WhenSuccessful() {
         OrderResponse expectedOrder = createOrderResponse();
 
-        ResponseEntity<OrderResponse> entity = orderController.create(createCreateOrderRequest());
+        ResponseEntity<OrderResponse> entity = orderController.create(createCreateOrderRequest(), null);
 
         assertThat(entity).isNotNull();
 
@@ -220,6 +304,22 @@ public class OrderControllerTest {
         assertThat(entity.getBody()).isNull();
     }
 
+    @Test
+    @DisplayName("bulkChangeStatus Returns Result Of Each Order When Successful")
+    void bulkChangeStatus_ReturnsResultOfEachOrder_WhenSuccessful() {
+        ChangeOrdersStatusResponse expectedResponse = createChangeOrdersStatusResponse();
+
+        ResponseEntity<ChangeOrdersStatusResponse> entity = orderController.bulkChangeStatus(createChangeOrdersStatusRequest());
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getBody()).isNotNull();
+
+        assertThat(entity.getBody().getResults()).isEqualTo(expectedResponse.getResults());
+    }
+
     @Test
     @DisplayName("shipOrder Updates Order Status When Successful")
     void shipOrder_UpdatesOrderStatus_WhenSuccessful() {
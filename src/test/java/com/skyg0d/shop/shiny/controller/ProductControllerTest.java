@@ -7,8 +7,12 @@ import com.skyg0d.shop.shiny.payload.request.ChangeAmountRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceProductRequest;
 import com.skyg0d.shop.shiny.payload.response.AdminProductResponse;
+import com.skyg0d.shop.shiny.payload.response.FacetCountResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductSearchResponse;
 import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
 import com.skyg0d.shop.shiny.payload.search.ProductParametersSearch;
+import com.skyg0d.shop.shiny.service.CatalogVersionService;
+import com.skyg0d.shop.shiny.service.ProductImportService;
 import com.skyg0d.shop.shiny.service.ProductService;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,11 +27,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static com.skyg0d.shop.shiny.util.product.ProductCreator.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +52,12 @@ public class ProductControllerTest {
     @Mock
     ProductService productService;
 
+    @Mock
+    CatalogVersionService catalogVersionService;
+
+    @Mock
+    ProductImportService productImportService;
+
     @BeforeEach
     @SneakyThrows
     void setUp() {
@@ -60,9 +76,13 @@ public class ProductControllerTest {
                 .when(productService.findBySlugMapped(ArgumentMatchers.anyString()))
                 .thenReturn(createUserProductResponse());
 
+        BDDMockito
+                .when(productService.findRelated(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+                .thenReturn(List.of(createUserProductResponse()));
+
         BDDMockito
                 .when(productService.search(ArgumentMatchers.any(ProductParametersSearch.class), ArgumentMatchers.any(Pageable.class)))
-                .thenReturn(userProductsPage);
+                .thenReturn(createProductSearchResponse());
 
         BDDMockito
                 .when(productService.create(ArgumentMatchers.any(CreateProductRequest.class)))
@@ -110,7 +130,7 @@ public class ProductControllerTest {
     void listAllActive_ReturnsListOfProductsInsidePageObject_WhenSuccessful() {
         UserProductResponse expectedProduct = createUserProductResponse();
 
-        ResponseEntity<Page<UserProductResponse>> entity = productController.listAllActive(PageRequest.of(0, 1));
+        ResponseEntity<Page<UserProductResponse>> entity = productController.listAllActive(PageRequest.of(0, 1), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -152,7 +172,7 @@ public class ProductControllerTest {
     void findBySlug_ReturnsProduct_WhenSuccessful() {
         Product expectedProduct = createProduct();
 
-        ResponseEntity<UserProductResponse> entity = productController.findBySlug(expectedProduct.getSlug());
+        ResponseEntity<UserProductResponse> entity = productController.findBySlug(expectedProduct.getSlug(), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -163,13 +183,70 @@ public class ProductControllerTest {
         assertThat(entity.getBody().getSlug()).isEqualTo(expectedProduct.getSlug());
     }
 
+    @Test
+    @DisplayName("findBySlug Returns 304 NotModified Without Loading Product When ETag Matches")
+    void findBySlug_Returns304NotModifiedWithoutLoadingProduct_WhenETagMatches() {
+        BDDMockito
+                .when(productService.findUpdatedAtBySlug(SLUG))
+                .thenReturn(Optional.of(LocalDateTime.of(2022, 9, 1, 10, 0)));
+
+        String eTag = productController.findBySlug(SLUG, createWebRequest(null)).getHeaders().getETag();
+
+        ResponseEntity<UserProductResponse> entity = productController.findBySlug(SLUG, createWebRequest(eTag));
+
+        assertThat(eTag).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        assertThat(entity.getBody()).isNull();
+
+        BDDMockito
+                .verify(productService, BDDMockito.times(1))
+                .findBySlugMapped(SLUG);
+    }
+
+    @Test
+    @DisplayName("listAllActive Returns New ETag When Catalog Version Changes")
+    void listAllActive_ReturnsNewETag_WhenCatalogVersionChanges() {
+        BDDMockito
+                .when(catalogVersionService.products())
+                .thenReturn("2024-01-01T00:00/1", "2024-01-01T00:01/1");
+
+        String eTag = productController.listAllActive(PageRequest.of(0, 1), createWebRequest(null)).getHeaders().getETag();
+
+        ResponseEntity<Page<UserProductResponse>> entity = productController.listAllActive(PageRequest.of(0, 1), createWebRequest(eTag));
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getHeaders().getETag()).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("findRelated Returns List Of Related Products When Successful")
+    @SuppressWarnings("null")
+    void findRelated_ReturnsListOfRelatedProducts_WhenSuccessful() {
+        UserProductResponse expectedProduct = createUserProductResponse();
+
+        ResponseEntity<List<UserProductResponse>> entity = productController.findRelated(SLUG, 10);
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getBody())
+                .isNotEmpty()
+                .hasSize(1);
+
+        assertThat(entity.getBody().get(0).getSlug()).isEqualTo(expectedProduct.getSlug());
+    }
+
     @Test
     @DisplayName("search Returns List Of Products Inside Page Object When Successful")
     @SuppressWarnings("null")
     void search_ReturnsListOfProductsInsidePageObject_WhenSuccessful() {
         UserProductResponse expectedProduct = createUserProductResponse();
 
-        ResponseEntity<Page<UserProductResponse>> entity = productController.search(createProductParametersSearch(), PageRequest.of(0, 1));
+        ResponseEntity<ProductSearchResponse<UserProductResponse>> entity = productController.search(createProductParametersSearch(), PageRequest.of(0, 1), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -182,6 +259,8 @@ public class ProductControllerTest {
         assertThat(entity.getBody().getContent().get(0)).isNotNull();
 
         assertThat(entity.getBody().getContent().get(0).getSlug()).isEqualTo(expectedProduct.getSlug());
+
+        assertThat(entity.getBody().getFacets().getBrands()).extracting(FacetCountResponse::getValue).containsExactly(BRAND);
     }
 
     @Test
@@ -339,4 +418,14 @@ public class ProductControllerTest {
         assertThat(entity.getBody()).isNull();
     }
 
+    private ServletWebRequest createWebRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
 }
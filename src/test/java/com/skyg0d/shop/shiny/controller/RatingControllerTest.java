@@ -4,6 +4,7 @@ import com.skyg0d.shop.shiny.payload.request.CreateRatingRequest;
 import com.skyg0d.shop.shiny.payload.response.RatingResponse;
 import com.skyg0d.shop.shiny.payload.response.RatingStarsAverageResponse;
 import com.skyg0d.shop.shiny.security.service.UserDetailsImpl;
+import com.skyg0d.shop.shiny.service.CatalogVersionService;
 import com.skyg0d.shop.shiny.service.RatingService;
 import com.skyg0d.shop.shiny.util.AuthUtils;
 import com.skyg0d.shop.shiny.util.product.ProductCreator;
@@ -21,9 +22,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -43,6 +48,9 @@ public class RatingControllerTest {
     @Mock
     AuthUtils authUtils;
 
+    @Mock
+    CatalogVersionService catalogVersionService;
+
     @BeforeEach
     void setUp() {
         Page<RatingResponse> ratingsPage = new PageImpl<>(List.of(RatingCreator.createRatingResponse()));
@@ -73,7 +81,7 @@ public class RatingControllerTest {
     void listAllByUser_ReturnsListOfRatingsInsidePageObject_WhenSuccessful() {
         RatingResponse expectedRating = RatingCreator.createRatingResponse();
 
-        ResponseEntity<Page<RatingResponse>> entity = ratingController.listAllByUser(expectedRating.getUser().getEmail(), PageRequest.of(0, 1));
+        ResponseEntity<Page<RatingResponse>> entity = ratingController.listAllByUser(expectedRating.getUser().getEmail(), PageRequest.of(0, 1), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -93,7 +101,7 @@ public class RatingControllerTest {
     void listAllByProduct_ReturnsListOfRatingsInsidePageObject_WhenSuccessful() {
         RatingResponse expectedRating = RatingCreator.createRatingResponse();
 
-        ResponseEntity<Page<RatingResponse>> entity = ratingController.listAllByProduct(expectedRating.getUser().getEmail(), PageRequest.of(0, 1));
+        ResponseEntity<Page<RatingResponse>> entity = ratingController.listAllByProduct(expectedRating.getUser().getEmail(), PageRequest.of(0, 1), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -113,7 +121,7 @@ public class RatingControllerTest {
     void productStarsAverage_ReturnsStarsAverageOfProduct_WhenSuccessful() {
         RatingResponse expectedRating = RatingCreator.createRatingResponse();
 
-        ResponseEntity<RatingStarsAverageResponse> entity = ratingController.productStarsAverage(expectedRating.getProduct().getSlug());
+        ResponseEntity<RatingStarsAverageResponse> entity = ratingController.productStarsAverage(expectedRating.getProduct().getSlug(), createWebRequest(null));
 
         assertThat(entity).isNotNull();
 
@@ -152,4 +160,14 @@ public class RatingControllerTest {
         assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
+    private ServletWebRequest createWebRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
 }
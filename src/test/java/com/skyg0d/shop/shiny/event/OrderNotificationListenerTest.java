@@ -0,0 +1,126 @@
+package com.skyg0d.shop.shiny.event;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.property.NotificationProps;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for OrderNotificationListener")
+public class OrderNotificationListenerTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("onOrderStatusChanged Writes Notification When Successful")
+    void onOrderStatusChanged_WritesNotification_WhenSuccessful() {
+        OrderNotificationListener listener = new OrderNotificationListener(jdbcTemplate, new SyncTaskExecutor(), new NotificationProps(10, 10), meterRegistry);
+
+        listener.onOrderStatusChanged(createEvent());
+
+        verifyBatchWritten(1);
+    }
+
+    @Test
+    @DisplayName("onOrderStatusChanged Writes Pending Notifications In Batches When Many Events Are Published")
+    void onOrderStatusChanged_WritesPendingNotificationsInBatches_WhenManyEventsArePublished() {
+        List<Runnable> tasks = new ArrayList<>();
+
+        OrderNotificationListener listener = new OrderNotificationListener(jdbcTemplate, tasks::add, new NotificationProps(10, 2), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            listener.onOrderStatusChanged(createEvent());
+        }
+
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+
+        verifyBatchWritten(2);
+
+        BDDMockito
+                .verify(jdbcTemplate, BDDMockito.times(3))
+                .batchUpdate(ArgumentMatchers.anyString(), ArgumentMatchers.<List<OrderStatusChangedEvent>>any(), ArgumentMatchers.anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<OrderStatusChangedEvent>>any());
+    }
+
+    @Test
+    @DisplayName("onOrderStatusChanged Drops Notification When Queue Is Full")
+    void onOrderStatusChanged_DropsNotification_WhenQueueIsFull() {
+        List<Runnable> tasks = new ArrayList<>();
+
+        OrderNotificationListener listener = new OrderNotificationListener(jdbcTemplate, tasks::add, new NotificationProps(1, 10), meterRegistry);
+
+        listener.onOrderStatusChanged(createEvent());
+        listener.onOrderStatusChanged(createEvent());
+
+        BDDMockito
+                .verifyNoInteractions(jdbcTemplate);
+
+        assertThat(tasks).hasSize(1);
+
+        assertThat(meterRegistry.get("shop.notifications.dropped").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onOrderStatusChanged Keeps Draining Later Events When A Batch Write Fails")
+    void onOrderStatusChanged_KeepsDrainingLaterEvents_WhenABatchWriteFails() {
+        List<Runnable> tasks = new ArrayList<>();
+
+        OrderNotificationListener listener = new OrderNotificationListener(jdbcTemplate, tasks::add, new NotificationProps(10, 2), meterRegistry);
+
+        BDDMockito
+                .when(jdbcTemplate.batchUpdate(ArgumentMatchers.anyString(), ArgumentMatchers.<List<OrderStatusChangedEvent>>any(), ArgumentMatchers.anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<OrderStatusChangedEvent>>any()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(new int[0][]);
+
+        for (int i = 0; i < 3; i++) {
+            listener.onOrderStatusChanged(createEvent());
+        }
+
+        tasks.get(0).run();
+
+        assertThat(tasks).hasSize(2);
+
+        tasks.get(1).run();
+
+        verifyBatchWritten(1);
+
+        assertThat(meterRegistry.get("shop.notifications.dropped").tag("reason", "write_failed").counter().count()).isEqualTo(2);
+    }
+
+    private void verifyBatchWritten(int size) {
+        BDDMockito
+                .verify(jdbcTemplate, BDDMockito.atLeastOnce())
+                .batchUpdate(ArgumentMatchers.anyString(), ArgumentMatchers.<List<OrderStatusChangedEvent>>any(), ArgumentMatchers.eq(size), ArgumentMatchers.<ParameterizedPreparedStatementSetter<OrderStatusChangedEvent>>any());
+    }
+
+    private OrderStatusChangedEvent createEvent() {
+        return OrderStatusChangedEvent
+                .builder()
+                .orderId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .status(EOrderStatus.PAID)
+                .build();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.skyg0d.shop.shiny.event;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.recommendation.RelatedProductsIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.UUID;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for OrderRelatedProductsListener")
+public class OrderRelatedProductsListenerTest {
+
+    @InjectMocks
+    OrderRelatedProductsListener orderRelatedProductsListener;
+
+    @Mock
+    RelatedProductsIndex relatedProductsIndex;
+
+    @Test
+    @DisplayName("onOrderStatusChanged Records Order When Order Is Paid")
+    void onOrderStatusChanged_RecordsOrder_WhenOrderIsPaid() {
+        OrderStatusChangedEvent event = createEvent(EOrderStatus.WAITING, EOrderStatus.PAID);
+
+        orderRelatedProductsListener.onOrderStatusChanged(event);
+
+        BDDMockito
+                .verify(relatedProductsIndex)
+                .record(event.getOrderId());
+    }
+
+    @Test
+    @DisplayName("onOrderStatusChanged Ignores Order When Order Was Already Paid")
+    void onOrderStatusChanged_IgnoresOrder_WhenOrderWasAlreadyPaid() {
+        orderRelatedProductsListener.onOrderStatusChanged(createEvent(EOrderStatus.PAID, EOrderStatus.SHIPPED));
+
+        BDDMockito
+                .verifyNoInteractions(relatedProductsIndex);
+    }
+
+    @Test
+    @DisplayName("onOrderStatusChanged Ignores Order When Order Is Not Purchased")
+    void onOrderStatusChanged_IgnoresOrder_WhenOrderIsNotPurchased() {
+        orderRelatedProductsListener.onOrderStatusChanged(createEvent(null, EOrderStatus.WAITING));
+        orderRelatedProductsListener.onOrderStatusChanged(createEvent(EOrderStatus.WAITING, EOrderStatus.CANCELED));
+
+        BDDMockito
+                .verifyNoInteractions(relatedProductsIndex);
+    }
+
+    private OrderStatusChangedEvent createEvent(EOrderStatus previousStatus, EOrderStatus status) {
+        return OrderStatusChangedEvent
+                .builder()
+                .orderId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .previousStatus(previousStatus)
+                .status(status)
+                .build();
+    }
+
+}
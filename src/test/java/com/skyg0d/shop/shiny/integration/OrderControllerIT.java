@@ -1,22 +1,37 @@
 package com.skyg0d.shop.shiny.integration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.exception.OrderStatusException;
 import com.skyg0d.shop.shiny.exception.details.ExceptionDetails;
 import com.skyg0d.shop.shiny.model.Category;
 import com.skyg0d.shop.shiny.model.EOrderStatus;
 import com.skyg0d.shop.shiny.model.Order;
 import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.payload.request.ChangeOrdersStatusRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderProduct;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderRequest;
+import com.skyg0d.shop.shiny.payload.response.ChangeOrdersStatusResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatsResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatusChangeResponse;
 import com.skyg0d.shop.shiny.repository.CategoryRepository;
 import com.skyg0d.shop.shiny.repository.OrderRepository;
+import com.skyg0d.shop.shiny.repository.OrderSummaryRepository;
 import com.skyg0d.shop.shiny.repository.ProductRepository;
 import com.skyg0d.shop.shiny.repository.UserRepository;
+import com.skyg0d.shop.shiny.service.OrderExpiryService;
+import com.skyg0d.shop.shiny.service.OrderService;
+import com.skyg0d.shop.shiny.service.OrderSummaryService;
 import com.skyg0d.shop.shiny.service.StripeService;
 import com.skyg0d.shop.shiny.util.JWTCreator;
+import com.skyg0d.shop.shiny.util.StatementCounter;
+import com.skyg0d.shop.shiny.util.product.ProductCreator;
 import com.skyg0d.shop.shiny.wrapper.PageableResponse;
+import com.stripe.exception.ApiConnectionException;
 import com.stripe.model.PaymentLink;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.SneakyThrows;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,18 +43,30 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static com.skyg0d.shop.shiny.util.order.OrderCreator.createCreateOrderRequest;
 import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrder;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
@@ -68,6 +95,30 @@ public class OrderControllerIT {
     @Autowired
     JWTCreator jwtCreator;
 
+    @Autowired
+    StatementCounter statementCounter;
+
+    @Autowired
+    OrderSummaryService orderSummaryService;
+
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    OrderExpiryService orderExpiryService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @BeforeEach
     @SneakyThrows
     void setUp() {
@@ -134,6 +185,29 @@ public class OrderControllerIT {
         assertThat(entity.getBody().getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
     }
 
+    @Test
+    @DisplayName("listAllByUser Reads Only Order Summaries When Page Has Many Orders")
+    @SuppressWarnings("null")
+    void listAllByUser_ReadsOnlyOrderSummaries_WhenPageHasManyOrders() {
+        List<Product> products = persistProducts(5);
+
+        persistOrder(products.get(0), EOrderStatus.WAITING);
+
+        long singleOrderStatements = countListAllByUserStatements(1);
+
+        products.subList(1, products.size()).forEach((product) -> persistOrder(product, EOrderStatus.WAITING));
+
+        long manyOrdersStatements = countListAllByUserStatements(products.size());
+
+        assertThat(manyOrdersStatements).isEqualTo(singleOrderStatements);
+
+        Statistics statistics = statementCounter.getStatistics();
+
+        assertThat(statistics.getEntityStatistics(Order.class.getName()).getLoadCount()).isZero();
+
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getLoadCount()).isZero();
+    }
+
     @Test
     @DisplayName("findById Returns Order When Successful")
     @SuppressWarnings("null")
@@ -209,6 +283,65 @@ public class OrderControllerIT {
         assertThat(entity.getBody().getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
     }
 
+    @Test
+    @DisplayName("export Streams Searched Orders As Csv When Successful")
+    @SuppressWarnings("null")
+    void export_StreamsSearchedOrdersAsCsv_WhenSuccessful() {
+        Order paidOrder = persistOrder(EOrderStatus.PAID);
+        Product product = paidOrder.getItems().get(0).getProduct();
+
+        persistOrder(product, EOrderStatus.PAID);
+        persistOrder(product, EOrderStatus.CANCELED);
+
+        ResponseEntity<String> entity = httpClient.exchange(
+                "/orders/export?format=CSV&status=PAID",
+                HttpMethod.GET,
+                jwtCreator.createAdminAuthEntity(null),
+                String.class
+        );
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getHeaders().getContentType()).isNotNull();
+
+        assertThat(entity.getHeaders().getContentType().toString()).startsWith("text/csv");
+
+        String[] lines = entity.getBody().split("\\r\\n");
+
+        assertThat(lines).hasSize(3);
+
+        assertThat(lines[0]).startsWith("id,createdAt,status");
+
+        assertThat(entity.getBody()).contains(paidOrder.getId().toString());
+    }
+
+    @Test
+    @DisplayName("export Streams Searched Orders As Ndjson When Successful")
+    @SneakyThrows
+    @SuppressWarnings("null")
+    void export_StreamsSearchedOrdersAsNdjson_WhenSuccessful() {
+        Order order = persistOrder(EOrderStatus.WAITING);
+
+        ResponseEntity<String> entity = httpClient.exchange(
+                "/orders/export?format=NDJSON",
+                HttpMethod.GET,
+                jwtCreator.createAdminAuthEntity(null),
+                String.class
+        );
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        String[] lines = entity.getBody().split("\\n");
+
+        assertThat(lines).hasSize(1);
+
+        assertThat(objectMapper.readValue(lines[0], OrderResponse.class).getId()).isEqualTo(order.getId());
+    }
+
     @Test
     @DisplayName("findById Returns ExceptionDetails When Order Don't Exists")
     @SuppressWarnings("null")
@@ -240,7 +373,7 @@ public class OrderControllerIT {
 
         CreateOrderRequest request = createCreateOrderRequest();
 
-        request.setProducts(List.of(new CreateOrderProduct(createOrder().getProducts().get(0).getSlug(), 1, "")));
+        request.setProducts(List.of(new CreateOrderProduct(createOrder().getItems().get(0).getProduct().getSlug(), 1, "")));
 
         ResponseEntity<OrderResponse> entity = httpClient.exchange(
                 "/orders",
@@ -260,6 +393,110 @@ public class OrderControllerIT {
         assertThat(entity.getBody().getUser().getEmail()).isEqualTo(jwtCreator.createUser().getEmail());
     }
 
+    @Test
+    @DisplayName("create Restores Product Stock When Payment Link Creation Fails")
+    @SneakyThrows
+    void create_RestoresProductStock_WhenPaymentLinkCreationFails() {
+        Product productSaved = persistProducts(1).get(0);
+
+        BDDMockito
+                .when(stripeService.createPaymentLink(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.anyString()))
+                .thenThrow(new ApiConnectionException("Stripe is unavailable"));
+
+        ResponseEntity<ExceptionDetails> entity = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                ExceptionDetails.class
+        );
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount());
+
+        assertThat(orderRepository.findAll())
+                .isNotEmpty()
+                .allMatch((order) -> order.getStatus() == EOrderStatus.CANCELED);
+    }
+
+    @Test
+    @DisplayName("create Returns Same Order When Idempotency Key Is Repeated")
+    @SneakyThrows
+    @SuppressWarnings("null")
+    void create_ReturnsSameOrder_WhenIdempotencyKeyIsRepeated() {
+        Product productSaved = persistProducts(1).get(0);
+
+        HttpEntity<CreateOrderRequest> authEntity = withIdempotencyKey(
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                "test-idempotency-key"
+        );
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        List<Future<ResponseEntity<OrderResponse>>> concurrentAttempts = executor.invokeAll(List.of(
+                () -> httpClient.exchange("/orders", HttpMethod.POST, authEntity, OrderResponse.class),
+                () -> httpClient.exchange("/orders", HttpMethod.POST, authEntity, OrderResponse.class)
+        ));
+
+        executor.shutdown();
+
+        ResponseEntity<OrderResponse> retry = httpClient.exchange("/orders", HttpMethod.POST, authEntity, OrderResponse.class);
+
+        UUID orderId = retry.getBody().getId();
+
+        for (Future<ResponseEntity<OrderResponse>> attempt : concurrentAttempts) {
+            assertThat(attempt.get().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+            assertThat(attempt.get().getBody().getId()).isEqualTo(orderId);
+        }
+
+        assertThat(orderRepository.count()).isEqualTo(1);
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount() - 1);
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(1))
+                .createPaymentLink(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("create Returns ExceptionDetails When Idempotency Key Is Reused With Different Request")
+    @SuppressWarnings("null")
+    void create_ReturnsExceptionDetails_WhenIdempotencyKeyIsReusedWithDifferentRequest() {
+        List<Product> products = persistProducts(2);
+
+        httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                withIdempotencyKey(jwtCreator.createUserAuthEntity(createOrderRequest(products.subList(0, 1))), "test-idempotency-key"),
+                OrderResponse.class
+        );
+
+        ResponseEntity<ExceptionDetails> entity = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                withIdempotencyKey(jwtCreator.createUserAuthEntity(createOrderRequest(products)), "test-idempotency-key"),
+                ExceptionDetails.class
+        );
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        assertThat(entity.getBody()).isNotNull();
+
+        assertThat(entity.getBody().getTitle()).isEqualTo("Idempotency Key Conflict");
+    }
+
+    @Test
+    @DisplayName("create Runs Same Product Queries When Cart Has Many Lines")
+    void create_RunsSameProductQueries_WhenCartHasManyLines() {
+        List<Product> products = persistProducts(5);
+
+        long singleLineStatements = countStatements(createOrderRequest(products.subList(0, 1)));
+        long manyLinesStatements = countStatements(createOrderRequest(products));
+
+        assertThat(manyLinesStatements - singleLineStatements).isLessThanOrEqualTo(3L * (products.size() - 1));
+    }
+
     @Test
     @DisplayName("create Returns ExceptionDetails When Order Has Invalid Product")
     @SuppressWarnings("null")
@@ -268,7 +505,7 @@ public class OrderControllerIT {
 
         CreateOrderRequest request = createCreateOrderRequest();
 
-        request.setProducts(List.of(new CreateOrderProduct(createOrder().getProducts().get(0).getSlug(), 1, "")));
+        request.setProducts(List.of(new CreateOrderProduct(createOrder().getItems().get(0).getProduct().getSlug(), 1, "")));
 
         String expectedTitle = "Inactive Product On Order";
 
@@ -296,7 +533,7 @@ public class OrderControllerIT {
 
         CreateOrderRequest request = createCreateOrderRequest();
 
-        request.setProducts(List.of(new CreateOrderProduct(createOrder().getProducts().get(0).getSlug(), 1, "")));
+        request.setProducts(List.of(new CreateOrderProduct(createOrder().getItems().get(0).getProduct().getSlug(), 1, "")));
 
         String expectedTitle = "Product Amount Lacking";
 
@@ -334,6 +571,240 @@ public class OrderControllerIT {
         assertThat(entity.getBody()).isNull();
     }
 
+    @Test
+    @DisplayName("cancelOrder Releases Reserved Stock When Successful")
+    @SuppressWarnings("null")
+    void cancelOrder_ReleasesReservedStock_WhenSuccessful() {
+        Product productSaved = persistProducts(1).get(0);
+
+        ResponseEntity<OrderResponse> orderCreated = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                OrderResponse.class
+        );
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount() - 1);
+
+        ResponseEntity<Void> entity = httpClient.exchange(
+                "/orders/{id}/cancel",
+                HttpMethod.PATCH,
+                jwtCreator.createUserAuthEntity(null),
+                Void.class,
+                orderCreated.getBody().getId()
+        );
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount());
+    }
+
+    @Test
+    @DisplayName("cancelOrder Restores Stock When Order Was Already Paid")
+    @SuppressWarnings("null")
+    void cancelOrder_RestoresStock_WhenOrderWasAlreadyPaid() {
+        Product productSaved = persistProducts(1).get(0);
+
+        ResponseEntity<OrderResponse> orderCreated = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                OrderResponse.class
+        );
+
+        orderService.adminChangeStatus(orderCreated.getBody().getId().toString(), EOrderStatus.PAID, "Order canceled. Could not pay.");
+
+        ResponseEntity<Void> entity = httpClient.exchange(
+                "/orders/{id}/cancel",
+                HttpMethod.PATCH,
+                jwtCreator.createUserAuthEntity(null),
+                Void.class,
+                orderCreated.getBody().getId()
+        );
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount());
+    }
+
+    @Test
+    @DisplayName("adminChangeStatus Refuses Payment When Order Was Canceled First")
+    @SuppressWarnings("null")
+    void adminChangeStatus_RefusesPayment_WhenOrderWasCanceledFirst() {
+        Product productSaved = persistProducts(1).get(0);
+
+        ResponseEntity<OrderResponse> orderCreated = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                OrderResponse.class
+        );
+
+        httpClient.exchange("/orders/{id}/cancel", HttpMethod.PATCH, jwtCreator.createUserAuthEntity(null), Void.class, orderCreated.getBody().getId());
+
+        assertThatExceptionOfType(OrderStatusException.class)
+                .isThrownBy(() -> orderService.adminChangeStatus(orderCreated.getBody().getId().toString(), EOrderStatus.PAID, "Order canceled. Could not pay."));
+
+        assertThat(orderRepository.findById(orderCreated.getBody().getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.CANCELED);
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount());
+    }
+
+    @Test
+    @DisplayName("cancelOrder Keeps Each Order Consistent When Racing With Payment Confirmation")
+    @SneakyThrows
+    void cancelOrder_KeepsEachOrderConsistent_WhenRacingWithPaymentConfirmation() {
+        List<Product> products = persistProducts(5);
+
+        HttpEntity<Void> cancelEntity = jwtCreator.createUserAuthEntity(null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        for (Product product : products) {
+            UUID orderId = httpClient.exchange("/orders", HttpMethod.POST, jwtCreator.createUserAuthEntity(createOrderRequest(List.of(product))), OrderResponse.class).getBody().getId();
+
+            CountDownLatch start = new CountDownLatch(1);
+
+            Future<Boolean> paid = executor.submit(() -> {
+                start.await();
+
+                try {
+                    orderService.adminChangeStatus(orderId.toString(), EOrderStatus.PAID, "Order canceled. Could not pay.");
+
+                    return true;
+                } catch (RuntimeException ex) {
+                    return false;
+                }
+            });
+
+            Future<Boolean> canceled = executor.submit(() -> {
+                start.await();
+
+                return httpClient
+                        .exchange("/orders/{id}/cancel", HttpMethod.PATCH, cancelEntity, Void.class, orderId)
+                        .getStatusCode()
+                        .equals(HttpStatus.NO_CONTENT);
+            });
+
+            start.countDown();
+
+            boolean cancelSucceeded = canceled.get();
+            boolean paySucceeded = paid.get();
+
+            EOrderStatus finalStatus = orderRepository.findById(orderId).orElseThrow().getStatus();
+
+            // Either call may lose the compare-and-set, and a cancel may also land after the payment,
+            // so only the final status decides what the order and its stock must look like.
+            if (finalStatus.equals(EOrderStatus.CANCELED)) {
+                assertThat(cancelSucceeded).isTrue();
+
+                assertThat(productRepository.findById(product.getId()).orElseThrow().getAmount()).isEqualTo(product.getAmount());
+            } else {
+                assertThat(finalStatus).isEqualTo(EOrderStatus.PAID);
+
+                assertThat(paySucceeded).isTrue();
+
+                assertThat(cancelSucceeded).isFalse();
+
+                assertThat(productRepository.findById(product.getId()).orElseThrow().getAmount()).isEqualTo(product.getAmount() - 1);
+            }
+
+            assertThat(orderSummaryRepository.findByOrderId(orderId).orElseThrow().getStatus()).isEqualTo(finalStatus);
+        }
+
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("expireStale Cancels Waiting Orders Past Stock Hold Ttl And Restores Their Stock When Successful")
+    @SneakyThrows
+    @SuppressWarnings("null")
+    void expireStale_CancelsWaitingOrdersPastStockHoldTtlAndRestoresTheirStock_WhenSuccessful() {
+        Product productSaved = persistProducts(1).get(0);
+
+        ResponseEntity<OrderResponse> staleOrder = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                OrderResponse.class
+        );
+
+        ResponseEntity<OrderResponse> recentOrder = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                OrderResponse.class
+        );
+
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", LocalDateTime.now().minusHours(1), staleOrder.getBody().getId().toString());
+
+        double expiredBefore = meterRegistry.get("shop.orders.expired").counter().count();
+
+        orderExpiryService.expireStale();
+
+        assertThat(orderRepository.findById(staleOrder.getBody().getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.CANCELED);
+
+        assertThat(orderRepository.findById(recentOrder.getBody().getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.WAITING);
+
+        assertThat(orderSummaryRepository.findByOrderId(staleOrder.getBody().getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.CANCELED);
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount() - 1);
+
+        assertThat(meterRegistry.get("shop.orders.expired").counter().count()).isEqualTo(expiredBefore + 1);
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(1))
+                .desactivePaymentLink("test-payment-id");
+    }
+
+    @Test
+    @DisplayName("stats Follows Order Status Changes And Matches Rebuild When Successful")
+    @SuppressWarnings("null")
+    void stats_FollowsOrderStatusChangesAndMatchesRebuild_WhenSuccessful() {
+        Product productSaved = persistProducts(1).get(0);
+
+        ResponseEntity<OrderResponse> orderCreated = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                OrderResponse.class
+        );
+
+        OrderStatsResponse waitingStats = getStats(EOrderStatus.WAITING);
+
+        assertThat(waitingStats.getOrderCount()).isEqualTo(1);
+
+        assertThat(waitingStats.getRevenue()).isEqualByComparingTo(orderCreated.getBody().getPrice());
+
+        assertThat(waitingStats.getUnits()).isEqualTo(1);
+
+        httpClient.exchange(
+                "/orders/{id}/cancel",
+                HttpMethod.PATCH,
+                jwtCreator.createUserAuthEntity(null),
+                Void.class,
+                orderCreated.getBody().getId()
+        );
+
+        assertThat(getStats(EOrderStatus.WAITING).getOrderCount()).isZero();
+
+        assertThat(getStats(EOrderStatus.CANCELED).getOrderCount()).isEqualTo(1);
+
+        OrderStatsResponse incrementalStats = getStats(null);
+
+        ResponseEntity<Void> rebuild = httpClient.exchange("/orders/stats/rebuild", HttpMethod.POST, jwtCreator.createAdminAuthEntity(null), Void.class);
+
+        assertThat(rebuild.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        OrderStatsResponse rebuiltStats = getStats(null);
+
+        assertThat(rebuiltStats.getOrderCount()).isEqualTo(incrementalStats.getOrderCount());
+
+        assertThat(rebuiltStats.getRevenue()).isEqualByComparingTo(incrementalStats.getRevenue());
+
+        assertThat(rebuiltStats.getUnits()).isEqualTo(incrementalStats.getUnits());
+    }
+
     @Test
     @DisplayName("cancelOrder Returns ExceptionDetails When Order Already Delivered")
     @SuppressWarnings("null")
@@ -380,6 +851,71 @@ public class OrderControllerIT {
         assertThat(entity.getBody().getTitle()).isEqualTo(expectedTitle);
     }
 
+    @Test
+    @DisplayName("bulkChangeStatus Changes Orders And Reports Each Result When Successful")
+    @SuppressWarnings("null")
+    void bulkChangeStatus_ChangesOrdersAndReportsEachResult_WhenSuccessful() {
+        Order waitingOrder = persistOrder(EOrderStatus.WAITING);
+        Product product = waitingOrder.getItems().get(0).getProduct();
+        Order paidOrder = persistOrder(product, EOrderStatus.PAID);
+        Order canceledOrder = persistOrder(product, EOrderStatus.CANCELED);
+        String notFoundId = UUID.randomUUID().toString();
+
+        ChangeOrdersStatusRequest request = ChangeOrdersStatusRequest
+                .builder()
+                .ids(List.of(waitingOrder.getId().toString(), paidOrder.getId().toString(), canceledOrder.getId().toString(), notFoundId))
+                .status(EOrderStatus.SHIPPED)
+                .build();
+
+        ResponseEntity<ChangeOrdersStatusResponse> entity = httpClient.exchange(
+                "/orders/status",
+                HttpMethod.PATCH,
+                jwtCreator.createAdminAuthEntity(request),
+                ChangeOrdersStatusResponse.class
+        );
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getBody()).isNotNull();
+
+        assertThat(entity.getBody().getChanged()).isEqualTo(1);
+
+        assertThat(entity.getBody().getResults())
+                .extracting(OrderStatusChangeResponse::getId, OrderStatusChangeResponse::isSuccess)
+                .containsExactly(
+                        tuple(waitingOrder.getId().toString(), false),
+                        tuple(paidOrder.getId().toString(), true),
+                        tuple(canceledOrder.getId().toString(), false),
+                        tuple(notFoundId, false)
+                );
+
+        assertThat(orderRepository.findById(waitingOrder.getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.WAITING);
+
+        assertThat(orderRepository.findById(canceledOrder.getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.CANCELED);
+
+        assertThat(orderSummaryRepository.findByOrderId(paidOrder.getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("bulkChangeStatus Runs Same Queries When Changing Many Orders")
+    void bulkChangeStatus_RunsSameQueries_WhenChangingManyOrders() {
+        Order firstOrder = persistOrder(EOrderStatus.PAID);
+        Product product = firstOrder.getItems().get(0).getProduct();
+
+        List<String> ids = new ArrayList<>(List.of(firstOrder.getId().toString()));
+
+        for (int i = 0; i < 20; i++) {
+            ids.add(persistOrder(product, EOrderStatus.PAID).getId().toString());
+        }
+
+        long statementsForOne = countBulkChangeStatusStatements(ids.subList(0, 1), EOrderStatus.SHIPPED);
+        long statementsForMany = countBulkChangeStatusStatements(ids.subList(1, ids.size()), EOrderStatus.SHIPPED);
+
+        assertThat(statementsForMany).isEqualTo(statementsForOne);
+    }
+
     @Test
     @DisplayName("shipOrder Updates Order Status When Successful")
     void shipOrder_UpdatesOrderStatus_WhenSuccessful() {
@@ -388,7 +924,7 @@ public class OrderControllerIT {
                 HttpMethod.PATCH,
                 jwtCreator.createAdminAuthEntity(null),
                 Void.class,
-                persistOrder().getId()
+                persistOrder(EOrderStatus.PAID).getId()
         );
 
         assertThat(entity).isNotNull();
@@ -398,6 +934,65 @@ public class OrderControllerIT {
         assertThat(entity.getBody()).isNull();
     }
 
+    @Test
+    @DisplayName("shipOrder Keeps Stock Sold When Expiry Runs After Paid Order Is Shipped")
+    @SuppressWarnings("null")
+    void shipOrder_KeepsStockSold_WhenExpiryRunsAfterPaidOrderIsShipped() {
+        Product productSaved = persistProducts(1).get(0);
+
+        ResponseEntity<OrderResponse> orderCreated = httpClient.exchange(
+                "/orders",
+                HttpMethod.POST,
+                jwtCreator.createUserAuthEntity(createOrderRequest(List.of(productSaved))),
+                OrderResponse.class
+        );
+
+        orderService.adminChangeStatus(orderCreated.getBody().getId().toString(), EOrderStatus.PAID, "Order canceled. Could not pay.");
+
+        ResponseEntity<Void> entity = httpClient.exchange(
+                "/orders/{id}/ship",
+                HttpMethod.PATCH,
+                jwtCreator.createAdminAuthEntity(null),
+                Void.class,
+                orderCreated.getBody().getId()
+        );
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", LocalDateTime.now().minusHours(1), orderCreated.getBody().getId().toString());
+
+        orderExpiryService.expireStale();
+
+        assertThat(orderRepository.findById(orderCreated.getBody().getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.SHIPPED);
+
+        assertThat(productRepository.findById(productSaved.getId()).orElseThrow().getAmount()).isEqualTo(productSaved.getAmount() - 1);
+    }
+
+    @Test
+    @DisplayName("shipOrder Returns ExceptionDetails When Order Is Not Paid")
+    @SuppressWarnings("null")
+    void shipOrder_ReturnsExceptionDetails_WhenOrderIsNotPaid() {
+        Order order = persistOrder(EOrderStatus.WAITING);
+
+        ResponseEntity<ExceptionDetails> entity = httpClient.exchange(
+                "/orders/{id}/ship",
+                HttpMethod.PATCH,
+                jwtCreator.createAdminAuthEntity(null),
+                ExceptionDetails.class,
+                order.getId()
+        );
+
+        assertThat(entity).isNotNull();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        assertThat(entity.getBody()).isNotNull();
+
+        assertThat(entity.getBody().getTitle()).isEqualTo("Order Status Incorrect");
+
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getStatus()).isEqualTo(EOrderStatus.WAITING);
+    }
+
     @Test
     @DisplayName("shipOrder Returns ExceptionDetails When Already Canceled")
     @SuppressWarnings("null")
@@ -429,7 +1024,7 @@ public class OrderControllerIT {
                 HttpMethod.PATCH,
                 jwtCreator.createAdminAuthEntity(null),
                 Void.class,
-                persistOrder().getId()
+                persistOrder(EOrderStatus.SHIPPED).getId()
         );
 
         assertThat(entity).isNotNull();
@@ -470,7 +1065,7 @@ public class OrderControllerIT {
                 HttpMethod.PATCH,
                 jwtCreator.createAdminAuthEntity(null),
                 Void.class,
-                persistOrder().getId()
+                persistOrder(EOrderStatus.ON_THE_WAY).getId()
         );
 
         assertThat(entity).isNotNull();
@@ -507,6 +1102,104 @@ public class OrderControllerIT {
         return persistOrder(EOrderStatus.WAITING);
     }
 
+    private List<Product> persistProducts(int size) {
+        List<Product> products = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            Product productToBeSave = ProductCreator.createProductToBeSave();
+            productToBeSave.setSlug(productToBeSave.getSlug() + "-" + i);
+
+            products.add(productRepository.save(productToBeSave));
+        }
+
+        return products;
+    }
+
+    private CreateOrderRequest createOrderRequest(List<Product> products) {
+        CreateOrderRequest request = createCreateOrderRequest();
+
+        request.setProducts(products
+                .stream()
+                .map((product) -> new CreateOrderProduct(product.getSlug(), 1, ""))
+                .collect(Collectors.toList()));
+
+        return request;
+    }
+
+    private <T> HttpEntity<T> withIdempotencyKey(HttpEntity<T> authEntity, String idempotencyKey) {
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.addAll(authEntity.getHeaders());
+        headers.set("Idempotency-Key", idempotencyKey);
+
+        return new HttpEntity<>(authEntity.getBody(), headers);
+    }
+
+    @SuppressWarnings("null")
+    private long countListAllByUserStatements(int expectedOrders) {
+        HttpEntity<Void> authEntity = jwtCreator.createUserAuthEntity(null);
+
+        return statementCounter.count(() -> {
+            ResponseEntity<PageableResponse<OrderResponse>> entity = httpClient.exchange(
+                    "/orders/my?size=50",
+                    HttpMethod.GET,
+                    authEntity,
+                    new ParameterizedTypeReference<>() {
+                    });
+
+            assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            assertThat(entity.getBody().getContent()).hasSize(expectedOrders);
+
+            assertThat(entity.getBody().getContent().get(0).getProducts()).isNotEmpty();
+        });
+    }
+
+    private OrderStatsResponse getStats(EOrderStatus status) {
+        String url = status == null ? "/orders/stats" : "/orders/stats?status=" + status;
+
+        ResponseEntity<OrderStatsResponse> entity = httpClient.exchange(url, HttpMethod.GET, jwtCreator.createAdminAuthEntity(null), OrderStatsResponse.class);
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        return entity.getBody();
+    }
+
+    private long countBulkChangeStatusStatements(List<String> ids, EOrderStatus status) {
+        ChangeOrdersStatusRequest request = ChangeOrdersStatusRequest
+                .builder()
+                .ids(ids)
+                .status(status)
+                .build();
+
+        HttpEntity<ChangeOrdersStatusRequest> authEntity = jwtCreator.createAdminAuthEntity(request);
+
+        return statementCounter.count(() -> {
+            ResponseEntity<ChangeOrdersStatusResponse> entity = httpClient.exchange("/orders/status", HttpMethod.PATCH, authEntity, ChangeOrdersStatusResponse.class);
+
+            assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            assertThat(entity.getBody()).isNotNull();
+
+            assertThat(entity.getBody().getChanged()).isEqualTo(ids.size());
+        });
+    }
+
+    private long countStatements(CreateOrderRequest request) {
+        HttpEntity<CreateOrderRequest> authEntity = jwtCreator.createUserAuthEntity(request);
+
+        return statementCounter.count(() -> {
+            ResponseEntity<OrderResponse> entity = httpClient.exchange(
+                    "/orders",
+                    HttpMethod.POST,
+                    authEntity,
+                    OrderResponse.class
+            );
+
+            assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        });
+    }
+
     private Order persistOrder(EOrderStatus status) {
         return persistOrder(status, 10);
     }
@@ -518,7 +1211,7 @@ public class OrderControllerIT {
     private Order persistOrder(EOrderStatus status, long amount, boolean active) {
         Order orderToBeSave = createOrder();
 
-        Product productToBeSave = orderToBeSave.getProducts().get(0);
+        Product productToBeSave = orderToBeSave.getItems().get(0).getProduct();
         productToBeSave.setAmount(amount);
         productToBeSave.setActive(active);
 
@@ -527,11 +1220,21 @@ public class OrderControllerIT {
        
         Product productSaved = productRepository.save(productToBeSave);
 
-        orderToBeSave.setProducts(List.of(productSaved));
+        return persistOrder(productSaved, status);
+    }
+
+    private Order persistOrder(Product product, EOrderStatus status) {
+        Order orderToBeSave = createOrder();
+
+        orderToBeSave.getItems().get(0).setProduct(product);
         orderToBeSave.setUser(userRepository.findByEmail(jwtCreator.createUser().getEmail()).orElseThrow());
         orderToBeSave.setStatus(status);
 
-        return orderRepository.save(orderToBeSave);
+        Order orderSaved = orderRepository.save(orderToBeSave);
+
+        orderSummaryService.sync(orderSaved);
+
+        return orderSaved;
     }
 
 }
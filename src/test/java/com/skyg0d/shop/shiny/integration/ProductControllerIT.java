@@ -2,6 +2,7 @@ package com.skyg0d.shop.shiny.integration;
 
 import com.skyg0d.shop.shiny.exception.details.ExceptionDetails;
 import com.skyg0d.shop.shiny.model.Category;
+import com.skyg0d.shop.shiny.model.EOutboxStatus;
 import com.skyg0d.shop.shiny.model.Product;
 import com.skyg0d.shop.shiny.payload.request.ApplyDiscountRequest;
 import com.skyg0d.shop.shiny.payload.request.ChangeAmountRequest;
@@ -12,11 +13,15 @@ import com.skyg0d.shop.shiny.payload.response.MessageResponse;
 import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
 import com.skyg0d.shop.shiny.repository.CategoryRepository;
 import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.StripeOutboxEventRepository;
+import com.skyg0d.shop.shiny.service.StripeOutboxDispatcher;
 import com.skyg0d.shop.shiny.service.StripeService;
 import com.skyg0d.shop.shiny.util.JWTCreator;
+import com.skyg0d.shop.shiny.util.StatementCounter;
 import com.skyg0d.shop.shiny.util.product.ProductCreator;
 import com.skyg0d.shop.shiny.wrapper.PageableResponse;
 import com.stripe.model.Price;
+import com.stripe.param.ProductUpdateParams;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,11 +34,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -62,6 +72,15 @@ public class ProductControllerIT {
     @Autowired
     CategoryRepository categoryRepository;
 
+    @Autowired
+    StatementCounter statementCounter;
+
+    @Autowired
+    StripeOutboxEventRepository stripeOutboxEventRepository;
+
+    @Autowired
+    StripeOutboxDispatcher stripeOutboxDispatcher;
+
     @BeforeEach
     @SneakyThrows
     void setUp() {
@@ -221,6 +240,129 @@ public class ProductControllerIT {
         assertThat(entity.getBody().getContent().get(0).getSlug()).isEqualTo(expectedProduct.getSlug());
     }
 
+    @Test
+    @DisplayName("search Returns Products Ranked By Relevance When Searching By Text")
+    @SuppressWarnings("null")
+    void search_ReturnsProductsRankedByRelevance_WhenSearchingByText() {
+        Category categorySaved = categoryRepository.save(createCategoryToBeSave());
+
+        Product productInCategory = createProductToBeSave();
+        productInCategory.setSlug("running-shoes");
+        productInCategory.setName("Running Shoes");
+        productInCategory.setDescription("Lightweight");
+        productInCategory.setBrand("Acme");
+        productInCategory.getCategories().add(categorySaved);
+
+        productRepository.save(productInCategory);
+        productRepository.save(createProductToBeSave());
+
+        ResponseEntity<PageableResponse<UserProductResponse>> entity = httpClient.exchange(
+                "/products/search?text=test",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getBody()).isNotNull();
+
+        assertThat(entity.getBody().getContent())
+                .extracting(UserProductResponse::getSlug)
+                .containsExactly(SLUG, "running-shoes");
+
+        ResponseEntity<PageableResponse<UserProductResponse>> prefixEntity = httpClient.exchange(
+                "/products/search?text=categ",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        assertThat(prefixEntity.getBody()).isNotNull();
+
+        assertThat(prefixEntity.getBody().getContent())
+                .extracting(UserProductResponse::getSlug)
+                .containsExactly("running-shoes");
+    }
+
+    @Test
+    @DisplayName("listAllActive Runs Same Statements When Page Has Many Products")
+    void listAllActive_RunsSameStatements_WhenPageHasManyProducts() {
+        Category categorySaved = categoryRepository.save(createCategoryToBeSave());
+
+        persistProducts(categorySaved, 1);
+
+        long singleProductStatements = countListStatements("/products?size=50", null, 1);
+
+        persistProducts(categorySaved, 19);
+
+        long manyProductsStatements = countListStatements("/products?size=50", null, 20);
+
+        assertThat(manyProductsStatements).isEqualTo(singleProductStatements);
+    }
+
+    @Test
+    @DisplayName("listAll Runs Same Statements When Page Has Many Products")
+    void listAll_RunsSameStatements_WhenPageHasManyProducts() {
+        Category categorySaved = categoryRepository.save(createCategoryToBeSave());
+
+        HttpEntity<Void> authEntity = jwtCreator.createAdminAuthEntity(null);
+
+        persistProducts(categorySaved, 1);
+
+        long singleProductStatements = countListStatements("/products/all?size=50", authEntity, 1);
+
+        persistProducts(categorySaved, 19);
+
+        long manyProductsStatements = countListStatements("/products/all?size=50", authEntity, 20);
+
+        assertThat(manyProductsStatements).isEqualTo(singleProductStatements);
+    }
+
+    @Test
+    @DisplayName("search Runs Same Statements When Page Has Many Products")
+    void search_RunsSameStatements_WhenPageHasManyProducts() {
+        Category categorySaved = categoryRepository.save(createCategoryToBeSave());
+
+        persistProducts(categorySaved, 1);
+
+        long singleProductStatements = countListStatements("/products/search?name=product&size=50", null, 1);
+
+        persistProducts(categorySaved, 19);
+
+        long manyProductsStatements = countListStatements("/products/search?name=product&size=50", null, 20);
+
+        assertThat(manyProductsStatements).isEqualTo(singleProductStatements);
+    }
+
+    @Test
+    @DisplayName("findBySlug Runs Same Statements When Product Has Many Collection Elements")
+    void findBySlug_RunsSameStatements_WhenProductHasManyCollectionElements() {
+        Category categorySaved = categoryRepository.save(createCategoryToBeSave());
+
+        List<Product> products = persistProducts(categorySaved, 2);
+
+        Product productWithManyElements = products.get(1);
+
+        for (int i = 0; i < 5; i++) {
+            Category category = createCategoryToBeSave();
+            category.setSlug("category-" + i);
+
+            productWithManyElements.getCategories().add(categoryRepository.save(category));
+            productWithManyElements.getImages().add("image-" + i);
+            productWithManyElements.getSizes().add("size-" + i);
+            productWithManyElements.getFeatures().add("feature-" + i);
+        }
+
+        productRepository.save(productWithManyElements);
+
+        long fewElementsStatements = countFindBySlugStatements(products.get(0).getSlug());
+
+        long manyElementsStatements = countFindBySlugStatements(productWithManyElements.getSlug());
+
+        assertThat(manyElementsStatements).isEqualTo(fewElementsStatements);
+    }
+
     @Test
     @DisplayName("existsBySlug Returns 404 NotFound When Product Don't Exists")
     void existsBySlug_Returns400NotFound_WhenProductDoNotExists() {
@@ -286,6 +428,37 @@ public class ProductControllerIT {
         assertThat(entity.getBody().getStripePriceId()).isEqualTo(expectedProduct.getStripePriceId());
     }
 
+    @Test
+    @DisplayName("importProducts Persists Products And Reports Each Row When Successful")
+    void importProducts_PersistsProductsAndReportsEachRow_WhenSuccessful() {
+        Category category = categoryRepository.save(createCategoryToBeSave());
+
+        String csv = "slug,name,price,amount,categories,images\n"
+                + "imported-1,Imported 1,10,5," + category.getSlug() + ",first.png;second.png\n"
+                + "imported-2,Imported 2,20,5,unknown-category,\n";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(jwtCreator.createAdminAuthEntity(null).getHeaders());
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        ResponseEntity<String> entity = httpClient.exchange(
+                "/products/import?format=CSV",
+                HttpMethod.POST,
+                new HttpEntity<>(csv, headers),
+                String.class
+        );
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getBody()).isEqualTo("row,slug,status,error\r\n"
+                + "1,imported-1,CREATED,\r\n"
+                + "2,imported-2,FAILED,Category not found with slug: unknown-category\r\n");
+
+        assertThat(productRepository.existsBySlug("imported-1")).isTrue();
+
+        assertThat(productRepository.existsBySlug("imported-2")).isFalse();
+    }
+
     @Test
     @DisplayName("replace Updates Product When Successful")
     void replace_UpdatesProduct_WhenSuccessful() {
@@ -345,6 +518,37 @@ public class ProductControllerIT {
         assertThat(productFound.get().isActive()).isFalse();
     }
 
+    @Test
+    @DisplayName("toggleActive Syncs Stripe Once Through Outbox When Toggled Many Times")
+    @SneakyThrows
+    void toggleActive_SyncsStripeOnceThroughOutbox_WhenToggledManyTimes() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        for (int i = 0; i < 3; i++) {
+            httpClient.exchange(
+                    "/products/{slug}/toggle/active",
+                    HttpMethod.PATCH,
+                    jwtCreator.createAdminAuthEntity(null),
+                    Void.class,
+                    productSaved.getSlug()
+            );
+        }
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.never())
+                .updateProduct(ArgumentMatchers.anyString(), ArgumentMatchers.any(ProductUpdateParams.class));
+
+        assertThat(stripeOutboxEventRepository.countByStatus(EOutboxStatus.PENDING)).isEqualTo(3);
+
+        stripeOutboxDispatcher.dispatch();
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(1))
+                .updateProduct(ArgumentMatchers.eq(STRIPE_PRODUCT_ID), ArgumentMatchers.any(ProductUpdateParams.class));
+
+        assertThat(stripeOutboxEventRepository.count()).isZero();
+    }
+
     @Test
     @DisplayName("applyDiscount Applies Discount To Product When Successful")
     void applyDiscount_AppliesDiscountToProduct_WhenSuccessful() {
@@ -436,6 +640,65 @@ public class ProductControllerIT {
         assertThat(productFound.get().getAmount()).isEqualTo(15);
     }
 
+    @Test
+    @DisplayName("findBySlug Returns 304 NotModified Until Product Changes When ETag Is Sent")
+    void findBySlug_Returns304NotModifiedUntilProductChanges_WhenETagIsSent() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        String eTag = findBySlugWithETag(productSaved.getSlug(), null).getHeaders().getETag();
+
+        ResponseEntity<UserProductResponse> notModifiedEntity = findBySlugWithETag(productSaved.getSlug(), eTag);
+
+        httpClient.exchange(
+                "/products/{slug}/change/amount",
+                HttpMethod.PATCH,
+                jwtCreator.createAdminAuthEntity(new ChangeAmountRequest(15)),
+                Void.class,
+                productSaved.getSlug()
+        );
+
+        ResponseEntity<UserProductResponse> changedEntity = findBySlugWithETag(productSaved.getSlug(), eTag);
+
+        assertThat(eTag).isNotNull();
+
+        assertThat(notModifiedEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        assertThat(notModifiedEntity.getBody()).isNull();
+
+        assertThat(changedEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(changedEntity.getHeaders().getETag()).isNotEqualTo(eTag);
+
+        assertThat(changedEntity.getBody()).isNotNull();
+
+        assertThat(changedEntity.getBody().getAmount()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("findBySlug Returns Changed Amount When Product Was Cached Before Change")
+    @SuppressWarnings("null")
+    void findBySlug_ReturnsChangedAmount_WhenProductWasCachedBeforeChange() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        ResponseEntity<UserProductResponse> cachedEntity = httpClient.getForEntity("/products/{slug}", UserProductResponse.class, productSaved.getSlug());
+
+        assertThat(cachedEntity.getBody().getAmount()).isEqualTo(productSaved.getAmount());
+
+        httpClient.exchange(
+                "/products/{slug}/change/amount",
+                HttpMethod.PATCH,
+                jwtCreator.createAdminAuthEntity(new ChangeAmountRequest(15)),
+                Void.class,
+                productSaved.getSlug()
+        );
+
+        ResponseEntity<UserProductResponse> entity = httpClient.getForEntity("/products/{slug}", UserProductResponse.class, productSaved.getSlug());
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(entity.getBody().getAmount()).isEqualTo(15);
+    }
+
     @Test
     @DisplayName("addCategory Append Category To Product When Successful")
     void addCategory_AppendCategoryToProduct_WhenSuccessful() {
@@ -554,4 +817,79 @@ public class ProductControllerIT {
         assertThat(productFound).isEmpty();
     }
 
+    private List<Product> persistProducts(Category category, int count) {
+        long existing = productRepository.count();
+
+        List<Product> products = new ArrayList<>();
+
+        for (long i = existing; i < existing + count; i++) {
+            Product product = createProductToBeSave();
+            product.setSlug("product-" + i);
+            product.setName("Product " + i);
+            product.setImages(new ArrayList<>(IMAGES));
+            product.setSizes(new ArrayList<>(SIZES));
+            product.setFeatures(new ArrayList<>(FEATURES));
+            product.getCategories().add(category);
+
+            products.add(productRepository.save(product));
+        }
+
+        return products;
+    }
+
+    @SuppressWarnings("null")
+    private long countListStatements(String url, HttpEntity<Void> authEntity, int expectedProducts) {
+        return statementCounter.count(() -> {
+            ResponseEntity<PageableResponse<UserProductResponse>> entity = httpClient.exchange(
+                    url,
+                    HttpMethod.GET,
+                    authEntity,
+                    new ParameterizedTypeReference<>() {
+                    });
+
+            assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            assertThat(entity.getBody().getContent()).hasSize(expectedProducts);
+
+            assertThat(entity.getBody().getContent()).allSatisfy((product) -> {
+                assertThat(product.getCategories()).isNotEmpty();
+
+                assertThat(product.getImages()).isNotEmpty();
+            });
+        });
+    }
+
+    @SuppressWarnings("null")
+    private long countFindBySlugStatements(String slug) {
+        return statementCounter.count(() -> {
+            ResponseEntity<UserProductResponse> entity = httpClient.exchange(
+                    "/products/{slug}",
+                    HttpMethod.GET,
+                    null,
+                    UserProductResponse.class,
+                    slug
+            );
+
+            assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            assertThat(entity.getBody().getFeatures()).isNotEmpty();
+        });
+    }
+
+    private ResponseEntity<UserProductResponse> findBySlugWithETag(String slug, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+
+        return httpClient.exchange(
+                "/products/{slug}",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                UserProductResponse.class,
+                slug
+        );
+    }
+
 }
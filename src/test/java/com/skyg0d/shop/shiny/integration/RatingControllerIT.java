@@ -8,10 +8,12 @@ import com.skyg0d.shop.shiny.model.User;
 import com.skyg0d.shop.shiny.payload.request.CreateRatingRequest;
 import com.skyg0d.shop.shiny.payload.response.RatingResponse;
 import com.skyg0d.shop.shiny.payload.response.RatingStarsAverageResponse;
+import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
 import com.skyg0d.shop.shiny.repository.ProductRepository;
 import com.skyg0d.shop.shiny.repository.RatingRepository;
 import com.skyg0d.shop.shiny.repository.RoleRepository;
 import com.skyg0d.shop.shiny.repository.UserRepository;
+import com.skyg0d.shop.shiny.service.ProductRatingStatsService;
 import com.skyg0d.shop.shiny.util.JWTCreator;
 import com.skyg0d.shop.shiny.util.product.ProductCreator;
 import com.skyg0d.shop.shiny.util.rating.RatingCreator;
@@ -59,6 +61,9 @@ public class RatingControllerIT {
     @Autowired
     ProductRepository productRepository;
 
+    @Autowired
+    ProductRatingStatsService productRatingStatsService;
+
     @Test
     @DisplayName("listAllByUser Returns List Of Ratings Inside Page Object When Successful")
     void listAllByUser_ReturnsListOfRatingsInsidePageObject_WhenSuccessful() {
@@ -160,6 +165,14 @@ public class RatingControllerIT {
         assertThat(entity.getBody().getUser().getEmail()).isEqualTo(jwtCreator.createUser().getEmail());
 
         assertThat(entity.getBody().getProduct().getSlug()).isEqualTo(request.getProductSlug());
+
+        UserProductResponse productFound = httpClient.getForObject("/products/{slug}", UserProductResponse.class, product.getSlug());
+
+        assertThat(productFound.getRating().getCount()).isEqualTo(1);
+
+        assertThat(productFound.getRating().getAverage()).isEqualTo(request.getStars());
+
+        assertThat(productFound.getRating().getHistogram()).containsEntry(request.getStars(), 1L);
     }
 
     @Test
@@ -262,7 +275,11 @@ public class RatingControllerIT {
 
         Rating ratingToSave = RatingCreator.createRating(productSaved, user);
 
-        return ratingRepository.save(ratingToSave);
+        Rating ratingSaved = ratingRepository.save(ratingToSave);
+
+        productRatingStatsService.rebuild();
+
+        return ratingSaved;
     }
 
     private Rating persistRating() {
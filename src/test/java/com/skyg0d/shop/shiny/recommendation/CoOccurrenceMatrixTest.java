@@ -0,0 +1,140 @@
+package com.skyg0d.shop.shiny.recommendation;
+
+import com.skyg0d.shop.shiny.repository.projection.OrderItemProductView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for CoOccurrenceMatrix")
+public class CoOccurrenceMatrixTest {
+
+    CoOccurrenceMatrix matrix;
+
+    Map<String, UUID> products;
+
+    @BeforeEach
+    void setUp() {
+        matrix = new CoOccurrenceMatrix(2);
+
+        products = new LinkedHashMap<>();
+    }
+
+    @Test
+    @DisplayName("record Counts Every Pair In Both Directions When Successful")
+    void record_CountsEveryPairInBothDirections_WhenSuccessful() {
+        record("shirt", "pants", "socks");
+        record("shirt", "pants");
+
+        assertThat(matrix.size()).isEqualTo(3);
+
+        assertThat(matrix.countsOf(products.get("shirt"))).containsOnly(
+                Map.entry(products.get("pants"), 2),
+                Map.entry(products.get("socks"), 1)
+        );
+
+        assertThat(matrix.countsOf(products.get("socks"))).containsOnly(
+                Map.entry(products.get("shirt"), 1),
+                Map.entry(products.get("pants"), 1)
+        );
+    }
+
+    @Test
+    @DisplayName("record Ignores Repeated Products In The Same Order When Successful")
+    void record_IgnoresRepeatedProductsInTheSameOrder_WhenSuccessful() {
+        record("shirt", "shirt", "pants");
+
+        assertThat(matrix.countsOf(products.get("shirt"))).containsOnly(Map.entry(products.get("pants"), 1));
+    }
+
+    @Test
+    @DisplayName("related Returns Top K Products Ordered By Count When Successful")
+    void related_ReturnsTopKProductsOrderedByCount_WhenSuccessful() {
+        record("shirt", "pants", "socks", "hat");
+        record("shirt", "hat");
+        record("shirt", "hat");
+        record("shirt", "socks");
+
+        assertThat(matrix.related("shirt", 10)).containsExactly("hat", "socks");
+
+        assertThat(matrix.related("shirt", 1)).containsExactly("hat");
+
+        assertThat(matrix.related("pants", 10)).containsExactly("shirt", "socks");
+    }
+
+    @Test
+    @DisplayName("related Returns Empty List When Product Was Never Bought With Others")
+    void related_ReturnsEmptyList_WhenProductWasNeverBoughtWithOthers() {
+        record("shirt", "pants");
+
+        assertThat(matrix.related("not-found", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("related Returns Empty List When Limit Is Not Positive")
+    void related_ReturnsEmptyList_WhenLimitIsNotPositive() {
+        record("shirt", "pants");
+
+        assertThat(matrix.related("shirt", 0)).isEmpty();
+
+        assertThat(matrix.related("shirt", -1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("remove Drops Product And Reranks Its Neighbors When Successful")
+    void remove_DropsProductAndReranksItsNeighbors_WhenSuccessful() {
+        record("shirt", "pants", "socks", "hat");
+        record("shirt", "pants");
+        record("shirt", "socks");
+
+        assertThat(matrix.related("shirt", 10)).containsExactly("pants", "socks");
+
+        assertThat(matrix.remove(products.get("pants"))).containsOnly(products.get("shirt"), products.get("socks"), products.get("hat"));
+
+        assertThat(matrix.related("shirt", 10)).containsExactly("socks", "hat");
+
+        assertThat(matrix.related("pants", 10)).isEmpty();
+
+        assertThat(matrix.countsOf(products.get("pants"))).isEmpty();
+
+        assertThat(matrix.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("put Restores Counts From Snapshot When Successful")
+    void put_RestoresCountsFromSnapshot_WhenSuccessful() {
+        UUID shirt = UUID.randomUUID();
+        UUID pants = UUID.randomUUID();
+        UUID socks = UUID.randomUUID();
+
+        matrix.put(shirt, "shirt", pants, "pants", 3);
+        matrix.put(shirt, "shirt", socks, "socks", 5);
+        matrix.put(pants, "pants", shirt, "shirt", 3);
+
+        assertThat(matrix.related("shirt", 10)).containsExactly("socks", "pants");
+
+        assertThat(matrix.related("pants", 10)).containsExactly("shirt");
+
+        assertThat(matrix.countsOf(shirt)).containsOnly(Map.entry(pants, 3), Map.entry(socks, 5));
+    }
+
+    private void record(String... slugs) {
+        UUID orderId = UUID.randomUUID();
+
+        List<OrderItemProductView> items = Arrays
+                .stream(slugs)
+                .map((slug) -> new OrderItemProductView(orderId, products.computeIfAbsent(slug, (ignored) -> UUID.randomUUID()), slug))
+                .collect(Collectors.toList());
+
+        matrix.record(items);
+    }
+
+}
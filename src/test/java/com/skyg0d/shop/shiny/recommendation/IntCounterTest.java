@@ -0,0 +1,78 @@
+package com.skyg0d.shop.shiny.recommendation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for IntCounter")
+public class IntCounterTest {
+
+    @Test
+    @DisplayName("add Returns Accumulated Value When Successful")
+    void add_ReturnsAccumulatedValue_WhenSuccessful() {
+        IntCounter counter = new IntCounter();
+
+        assertThat(counter.add(7, 1)).isEqualTo(1);
+
+        assertThat(counter.add(7, 2)).isEqualTo(3);
+
+        assertThat(counter.get(7)).isEqualTo(3);
+
+        assertThat(counter.get(8)).isZero();
+
+        assertThat(counter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("add Keeps Every Value When Counter Grows")
+    void add_KeepsEveryValue_WhenCounterGrows() {
+        IntCounter counter = new IntCounter();
+
+        for (int key = 0; key < 1000; key++) {
+            counter.add(key, key + 1);
+        }
+
+        assertThat(counter.size()).isEqualTo(1000);
+
+        for (int key = 0; key < 1000; key++) {
+            assertThat(counter.get(key)).isEqualTo(key + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("remove Keeps Remaining Keys Reachable When Successful")
+    void remove_KeepsRemainingKeysReachable_WhenSuccessful() {
+        IntCounter counter = new IntCounter();
+
+        for (int key = 0; key < 200; key++) {
+            counter.put(key, key * 2);
+        }
+
+        for (int key = 0; key < 200; key += 3) {
+            counter.remove(key);
+        }
+
+        Map<Integer, Integer> remaining = new HashMap<>();
+
+        counter.forEach(remaining::put);
+
+        assertThat(counter.size()).isEqualTo(remaining.size());
+
+        for (int key = 0; key < 200; key++) {
+            if (key % 3 == 0) {
+                assertThat(counter.get(key)).isZero();
+
+                assertThat(remaining).doesNotContainKey(key);
+            } else {
+                assertThat(counter.get(key)).isEqualTo(key * 2);
+
+                assertThat(remaining).containsEntry(key, key * 2);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.skyg0d.shop.shiny.recommendation;
+
+import com.skyg0d.shop.shiny.model.ProductCoOccurrence;
+import com.skyg0d.shop.shiny.property.RelatedProductsProps;
+import com.skyg0d.shop.shiny.repository.OrderRepository;
+import com.skyg0d.shop.shiny.repository.ProductCoOccurrenceRepository;
+import com.skyg0d.shop.shiny.repository.projection.OrderItemProductView;
+import com.skyg0d.shop.shiny.repository.projection.ProductCoOccurrenceView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for RelatedProductsIndex")
+public class RelatedProductsIndexTest {
+
+    RelatedProductsIndex relatedProductsIndex;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    ProductCoOccurrenceRepository productCoOccurrenceRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    UUID orderId;
+
+    UUID shirt;
+
+    UUID pants;
+
+    @BeforeEach
+    void setUp() {
+        orderId = UUID.randomUUID();
+        shirt = UUID.randomUUID();
+        pants = UUID.randomUUID();
+
+        relatedProductsIndex = new RelatedProductsIndex(orderRepository, productCoOccurrenceRepository, new RelatedProductsProps(10, Duration.ofHours(1), 500), transactionManager);
+
+        BDDMockito
+                .when(orderRepository.findAllItemProductsByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(
+                        new OrderItemProductView(orderId, shirt, "shirt"),
+                        new OrderItemProductView(orderId, pants, "pants")
+                ));
+    }
+
+    @Test
+    @DisplayName("record Adds Order Products To Index When Successful")
+    void record_AddsOrderProductsToIndex_WhenSuccessful() {
+        relatedProductsIndex.record(orderId);
+
+        assertThat(relatedProductsIndex.findRelatedSlugs("shirt", 10)).containsExactly("pants");
+
+        assertThat(relatedProductsIndex.findRelatedSlugs("pants", 10)).containsExactly("shirt");
+    }
+
+    @Test
+    @DisplayName("record Ignores Order When It Has A Single Product")
+    void record_IgnoresOrder_WhenItHasASingleProduct() {
+        BDDMockito
+                .when(orderRepository.findAllItemProductsByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(new OrderItemProductView(orderId, shirt, "shirt")));
+
+        relatedProductsIndex.record(orderId);
+
+        assertThat(relatedProductsIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("remove Drops Product From Related Lists When Successful")
+    void remove_DropsProductFromRelatedLists_WhenSuccessful() {
+        relatedProductsIndex.record(orderId);
+
+        relatedProductsIndex.remove(pants);
+
+        assertThat(relatedProductsIndex.findRelatedSlugs("shirt", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("rebuild Rewrites Whole Snapshot From Purchased Orders When Successful")
+    @SuppressWarnings("unchecked")
+    void rebuild_RewritesWholeSnapshotFromPurchasedOrders_WhenSuccessful() {
+        BDDMockito
+                .when(orderRepository.findAllIdsByStatusIn(ArgumentMatchers.eq(RelatedProductsIndex.PURCHASED_STATUSES), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(orderId));
+
+        relatedProductsIndex.record(orderId);
+
+        relatedProductsIndex.rebuild();
+
+        ArgumentCaptor<Iterable<ProductCoOccurrence>> rowsCaptor = ArgumentCaptor.forClass(Iterable.class);
+
+        BDDMockito
+                .verify(productCoOccurrenceRepository)
+                .deleteAllInBatch();
+
+        BDDMockito
+                .verify(productCoOccurrenceRepository)
+                .saveAll(rowsCaptor.capture());
+
+        assertThat(rowsCaptor.getValue())
+                .hasSize(2)
+                .allSatisfy((row) -> assertThat(row.getOrderCount()).isEqualTo(1))
+                .extracting(ProductCoOccurrence::getRelatedProductId)
+                .containsExactlyInAnyOrder(shirt, pants);
+    }
+
+    @Test
+    @DisplayName("rebuild Keeps Order Recorded During Rebuild When Rebuild Missed It")
+    void rebuild_KeepsOrderRecordedDuringRebuild_WhenRebuildMissedIt() {
+        BDDMockito
+                .when(orderRepository.findAllIdsByStatusIn(ArgumentMatchers.eq(RelatedProductsIndex.PURCHASED_STATUSES), ArgumentMatchers.any(Pageable.class)))
+                .thenAnswer((invocation) -> {
+                    relatedProductsIndex.record(orderId);
+
+                    return List.of();
+                });
+
+        relatedProductsIndex.rebuild();
+
+        assertThat(relatedProductsIndex.findRelatedSlugs("shirt", 10)).containsExactly("pants");
+    }
+
+    @Test
+    @DisplayName("load Restores Index From Snapshot When Snapshot Exists")
+    void load_RestoresIndexFromSnapshot_WhenSnapshotExists() {
+        BDDMockito
+                .when(productCoOccurrenceRepository.count())
+                .thenReturn(2L);
+
+        BDDMockito
+                .when(productCoOccurrenceRepository.findAllViews())
+                .thenReturn(List.of(
+                        new ProductCoOccurrenceView(shirt, "shirt", pants, "pants", 4),
+                        new ProductCoOccurrenceView(pants, "pants", shirt, "shirt", 4)
+                ));
+
+        relatedProductsIndex.load();
+
+        assertThat(relatedProductsIndex.findRelatedSlugs("shirt", 10)).containsExactly("pants");
+
+        BDDMockito
+                .verify(orderRepository, BDDMockito.never())
+                .findAllIdsByStatusIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("load Rebuilds Index From Purchased Orders When Snapshot Is Empty")
+    void load_RebuildsIndexFromPurchasedOrders_WhenSnapshotIsEmpty() {
+        BDDMockito
+                .when(orderRepository.findAllIdsByStatusIn(ArgumentMatchers.eq(RelatedProductsIndex.PURCHASED_STATUSES), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(orderId));
+
+        relatedProductsIndex.load();
+
+        assertThat(relatedProductsIndex.findRelatedSlugs("pants", 10)).containsExactly("shirt");
+
+        BDDMockito
+                .verify(productCoOccurrenceRepository)
+                .saveAll(ArgumentMatchers.anyIterable());
+    }
+
+}
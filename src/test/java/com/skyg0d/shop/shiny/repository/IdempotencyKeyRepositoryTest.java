@@ -0,0 +1,132 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.EIdempotencyStatus;
+import com.skyg0d.shop.shiny.model.IdempotencyKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@DataJpaTest
+@DisplayName("Tests for IdempotencyKeyRepository")
+public class IdempotencyKeyRepositoryTest {
+
+    @Autowired
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Test
+    @DisplayName("findByIdempotencyKeyAndScope Returns Key When Successful")
+    void findByIdempotencyKeyAndScope_ReturnsKey_WhenSuccessful() {
+        IdempotencyKey keySaved = idempotencyKeyRepository.save(createIdempotencyKey("test-scope", Duration.ofHours(1)));
+
+        Optional<IdempotencyKey> keyFound = idempotencyKeyRepository.findByIdempotencyKeyAndScope("test-key", "test-scope");
+
+        assertThat(keyFound).isPresent();
+
+        assertThat(keyFound.get().getId()).isEqualTo(keySaved.getId());
+    }
+
+    @Test
+    @DisplayName("saveAndFlush Throws DataIntegrityViolationException When Key Already Exists In Scope")
+    void saveAndFlush_ThrowsDataIntegrityViolationException_WhenKeyAlreadyExistsInScope() {
+        idempotencyKeyRepository.saveAndFlush(createIdempotencyKey("test-scope", Duration.ofHours(1)));
+
+        assertThatExceptionOfType(DataIntegrityViolationException.class)
+                .isThrownBy(() -> idempotencyKeyRepository.saveAndFlush(createIdempotencyKey("test-scope", Duration.ofHours(1))));
+    }
+
+    @Test
+    @DisplayName("deleteAllExpired Removes Only Expired Keys When Successful")
+    void deleteAllExpired_RemovesOnlyExpiredKeys_WhenSuccessful() {
+        idempotencyKeyRepository.save(createIdempotencyKey("expired-scope", Duration.ofHours(-1)));
+        idempotencyKeyRepository.save(createIdempotencyKey("test-scope", Duration.ofHours(1)));
+
+        int deleted = idempotencyKeyRepository.deleteAllExpired(Instant.now());
+
+        assertThat(deleted).isEqualTo(1);
+
+        assertThat(idempotencyKeyRepository.findByIdempotencyKeyAndScope("test-key", "test-scope")).isPresent();
+    }
+
+    @Test
+    @DisplayName("takeOverStale Claims Key Only Once When Owner Lease Ran Out")
+    void takeOverStale_ClaimsKeyOnlyOnce_WhenOwnerLeaseRanOut() {
+        IdempotencyKey keyToBeSaved = createIdempotencyKey("test-scope", Duration.ofHours(1));
+        keyToBeSaved.setClaimedUntil(Instant.now().minus(Duration.ofMinutes(1)));
+
+        idempotencyKeyRepository.save(keyToBeSaved);
+
+        Instant now = Instant.now();
+        Instant claimedUntil = now.plus(Duration.ofMinutes(2));
+
+        int taken = idempotencyKeyRepository.takeOverStale("test-key", "test-scope", "test-hash", EIdempotencyStatus.IN_PROGRESS, now, "retry", claimedUntil, now.plus(Duration.ofHours(1)));
+
+        int takenAgain = idempotencyKeyRepository.takeOverStale("test-key", "test-scope", "test-hash", EIdempotencyStatus.IN_PROGRESS, now, "retry", claimedUntil, now.plus(Duration.ofHours(1)));
+
+        assertThat(taken).isEqualTo(1);
+
+        assertThat(takenAgain).isZero();
+    }
+
+    @Test
+    @DisplayName("takeOverStale Does Not Claim Key When Owner Lease Is Alive")
+    void takeOverStale_DoesNotClaimKey_WhenOwnerLeaseIsAlive() {
+        IdempotencyKey keyToBeSaved = createIdempotencyKey("test-scope", Duration.ofHours(1));
+        keyToBeSaved.setClaimedUntil(Instant.now().plus(Duration.ofMinutes(1)));
+
+        idempotencyKeyRepository.save(keyToBeSaved);
+
+        Instant now = Instant.now();
+
+        int taken = idempotencyKeyRepository.takeOverStale("test-key", "test-scope", "test-hash", EIdempotencyStatus.IN_PROGRESS, now, "retry", now.plus(Duration.ofMinutes(2)), now.plus(Duration.ofHours(1)));
+
+        assertThat(taken).isZero();
+    }
+
+    @Test
+    @DisplayName("complete Stores Response Only When Attempt Still Holds Key")
+    void complete_StoresResponseOnlyWhenAttemptStillHoldsKey() {
+        IdempotencyKey keySaved = idempotencyKeyRepository.save(createIdempotencyKey("test-scope", Duration.ofHours(1)));
+
+        int completedByStaleAttempt = idempotencyKeyRepository.complete(keySaved.getId(), "stale-attempt", EIdempotencyStatus.COMPLETED, "\"stale\"");
+
+        int completed = idempotencyKeyRepository.complete(keySaved.getId(), "attempt", EIdempotencyStatus.COMPLETED, "\"response\"");
+
+        assertThat(completedByStaleAttempt).isZero();
+
+        assertThat(completed).isEqualTo(1);
+
+        assertThat(idempotencyKeyRepository.findByIdempotencyKeyAndScope("test-key", "test-scope"))
+                .hasValueSatisfying((key) -> assertThat(key.getResponse()).isEqualTo("\"response\""));
+    }
+
+    @Test
+    @DisplayName("release Keeps Key When Another Attempt Took It Over")
+    void release_KeepsKey_WhenAnotherAttemptTookItOver() {
+        IdempotencyKey keySaved = idempotencyKeyRepository.save(createIdempotencyKey("test-scope", Duration.ofHours(1)));
+
+        assertThat(idempotencyKeyRepository.release(keySaved.getId(), "stale-attempt")).isZero();
+
+        assertThat(idempotencyKeyRepository.release(keySaved.getId(), "attempt")).isEqualTo(1);
+    }
+
+    private IdempotencyKey createIdempotencyKey(String scope, Duration ttl) {
+        return IdempotencyKey
+                .builder()
+                .idempotencyKey("test-key")
+                .scope(scope)
+                .requestHash("test-hash")
+                .claimedBy("attempt")
+                .expiresAt(Instant.now().plus(ttl))
+                .build();
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrder;
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrderDailyStats;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Tests for OrderDailyStatsRepository")
+public class OrderDailyStatsRepositoryTest {
+
+    @Autowired
+    OrderDailyStatsRepository orderDailyStatsRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Test
+    @DisplayName("increment Adds Values To Row Of Day And Status When Successful")
+    void increment_AddsValuesToRowOfDayAndStatus_WhenSuccessful() {
+        OrderDailyStats statsSaved = orderDailyStatsRepository.saveAndFlush(createOrderDailyStats());
+
+        int updated = orderDailyStatsRepository.increment(statsSaved.getDay(), statsSaved.getStatus(), 2, new BigDecimal(30), 5);
+        int missing = orderDailyStatsRepository.increment(statsSaved.getDay(), EOrderStatus.PAID, 1, BigDecimal.ONE, 1);
+
+        OrderDailyStats statsFound = orderDailyStatsRepository.findById(statsSaved.getId()).orElseThrow();
+
+        assertThat(updated).isEqualTo(1);
+
+        assertThat(missing).isZero();
+
+        assertThat(statsFound.getOrderCount()).isEqualTo(3);
+
+        assertThat(statsFound.getRevenue()).isEqualByComparingTo(new BigDecimal(40));
+
+        assertThat(statsFound.getUnits()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("findAllByDayBetweenOrderByDayAscStatusAsc Returns Only Days Inside Range When Successful")
+    void findAllByDayBetweenOrderByDayAscStatusAsc_ReturnsOnlyDaysInsideRange_WhenSuccessful() {
+        OrderDailyStats statsSaved = orderDailyStatsRepository.saveAndFlush(createOrderDailyStats());
+
+        OrderDailyStats oldStats = createOrderDailyStats();
+        oldStats.setDay(statsSaved.getDay().minusYears(2));
+
+        orderDailyStatsRepository.saveAndFlush(oldStats);
+
+        List<OrderDailyStats> statsFound = orderDailyStatsRepository.findAllByDayBetweenOrderByDayAscStatusAsc(statsSaved.getDay().minusYears(1), statsSaved.getDay());
+
+        assertThat(statsFound).hasSize(1);
+
+        assertThat(statsFound.get(0).getId()).isEqualTo(statsSaved.getId());
+    }
+
+    @Test
+    @DisplayName("sumOrdersByStatusBetween And sumUnitsByStatusBetween Aggregate Orders Of Day When Successful")
+    void sumOrdersByStatusBetween_AndSumUnitsByStatusBetween_AggregateOrdersOfDay_WhenSuccessful() {
+        Order orderSaved = persistOrder();
+
+        LocalDate day = orderSaved.getCreatedAt().toLocalDate();
+
+        List<Object[]> orders = orderDailyStatsRepository.sumOrdersByStatusBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        List<Object[]> units = orderDailyStatsRepository.sumUnitsByStatusBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        assertThat(orders).hasSize(1);
+
+        assertThat(orders.get(0)[0]).isEqualTo(orderSaved.getStatus());
+
+        assertThat(((Number) orders.get(0)[1]).longValue()).isEqualTo(1);
+
+        assertThat((BigDecimal) orders.get(0)[2]).isEqualByComparingTo(orderSaved.getPrice());
+
+        assertThat(units).hasSize(1);
+
+        assertThat(((Number) units.get(0)[1]).longValue()).isEqualTo(orderSaved.getItems().get(0).getAmount());
+
+        assertThat(orderDailyStatsRepository.findAllOrderDays()).hasSize(1);
+
+        assertThat(orderDailyStatsRepository.sumOrdersByStatusBetween(day.plusDays(1).atStartOfDay(), day.plusDays(2).atStartOfDay())).isEmpty();
+    }
+
+    private Order persistOrder() {
+        Order orderToBeSave = createOrder();
+
+        Product productToBeSave = orderToBeSave.getItems().get(0).getProduct();
+
+        List<Category> categoriesSaved = categoryRepository.saveAllAndFlush(productToBeSave.getCategories());
+
+        productToBeSave.setCategories(new HashSet<>(categoriesSaved));
+
+        orderToBeSave.getItems().get(0).setProduct(productRepository.save(productToBeSave));
+
+        User userToBeSave = orderToBeSave.getUser();
+
+        List<Role> rolesSaved = roleRepository.saveAllAndFlush(userToBeSave.getRoles());
+
+        userToBeSave.setRoles(new HashSet<>(rolesSaved));
+
+        orderToBeSave.setUser(userRepository.save(userToBeSave));
+
+        return orderRepository.saveAndFlush(orderToBeSave);
+    }
+
+}
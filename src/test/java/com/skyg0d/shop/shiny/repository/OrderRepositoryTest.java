@@ -1,6 +1,7 @@
 package com.skyg0d.shop.shiny.repository;
 
 import com.skyg0d.shop.shiny.model.*;
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 
@@ -49,10 +51,48 @@ public class OrderRepositoryTest {
         assertThat(ordersPage.getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
     }
 
+    @Test
+    @DisplayName("save Persists One Item Per Product When Order Has Many Units")
+    void save_PersistsOneItemPerProduct_WhenOrderHasManyUnits() {
+        Order orderSaved = persistOrder(500);
+
+        Order orderFound = orderRepository.findById(orderSaved.getId()).orElseThrow();
+
+        assertThat(orderFound.getItems()).hasSize(1);
+
+        assertThat(orderFound.getItems().get(0).getAmount()).isEqualTo(500);
+
+        assertThat(orderFound.getItems().get(0).getPrice()).isEqualByComparingTo(orderSaved.getItems().get(0).getPrice());
+    }
+
+    @Test
+    @DisplayName("findAllStatusesByStatusAndCreatedAtBefore Returns Orders Created Before Date When Successful")
+    void findAllStatusesByStatusAndCreatedAtBefore_ReturnsOrdersCreatedBeforeDate_WhenSuccessful() {
+        Order expectedOrder = persistOrder(2);
+
+        List<OrderStatusView> ordersFound = orderRepository.findAllStatusesByStatusAndCreatedAtBefore(EOrderStatus.WAITING, LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10));
+
+        assertThat(ordersFound).hasSize(1);
+
+        assertThat(ordersFound.get(0).getId()).isEqualTo(expectedOrder.getId());
+
+        assertThat(ordersFound.get(0).getUnits()).isEqualTo(2);
+
+        assertThat(ordersFound.get(0).getPaymentId()).isEqualTo(expectedOrder.getPaymentLink().getPaymentId());
+
+        assertThat(orderRepository.findAllStatusesByStatusAndCreatedAtBefore(EOrderStatus.WAITING, LocalDateTime.now().minusDays(1), PageRequest.of(0, 10))).isEmpty();
+
+        assertThat(orderRepository.findAllStatusesByStatusAndCreatedAtBefore(EOrderStatus.PAID, LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10))).isEmpty();
+    }
+
     private Order persistOrder() {
+        return persistOrder(1);
+    }
+
+    private Order persistOrder(long amount) {
         Order orderToBeSave = createOrder();
 
-        Product productToBeSave = orderToBeSave.getProducts().get(0);
+        Product productToBeSave = orderToBeSave.getItems().get(0).getProduct();
 
         List<Category> categoriesSaved = categoryRepository.saveAllAndFlush(productToBeSave.getCategories());
 
@@ -60,7 +100,9 @@ public class OrderRepositoryTest {
 
         Product productSaved = productRepository.save(productToBeSave);
 
-        orderToBeSave.setProducts(List.of(productSaved));
+        orderToBeSave.getItems().get(0).setAmount(amount);
+
+        orderToBeSave.getItems().get(0).setProduct(productSaved);
 
         User userToBeSave = orderToBeSave.getUser();
 
@@ -0,0 +1,111 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
+import com.skyg0d.shop.shiny.repository.specification.OrderSummarySpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.NAME;
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.createProductToBeSave;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Benchmark for order search by product name")
+public class OrderSearchBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSearchBenchmark.class);
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 1_000_000);
+    private static final int PRODUCTS_PER_ORDER = 3;
+    private static final int RUNS = 5;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCTS_PER_ORDER; i++) {
+            Product productToBeSave = createProductToBeSave();
+            productToBeSave.setSlug(productToBeSave.getSlug() + "-" + i);
+
+            productRepository.saveAndFlush(productToBeSave);
+        }
+
+        jdbcTemplate.update("INSERT INTO orders (id, created_at, updated_at, price, status) " +
+                "SELECT CAST(RANDOM_UUID() AS VARCHAR(255)), DATEADD('SECOND', -X, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, 10, 'WAITING' FROM SYSTEM_RANGE(1, ?)", ORDERS);
+
+        jdbcTemplate.update("INSERT INTO order_items (id, created_at, updated_at, order_id, product_id, amount, price, discount) " +
+                "SELECT CAST(RANDOM_UUID() AS VARCHAR(255)), o.created_at, o.updated_at, o.id, p.id, 1, 10, 0 FROM orders o CROSS JOIN products p");
+
+        jdbcTemplate.update("INSERT INTO order_summaries (id, created_at, updated_at, order_id, order_created_at, price, status) " +
+                "SELECT CAST(RANDOM_UUID() AS VARCHAR(255)), o.created_at, o.updated_at, o.id, o.created_at, o.price, o.status FROM orders o");
+    }
+
+    @Test
+    @DisplayName("search Pages Distinct Orders With Exists And Reports Timings Against Joins When Many Items Match")
+    void search_PagesDistinctOrdersWithExistsAndReportsTimingsAgainstJoins_WhenManyItemsMatch() {
+        Specification<Order> joinSpecification = (root, query, builder) -> (
+                builder.like(builder.lower(root.join("items").join("product").get("name")), "%" + NAME.toLowerCase() + "%")
+        );
+
+        Specification<OrderSummary> existsSpecification = OrderSummarySpecification.getSpecification(OrderParameterSearch
+                .builder()
+                .productName(NAME)
+                .build());
+
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        Page<Order> joinPage = orderRepository.findAll(joinSpecification, pageable);
+        Page<OrderSummary> existsPage = orderSummaryRepository.findAll(existsSpecification, pageable);
+
+        assertThat(joinPage.getTotalElements()).isEqualTo((long) ORDERS * PRODUCTS_PER_ORDER);
+
+        assertThat(existsPage.getTotalElements()).isEqualTo(ORDERS);
+
+        long joinNanos = median(() -> orderRepository.findAll(joinSpecification, pageable));
+        long existsNanos = median(() -> orderSummaryRepository.findAll(existsSpecification, pageable));
+
+        log.info("order search over {} orders: join {} ms, exists {} ms", ORDERS, joinNanos / 1_000_000, existsNanos / 1_000_000);
+    }
+
+    private long median(Supplier<Page<?>> search) {
+        long[] nanos = new long[RUNS];
+
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+
+            search.get();
+
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+
+        return nanos[RUNS / 2];
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.mapper.OrderMapper;
+import com.skyg0d.shop.shiny.model.*;
+import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
+import com.skyg0d.shop.shiny.repository.specification.OrderSummarySpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrder;
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrderItem;
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.createProductToBeSave;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Tests for OrderSummaryRepository")
+public class OrderSummaryRepositoryTest {
+
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Test
+    @DisplayName("findByOrderId Returns Summary With Lines When Successful")
+    void findByOrderId_ReturnsSummaryWithLines_WhenSuccessful() {
+        OrderSummary summarySaved = persistSummary();
+
+        Optional<OrderSummary> summaryFound = orderSummaryRepository.findByOrderId(summarySaved.getOrderId());
+
+        assertThat(summaryFound).isPresent();
+
+        assertThat(summaryFound.get().getLines()).hasSize(1);
+
+        assertThat(summaryFound.get().getLines().get(0).getSlug()).isEqualTo(summarySaved.getLines().get(0).getSlug());
+    }
+
+    @Test
+    @DisplayName("findAllByUserEmail Returns List Of Summaries Inside Page Object When Successful")
+    void findAllByUserEmail_ReturnsListOfSummariesInsidePageObject_WhenSuccessful() {
+        OrderSummary summarySaved = persistSummary();
+
+        Page<OrderSummary> summariesPage = orderSummaryRepository.findAllByUserEmail(PageRequest.of(0, 1), summarySaved.getUserEmail());
+
+        assertThat(summariesPage.getContent()).hasSize(1);
+
+        assertThat(summariesPage.getContent().get(0).getOrderId()).isEqualTo(summarySaved.getOrderId());
+    }
+
+    @Test
+    @DisplayName("updateUserByUserEmail Updates User Columns Of Summaries When Successful")
+    void updateUserByUserEmail_UpdatesUserColumnsOfSummaries_WhenSuccessful() {
+        OrderSummary summarySaved = persistSummary();
+
+        int updated = orderSummaryRepository.updateUserByUserEmail(summarySaved.getUserEmail(), "new-username", "New Full Name", LocalDateTime.now());
+
+        assertThat(updated).isEqualTo(1);
+
+        OrderSummary summaryFound = orderSummaryRepository.findByOrderId(summarySaved.getOrderId()).orElseThrow();
+
+        assertThat(summaryFound.getUserUsername()).isEqualTo("new-username");
+
+        assertThat(summaryFound.getUserFullName()).isEqualTo("New Full Name");
+    }
+
+    @Test
+    @DisplayName("findAll Returns Summaries Matching Product Name When Searching")
+    void findAll_ReturnsSummariesMatchingProductName_WhenSearching() {
+        OrderSummary summarySaved = persistSummary();
+
+        OrderParameterSearch matching = OrderParameterSearch
+                .builder()
+                .productName(summarySaved.getLines().get(0).getName())
+                .status(EOrderStatus.WAITING.name())
+                .build();
+
+        OrderParameterSearch notMatching = OrderParameterSearch
+                .builder()
+                .productName("not-a-product")
+                .build();
+
+        Page<OrderSummary> matchingPage = orderSummaryRepository.findAll(OrderSummarySpecification.getSpecification(matching), PageRequest.of(0, 1));
+        Page<OrderSummary> notMatchingPage = orderSummaryRepository.findAll(OrderSummarySpecification.getSpecification(notMatching), PageRequest.of(0, 1));
+
+        assertThat(matchingPage.getContent()).hasSize(1);
+
+        assertThat(notMatchingPage.getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findAll Counts Order Once When Many Of Its Items Match Product Name")
+    void findAll_CountsOrderOnce_WhenManyOfItsItemsMatchProductName() {
+        OrderSummary summarySaved = persistSummary(3);
+
+        OrderParameterSearch search = OrderParameterSearch
+                .builder()
+                .productName(summarySaved.getLines().get(0).getName())
+                .build();
+
+        Page<OrderSummary> summariesPage = orderSummaryRepository.findAll(OrderSummarySpecification.getSpecification(search), PageRequest.of(0, 10));
+
+        assertThat(summariesPage.getTotalElements()).isEqualTo(1);
+
+        assertThat(summariesPage.getContent()).hasSize(1);
+
+        assertThat(summariesPage.getContent().get(0).getLines()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("findAll Returns Summaries Created During Last Day When Searching By Creation Date")
+    void findAll_ReturnsSummariesCreatedDuringLastDay_WhenSearchingByCreationDate() {
+        persistSummary();
+
+        OrderParameterSearch untilToday = OrderParameterSearch
+                .builder()
+                .createdInDateOrAfter(LocalDate.now().toString())
+                .createdInDateOrBefore(LocalDate.now().toString())
+                .build();
+
+        OrderParameterSearch untilYesterday = OrderParameterSearch
+                .builder()
+                .createdInDateOrBefore(LocalDate.now().minusDays(1).toString())
+                .build();
+
+        assertThat(orderSummaryRepository.count(OrderSummarySpecification.getSpecification(untilToday))).isEqualTo(1);
+
+        assertThat(orderSummaryRepository.count(OrderSummarySpecification.getSpecification(untilYesterday))).isZero();
+    }
+
+    @Test
+    @DisplayName("streamAll Streams Summaries Matching Specification When Successful")
+    void streamAll_StreamsSummariesMatchingSpecification_WhenSuccessful() {
+        OrderSummary summarySaved = persistSummary();
+
+        OrderParameterSearch matching = OrderParameterSearch
+                .builder()
+                .userEmail(summarySaved.getUserEmail())
+                .build();
+
+        OrderParameterSearch notMatching = OrderParameterSearch
+                .builder()
+                .userEmail("not-an-email")
+                .build();
+
+        try (Stream<OrderSummary> matchingStream = orderSummaryRepository.streamAll(OrderSummarySpecification.getSpecification(matching), 10);
+             Stream<OrderSummary> notMatchingStream = orderSummaryRepository.streamAll(OrderSummarySpecification.getSpecification(notMatching), 10)) {
+            List<OrderSummary> summariesFound = matchingStream.collect(Collectors.toList());
+
+            assertThat(summariesFound).hasSize(1);
+
+            assertThat(summariesFound.get(0).getOrderId()).isEqualTo(summarySaved.getOrderId());
+
+            assertThat(summariesFound.get(0).getLines()).hasSize(1);
+
+            assertThat(notMatchingStream).isEmpty();
+        }
+    }
+
+    private OrderSummary persistSummary() {
+        return persistSummary(1);
+    }
+
+    private OrderSummary persistSummary(int productsSize) {
+        Order orderToBeSave = createOrder();
+
+        Product productToBeSave = orderToBeSave.getItems().get(0).getProduct();
+
+        List<Category> categoriesSaved = categoryRepository.saveAllAndFlush(productToBeSave.getCategories());
+
+        productToBeSave.setCategories(new HashSet<>(categoriesSaved));
+
+        orderToBeSave.getItems().get(0).setProduct(productRepository.save(productToBeSave));
+
+        for (int i = 1; i < productsSize; i++) {
+            Product sameNameProduct = createProductToBeSave();
+            sameNameProduct.setSlug(sameNameProduct.getSlug() + "-" + i);
+
+            orderToBeSave.getItems().add(createOrderItem(orderToBeSave, productRepository.save(sameNameProduct), 1));
+        }
+
+        User userToBeSave = orderToBeSave.getUser();
+
+        List<Role> rolesSaved = roleRepository.saveAllAndFlush(userToBeSave.getRoles());
+
+        userToBeSave.setRoles(new HashSet<>(rolesSaved));
+
+        orderToBeSave.setUser(userRepository.save(userToBeSave));
+
+        Order orderSaved = orderRepository.saveAndFlush(orderToBeSave);
+
+        OrderSummary summary = new OrderSummary();
+
+        OrderMapper.INSTANCE.updateOrderSummary(orderSaved, summary);
+
+        return orderSummaryRepository.saveAndFlush(summary);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.ProductCoOccurrence;
+import com.skyg0d.shop.shiny.repository.projection.ProductCoOccurrenceView;
+import com.skyg0d.shop.shiny.util.product.ProductCreator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Tests for ProductCoOccurrenceRepository")
+public class ProductCoOccurrenceRepositoryTest {
+
+    @Autowired
+    ProductCoOccurrenceRepository productCoOccurrenceRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Test
+    @DisplayName("findAllViews Returns Rows With Product Slugs When Successful")
+    void findAllViews_ReturnsRowsWithProductSlugs_WhenSuccessful() {
+        Product shirt = productRepository.save(ProductCreator.createProduct());
+
+        Product pants = ProductCreator.createProduct();
+        pants.setSlug("pants");
+
+        pants = productRepository.save(pants);
+
+        productCoOccurrenceRepository.save(createCoOccurrence(shirt.getId(), pants.getId()));
+
+        List<ProductCoOccurrenceView> views = productCoOccurrenceRepository.findAllViews();
+
+        assertThat(views)
+                .singleElement()
+                .satisfies((view) -> {
+                    assertThat(view.getProductSlug()).isEqualTo(shirt.getSlug());
+
+                    assertThat(view.getRelatedProductSlug()).isEqualTo("pants");
+
+                    assertThat(view.getOrderCount()).isEqualTo(3);
+                });
+    }
+
+    @Test
+    @DisplayName("findAllViews Skips Rows When Product Was Deleted")
+    void findAllViews_SkipsRows_WhenProductWasDeleted() {
+        Product shirt = productRepository.save(ProductCreator.createProduct());
+
+        productCoOccurrenceRepository.save(createCoOccurrence(shirt.getId(), UUID.randomUUID()));
+
+        assertThat(productCoOccurrenceRepository.findAllViews()).isEmpty();
+    }
+
+    private ProductCoOccurrence createCoOccurrence(UUID productId, UUID relatedProductId) {
+        return ProductCoOccurrence
+                .builder()
+                .productId(productId)
+                .relatedProductId(relatedProductId)
+                .orderCount(3)
+                .build();
+    }
+
+}
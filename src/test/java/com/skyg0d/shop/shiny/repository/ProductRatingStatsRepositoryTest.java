@@ -0,0 +1,110 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.ProductRatingStats;
+import com.skyg0d.shop.shiny.model.Rating;
+import com.skyg0d.shop.shiny.model.User;
+import com.skyg0d.shop.shiny.repository.projection.ProductRatingStatsView;
+import com.skyg0d.shop.shiny.util.product.ProductCreator;
+import com.skyg0d.shop.shiny.util.rating.RatingCreator;
+import com.skyg0d.shop.shiny.util.user.UserCreator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Tests for ProductRatingStatsRepository")
+public class ProductRatingStatsRepositoryTest {
+
+    @Autowired
+    ProductRatingStatsRepository productRatingStatsRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    RatingRepository ratingRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("increment Adds Deltas To Existing Row When Successful")
+    void increment_AddsDeltasToExistingRow_WhenSuccessful() {
+        Product product = productRepository.save(ProductCreator.createProduct());
+
+        productRatingStatsRepository.save(ProductRatingStats.builder().product(product).build());
+
+        productRatingStatsRepository.increment(product.getId(), 1, 5, 0, 0, 0, 0, 1);
+        productRatingStatsRepository.increment(product.getId(), 1, 2, 0, 1, 0, 0, 0);
+
+        entityManager.clear();
+
+        Optional<ProductRatingStatsView> view = productRatingStatsRepository.findViewByProductSlug(product.getSlug());
+
+        assertThat(view).isPresent();
+
+        assertThat(view.get().getRatingCount()).isEqualTo(2);
+
+        assertThat(view.get().getStarsSum()).isEqualTo(7);
+
+        assertThat(view.get().getTwoStars()).isEqualTo(1);
+
+        assertThat(view.get().getFiveStars()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findViewByProductSlug Returns Empty Counters When Product Has No Stats Row")
+    void findViewByProductSlug_ReturnsEmptyCounters_WhenProductHasNoStatsRow() {
+        Product product = productRepository.save(ProductCreator.createProduct());
+
+        Optional<ProductRatingStatsView> view = productRatingStatsRepository.findViewByProductSlug(product.getSlug());
+
+        assertThat(view).isPresent();
+
+        assertThat(view.get().getProductId()).isEqualTo(product.getId());
+
+        assertThat(view.get().getRatingCount()).isNull();
+    }
+
+    @Test
+    @DisplayName("findViewByProductSlug Returns Empty Optional When Product Not Found")
+    void findViewByProductSlug_ReturnsEmptyOptional_WhenProductNotFound() {
+        assertThat(productRatingStatsRepository.findViewByProductSlug("not-found")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("countRatingsByProductAndStars Returns Counts Grouped By Product And Stars When Successful")
+    void countRatingsByProductAndStars_ReturnsCountsGroupedByProductAndStars_WhenSuccessful() {
+        User user = UserCreator.createUser();
+        user.setRoles(new HashSet<>());
+
+        Product product = productRepository.save(ProductCreator.createProduct());
+
+        Rating rating = ratingRepository.save(RatingCreator.createRatingToBeSave(product, userRepository.save(user)));
+
+        List<Object[]> rows = productRatingStatsRepository.countRatingsByProductAndStars();
+
+        assertThat(rows)
+                .singleElement()
+                .satisfies((row) -> {
+                    assertThat(row[0]).isEqualTo(product.getId());
+
+                    assertThat(((Number) row[1]).intValue()).isEqualTo(rating.getStars());
+
+                    assertThat(((Number) row[2]).longValue()).isEqualTo(1);
+                });
+    }
+
+}
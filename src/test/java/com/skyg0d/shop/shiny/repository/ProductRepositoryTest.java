@@ -1,6 +1,10 @@
 package com.skyg0d.shop.shiny.repository;
 
 import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.repository.projection.EntityVersionView;
+import com.skyg0d.shop.shiny.repository.projection.ProductElementView;
+import com.skyg0d.shop.shiny.repository.projection.ProductView;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,11 +12,18 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.AMOUNT;
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.IMAGES;
 import static com.skyg0d.shop.shiny.util.product.ProductCreator.SLUG;
 import static com.skyg0d.shop.shiny.util.product.ProductCreator.createProductToBeSave;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 @DisplayName("Tests for ProductRepository")
@@ -22,19 +33,78 @@ public class ProductRepositoryTest {
     ProductRepository productRepository;
 
     @Test
-    @DisplayName("findAllByActiveTrue Returns List Of Products Inside Page Object When Successful")
-    void findAllByActiveTrue_ReturnsListOfProductsInsidePageObject_WhenSuccessful() {
+    @DisplayName("findAllActiveViews Returns Active Product Views Inside Page Object When Successful")
+    void findAllActiveViews_ReturnsActiveProductViewsInsidePageObject_WhenSuccessful() {
         productRepository.save(createProductToBeSave());
 
-        Page<Product> productsPage = productRepository.findAllByActiveTrue(PageRequest.of(0, 1));
+        Product inactiveProduct = createProductToBeSave();
+        inactiveProduct.setSlug("inactive-product");
+        inactiveProduct.setActive(false);
 
-        assertThat(productsPage).isNotEmpty();
+        productRepository.save(inactiveProduct);
 
-        assertThat(productsPage.getContent()).isNotEmpty();
+        Page<ProductView> productsPage = productRepository.findAllActiveViews(PageRequest.of(0, 10));
+
+        assertThat(productsPage.getTotalElements()).isEqualTo(1);
 
         assertThat(productsPage.getContent().get(0)).isNotNull();
 
         assertThat(productsPage.getContent().get(0).getSlug()).isEqualTo(SLUG);
+
+        assertThat(productsPage.getContent().get(0).getAmount()).isEqualTo(AMOUNT);
+    }
+
+    @Test
+    @DisplayName("findViewBySlug Returns Product View When Successful")
+    void findViewBySlug_ReturnsProductView_WhenSuccessful() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        Optional<ProductView> viewFound = productRepository.findViewBySlug(SLUG);
+
+        assertThat(viewFound).isNotEmpty();
+
+        assertThat(viewFound.get().getId()).isEqualTo(productSaved.getId());
+    }
+
+    @Test
+    @DisplayName("save Persists Effective Price With Discount Applied When Discount Changes")
+    void save_PersistsEffectivePriceWithDiscountApplied_WhenDiscountChanges() {
+        Product productToSave = createProductToBeSave();
+        productToSave.setPrice(new BigDecimal("19.90"));
+
+        Product productSaved = productRepository.saveAndFlush(productToSave);
+
+        assertThat(productSaved.getEffectivePrice()).isEqualByComparingTo("19.90");
+
+        productSaved.setDiscount(15);
+
+        productRepository.saveAndFlush(productSaved);
+
+        assertThat(productRepository.findViewBySlug(SLUG))
+                .get()
+                .extracting(ProductView::getEffectivePrice)
+                .satisfies((effectivePrice) -> assertThat(effectivePrice).isEqualByComparingTo("16.92"));
+    }
+
+    @Test
+    @DisplayName("findAllImageViewsByIdIn Returns Images Keyed By Product When Successful")
+    void findAllImageViewsByIdIn_ReturnsImagesKeyedByProduct_WhenSuccessful() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        Product otherProduct = createProductToBeSave();
+        otherProduct.setSlug("other-product");
+        otherProduct.setImages(List.of("other-image"));
+
+        Product otherProductSaved = productRepository.save(otherProduct);
+
+        List<ProductElementView> images = productRepository.findAllImageViewsByIdIn(List.of(productSaved.getId(), otherProductSaved.getId()));
+
+        assertThat(images)
+                .extracting(ProductElementView::getProductId, ProductElementView::getValue)
+                .containsExactlyInAnyOrder(
+                        tuple(productSaved.getId(), IMAGES.get(0)),
+                        tuple(otherProductSaved.getId(), "other-image")
+                );
     }
 
     @Test
@@ -69,4 +139,79 @@ public class ProductRepositoryTest {
         assertThat(categoryExists).isFalse();
     }
 
+    @Test
+    @DisplayName("findAllBySlugIn Returns Products With Categories When Successful")
+    void findAllBySlugIn_ReturnsProductsWithCategories_WhenSuccessful() {
+        productRepository.save(createProductToBeSave());
+
+        List<Product> productsFound = productRepository.findAllBySlugIn(Set.of(SLUG, "other-slug"));
+
+        assertThat(productsFound).hasSize(1);
+
+        assertThat(productsFound.get(0).getSlug()).isEqualTo(SLUG);
+
+        assertThat(Hibernate.isInitialized(productsFound.get(0).getCategories())).isTrue();
+    }
+
+    @Test
+    @DisplayName("findVersion Changes When Stock Changes")
+    void findVersion_Changes_WhenStockChanges() {
+        Product productSaved = productRepository.saveAndFlush(createProductToBeSave());
+
+        EntityVersionView version = productRepository.findVersion();
+
+        productRepository.decreaseAmount(productSaved.getId(), 4, version.getUpdatedAt().plusSeconds(1));
+
+        EntityVersionView versionAfterCheckout = productRepository.findVersion();
+
+        productRepository.increaseAmount(productSaved.getId(), 1, version.getUpdatedAt().plusSeconds(2));
+
+        EntityVersionView versionAfterCancel = productRepository.findVersion();
+
+        assertThat(versionAfterCheckout.getCount()).isEqualTo(version.getCount());
+
+        assertThat(versionAfterCheckout.getUpdatedAt()).isAfter(version.getUpdatedAt());
+
+        assertThat(versionAfterCancel.getUpdatedAt()).isAfter(versionAfterCheckout.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("decreaseAmount Decreases Product Amount When Product Has Enough Stock")
+    void decreaseAmount_DecreasesProductAmount_WhenProductHasEnoughStock() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        int productsUpdated = productRepository.decreaseAmount(productSaved.getId(), 4, LocalDateTime.now());
+
+        assertThat(productsUpdated).isEqualTo(1);
+
+        assertThat(productRepository.findActiveAmountById(productSaved.getId())).contains(AMOUNT - 4);
+    }
+
+    @Test
+    @DisplayName("decreaseAmount Does Not Update Product When Product Has Not Enough Stock")
+    void decreaseAmount_DoesNotUpdateProduct_WhenProductHasNotEnoughStock() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        int productsUpdated = productRepository.decreaseAmount(productSaved.getId(), AMOUNT + 1, LocalDateTime.now());
+
+        assertThat(productsUpdated).isZero();
+
+        assertThat(productRepository.findActiveAmountById(productSaved.getId())).contains(AMOUNT);
+    }
+
+    @Test
+    @DisplayName("decreaseAmount Does Not Update Product When Product Is Inactive")
+    void decreaseAmount_DoesNotUpdateProduct_WhenProductIsInactive() {
+        Product productToBeSave = createProductToBeSave();
+        productToBeSave.setActive(false);
+
+        Product productSaved = productRepository.save(productToBeSave);
+
+        int productsUpdated = productRepository.decreaseAmount(productSaved.getId(), 1, LocalDateTime.now());
+
+        assertThat(productsUpdated).isZero();
+
+        assertThat(productRepository.findActiveAmountById(productSaved.getId())).isEmpty();
+    }
+
 }
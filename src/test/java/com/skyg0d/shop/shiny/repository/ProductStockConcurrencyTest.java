@@ -0,0 +1,81 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.Product;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.AMOUNT;
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.createProductToBeSave;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Concurrency tests for ProductRepository stock decrease")
+public class ProductStockConcurrencyTest {
+
+    private static final int BUYERS = 64;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("decreaseAmount Never Oversells When Many Buyers Checkout Concurrently")
+    @SneakyThrows
+    void decreaseAmount_NeverOversells_WhenManyBuyersCheckoutConcurrently() {
+        Product productSaved = productRepository.save(createProductToBeSave());
+
+        ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger unitsSold = new AtomicInteger();
+
+        List<Future<?>> buyers = new ArrayList<>();
+
+        for (int i = 0; i < BUYERS; i++) {
+            buyers.add(executor.submit(() -> {
+                start.await();
+
+                try {
+                    unitsSold.addAndGet(productRepository.decreaseAmount(productSaved.getId(), 1, LocalDateTime.now()));
+                } catch (RuntimeException ex) {
+                    // A buyer that loses a lock wait is a failed checkout, never an oversell.
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> buyer : buyers) {
+            buyer.get(30, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        long amountLeft = productRepository.findById(productSaved.getId()).orElseThrow().getAmount();
+
+        assertThat(unitsSold.get()).isLessThanOrEqualTo((int) AMOUNT);
+
+        assertThat(amountLeft).isGreaterThanOrEqualTo(0);
+
+        assertThat(amountLeft).isEqualTo(AMOUNT - unitsSold.get());
+    }
+
+}
@@ -55,16 +55,6 @@ public class RatingRepositoryTest {
         assertThat(usersPage).contains(expectedRating);
     }
 
-    @Test
-    @DisplayName("productStarsAverage Returns Product Stars Average When Successful")
-    void productStarsAverage_ReturnsProductStarsAverage_WhenSuccessful() {
-        Rating expectedRating = persistRating();
-
-        double average = ratingRepository.productStarsAverage(expectedRating.getProduct().getSlug());
-
-        assertThat(average).isEqualTo(RatingCreator.STARS);
-    }
-
     @Test
     @DisplayName("existsByProductAndUser Returns True When User And Product Match To A Rating")
     void existsByProductAndUser_ReturnsTrue_WhenUserAndProductMatchToRating() {
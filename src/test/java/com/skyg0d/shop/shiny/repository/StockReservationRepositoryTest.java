@@ -0,0 +1,149 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrder;
+import static com.skyg0d.shop.shiny.util.reservation.StockReservationCreator.createStockReservation;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Tests for StockReservationRepository")
+public class StockReservationRepositoryTest {
+
+    @Autowired
+    StockReservationRepository reservationRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Test
+    @DisplayName("findAllByOrder Returns Reservations Of Order When Successful")
+    void findAllByOrder_ReturnsReservationsOfOrder_WhenSuccessful() {
+        StockReservation reservationSaved = persistReservation();
+
+        List<StockReservation> reservationsFound = reservationRepository.findAllByOrder(reservationSaved.getOrder());
+
+        assertThat(reservationsFound).hasSize(1);
+
+        assertThat(reservationsFound.get(0).getId()).isEqualTo(reservationSaved.getId());
+    }
+
+    @Test
+    @DisplayName("changeStatus Updates Reservation Only Once When Expected Status Matches")
+    void changeStatus_UpdatesReservationOnlyOnce_WhenExpectedStatusMatches() {
+        StockReservation reservationSaved = persistReservation();
+
+        int firstUpdate = reservationRepository.changeStatus(reservationSaved.getId(), EReservationStatus.ACTIVE, EReservationStatus.RELEASED);
+        int secondUpdate = reservationRepository.changeStatus(reservationSaved.getId(), EReservationStatus.ACTIVE, EReservationStatus.CONFIRMED);
+
+        assertThat(firstUpdate).isEqualTo(1);
+
+        assertThat(secondUpdate).isZero();
+    }
+
+    @Test
+    @DisplayName("changeStatusByOrderIdIn Updates Only Expected Reservations Of Orders When Successful")
+    void changeStatusByOrderIdIn_UpdatesOnlyExpectedReservationsOfOrders_WhenSuccessful() {
+        StockReservation activeReservation = persistReservation();
+        StockReservation confirmedReservation = persistReservation();
+        StockReservation releasedReservation = persistReservation();
+        StockReservation otherReservation = persistReservation();
+
+        reservationRepository.changeStatus(confirmedReservation.getId(), EReservationStatus.ACTIVE, EReservationStatus.CONFIRMED);
+        reservationRepository.changeStatus(releasedReservation.getId(), EReservationStatus.ACTIVE, EReservationStatus.RELEASED);
+
+        List<UUID> orderIds = List.of(activeReservation.getOrder().getId(), confirmedReservation.getOrder().getId(), releasedReservation.getOrder().getId());
+        Set<EReservationStatus> holding = EnumSet.of(EReservationStatus.ACTIVE, EReservationStatus.CONFIRMED);
+
+        assertThat(reservationRepository.findAllByStatusInAndOrderIdIn(holding, orderIds))
+                .extracting(StockReservation::getId)
+                .containsExactlyInAnyOrder(activeReservation.getId(), confirmedReservation.getId());
+
+        int updated = reservationRepository.changeStatusByOrderIdIn(orderIds, holding, EReservationStatus.RELEASED);
+
+        assertThat(updated).isEqualTo(2);
+
+        assertThat(reservationRepository.findAllByStatusInAndOrderIdIn(holding, List.of(otherReservation.getOrder().getId()))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("increaseAmountByReservations Restores Units Of Holding Reservations Of Orders When Successful")
+    void increaseAmountByReservations_RestoresUnitsOfHoldingReservationsOfOrders_WhenSuccessful() {
+        StockReservation activeReservation = persistReservation();
+        StockReservation confirmedReservation = persistReservation();
+        StockReservation releasedReservation = persistReservation();
+
+        reservationRepository.changeStatus(confirmedReservation.getId(), EReservationStatus.ACTIVE, EReservationStatus.CONFIRMED);
+        reservationRepository.changeStatus(releasedReservation.getId(), EReservationStatus.ACTIVE, EReservationStatus.RELEASED);
+
+        UUID productId = activeReservation.getProduct().getId();
+        long amountBefore = productRepository.findActiveAmountById(productId).orElseThrow();
+
+        int updated = productRepository.increaseAmountByReservations(
+                List.of(activeReservation.getOrder().getId().toString(), confirmedReservation.getOrder().getId().toString(), releasedReservation.getOrder().getId().toString()),
+                List.of(EReservationStatus.ACTIVE.name(), EReservationStatus.CONFIRMED.name()),
+                LocalDateTime.now()
+        );
+
+        assertThat(updated).isEqualTo(1);
+
+        assertThat(productRepository.findActiveAmountById(productId)).contains(amountBefore + activeReservation.getAmount() + confirmedReservation.getAmount());
+    }
+
+    private StockReservation persistReservation() {
+        Order orderToBeSave = createOrder();
+
+        Product productToBeSave = orderToBeSave.getItems().get(0).getProduct();
+
+        List<Category> categoriesSaved = categoryRepository.saveAllAndFlush(productToBeSave.getCategories());
+
+        productToBeSave.setCategories(new HashSet<>(categoriesSaved));
+
+        Product productSaved = productRepository.findBySlug(productToBeSave.getSlug()).orElseGet(() -> productRepository.save(productToBeSave));
+
+        orderToBeSave.getItems().get(0).setProduct(productSaved);
+
+        User userToBeSave = orderToBeSave.getUser();
+
+        User userSaved = userRepository.findByEmail(userToBeSave.getEmail()).orElseGet(() -> {
+            List<Role> rolesSaved = roleRepository.saveAllAndFlush(userToBeSave.getRoles());
+
+            userToBeSave.setRoles(new HashSet<>(rolesSaved));
+
+            return userRepository.save(userToBeSave);
+        });
+
+        orderToBeSave.setUser(userSaved);
+
+        Order orderSaved = orderRepository.save(orderToBeSave);
+
+        StockReservation reservationToBeSave = createStockReservation(orderSaved);
+        reservationToBeSave.setId(null);
+
+        return reservationRepository.save(reservationToBeSave);
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.skyg0d.shop.shiny.repository;
+
+import com.skyg0d.shop.shiny.model.EOutboxStatus;
+import com.skyg0d.shop.shiny.model.EStripeOutboxType;
+import com.skyg0d.shop.shiny.model.StripeOutboxEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Tests for StripeOutboxEventRepository")
+public class StripeOutboxEventRepositoryTest {
+
+    @Autowired
+    StripeOutboxEventRepository stripeOutboxEventRepository;
+
+    @Test
+    @DisplayName("findAllDueStripeProductIds Returns Products Without Events Waiting For Backoff When Successful")
+    void findAllDueStripeProductIds_ReturnsProductsWithoutEventsWaitingForBackoff_WhenSuccessful() {
+        Instant now = Instant.now();
+
+        persistEvent("due-product", now.minus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+        persistEvent("due-product", now.minus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+        persistEvent("backoff-product", now.minus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+        persistEvent("backoff-product", now.plus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+        persistEvent("failed-product", now.minus(Duration.ofMinutes(1)), EOutboxStatus.FAILED);
+
+        List<String> stripeProductIds = stripeOutboxEventRepository.findAllDueStripeProductIds(EOutboxStatus.PENDING, now, PageRequest.of(0, 10));
+
+        assertThat(stripeProductIds).containsExactly("due-product");
+    }
+
+    @Test
+    @DisplayName("claimAllByStripeProductIdIn Claims Only Due Events And Hides Their Product When Successful")
+    void claimAllByStripeProductIdIn_ClaimsOnlyDueEventsAndHidesTheirProduct_WhenSuccessful() {
+        Instant now = Instant.now();
+        Instant claimedUntil = now.plus(Duration.ofMinutes(5));
+
+        StripeOutboxEvent due = persistEvent("product", now.minus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+        persistEvent("product", now.plus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+        persistEvent("other-product", now.minus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+
+        int claimed = stripeOutboxEventRepository.claimAllByStripeProductIdIn(EOutboxStatus.PENDING, List.of("product"), "run", now, claimedUntil);
+
+        assertThat(claimed).isEqualTo(1);
+
+        assertThat(stripeOutboxEventRepository.findAllByStatusAndClaimedByOrderByCreatedAt(EOutboxStatus.PENDING, "run"))
+                .extracting(StripeOutboxEvent::getId)
+                .containsExactly(due.getId());
+
+        assertThat(stripeOutboxEventRepository.claimAllByStripeProductIdIn(EOutboxStatus.PENDING, List.of("product"), "other-run", now, claimedUntil)).isZero();
+
+        assertThat(stripeOutboxEventRepository.findAllDueStripeProductIds(EOutboxStatus.PENDING, now, PageRequest.of(0, 10))).containsExactly("other-product");
+    }
+
+    @Test
+    @DisplayName("failAllWithoutTarget Parks Only Events Without Stripe Product Nor Payment Link When Successful")
+    void failAllWithoutTarget_ParksOnlyEventsWithoutStripeProductNorPaymentLink_WhenSuccessful() {
+        Instant now = Instant.now().minus(Duration.ofMinutes(1));
+
+        persistEvent(null, now, EOutboxStatus.PENDING);
+        persistEvent("product", now, EOutboxStatus.PENDING);
+        persistPaymentLinkEvent("plink", now);
+
+        assertThat(stripeOutboxEventRepository.findAllDueStripeProductIds(EOutboxStatus.PENDING, Instant.now(), PageRequest.of(0, 10))).containsExactly("product");
+
+        int parked = stripeOutboxEventRepository.failAllWithoutTarget(EOutboxStatus.PENDING, EOutboxStatus.FAILED, "Outbox event has no stripe product nor payment link");
+
+        assertThat(parked).isEqualTo(1);
+
+        assertThat(stripeOutboxEventRepository.countByStatus(EOutboxStatus.FAILED)).isEqualTo(1);
+
+        assertThat(stripeOutboxEventRepository.countByStatus(EOutboxStatus.PENDING)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("claimAllByIdIn Claims Only Due Payment Link Events When Successful")
+    void claimAllByIdIn_ClaimsOnlyDuePaymentLinkEvents_WhenSuccessful() {
+        Instant now = Instant.now();
+        Instant claimedUntil = now.plus(Duration.ofMinutes(5));
+
+        StripeOutboxEvent due = persistPaymentLinkEvent("due-plink", now.minus(Duration.ofMinutes(1)));
+        persistPaymentLinkEvent("backoff-plink", now.plus(Duration.ofMinutes(1)));
+        persistEvent("product", now.minus(Duration.ofMinutes(1)), EOutboxStatus.PENDING);
+
+        List<UUID> ids = stripeOutboxEventRepository.findAllDueIdsByType(EOutboxStatus.PENDING, EStripeOutboxType.DEACTIVATE_PAYMENT_LINK, now, PageRequest.of(0, 10));
+
+        assertThat(ids).containsExactly(due.getId());
+
+        assertThat(stripeOutboxEventRepository.claimAllByIdIn(EOutboxStatus.PENDING, ids, "run", now, claimedUntil)).isEqualTo(1);
+
+        assertThat(stripeOutboxEventRepository.claimAllByIdIn(EOutboxStatus.PENDING, ids, "other-run", now, claimedUntil)).isZero();
+
+        assertThat(stripeOutboxEventRepository.findAllByStatusAndClaimedByOrderByCreatedAt(EOutboxStatus.PENDING, "run"))
+                .extracting(StripeOutboxEvent::getStripePaymentLinkId)
+                .containsExactly("due-plink");
+    }
+
+    @Test
+    @DisplayName("deleteAllByIdIn Removes Only Given Events When Successful")
+    void deleteAllByIdIn_RemovesOnlyGivenEvents_WhenSuccessful() {
+        StripeOutboxEvent dispatched = persistEvent("product", Instant.now(), EOutboxStatus.PENDING);
+        StripeOutboxEvent pending = persistEvent("product", Instant.now(), EOutboxStatus.PENDING);
+
+        int deleted = stripeOutboxEventRepository.deleteAllByIdIn(List.of(dispatched.getId()));
+
+        assertThat(deleted).isEqualTo(1);
+
+        assertThat(stripeOutboxEventRepository.findAll())
+                .extracting(StripeOutboxEvent::getId)
+                .containsExactly(pending.getId());
+
+        assertThat(stripeOutboxEventRepository.countByStatus(EOutboxStatus.PENDING)).isEqualTo(1);
+    }
+
+    private StripeOutboxEvent persistEvent(String stripeProductId, Instant nextAttemptAt, EOutboxStatus status) {
+        return stripeOutboxEventRepository.save(StripeOutboxEvent
+                .builder()
+                .stripeProductId(stripeProductId)
+                .type(EStripeOutboxType.UPDATE_PRODUCT)
+                .status(status)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    private StripeOutboxEvent persistPaymentLinkEvent(String stripePaymentLinkId, Instant nextAttemptAt) {
+        return stripeOutboxEventRepository.save(StripeOutboxEvent
+                .builder()
+                .stripePaymentLinkId(stripePaymentLinkId)
+                .type(EStripeOutboxType.DEACTIVATE_PAYMENT_LINK)
+                .status(EOutboxStatus.PENDING)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.skyg0d.shop.shiny.search;
+
+import com.skyg0d.shop.shiny.model.Category;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.payload.response.FacetCountResponse;
+import com.skyg0d.shop.shiny.payload.response.PriceBucketResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductFacetsResponse;
+import com.skyg0d.shop.shiny.payload.search.ProductParametersSearch;
+import com.skyg0d.shop.shiny.property.ProductSearchProps;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static com.skyg0d.shop.shiny.util.category.CategoryCreator.createCategory;
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.createProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for ProductSearchIndex")
+public class ProductSearchIndexTest {
+
+    ProductSearchIndex productSearchIndex;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    Map<UUID, Product> products;
+
+    @BeforeEach
+    void setUp() {
+        products = new LinkedHashMap<>();
+
+        productSearchIndex = new ProductSearchIndex(productRepository, new ProductSearchProps(Duration.ofHours(1), 2, List.of(BigDecimal.ZERO, BigDecimal.valueOf(50), BigDecimal.valueOf(100))), transactionManager);
+
+        BDDMockito
+                .when(productRepository.findAllById(ArgumentMatchers.anyIterable()))
+                .thenAnswer((invocation) -> StreamSupport
+                        .stream(invocation.<Iterable<UUID>>getArgument(0).spliterator(), false)
+                        .filter(products::containsKey)
+                        .map(products::get)
+                        .collect(Collectors.toList()));
+
+        BDDMockito
+                .when(productRepository.findAllIds())
+                .thenAnswer((invocation) -> new ArrayList<>(products.keySet()));
+    }
+
+    @Test
+    @DisplayName("search Ranks Name Matches Before Category Matches When Searching By Text")
+    void search_RanksNameMatchesBeforeCategoryMatches_WhenSearchingByText() {
+        Category category = createCategory();
+        category.setName("Running Shoes");
+
+        Product categoryMatch = index(createNamedProduct("Leather Boots", "10", 5, true));
+        categoryMatch.getCategories().add(category);
+        productSearchIndex.reindex(categoryMatch.getId());
+
+        Product nameMatch = index(createNamedProduct("Running Shoes", "10", 5, true));
+        index(createNamedProduct("Wool Socks", "10", 5, true));
+
+        Page<UUID> page = productSearchIndex.search(search().text("running shoes").build(), PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+
+        assertThat(page.getContent()).containsExactly(nameMatch.getId(), categoryMatch.getId());
+    }
+
+    @Test
+    @DisplayName("search Matches Prefixes Ignoring Case And Accents When Searching By Name")
+    void search_MatchesPrefixesIgnoringCaseAndAccents_WhenSearchingByName() {
+        Product product = index(createNamedProduct("Caf\u00e9 Espresso Machine", "10", 5, true));
+        index(createNamedProduct("Coffee Grinder", "10", 5, true));
+
+        Page<UUID> page = productSearchIndex.search(search().name("CAFE espre").build(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).containsExactly(product.getId());
+    }
+
+    @Test
+    @DisplayName("search Intersects Numeric And Active Filters When Successful")
+    void search_IntersectsNumericAndActiveFilters_WhenSuccessful() {
+        index(createNamedProduct("Cheap Shirt", "5", 10, true));
+        Product expected = index(createNamedProduct("Regular Shirt", "20", 10, true));
+        index(createNamedProduct("Sold Out Shirt", "20", 0, true));
+        index(createNamedProduct("Hidden Shirt", "20", 10, false));
+        index(createNamedProduct("Luxury Shirt", "200", 10, true));
+
+        ProductParametersSearch search = search()
+                .name("shirt")
+                .greaterThanOrEqualToPrice(BigDecimal.TEN)
+                .lessThanOrEqualToPrice(BigDecimal.valueOf(100))
+                .greaterThenOrEqualToAmount(1)
+                .active(1)
+                .build();
+
+        assertThat(productSearchIndex.search(search, PageRequest.of(0, 10)).getContent()).containsExactly(expected.getId());
+    }
+
+    @Test
+    @DisplayName("search Filters And Sorts By Effective Price When Product Has Discount")
+    void search_FiltersAndSortsByEffectivePrice_WhenProductHasDiscount() {
+        Product discounted = createNamedProduct("Discounted Shirt", "120", 10, true);
+        discounted.setDiscount(25);
+
+        Product regular = index(createNamedProduct("Regular Shirt", "95", 10, true));
+
+        index(discounted);
+        index(createNamedProduct("Luxury Shirt", "150", 10, true));
+
+        ProductParametersSearch search = search()
+                .lessThanOrEqualToPrice(BigDecimal.valueOf(100))
+                .build();
+
+        Page<UUID> page = productSearchIndex.search(search, PageRequest.of(0, 10, Sort.by("price")));
+
+        assertThat(page.getContent()).containsExactly(discounted.getId(), regular.getId());
+    }
+
+    @Test
+    @DisplayName("search Pages Sorted Results When Pageable Has Sort")
+    void search_PagesSortedResults_WhenPageableHasSort() {
+        index(createNamedProduct("First Shirt", "30", 10, true));
+        Product cheapest = index(createNamedProduct("Second Shirt", "10", 10, true));
+        Product middle = index(createNamedProduct("Third Shirt", "20", 10, true));
+
+        Page<UUID> page = productSearchIndex.search(search().build(), PageRequest.of(0, 2, Sort.by("price")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+
+        assertThat(page.getContent()).containsExactly(cheapest.getId(), middle.getId());
+    }
+
+    @Test
+    @DisplayName("search Counts Facets Of Every Matched Product When Page Is Smaller Than Results")
+    void search_CountsFacetsOfEveryMatchedProduct_WhenPageIsSmallerThanResults() {
+        Category category = createCategory();
+
+        Product discounted = createNamedProduct("Cheap Shirt", "10", 10, true);
+        discounted.setBrand("Acme");
+        discounted.setDiscount(10);
+        discounted.getCategories().add(category);
+
+        Product regular = createNamedProduct("Regular Shirt", "60", 10, true);
+        regular.setBrand("Acme");
+
+        Product luxury = createNamedProduct("Luxury Shirt", "150", 10, true);
+        luxury.setBrand("Other");
+        luxury.getCategories().add(category);
+
+        index(discounted);
+        index(regular);
+        index(luxury);
+        index(createNamedProduct("Wool Socks", "10", 10, true));
+
+        ProductFacetsResponse facets = productSearchIndex.search(search().name("shirt").build(), PageRequest.of(0, 1)).getFacets();
+
+        assertThat(facets.getBrands()).containsExactly(new FacetCountResponse("Acme", 2), new FacetCountResponse("Other", 1));
+
+        assertThat(facets.getCategories()).containsExactly(new FacetCountResponse(category.getName(), 2));
+
+        assertThat(facets.getPrices()).containsExactly(
+                new PriceBucketResponse(BigDecimal.ZERO, BigDecimal.valueOf(50), 1),
+                new PriceBucketResponse(BigDecimal.valueOf(50), BigDecimal.valueOf(100), 1),
+                new PriceBucketResponse(BigDecimal.valueOf(100), null, 1)
+        );
+
+        assertThat(facets.getWithDiscount()).isEqualTo(1);
+
+        assertThat(facets.getWithoutDiscount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("changeAmount Moves Product Between Amount Filters When Stock Changes")
+    void changeAmount_MovesProductBetweenAmountFilters_WhenStockChanges() {
+        Product product = index(createNamedProduct("Shirt", "10", 1, true));
+
+        ProductParametersSearch inStock = search().greaterThenOrEqualToAmount(1).build();
+
+        productSearchIndex.changeAmount(product.getId(), -1);
+
+        assertThat(productSearchIndex.search(inStock, PageRequest.of(0, 10))).isEmpty();
+
+        productSearchIndex.changeAmount(product.getId(), 3);
+
+        assertThat(productSearchIndex.search(inStock, PageRequest.of(0, 10)).getContent()).containsExactly(product.getId());
+    }
+
+    @Test
+    @DisplayName("remove Removes Product From Results When Successful")
+    void remove_RemovesProductFromResults_WhenSuccessful() {
+        Product product = index(createNamedProduct("Shirt", "10", 1, true));
+
+        productSearchIndex.remove(product.getId());
+
+        assertThat(productSearchIndex.search(search().name("shirt").build(), PageRequest.of(0, 10))).isEmpty();
+
+        assertThat(productSearchIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("rebuild Indexes Every Product In Batches When Successful")
+    void rebuild_IndexesEveryProductInBatches_WhenSuccessful() {
+        for (int i = 0; i < 5; i++) {
+            Product product = createNamedProduct("Shirt " + i, "10", 1, true);
+
+            products.put(product.getId(), product);
+        }
+
+        productSearchIndex.rebuild();
+
+        assertThat(productSearchIndex.size()).isEqualTo(5);
+
+        assertThat(productSearchIndex.search(search().name("shirt").build(), PageRequest.of(0, 10)).getTotalElements()).isEqualTo(5);
+
+        BDDMockito
+                .verify(productRepository, BDDMockito.times(3))
+                .findAllById(ArgumentMatchers.anyIterable());
+    }
+
+    private Product index(Product product) {
+        product.updateEffectivePrice();
+
+        products.put(product.getId(), product);
+
+        productSearchIndex.reindex(product.getId());
+
+        return product;
+    }
+
+    private Product createNamedProduct(String name, String price, long amount, boolean active) {
+        Product product = createProduct();
+
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setDescription(null);
+        product.setBrand(null);
+        product.setPrice(new BigDecimal(price));
+        product.setAmount(amount);
+        product.setActive(active);
+
+        return product;
+    }
+
+    private ProductParametersSearch.ProductParametersSearchBuilder<?, ?> search() {
+        return ProductParametersSearch.builder();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.property.CatalogVersionProps;
+import com.skyg0d.shop.shiny.repository.CategoryRepository;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.RatingRepository;
+import com.skyg0d.shop.shiny.repository.projection.EntityVersionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for CatalogVersionService")
+public class CatalogVersionServiceTest {
+
+    @InjectMocks
+    CatalogVersionService catalogVersionService;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    @Mock
+    RatingRepository ratingRepository;
+
+    @Spy
+    CatalogVersionProps catalogVersionProps = new CatalogVersionProps(Duration.ZERO);
+
+    LocalDateTime updatedAt;
+
+    @BeforeEach
+    void setUp() {
+        updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        BDDMockito
+                .when(productRepository.findVersion())
+                .thenReturn(new EntityVersionView(updatedAt, 3));
+
+        BDDMockito
+                .when(categoryRepository.findVersion())
+                .thenReturn(new EntityVersionView(updatedAt, 2));
+
+        BDDMockito
+                .when(ratingRepository.findVersion())
+                .thenReturn(new EntityVersionView(null, 0));
+    }
+
+    @Test
+    @DisplayName("products Returns Same Version When Persisted State Did Not Change")
+    void products_ReturnsSameVersion_WhenPersistedStateDidNotChange() {
+        assertThat(catalogVersionService.products()).isEqualTo(catalogVersionService.products());
+    }
+
+    @Test
+    @DisplayName("products Returns New Version When A Product Is Removed")
+    void products_ReturnsNewVersion_WhenAProductIsRemoved() {
+        String version = catalogVersionService.products();
+
+        BDDMockito
+                .when(productRepository.findVersion())
+                .thenReturn(new EntityVersionView(updatedAt, 2));
+
+        assertThat(catalogVersionService.products()).isNotEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("products Returns New Version When A Category Changes")
+    void products_ReturnsNewVersion_WhenACategoryChanges() {
+        String version = catalogVersionService.products();
+
+        BDDMockito
+                .when(categoryRepository.findVersion())
+                .thenReturn(new EntityVersionView(updatedAt.plusSeconds(1), 2));
+
+        assertThat(catalogVersionService.products()).isNotEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("products Reuses Version Until Ttl Expires When Requested Many Times")
+    void products_ReusesVersionUntilTtlExpires_WhenRequestedManyTimes() {
+        catalogVersionProps.setTtl(Duration.ofMinutes(1));
+
+        String version = catalogVersionService.products();
+
+        BDDMockito
+                .when(productRepository.findVersion())
+                .thenReturn(new EntityVersionView(updatedAt.plusSeconds(1), 3));
+
+        assertThat(catalogVersionService.products()).isEqualTo(version);
+
+        BDDMockito
+                .verify(productRepository, BDDMockito.times(1))
+                .findVersion();
+    }
+
+}
@@ -6,6 +6,7 @@ import com.skyg0d.shop.shiny.mapper.CategoryMapper;
 import com.skyg0d.shop.shiny.model.Category;
 import com.skyg0d.shop.shiny.payload.response.CategoryResponse;
 import com.skyg0d.shop.shiny.repository.CategoryRepository;
+import com.skyg0d.shop.shiny.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,12 @@ public class CategoryServiceTest {
     @Mock
     CategoryRepository categoryRepository;
 
+    @Mock
+    ProductCacheService productCacheService;
+
+    @Mock
+    ProductSearchIndex productSearchIndex;
+
     @Spy
     CategoryMapper categoryMapper = CategoryMapper.INSTANCE;
 
@@ -0,0 +1,209 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.exception.BadRequestException;
+import com.skyg0d.shop.shiny.exception.IdempotencyKeyException;
+import com.skyg0d.shop.shiny.model.EIdempotencyStatus;
+import com.skyg0d.shop.shiny.model.IdempotencyKey;
+import com.skyg0d.shop.shiny.property.IdempotencyProps;
+import com.skyg0d.shop.shiny.repository.IdempotencyKeyRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for IdempotencyService")
+public class IdempotencyServiceTest {
+
+    private static final String KEY = "test-key";
+    private static final String SCOPE = "test@mail.com";
+    private static final String REQUEST = "test-request";
+    private static final String RESPONSE = "test-response";
+
+    @InjectMocks
+    IdempotencyService idempotencyService;
+
+    @Mock
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Spy
+    IdempotencyProps idempotencyProps = new IdempotencyProps();
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyProps.setWaitTimeout(Duration.ofMillis(100));
+        idempotencyProps.setPollInterval(Duration.ofMillis(10));
+
+        BDDMockito
+                .when(idempotencyKeyRepository.saveAndFlush(ArgumentMatchers.any(IdempotencyKey.class)))
+                .thenAnswer((invocation) -> invocation.getArgument(0));
+
+        BDDMockito
+                .when(idempotencyKeyRepository.complete(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.any(EIdempotencyStatus.class), ArgumentMatchers.anyString()))
+                .thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("execute Runs Action And Stores Response When Key Is New")
+    @SneakyThrows
+    void execute_RunsActionAndStoresResponse_WhenKeyIsNew() {
+        String response = idempotencyService.execute(KEY, SCOPE, REQUEST, String.class, () -> RESPONSE);
+
+        assertThat(response).isEqualTo(RESPONSE);
+
+        BDDMockito
+                .verify(idempotencyKeyRepository)
+                .complete(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.eq(EIdempotencyStatus.COMPLETED), ArgumentMatchers.contains(RESPONSE));
+    }
+
+    @Test
+    @DisplayName("execute Returns Stored Response Without Running Action When Key Is Completed")
+    @SneakyThrows
+    void execute_ReturnsStoredResponseWithoutRunningAction_WhenKeyIsCompleted() {
+        mockExistingKey(EIdempotencyStatus.COMPLETED, hash(REQUEST));
+
+        AtomicInteger executions = new AtomicInteger();
+
+        String response = idempotencyService.execute(KEY, SCOPE, REQUEST, String.class, () -> {
+            executions.incrementAndGet();
+
+            return "other-response";
+        });
+
+        assertThat(response).isEqualTo(RESPONSE);
+
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("execute Throws IdempotencyKeyException When Key Was Used With Different Request")
+    void execute_ThrowsIdempotencyKeyException_WhenKeyWasUsedWithDifferentRequest() {
+        mockExistingKey(EIdempotencyStatus.COMPLETED, hash("other-request"));
+
+        assertThatExceptionOfType(IdempotencyKeyException.class)
+                .isThrownBy(() -> idempotencyService.execute(KEY, SCOPE, REQUEST, String.class, () -> RESPONSE));
+    }
+
+    @Test
+    @DisplayName("execute Throws IdempotencyKeyException When Key Is Still In Progress")
+    void execute_ThrowsIdempotencyKeyException_WhenKeyIsStillInProgress() {
+        mockExistingKey(EIdempotencyStatus.IN_PROGRESS, hash(REQUEST));
+
+        assertThatExceptionOfType(IdempotencyKeyException.class)
+                .isThrownBy(() -> idempotencyService.execute(KEY, SCOPE, REQUEST, String.class, () -> RESPONSE));
+    }
+
+    @Test
+    @DisplayName("execute Takes Over Key And Runs Action When Owner Lease Ran Out")
+    @SneakyThrows
+    void execute_TakesOverKeyAndRunsAction_WhenOwnerLeaseRanOut() {
+        String requestHash = hash(REQUEST);
+
+        mockExistingKey(EIdempotencyStatus.IN_PROGRESS, requestHash);
+
+        BDDMockito
+                .when(idempotencyKeyRepository.takeOverStale(
+                        ArgumentMatchers.eq(KEY),
+                        ArgumentMatchers.eq(SCOPE),
+                        ArgumentMatchers.eq(requestHash),
+                        ArgumentMatchers.eq(EIdempotencyStatus.IN_PROGRESS),
+                        ArgumentMatchers.any(Instant.class),
+                        ArgumentMatchers.anyString(),
+                        ArgumentMatchers.any(Instant.class),
+                        ArgumentMatchers.any(Instant.class)
+                ))
+                .thenReturn(1);
+
+        String response = idempotencyService.execute(KEY, SCOPE, REQUEST, String.class, () -> "retried-response");
+
+        assertThat(response).isEqualTo("retried-response");
+
+        BDDMockito
+                .verify(idempotencyKeyRepository)
+                .complete(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.eq(EIdempotencyStatus.COMPLETED), ArgumentMatchers.contains("retried-response"));
+    }
+
+    @Test
+    @DisplayName("execute Throws IdempotencyKeyException Without Releasing Key When Lease Was Taken Over")
+    void execute_ThrowsIdempotencyKeyExceptionWithoutReleasingKey_WhenLeaseWasTakenOver() {
+        BDDMockito
+                .when(idempotencyKeyRepository.complete(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.any(EIdempotencyStatus.class), ArgumentMatchers.anyString()))
+                .thenReturn(0);
+
+        assertThatExceptionOfType(IdempotencyKeyException.class)
+                .isThrownBy(() -> idempotencyService.execute(KEY, SCOPE, REQUEST, String.class, () -> RESPONSE));
+
+        BDDMockito
+                .verify(idempotencyKeyRepository, BDDMockito.never())
+                .release(ArgumentMatchers.any(), ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("execute Releases Key When Action Fails")
+    void execute_ReleasesKey_WhenActionFails() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> idempotencyService.execute(KEY, SCOPE, REQUEST, String.class, () -> {
+                    throw new IllegalStateException("Action failed");
+                }));
+
+        BDDMockito
+                .verify(idempotencyKeyRepository)
+                .release(ArgumentMatchers.any(), ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("execute Throws BadRequestException When Key Is Blank")
+    void execute_ThrowsBadRequestException_WhenKeyIsBlank() {
+        assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> idempotencyService.execute(" ", SCOPE, REQUEST, String.class, () -> RESPONSE));
+    }
+
+    private void mockExistingKey(EIdempotencyStatus status, String requestHash) {
+        BDDMockito
+                .when(idempotencyKeyRepository.saveAndFlush(ArgumentMatchers.any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicated key"));
+
+        IdempotencyKey idempotencyKey = IdempotencyKey
+                .builder()
+                .idempotencyKey(KEY)
+                .scope(SCOPE)
+                .requestHash(requestHash)
+                .status(status)
+                .response("\"" + RESPONSE + "\"")
+                .claimedBy("other-attempt")
+                .claimedUntil(Instant.now().plus(Duration.ofMinutes(1)))
+                .expiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .build();
+
+        BDDMockito
+                .when(idempotencyKeyRepository.findByIdempotencyKeyAndScope(KEY, SCOPE))
+                .thenReturn(Optional.of(idempotencyKey));
+    }
+
+    @SneakyThrows
+    private String hash(String request) {
+        return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
+import com.skyg0d.shop.shiny.property.OrderExpiryProps;
+import com.skyg0d.shop.shiny.property.ReservationProps;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrderStatusView;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for OrderExpiryService")
+public class OrderExpiryServiceTest {
+
+    OrderExpiryService orderExpiryService;
+
+    @Mock
+    OrderService orderService;
+
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        OrderExpiryProps orderExpiryProps = new OrderExpiryProps(Duration.ofMinutes(1), 2, 1);
+        ReservationProps reservationProps = new ReservationProps(Duration.ofMinutes(30));
+
+        orderExpiryService = new OrderExpiryService(orderService, orderExpiryProps, reservationProps, meterRegistry);
+
+        BDDMockito
+                .when(orderService.expireWaiting(ArgumentMatchers.any(LocalDateTime.class), ArgumentMatchers.eq(2)))
+                .thenReturn(List.of(createStaleOrder(), createStaleOrder()))
+                .thenReturn(List.of(createStaleOrder()));
+    }
+
+    @Test
+    @DisplayName("expireStale Cancels Batches Until A Batch Is Not Full When Successful")
+    void expireStale_CancelsBatchesUntilABatchIsNotFull_WhenSuccessful() {
+        orderExpiryService.expireStale();
+
+        BDDMockito
+                .verify(orderService, BDDMockito.times(2))
+                .expireWaiting(ArgumentMatchers.any(LocalDateTime.class), ArgumentMatchers.eq(2));
+
+        assertThat(meterRegistry.get("shop.orders.expired").counter().count()).isEqualTo(3);
+
+        assertThat(meterRegistry.get("shop.orders.expired.run").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("expireStale Expires Waiting Orders Older Than Stock Hold Ttl When Successful")
+    void expireStale_ExpiresWaitingOrdersOlderThanStockHoldTtl_WhenSuccessful() {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(30);
+
+        orderExpiryService.expireStale();
+
+        BDDMockito
+                .verify(orderService, BDDMockito.atLeastOnce())
+                .expireWaiting(ArgumentMatchers.argThat((createdBefore) -> !createdBefore.isBefore(before) && createdBefore.isBefore(LocalDateTime.now().minusMinutes(29))), ArgumentMatchers.eq(2));
+    }
+
+    private OrderStatusView createStaleOrder() {
+        return createOrderStatusView(UUID.randomUUID(), EOrderStatus.CANCELED, LocalDateTime.now().minusDays(2));
+    }
+
+}
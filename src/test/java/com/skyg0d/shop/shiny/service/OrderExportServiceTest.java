@@ -0,0 +1,132 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.model.EDataFormat;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
+import com.skyg0d.shop.shiny.property.ExportProps;
+import com.skyg0d.shop.shiny.repository.OrderSummaryRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrderParameterSearch;
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrderSummary;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for OrderExportService")
+public class OrderExportServiceTest {
+
+    OrderExportService orderExportService;
+
+    @Mock
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportService(orderSummaryRepository, new ExportProps(500, 1, 1, Duration.ofMinutes(1)), objectMapper, transactionManager);
+
+        BDDMockito
+                .when(orderSummaryRepository.streamAll(ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenAnswer((invocation) -> Stream.of(createOrderSummary(), createOrderSummary()));
+    }
+
+    @Test
+    @DisplayName("export Writes Header And One Csv Line Per Order When Format Is Csv")
+    void export_WritesHeaderAndOneCsvLinePerOrder_WhenFormatIsCsv() {
+        OrderSummary expectedSummary = createOrderSummary();
+
+        String csv = export(createOrderParameterSearch(), EDataFormat.CSV);
+
+        String[] lines = csv.split("\r\n");
+
+        assertThat(lines).hasSize(3);
+
+        assertThat(lines[0]).startsWith("id,createdAt,status,price");
+
+        assertThat(lines[1]).startsWith(expectedSummary.getOrderId().toString());
+
+        assertThat(lines[1]).contains(expectedSummary.getLines().get(0).getSlug() + " x" + expectedSummary.getLines().get(0).getAmount());
+    }
+
+    @Test
+    @DisplayName("export Quotes Csv Values When They Contain Separators")
+    void export_QuotesCsvValues_WhenTheyContainSeparators() {
+        BDDMockito
+                .when(orderSummaryRepository.streamAll(ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenAnswer((invocation) -> {
+                    OrderSummary summary = createOrderSummary();
+                    summary.setExtra("gift, \"wrap\"");
+
+                    return Stream.of(summary);
+                });
+
+        String csv = export(createOrderParameterSearch(), EDataFormat.CSV);
+
+        assertThat(csv).contains(",\"gift, \"\"wrap\"\"\"\r\n");
+    }
+
+    @Test
+    @DisplayName("export Neutralizes Csv Values When They Start Like A Formula")
+    void export_NeutralizesCsvValues_WhenTheyStartLikeAFormula() {
+        BDDMockito
+                .when(orderSummaryRepository.streamAll(ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenAnswer((invocation) -> {
+                    OrderSummary summary = createOrderSummary();
+                    summary.setExtra("=HYPERLINK(\"http://evil\")");
+
+                    return Stream.of(summary);
+                });
+
+        String csv = export(createOrderParameterSearch(), EDataFormat.CSV);
+
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://evil\"\")\"\r\n");
+    }
+
+    @Test
+    @DisplayName("export Writes One Json Object Per Line When Format Is Ndjson")
+    @SneakyThrows
+    void export_WritesOneJsonObjectPerLine_WhenFormatIsNdjson() {
+        OrderSummary expectedSummary = createOrderSummary();
+
+        String ndjson = export(createOrderParameterSearch(), EDataFormat.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+
+        assertThat(lines).hasSize(2);
+
+        OrderResponse order = objectMapper.readValue(lines[0], OrderResponse.class);
+
+        assertThat(order.getId()).isEqualTo(expectedSummary.getOrderId());
+
+        assertThat(order.getStatus()).isEqualTo(expectedSummary.getStatus());
+    }
+
+    private String export(OrderParameterSearch search, EDataFormat format) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderExportService.export(search, format, outputStream);
+
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+}
@@ -1,17 +1,21 @@
 package com.skyg0d.shop.shiny.service;
 
+import com.skyg0d.shop.shiny.event.OrderStatusChangedEvent;
 import com.skyg0d.shop.shiny.exception.*;
 import com.skyg0d.shop.shiny.model.EOrderStatus;
 import com.skyg0d.shop.shiny.model.Order;
 import com.skyg0d.shop.shiny.model.Product;
-import com.skyg0d.shop.shiny.model.User;
-import com.skyg0d.shop.shiny.payload.request.CreateNotificationRequest;
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
+import com.skyg0d.shop.shiny.payload.request.ChangeOrdersStatusRequest;
+import com.skyg0d.shop.shiny.payload.response.ChangeOrdersStatusResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatusChangeResponse;
+import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
 import com.skyg0d.shop.shiny.repository.OrderRepository;
 import com.skyg0d.shop.shiny.security.service.UserDetailsImpl;
 import com.skyg0d.shop.shiny.util.AuthUtils;
-import com.skyg0d.shop.shiny.util.notification.NotificationCreator;
 import com.skyg0d.shop.shiny.util.user.UserCreator;
+import com.stripe.exception.ApiConnectionException;
 import com.stripe.model.PaymentLink;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,16 +26,23 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.skyg0d.shop.shiny.util.order.OrderCreator.*;
@@ -52,7 +63,7 @@ public class OrderServiceTest {
     ProductService productService;
 
     @Mock
-    NotificationService notificationService;
+    ApplicationEventPublisher eventPublisher;
 
     @Mock
     UserService userService;
@@ -63,17 +74,39 @@ public class OrderServiceTest {
     @Mock
     AuthUtils authUtils;
 
+    @Mock
+    StockReservationService stockReservationService;
+
+    @Mock
+    IdempotencyService idempotencyService;
+
+    @Mock
+    OrderSummaryService orderSummaryService;
+
+    @Mock
+    OrderStatsService orderStatsService;
+
+    @Mock
+    StripeOutboxService stripeOutboxService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
     @BeforeEach
     @SneakyThrows
     void setUp() {
-        PageImpl<Order> ordersPage = new PageImpl<>(List.of(createOrder()));
+        BDDMockito
+                .when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer((invocation) -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        PageImpl<OrderResponse> ordersPage = new PageImpl<>(List.of(createOrderResponse()));
 
         BDDMockito
-                .when(orderRepository.findAll(ArgumentMatchers.any(Pageable.class)))
+                .when(orderSummaryService.listAll(ArgumentMatchers.any(Pageable.class)))
                 .thenReturn(ordersPage);
 
         BDDMockito
-                .when(orderRepository.findAllByUser(ArgumentMatchers.any(Pageable.class), ArgumentMatchers.any(User.class)))
+                .when(orderSummaryService.listAllByUser(ArgumentMatchers.any(Pageable.class), ArgumentMatchers.anyString()))
                 .thenReturn(ordersPage);
 
         BDDMockito
@@ -85,17 +118,25 @@ public class OrderServiceTest {
                 .thenReturn(createOrder().getUser());
 
         BDDMockito
-                .when(productService.findBySlug(ArgumentMatchers.anyString()))
-                .thenReturn(createProduct());
+                .when(productService.findAllBySlug(ArgumentMatchers.anyCollection()))
+                .thenReturn(Map.of("test-slug", createProduct()));
 
         BDDMockito
-                .when(orderRepository.findAll(ArgumentMatchers.<Specification<Order>>any(), ArgumentMatchers.any(Pageable.class)))
+                .when(orderSummaryService.search(ArgumentMatchers.any(OrderParameterSearch.class), ArgumentMatchers.any(Pageable.class)))
                 .thenReturn(ordersPage);
 
         BDDMockito
                 .when(orderRepository.save(ArgumentMatchers.any(Order.class)))
                 .thenReturn(createOrder());
 
+        BDDMockito
+                .when(orderRepository.saveAndFlush(ArgumentMatchers.any(Order.class)))
+                .thenReturn(createOrder());
+
+        BDDMockito
+                .when(orderRepository.changeStatus(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any()))
+                .thenReturn(1);
+
         PaymentLink paymentLink = new PaymentLink();
 
         paymentLink.setId(STRIPE_PAYMENT_ID);
@@ -106,9 +147,8 @@ public class OrderServiceTest {
                 .thenReturn(paymentLink);
 
         BDDMockito
-                .doNothing()
-                .when(productService)
-                .changeAmount(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong());
+                .when(stockReservationService.hold(ArgumentMatchers.any(Order.class)))
+                .thenReturn(List.of());
 
         BDDMockito
                 .when(orderRepository.save(ArgumentMatchers.any(Order.class)))
@@ -117,10 +157,6 @@ public class OrderServiceTest {
         BDDMockito
                 .when(authUtils.getUserDetails())
                 .thenReturn(new UserDetailsImpl(UUID.randomUUID(), UserCreator.USERNAME, UserCreator.EMAIL, UserCreator.PASSWORD, List.of(new SimpleGrantedAuthority("ADMIN"))));
-
-        BDDMockito
-                .when(notificationService.create(ArgumentMatchers.any(CreateNotificationRequest.class)))
-                .thenReturn(NotificationCreator.createNotificationResponse());
     }
 
     @Test
@@ -228,6 +264,40 @@ public class OrderServiceTest {
         assertThat(orderFound).isNotNull();
 
         assertThat(orderFound.getId()).isEqualTo(expectedOrder.getId());
+
+        BDDMockito
+                .verify(eventPublisher)
+                .publishEvent(ArgumentMatchers.<Object>argThat((event) -> event instanceof OrderStatusChangedEvent
+                        && ((OrderStatusChangedEvent) event).getStatus() == EOrderStatus.WAITING));
+    }
+
+    @Test
+    @DisplayName("create Returns Stored Order When Idempotency Key Was Already Used")
+    @SneakyThrows
+    void create_ReturnsStoredOrder_WhenIdempotencyKeyWasAlreadyUsed() {
+        OrderResponse expectedOrder = createOrderResponse();
+
+        BDDMockito
+                .when(idempotencyService.execute(
+                        ArgumentMatchers.eq("test-key"),
+                        ArgumentMatchers.anyString(),
+                        ArgumentMatchers.any(),
+                        ArgumentMatchers.eq(OrderResponse.class),
+                        ArgumentMatchers.any()
+                ))
+                .thenReturn(expectedOrder);
+
+        OrderResponse orderFound = orderService.create(createCreateOrderRequest(), "test@mail.com", "test-key");
+
+        assertThat(orderFound).isEqualTo(expectedOrder);
+
+        BDDMockito
+                .verify(productService, BDDMockito.never())
+                .findAllBySlug(ArgumentMatchers.anyCollection());
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.never())
+                .createPaymentLink(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
     }
 
     @Test
@@ -236,18 +306,23 @@ public class OrderServiceTest {
     void create_PersistsOrder_WhenProductHasDiscount() {
         Product product = createProduct();
         product.setDiscount(10);
+        product.updateEffectivePrice();
 
         Order order = createOrder();
-        order.setProducts(List.of(product));
+        order.setItems(List.of(createOrderItem(order, product, 1)));
 
         BDDMockito
-                .when(productService.findBySlug(ArgumentMatchers.anyString()))
-                .thenReturn(product);
+                .when(productService.findAllBySlug(ArgumentMatchers.anyCollection()))
+                .thenReturn(Map.of("test-slug", product));
 
         BDDMockito
                 .when(orderRepository.save(ArgumentMatchers.any(Order.class)))
                 .thenReturn(order);
 
+        BDDMockito
+                .when(orderRepository.saveAndFlush(ArgumentMatchers.any(Order.class)))
+                .thenReturn(order);
+
         OrderResponse expectedOrder = createOrderResponse();
 
         OrderResponse orderFound = orderService.create(createCreateOrderRequest(), "test@mail.com");
@@ -261,6 +336,43 @@ public class OrderServiceTest {
         assertThat(orderFound.getProducts().get(0)).isNotNull();
 
         assertThat(orderFound.getProducts().get(0).getDiscount()).isEqualTo(10);
+
+        BDDMockito
+                .verify(orderRepository)
+                .saveAndFlush(ArgumentMatchers.argThat((Order saved) -> saved.getPrice().compareTo(new BigDecimal(90)) == 0));
+    }
+
+    @Test
+    @DisplayName("create Charges Unrounded Discounted Price When Discount Has Sub Cent Digits")
+    @SneakyThrows
+    void create_ChargesUnroundedDiscountedPrice_WhenDiscountHasSubCentDigits() {
+        Product product = createProduct();
+        product.setPrice(new BigDecimal("19.99"));
+        product.setDiscount(15);
+        product.updateEffectivePrice();
+
+        Order order = createOrder();
+        order.setItems(List.of(createOrderItem(order, product, 1)));
+
+        BDDMockito
+                .when(productService.findAllBySlug(ArgumentMatchers.anyCollection()))
+                .thenReturn(Map.of("test-slug", product));
+
+        BDDMockito
+                .when(orderRepository.save(ArgumentMatchers.any(Order.class)))
+                .thenReturn(order);
+
+        BDDMockito
+                .when(orderRepository.saveAndFlush(ArgumentMatchers.any(Order.class)))
+                .thenReturn(order);
+
+        orderService.create(createCreateOrderRequest(), "test@mail.com");
+
+        assertThat(product.getEffectivePrice()).isEqualByComparingTo("16.99");
+
+        BDDMockito
+                .verify(orderRepository)
+                .saveAndFlush(ArgumentMatchers.argThat((Order saved) -> saved.getPrice().compareTo(new BigDecimal("169.915")) == 0));
     }
 
     @Test
@@ -270,8 +382,8 @@ public class OrderServiceTest {
         product.setActive(false);
 
         BDDMockito
-                .when(productService.findBySlug(ArgumentMatchers.anyString()))
-                .thenReturn(product);
+                .when(productService.findAllBySlug(ArgumentMatchers.anyCollection()))
+                .thenReturn(Map.of("test-slug", product));
 
         assertThatExceptionOfType(InactiveProductOnOrderException.class)
                 .isThrownBy(() -> orderService.create(createCreateOrderRequest(), "test@mail.com"));
@@ -284,13 +396,48 @@ public class OrderServiceTest {
         product.setAmount(0);
 
         BDDMockito
-                .when(productService.findBySlug(ArgumentMatchers.anyString()))
-                .thenReturn(product);
+                .when(productService.findAllBySlug(ArgumentMatchers.anyCollection()))
+                .thenReturn(Map.of("test-slug", product));
 
         assertThatExceptionOfType(ProductOverflowAmountException.class)
                 .isThrownBy(() -> orderService.create(createCreateOrderRequest(), "test@mail.com"));
     }
 
+    @Test
+    @DisplayName("create Throws ProductOverflowAmountException When Stock Is Taken Concurrently")
+    void create_ThrowsProductOverflowAmountException_WhenStockIsTakenConcurrently() {
+        BDDMockito
+                .when(stockReservationService.hold(ArgumentMatchers.any(Order.class)))
+                .thenThrow(new ProductOverflowAmountException("test-slug", 0));
+
+        assertThatExceptionOfType(ProductOverflowAmountException.class)
+                .isThrownBy(() -> orderService.create(createCreateOrderRequest(), "test@mail.com"));
+    }
+
+    @Test
+    @DisplayName("create Releases Reserved Stock When Payment Link Creation Fails")
+    @SneakyThrows
+    void create_ReleasesReservedStock_WhenPaymentLinkCreationFails() {
+        BDDMockito
+                .when(stripeService.createPaymentLink(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.anyString()))
+                .thenThrow(new ApiConnectionException("Stripe is unavailable"));
+
+        assertThatExceptionOfType(ApiConnectionException.class)
+                .isThrownBy(() -> orderService.create(createCreateOrderRequest(), "test@mail.com"));
+
+        BDDMockito
+                .verify(stockReservationService)
+                .release(ArgumentMatchers.any(Order.class));
+
+        BDDMockito
+                .verify(orderRepository)
+                .save(ArgumentMatchers.argThat((order) -> order.getStatus() == EOrderStatus.CANCELED));
+
+        BDDMockito
+                .verify(eventPublisher, BDDMockito.never())
+                .publishEvent(ArgumentMatchers.any(Object.class));
+    }
+
     @Test
     @DisplayName("cancelOrder Updates Order Status When Successful")
     void cancelOrder_UpdatesOrderStatus_WhenSuccessful() {
@@ -302,6 +449,20 @@ public class OrderServiceTest {
                 .doesNotThrowAnyException();
     }
 
+    @Test
+    @DisplayName("cancelOrder Releases Stock Reservation When Successful")
+    void cancelOrder_ReleasesStockReservation_WhenSuccessful() {
+        BDDMockito
+                .when(authUtils.isOwnerOrAdmin(ArgumentMatchers.anyString()))
+                .thenReturn(true);
+
+        orderService.cancelOrder(UUID.randomUUID().toString());
+
+        BDDMockito
+                .verify(stockReservationService)
+                .release(ArgumentMatchers.any(Order.class));
+    }
+
     @Test
     @DisplayName("cancelOrder Throws OrderStatusException When Order Already Delivered")
     void cancelOrder_ThrowsOrderStatusException_WhenOrderAlreadyDelivered() {
@@ -337,10 +498,107 @@ public class OrderServiceTest {
     @Test
     @DisplayName("adminChangeStatus Updates Order Status When Successful")
     void adminChangeStatus_UpdatesOrderStatus_WhenSuccessful() {
-        assertThatCode(() -> orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.ON_THE_WAY, "message-error"))
+        assertThatCode(() -> orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.PAID, "message-error"))
                 .doesNotThrowAnyException();
     }
 
+    @Test
+    @DisplayName("adminChangeStatus Confirms Stock Reservation When Order Is Paid")
+    void adminChangeStatus_ConfirmsStockReservation_WhenOrderIsPaid() {
+        orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.PAID, "message-error");
+
+        BDDMockito
+                .verify(stockReservationService)
+                .confirm(ArgumentMatchers.any(Order.class));
+
+        BDDMockito
+                .verify(stockReservationService, BDDMockito.never())
+                .release(ArgumentMatchers.any(Order.class));
+    }
+
+    @Test
+    @DisplayName("adminChangeStatus Throws OrderStatusException When Waiting Order Skips Payment Status")
+    void adminChangeStatus_ThrowsOrderStatusException_WhenWaitingOrderSkipsPaymentStatus() {
+        assertThatExceptionOfType(OrderStatusException.class)
+                .isThrownBy(() -> orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.SHIPPED, "message-error"));
+
+        BDDMockito
+                .verify(stockReservationService, BDDMockito.never())
+                .confirm(ArgumentMatchers.any(Order.class));
+    }
+
+    @Test
+    @DisplayName("cancelOrder Throws OrderStatusException When Order Was Already Shipped")
+    void cancelOrder_ThrowsOrderStatusException_WhenOrderWasAlreadyShipped() {
+        Order order = createOrder();
+        order.setStatus(EOrderStatus.SHIPPED);
+
+        BDDMockito
+                .when(orderRepository.findById(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(Optional.of(order));
+
+        BDDMockito
+                .when(authUtils.isOwnerOrAdmin(ArgumentMatchers.anyString()))
+                .thenReturn(true);
+
+        assertThatExceptionOfType(OrderStatusException.class)
+                .isThrownBy(() -> orderService.cancelOrder(UUID.randomUUID().toString()));
+
+        BDDMockito
+                .verify(stockReservationService, BDDMockito.never())
+                .release(ArgumentMatchers.any(Order.class));
+    }
+
+    @Test
+    @DisplayName("adminChangeStatus Does Not Confirm Stock Reservation Again When Order Was Already Paid")
+    void adminChangeStatus_DoesNotConfirmStockReservationAgain_WhenOrderWasAlreadyPaid() {
+        Order order = createOrder();
+        order.setStatus(EOrderStatus.PAID);
+
+        BDDMockito
+                .when(orderRepository.findById(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(Optional.of(order));
+
+        orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.SHIPPED, "message-error");
+
+        BDDMockito
+                .verify(stockReservationService, BDDMockito.never())
+                .confirm(ArgumentMatchers.any(Order.class));
+    }
+
+    @Test
+    @DisplayName("cancelOrder Releases Stock Reservation When Order Was Already Paid")
+    void cancelOrder_ReleasesStockReservation_WhenOrderWasAlreadyPaid() {
+        Order order = createOrder();
+        order.setStatus(EOrderStatus.PAID);
+
+        BDDMockito
+                .when(orderRepository.findById(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(Optional.of(order));
+
+        BDDMockito
+                .when(authUtils.isOwnerOrAdmin(ArgumentMatchers.anyString()))
+                .thenReturn(true);
+
+        orderService.cancelOrder(UUID.randomUUID().toString());
+
+        BDDMockito
+                .verify(stockReservationService)
+                .release(order);
+    }
+
+    @Test
+    @DisplayName("adminChangeStatus Publishes Previous And New Status When Successful")
+    void adminChangeStatus_PublishesPreviousAndNewStatus_WhenSuccessful() {
+        orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.PAID, "message-error");
+
+        BDDMockito
+                .verify(eventPublisher)
+                .publishEvent(ArgumentMatchers.<Object>argThat((event) -> event instanceof OrderStatusChangedEvent
+                        && ((OrderStatusChangedEvent) event).getPreviousStatus() == EOrderStatus.WAITING
+                        && ((OrderStatusChangedEvent) event).getStatus() == EOrderStatus.PAID));
+    }
+
     @Test
     @DisplayName("adminChangeStatus Throws OrderStatusException When Order Already Canceled")
     void adminChangeStatus_ThrowsOrderStatusException_WhenOrderAlreadyCanceled() {
@@ -355,4 +613,286 @@ public class OrderServiceTest {
                 .isThrownBy(() -> orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.ON_THE_WAY, "message-error"));
     }
 
+    @Test
+    @DisplayName("adminChangeStatus Moves Order Stats To New Status When Successful")
+    void adminChangeStatus_MovesOrderStatsToNewStatus_WhenSuccessful() {
+        orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.PAID, "message-error");
+
+        BDDMockito
+                .verify(orderStatsService)
+                .move(ArgumentMatchers.argThat((order) -> order.getStatus().equals(EOrderStatus.PAID)), ArgumentMatchers.eq(EOrderStatus.WAITING));
+    }
+
+    @Test
+    @DisplayName("stats Returns Last Year Of Stats When Period Is Not Informed")
+    void stats_ReturnsLastYearOfStats_WhenPeriodIsNotInformed() {
+        LocalDate today = LocalDate.now();
+
+        orderService.stats(null, null, null);
+
+        BDDMockito
+                .verify(orderStatsService)
+                .findDaily(today.minusYears(1).plusDays(1), today, null);
+    }
+
+    @Test
+    @DisplayName("stats Throws BadRequestException When From Is After To")
+    void stats_ThrowsBadRequestException_WhenFromIsAfterTo() {
+        LocalDate today = LocalDate.now();
+
+        assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> orderService.stats(today, today.minusDays(1), null));
+    }
+
+    @Test
+    @DisplayName("adminChangeStatus Throws OrderStatusException When Transition Is Not Allowed")
+    void adminChangeStatus_ThrowsOrderStatusException_WhenTransitionIsNotAllowed() {
+        Order order = createOrder();
+        order.setStatus(EOrderStatus.DELIVERED);
+
+        BDDMockito
+                .when(orderRepository.findById(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(Optional.of(order));
+
+        assertThatExceptionOfType(OrderStatusException.class)
+                .isThrownBy(() -> orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.SHIPPED, "message-error"));
+
+        BDDMockito
+                .verify(orderRepository, BDDMockito.never())
+                .changeStatus(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("adminChangeStatus Throws OrderStatusConflictException When Status Changes Concurrently")
+    void adminChangeStatus_ThrowsOrderStatusConflictException_WhenStatusChangesConcurrently() {
+        BDDMockito
+                .when(orderRepository.changeStatus(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any()))
+                .thenReturn(0);
+
+        assertThatExceptionOfType(OrderStatusConflictException.class)
+                .isThrownBy(() -> orderService.adminChangeStatus(UUID.randomUUID().toString(), EOrderStatus.PAID, "message-error"));
+
+        BDDMockito
+                .verify(stockReservationService, BDDMockito.never())
+                .confirm(ArgumentMatchers.any(Order.class));
+
+        BDDMockito
+                .verify(eventPublisher, BDDMockito.never())
+                .publishEvent(ArgumentMatchers.any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("bulkChangeStatus Changes Valid Orders And Reports Failures When Successful")
+    void bulkChangeStatus_ChangesValidOrdersAndReportsFailures_WhenSuccessful() {
+        UUID waitingId = UUID.randomUUID();
+        UUID canceledId = UUID.randomUUID();
+        UUID shippedId = UUID.randomUUID();
+        UUID notFoundId = UUID.randomUUID();
+
+        BDDMockito
+                .when(orderRepository.findAllStatusesByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(
+                        createOrderStatusView(waitingId, EOrderStatus.PAID, LocalDateTime.now()),
+                        createOrderStatusView(canceledId, EOrderStatus.CANCELED, LocalDateTime.now()),
+                        createOrderStatusView(shippedId, EOrderStatus.SHIPPED, LocalDateTime.now())
+                ));
+
+        BDDMockito
+                .when(orderRepository.changeStatusByIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any()))
+                .thenReturn(1);
+
+        ChangeOrdersStatusRequest request = ChangeOrdersStatusRequest
+                .builder()
+                .ids(List.of(waitingId.toString(), canceledId.toString(), shippedId.toString(), notFoundId.toString(), "invalid-id"))
+                .status(EOrderStatus.SHIPPED)
+                .build();
+
+        ChangeOrdersStatusResponse response = orderService.bulkChangeStatus(request);
+
+        assertThat(response.getChanged()).isEqualTo(1);
+
+        assertThat(response.getFailed()).isEqualTo(4);
+
+        assertThat(response.getResults())
+                .extracting(OrderStatusChangeResponse::getId, OrderStatusChangeResponse::isSuccess)
+                .containsExactly(
+                        tuple(waitingId.toString(), true),
+                        tuple(canceledId.toString(), false),
+                        tuple(shippedId.toString(), false),
+                        tuple(notFoundId.toString(), false),
+                        tuple("invalid-id", false)
+                );
+
+        BDDMockito
+                .verify(orderRepository)
+                .changeStatusByIdIn(ArgumentMatchers.eq(List.of(waitingId)), ArgumentMatchers.eq(EOrderStatus.PAID), ArgumentMatchers.eq(EOrderStatus.SHIPPED), ArgumentMatchers.any());
+
+        BDDMockito
+                .verify(orderSummaryService)
+                .syncStatus(Set.of(waitingId), EOrderStatus.SHIPPED);
+
+        BDDMockito
+                .verify(orderStatsService)
+                .moveAll(ArgumentMatchers.argThat((orders) -> orders.size() == 1), ArgumentMatchers.eq(EOrderStatus.SHIPPED));
+
+        BDDMockito
+                .verify(eventPublisher)
+                .publishEvent(ArgumentMatchers.any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("bulkChangeStatus Reports Failure When Waiting Order Skips Payment Status")
+    void bulkChangeStatus_ReportsFailure_WhenWaitingOrderSkipsPaymentStatus() {
+        UUID waitingId = UUID.randomUUID();
+
+        BDDMockito
+                .when(orderRepository.findAllStatusesByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(createOrderStatusView(waitingId, EOrderStatus.WAITING, LocalDateTime.now())));
+
+        ChangeOrdersStatusResponse response = orderService.bulkChangeStatus(ChangeOrdersStatusRequest
+                .builder()
+                .ids(List.of(waitingId.toString()))
+                .status(EOrderStatus.SHIPPED)
+                .build());
+
+        assertThat(response.getChanged()).isZero();
+
+        assertThat(response.getFailed()).isEqualTo(1);
+
+        BDDMockito
+                .verify(orderRepository, BDDMockito.never())
+                .changeStatusByIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("bulkChangeStatus Throws OrderStatusException When Status Is Not A Fulfilment Status")
+    void bulkChangeStatus_ThrowsOrderStatusException_WhenStatusIsNotAFulfilmentStatus() {
+        ChangeOrdersStatusRequest request = ChangeOrdersStatusRequest
+                .builder()
+                .ids(List.of(UUID.randomUUID().toString()))
+                .status(EOrderStatus.CANCELED)
+                .build();
+
+        assertThatExceptionOfType(OrderStatusException.class)
+                .isThrownBy(() -> orderService.bulkChangeStatus(request));
+
+        BDDMockito
+                .verify(orderRepository, BDDMockito.never())
+                .changeStatusByIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("bulkChangeStatus Reports Conflict When Order Status Changes Concurrently")
+    void bulkChangeStatus_ReportsConflict_WhenOrderStatusChangesConcurrently() {
+        UUID id = UUID.randomUUID();
+
+        BDDMockito
+                .when(orderRepository.findAllStatusesByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(createOrderStatusView(id, EOrderStatus.PAID, LocalDateTime.now())));
+
+        BDDMockito
+                .when(orderRepository.changeStatusByIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any()))
+                .thenReturn(0);
+
+        ChangeOrdersStatusRequest request = ChangeOrdersStatusRequest
+                .builder()
+                .ids(List.of(id.toString()))
+                .status(EOrderStatus.SHIPPED)
+                .build();
+
+        ChangeOrdersStatusResponse response = orderService.bulkChangeStatus(request);
+
+        assertThat(response.getChanged()).isZero();
+
+        assertThat(response.getResults()).extracting(OrderStatusChangeResponse::isSuccess).containsExactly(false);
+
+        BDDMockito
+                .verify(eventPublisher, BDDMockito.never())
+                .publishEvent(ArgumentMatchers.any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("expireWaiting Cancels Stale Orders And Releases Their Stock When Successful")
+    void expireWaiting_CancelsStaleOrdersAndReleasesTheirStock_WhenSuccessful() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdBefore = LocalDateTime.now().minusDays(1);
+
+        BDDMockito
+                .when(orderRepository.findAllStatusesByStatusAndCreatedAtBefore(ArgumentMatchers.eq(EOrderStatus.WAITING), ArgumentMatchers.eq(createdBefore), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(createOrderStatusView(id, EOrderStatus.WAITING, createdBefore.minusDays(1))));
+
+        BDDMockito
+                .when(orderRepository.changeStatusByIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any()))
+                .thenReturn(1);
+
+        List<OrderStatusView> expired = orderService.expireWaiting(createdBefore, 100);
+
+        assertThat(expired).extracting(OrderStatusView::getId).containsExactly(id);
+
+        BDDMockito
+                .verify(orderRepository)
+                .changeStatusByIdIn(ArgumentMatchers.eq(List.of(id)), ArgumentMatchers.eq(EOrderStatus.WAITING), ArgumentMatchers.eq(EOrderStatus.CANCELED), ArgumentMatchers.any());
+
+        BDDMockito
+                .verify(stockReservationService)
+                .releaseAll(Set.of(id));
+
+        BDDMockito
+                .verify(orderSummaryService)
+                .syncStatus(Set.of(id), EOrderStatus.CANCELED);
+
+        BDDMockito
+                .verify(stripeOutboxService)
+                .deactivatePaymentLink("plink_" + id);
+
+        BDDMockito
+                .verify(eventPublisher)
+                .publishEvent(ArgumentMatchers.any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("expireWaiting Skips Order When Order Status Changes Concurrently")
+    void expireWaiting_SkipsOrder_WhenOrderStatusChangesConcurrently() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdBefore = LocalDateTime.now().minusDays(1);
+
+        BDDMockito
+                .when(orderRepository.findAllStatusesByStatusAndCreatedAtBefore(ArgumentMatchers.eq(EOrderStatus.WAITING), ArgumentMatchers.eq(createdBefore), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(createOrderStatusView(id, EOrderStatus.WAITING, createdBefore.minusDays(1))));
+
+        BDDMockito
+                .when(orderRepository.findAllStatusesByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(createOrderStatusView(id, EOrderStatus.PAID, createdBefore.minusDays(1))));
+
+        BDDMockito
+                .when(orderRepository.changeStatusByIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any()))
+                .thenReturn(0);
+
+        List<OrderStatusView> expired = orderService.expireWaiting(createdBefore, 100);
+
+        assertThat(expired).isEmpty();
+
+        BDDMockito
+                .verify(stockReservationService, BDDMockito.never())
+                .releaseAll(ArgumentMatchers.anyCollection());
+
+        BDDMockito
+                .verify(stripeOutboxService, BDDMockito.never())
+                .deactivatePaymentLink(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("expireWaiting Returns Empty List When There Is No Stale Order")
+    void expireWaiting_ReturnsEmptyList_WhenThereIsNoStaleOrder() {
+        BDDMockito
+                .when(orderRepository.findAllStatusesByStatusAndCreatedAtBefore(ArgumentMatchers.any(EOrderStatus.class), ArgumentMatchers.any(LocalDateTime.class), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertThat(orderService.expireWaiting(LocalDateTime.now(), 100)).isEmpty();
+
+        BDDMockito
+                .verify(orderRepository, BDDMockito.never())
+                .changeStatusByIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
 }
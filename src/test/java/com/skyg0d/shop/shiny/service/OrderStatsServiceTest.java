@@ -0,0 +1,219 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.OrderDailyStats;
+import com.skyg0d.shop.shiny.payload.response.OrderStatsResponse;
+import com.skyg0d.shop.shiny.repository.OrderDailyStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for OrderStatsService")
+public class OrderStatsServiceTest {
+
+    @InjectMocks
+    OrderStatsService orderStatsService;
+
+    @Mock
+    OrderDailyStatsRepository orderDailyStatsRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        BDDMockito
+                .when(orderDailyStatsRepository.findAllByDayBetweenOrderByDayAscStatusAsc(ArgumentMatchers.any(LocalDate.class), ArgumentMatchers.any(LocalDate.class)))
+                .thenReturn(List.of(createOrderDailyStats(), createOrderDailyStats()));
+
+        BDDMockito
+                .when(orderDailyStatsRepository.existsByDayAndStatus(ArgumentMatchers.any(LocalDate.class), ArgumentMatchers.any(EOrderStatus.class)))
+                .thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("findDaily Returns Days And Totals Of Period When Successful")
+    void findDaily_ReturnsDaysAndTotalsOfPeriod_WhenSuccessful() {
+        OrderDailyStats expectedStats = createOrderDailyStats();
+
+        OrderStatsResponse stats = orderStatsService.findDaily(LocalDate.now().minusYears(1), LocalDate.now(), null);
+
+        assertThat(stats.getDays()).hasSize(2);
+
+        assertThat(stats.getOrderCount()).isEqualTo(expectedStats.getOrderCount() * 2);
+
+        assertThat(stats.getRevenue()).isEqualByComparingTo(expectedStats.getRevenue().multiply(new BigDecimal(2)));
+
+        assertThat(stats.getUnits()).isEqualTo(expectedStats.getUnits() * 2);
+    }
+
+    @Test
+    @DisplayName("add Increments Row Of Order Day And Status When Row Exists")
+    void add_IncrementsRowOfOrderDayAndStatus_WhenRowExists() {
+        Order order = createPlacedOrder();
+
+        orderStatsService.add(order);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .increment(order.getCreatedAt().toLocalDate(), EOrderStatus.WAITING, 1, order.getPrice(), 1);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository, BDDMockito.never())
+                .saveAndFlush(ArgumentMatchers.any(OrderDailyStats.class));
+    }
+
+    @Test
+    @DisplayName("add Creates Row Before Incrementing When Row Does Not Exist")
+    void add_CreatesRowBeforeIncrementing_WhenRowDoesNotExist() {
+        Order order = createPlacedOrder();
+
+        BDDMockito
+                .when(orderDailyStatsRepository.existsByDayAndStatus(ArgumentMatchers.any(LocalDate.class), ArgumentMatchers.any(EOrderStatus.class)))
+                .thenReturn(false);
+
+        orderStatsService.add(order);
+
+        ArgumentCaptor<OrderDailyStats> statsCaptor = ArgumentCaptor.forClass(OrderDailyStats.class);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .saveAndFlush(statsCaptor.capture());
+
+        assertThat(statsCaptor.getValue().getOrderCount()).isZero();
+
+        assertThat(statsCaptor.getValue().getRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .increment(order.getCreatedAt().toLocalDate(), EOrderStatus.WAITING, 1, order.getPrice(), 1);
+    }
+
+    @Test
+    @DisplayName("move Moves Order From Previous Status To Current Status When Successful")
+    void move_MovesOrderFromPreviousStatusToCurrentStatus_WhenSuccessful() {
+        Order order = createPlacedOrder();
+        order.setStatus(EOrderStatus.PAID);
+
+        LocalDate day = order.getCreatedAt().toLocalDate();
+
+        orderStatsService.move(order, EOrderStatus.WAITING);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .increment(day, EOrderStatus.WAITING, -1, order.getPrice().negate(), -1);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .increment(day, EOrderStatus.PAID, 1, order.getPrice(), 1);
+    }
+
+    @Test
+    @DisplayName("moveAll Moves Orders Grouped By Day And Previous Status When Successful")
+    void moveAll_MovesOrdersGroupedByDayAndPreviousStatus_WhenSuccessful() {
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        orderStatsService.moveAll(List.of(
+                createOrderStatusView(UUID.randomUUID(), EOrderStatus.PAID, createdAt),
+                createOrderStatusView(UUID.randomUUID(), EOrderStatus.PAID, createdAt)
+        ), EOrderStatus.SHIPPED);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .increment(createdAt.toLocalDate(), EOrderStatus.PAID, -2, new BigDecimal(20).negate(), -4);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .increment(createdAt.toLocalDate(), EOrderStatus.SHIPPED, 2, new BigDecimal(20), 4);
+    }
+
+    @Test
+    @DisplayName("rebuild Overwrites Rows Of Each Day With Aggregates Of Orders When Successful")
+    @SuppressWarnings("unchecked")
+    void rebuild_OverwritesRowsOfEachDayWithAggregatesOfOrders_WhenSuccessful() {
+        LocalDate day = LocalDate.now();
+
+        OrderDailyStats staleStats = createOrderDailyStats();
+        staleStats.setDay(day);
+        staleStats.setStatus(EOrderStatus.CANCELED);
+
+        BDDMockito
+                .when(orderDailyStatsRepository.findAllOrderDays())
+                .thenReturn(List.of(Date.valueOf(day)));
+
+        BDDMockito
+                .when(orderDailyStatsRepository.findAllByDay(day))
+                .thenReturn(List.of(staleStats));
+
+        BDDMockito
+                .when(orderDailyStatsRepository.sumOrdersByStatusBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .thenReturn(List.<Object[]>of(new Object[]{EOrderStatus.PAID, 3L, new BigDecimal(30)}));
+
+        BDDMockito
+                .when(orderDailyStatsRepository.sumUnitsByStatusBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .thenReturn(List.<Object[]>of(new Object[]{EOrderStatus.PAID, 7L}));
+
+        orderStatsService.rebuild();
+
+        ArgumentCaptor<Iterable<OrderDailyStats>> statsCaptor = ArgumentCaptor.forClass(Iterable.class);
+
+        BDDMockito
+                .verify(orderDailyStatsRepository, BDDMockito.never())
+                .deleteAllInBatch();
+
+        BDDMockito
+                .verify(orderDailyStatsRepository)
+                .saveAll(statsCaptor.capture());
+
+        assertThat(statsCaptor.getValue())
+                .hasSize(2)
+                .anySatisfy((stats) -> {
+                    assertThat(stats.getStatus()).isEqualTo(EOrderStatus.PAID);
+
+                    assertThat(stats.getDay()).isEqualTo(day);
+
+                    assertThat(stats.getOrderCount()).isEqualTo(3);
+
+                    assertThat(stats.getRevenue()).isEqualByComparingTo(new BigDecimal(30));
+
+                    assertThat(stats.getUnits()).isEqualTo(7);
+                })
+                .anySatisfy((stats) -> {
+                    assertThat(stats.getStatus()).isEqualTo(EOrderStatus.CANCELED);
+
+                    assertThat(stats.getOrderCount()).isZero();
+
+                    assertThat(stats.getRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+
+                    assertThat(stats.getUnits()).isZero();
+                });
+    }
+
+    private Order createPlacedOrder() {
+        Order order = createOrder();
+        order.setCreatedAt(LocalDateTime.now());
+
+        return order;
+    }
+
+}
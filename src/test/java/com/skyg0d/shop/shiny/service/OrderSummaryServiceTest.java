@@ -0,0 +1,180 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.model.EOrderStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import com.skyg0d.shop.shiny.model.User;
+import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.repository.OrderRepository;
+import com.skyg0d.shop.shiny.repository.OrderSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for OrderSummaryService")
+public class OrderSummaryServiceTest {
+
+    @InjectMocks
+    OrderSummaryService orderSummaryService;
+
+    @Mock
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        PageImpl<OrderSummary> summariesPage = new PageImpl<>(List.of(createOrderSummary()));
+
+        BDDMockito
+                .when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer((invocation) -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        BDDMockito
+                .when(orderSummaryRepository.findAll(ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(summariesPage);
+
+        BDDMockito
+                .when(orderSummaryRepository.findAllByUserEmail(ArgumentMatchers.any(Pageable.class), ArgumentMatchers.anyString()))
+                .thenReturn(summariesPage);
+
+        BDDMockito
+                .when(orderSummaryRepository.findAll(ArgumentMatchers.<Specification<OrderSummary>>any(), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(summariesPage);
+
+        BDDMockito
+                .when(orderSummaryRepository.findByOrderId(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("listAll Returns List Of Orders Inside Page Object When Successful")
+    void listAll_ReturnsListOfOrdersInsidePageObject_WhenSuccessful() {
+        OrderResponse expectedOrder = createOrderResponse();
+
+        Page<OrderResponse> ordersPage = orderSummaryService.listAll(PageRequest.of(0, 1));
+
+        assertThat(ordersPage).isNotEmpty();
+
+        assertThat(ordersPage.getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
+
+        assertThat(ordersPage.getContent().get(0).getProducts()).isEqualTo(expectedOrder.getProducts());
+
+        assertThat(ordersPage.getContent().get(0).getUser().getEmail()).isEqualTo(expectedOrder.getUser().getEmail());
+    }
+
+    @Test
+    @DisplayName("listAllByUser Returns List Of Orders Inside Page Object When Successful")
+    void listAllByUser_ReturnsListOfOrdersInsidePageObject_WhenSuccessful() {
+        OrderResponse expectedOrder = createOrderResponse();
+
+        Page<OrderResponse> ordersPage = orderSummaryService.listAllByUser(PageRequest.of(0, 1), "some-email");
+
+        assertThat(ordersPage).isNotEmpty();
+
+        assertThat(ordersPage.getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
+    }
+
+    @Test
+    @DisplayName("search Returns List Of Orders Inside Page Object When Successful")
+    void search_ReturnsListOfOrdersInsidePageObject_WhenSuccessful() {
+        OrderResponse expectedOrder = createOrderResponse();
+
+        Page<OrderResponse> ordersPage = orderSummaryService.search(createOrderParameterSearch(), PageRequest.of(0, 1));
+
+        assertThat(ordersPage).isNotEmpty();
+
+        assertThat(ordersPage.getContent().get(0).getId()).isEqualTo(expectedOrder.getId());
+    }
+
+    @Test
+    @DisplayName("sync Creates Summary When Order Has No Summary")
+    void sync_CreatesSummary_WhenOrderHasNoSummary() {
+        Order order = createOrder();
+
+        orderSummaryService.sync(order);
+
+        BDDMockito
+                .verify(orderSummaryRepository)
+                .save(ArgumentMatchers.argThat((summary) -> summary.getId() == null
+                        && summary.getOrderId().equals(order.getId())
+                        && summary.getLines().size() == order.getItems().size()
+                        && summary.getUserEmail().equals(order.getUser().getEmail())));
+    }
+
+    @Test
+    @DisplayName("syncUser Updates Summaries Of User When Successful")
+    void syncUser_UpdatesSummariesOfUser_WhenSuccessful() {
+        User user = createOrder().getUser();
+
+        orderSummaryService.syncUser(user);
+
+        BDDMockito
+                .verify(orderSummaryRepository)
+                .updateUserByUserEmail(ArgumentMatchers.eq(user.getEmail()), ArgumentMatchers.eq(user.getUsername()), ArgumentMatchers.eq(user.getFullName()), ArgumentMatchers.any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("sync Updates Existing Summary When Order Already Has Summary")
+    void sync_UpdatesExistingSummary_WhenOrderAlreadyHasSummary() {
+        OrderSummary summary = createOrderSummary();
+        summary.setId(UUID.randomUUID());
+
+        BDDMockito
+                .when(orderSummaryRepository.findByOrderId(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(Optional.of(summary));
+
+        Order order = createOrder();
+        order.setStatus(EOrderStatus.PAID);
+        order.setPaymentLink(null);
+
+        orderSummaryService.sync(order);
+
+        BDDMockito
+                .verify(orderSummaryRepository)
+                .save(ArgumentMatchers.argThat((summarySaved) -> summarySaved.getId().equals(summary.getId())
+                        && summarySaved.getStatus() == EOrderStatus.PAID
+                        && summarySaved.getPaymentUrl() == null));
+    }
+
+    @Test
+    @DisplayName("backfill Creates Summaries For Orders Without Summary When Successful")
+    void backfill_CreatesSummariesForOrdersWithoutSummary_WhenSuccessful() {
+        BDDMockito
+                .when(orderRepository.findAllWithoutSummary(ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(createOrder()));
+
+        orderSummaryService.backfill();
+
+        BDDMockito
+                .verify(orderSummaryRepository)
+                .save(ArgumentMatchers.any(OrderSummary.class));
+    }
+
+}
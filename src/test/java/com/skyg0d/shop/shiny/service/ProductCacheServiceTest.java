@@ -0,0 +1,107 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
+import com.skyg0d.shop.shiny.property.ProductCacheProps;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for ProductCacheService")
+public class ProductCacheServiceTest {
+
+    ProductCacheService productCacheService;
+
+    MeterRegistry meterRegistry;
+
+    AtomicInteger loads;
+
+    Function<String, UserProductResponse> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        productCacheService = new ProductCacheService(new ProductCacheProps(2, Duration.ofMinutes(5)), meterRegistry);
+
+        loads = new AtomicInteger();
+
+        loader = (slug) -> {
+            loads.incrementAndGet();
+
+            return UserProductResponse.builder().slug(slug).build();
+        };
+    }
+
+    @Test
+    @DisplayName("get Loads Product Once When Product Is Cached")
+    void get_LoadsProductOnce_WhenProductIsCached() {
+        UserProductResponse firstProduct = productCacheService.get("test-product", loader);
+        UserProductResponse secondProduct = productCacheService.get("test-product", loader);
+
+        assertThat(secondProduct).isSameAs(firstProduct);
+
+        assertThat(loads).hasValue(1);
+
+        assertThat(meterRegistry.get("shop.product.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+
+        assertThat(meterRegistry.get("shop.product.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get Reloads Product When Product Was Evicted")
+    void get_ReloadsProduct_WhenProductWasEvicted() {
+        productCacheService.get("test-product", loader);
+
+        productCacheService.evict("test-product");
+
+        productCacheService.get("test-product", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("get Evicts Least Recently Used Product When Cache Is Full")
+    void get_EvictsLeastRecentlyUsedProduct_WhenCacheIsFull() {
+        productCacheService.get("first-product", loader);
+        productCacheService.get("second-product", loader);
+        productCacheService.get("first-product", loader);
+        productCacheService.get("third-product", loader);
+
+        productCacheService.get("first-product", loader);
+        productCacheService.get("second-product", loader);
+
+        assertThat(loads).hasValue(4);
+
+        assertThat(meterRegistry.get("shop.product.cache.evictions").tag("cause", "size").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("get Reloads Product When Product Expired")
+    @SneakyThrows
+    void get_ReloadsProduct_WhenProductExpired() {
+        productCacheService = new ProductCacheService(new ProductCacheProps(2, Duration.ofMillis(1)), meterRegistry);
+
+        productCacheService.get("test-product", loader);
+
+        Thread.sleep(5);
+
+        productCacheService.get("test-product", loader);
+
+        assertThat(loads).hasValue(2);
+
+        assertThat(meterRegistry.get("shop.product.cache.evictions").tag("cause", "expired").counter().count()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,254 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyg0d.shop.shiny.model.Category;
+import com.skyg0d.shop.shiny.model.EDataFormat;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
+import com.skyg0d.shop.shiny.property.ProductImportProps;
+import com.skyg0d.shop.shiny.repository.CategoryRepository;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.stripe.exception.RateLimitException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.skyg0d.shop.shiny.util.category.CategoryCreator.createCategory;
+import static com.skyg0d.shop.shiny.util.stripe.StripeCreator.createStripePrice;
+import static com.skyg0d.shop.shiny.util.stripe.StripeCreator.createStripeProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for ProductImportService")
+public class ProductImportServiceTest {
+
+    private static final String CSV_HEADER = "slug,name,description,thumbnail,brand,price,amount,categories,images,sizes,features\n";
+
+    ProductImportService productImportService;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    @Mock
+    StripeService stripeService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    Category category;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        category = createCategory();
+
+        productImportService = new ProductImportService(
+                productRepository,
+                categoryRepository,
+                stripeService,
+                new ProductImportProps(2, 3, Duration.ofMillis(1), Duration.ofMillis(2), 1, 1, Duration.ofMinutes(1)),
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new SyncTaskExecutor(),
+                transactionManager
+        );
+
+        BDDMockito
+                .when(productRepository.findAllSlugsBySlugIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(Set.of());
+
+        BDDMockito
+                .when(categoryRepository.findAllBySlugIn(ArgumentMatchers.anyCollection()))
+                .thenAnswer((invocation) -> invocation.<Collection<String>>getArgument(0).contains(category.getSlug()) ? List.of(category) : List.of());
+
+        BDDMockito
+                .when(stripeService.createProduct(ArgumentMatchers.any(CreateProductRequest.class)))
+                .thenReturn(createStripeProduct());
+
+        BDDMockito
+                .when(stripeService.createPrice(ArgumentMatchers.anyString(), ArgumentMatchers.any(BigDecimal.class)))
+                .thenReturn(createStripePrice());
+    }
+
+    @Test
+    @DisplayName("importProducts Saves Products In Batches When Successful")
+    @SuppressWarnings("unchecked")
+    void importProducts_SavesProductsInBatches_WhenSuccessful() {
+        String csv = CSV_HEADER
+                + "first,First,,,Acme,10.5,3," + category.getSlug() + ",a.png;b.png,M;L,\n"
+                + "second,Second,,,Acme,20,1,,,,\n"
+                + "third,\"Third, with comma\",,,Acme,30,1,,,,\n";
+
+        String report = importProducts(csv, EDataFormat.CSV);
+
+        assertThat(report.split("\r\n")).containsExactly(
+                "row,slug,status,error",
+                "1,first,CREATED,",
+                "2,second,CREATED,",
+                "3,third,CREATED,"
+        );
+
+        ArgumentCaptor<List<Product>> captor = ArgumentCaptor.forClass(List.class);
+
+        BDDMockito
+                .verify(productRepository, BDDMockito.times(2))
+                .saveAll(captor.capture());
+
+        BDDMockito
+                .verify(categoryRepository, BDDMockito.times(1))
+                .findAllBySlugIn(ArgumentMatchers.anyCollection());
+
+        assertThat(captor.getAllValues().stream().map(List::size).collect(Collectors.toList())).containsExactly(2, 1);
+
+        Product first = captor.getAllValues().get(0).get(0);
+
+        assertThat(first.getPrice()).isEqualByComparingTo("10.5");
+        assertThat(first.getImages()).containsExactly("a.png", "b.png");
+        assertThat(first.getSizes()).containsExactly("M", "L");
+        assertThat(first.getCategories()).containsExactly(category);
+        assertThat(first.getStripePriceId()).isEqualTo(createStripePrice().getId());
+
+        assertThat(captor.getAllValues().get(1).get(0).getName()).isEqualTo("Third, with comma");
+    }
+
+    @Test
+    @DisplayName("importProducts Reports Failed Rows Without Saving Them When Rows Are Invalid")
+    void importProducts_ReportsFailedRowsWithoutSavingThem_WhenRowsAreInvalid() {
+        BDDMockito
+                .when(productRepository.findAllSlugsBySlugIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(Set.of("existing"));
+
+        String csv = CSV_HEADER
+                + "existing,Existing,,,,10,1,,,,\n"
+                + "unknown,Unknown,,,,10,1,unknown-category,,,\n"
+                + "no-price,No Price,,,,,1,,,,\n"
+                + "no-number,No Number,,,,ten,1,,,,\n";
+
+        String report = importProducts(csv, EDataFormat.CSV);
+
+        assertThat(report.split("\r\n")).containsExactly(
+                "row,slug,status,error",
+                "1,existing,FAILED,Product with slug [existing] already exists",
+                "2,unknown,FAILED,Category not found with slug: unknown-category",
+                "3,no-price,FAILED,price: must not be null",
+                "4,,FAILED,Malformed row: price and amount must be numbers"
+        );
+
+        BDDMockito
+                .verify(productRepository, BDDMockito.never())
+                .saveAll(ArgumentMatchers.anyIterable());
+
+        BDDMockito
+                .verifyNoInteractions(stripeService);
+    }
+
+    @Test
+    @DisplayName("importProducts Neutralizes Report Values When They Start Like A Formula")
+    void importProducts_NeutralizesReportValues_WhenTheyStartLikeAFormula() {
+        String csv = CSV_HEADER + "@SUM(A1),Formula,,,,10,1,unknown-category,,,\n";
+
+        String report = importProducts(csv, EDataFormat.CSV);
+
+        assertThat(report.split("\r\n")).contains("1,\"'@SUM(A1)\",FAILED,Category not found with slug: unknown-category");
+    }
+
+    @Test
+    @DisplayName("importProducts Retries Stripe Calls When Rate Limited")
+    void importProducts_RetriesStripeCalls_WhenRateLimited() throws Exception {
+        BDDMockito
+                .when(stripeService.createProduct(ArgumentMatchers.any(CreateProductRequest.class)))
+                .thenThrow(new RateLimitException("Too many requests", null, null, null, 429, null))
+                .thenReturn(createStripeProduct());
+
+        String report = importProducts("{\"slug\":\"json\",\"name\":\"Json\",\"price\":10,\"amount\":1}\n\n", EDataFormat.NDJSON);
+
+        assertThat(report).isEqualTo("{\"row\":1,\"slug\":\"json\",\"status\":\"CREATED\",\"error\":null}\n");
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(2))
+                .createProduct(ArgumentMatchers.any(CreateProductRequest.class));
+    }
+
+    @Test
+    @DisplayName("importProducts Deactivates Stripe Product When Price Creation Fails")
+    void importProducts_DeactivatesStripeProduct_WhenPriceCreationFails() throws Exception {
+        BDDMockito
+                .when(stripeService.createPrice(ArgumentMatchers.anyString(), ArgumentMatchers.any(BigDecimal.class)))
+                .thenThrow(new RateLimitException("Too many requests", null, null, null, 429, null));
+
+        String report = importProducts(CSV_HEADER + "first,First,,,,10,1,,,,\n", EDataFormat.CSV);
+
+        assertThat(report).contains("1,first,FAILED,Could not create price in Stripe: Too many requests");
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(3))
+                .createPrice(ArgumentMatchers.anyString(), ArgumentMatchers.any(BigDecimal.class));
+
+        BDDMockito
+                .verify(stripeService)
+                .setProductActive(createStripeProduct().getId(), false);
+    }
+
+    @Test
+    @DisplayName("importProducts Fails Only Rejected Row When Batch Save Fails")
+    void importProducts_FailsOnlyRejectedRow_WhenBatchSaveFails() throws Exception {
+        BDDMockito
+                .when(productRepository.saveAll(ArgumentMatchers.anyIterable()))
+                .thenThrow(new DataIntegrityViolationException("Duplicated slug"));
+
+        BDDMockito
+                .when(productRepository.save(ArgumentMatchers.argThat((product) -> product != null && product.getSlug().equals("second"))))
+                .thenThrow(new DataIntegrityViolationException("Duplicated slug"));
+
+        String csv = CSV_HEADER
+                + "first,First,,,,10,1,,,,\n"
+                + "second,Second,,,,20,1,,,,\n";
+
+        String report = importProducts(csv, EDataFormat.CSV);
+
+        assertThat(report.split("\r\n")).containsExactly(
+                "row,slug,status,error",
+                "1,first,CREATED,",
+                "2,second,FAILED,Could not save product: Duplicated slug"
+        );
+
+        BDDMockito
+                .verify(productRepository, BDDMockito.times(2))
+                .save(ArgumentMatchers.any(Product.class));
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(1))
+                .setProductActive(createStripeProduct().getId(), false);
+    }
+
+    private String importProducts(String content, EDataFormat format) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        productImportService.importProducts(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, outputStream);
+
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.exception.ResourceNotFoundException;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.ProductRatingStats;
+import com.skyg0d.shop.shiny.model.Rating;
+import com.skyg0d.shop.shiny.payload.response.ProductRatingStatsResponse;
+import com.skyg0d.shop.shiny.repository.ProductRatingStatsRepository;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.projection.ProductRatingStatsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.SLUG;
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.createProduct;
+import static com.skyg0d.shop.shiny.util.rating.RatingCreator.createRating;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for ProductRatingStatsService")
+public class ProductRatingStatsServiceTest {
+
+    @InjectMocks
+    ProductRatingStatsService productRatingStatsService;
+
+    @Mock
+    ProductRatingStatsRepository productRatingStatsRepository;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = createProduct();
+        product.setId(UUID.randomUUID());
+
+        BDDMockito
+                .when(productRatingStatsRepository.existsByProductId(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(true);
+
+        BDDMockito
+                .when(productRatingStatsRepository.findViewByProductSlug(SLUG))
+                .thenReturn(Optional.of(new ProductRatingStatsView(product.getId(), 4L, 14L, 1L, 0L, 0L, 1L, 2L)));
+
+        BDDMockito
+                .when(productRepository.getReferenceById(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(product);
+    }
+
+    @Test
+    @DisplayName("findByProductSlug Returns Count Average And Histogram When Successful")
+    void findByProductSlug_ReturnsCountAverageAndHistogram_WhenSuccessful() {
+        ProductRatingStatsResponse stats = productRatingStatsService.findByProductSlug(SLUG);
+
+        assertThat(stats.getCount()).isEqualTo(4);
+
+        assertThat(stats.getAverage()).isEqualTo(3.5);
+
+        assertThat(stats.getHistogram()).containsExactly(
+                Map.entry(1, 1L),
+                Map.entry(2, 0L),
+                Map.entry(3, 0L),
+                Map.entry(4, 1L),
+                Map.entry(5, 2L)
+        );
+    }
+
+    @Test
+    @DisplayName("findByProductSlug Returns Empty Stats When Product Has No Ratings")
+    void findByProductSlug_ReturnsEmptyStats_WhenProductHasNoRatings() {
+        BDDMockito
+                .when(productRatingStatsRepository.findViewByProductSlug(SLUG))
+                .thenReturn(Optional.of(new ProductRatingStatsView(product.getId(), null, null, null, null, null, null, null)));
+
+        ProductRatingStatsResponse stats = productRatingStatsService.findByProductSlug(SLUG);
+
+        assertThat(stats.getCount()).isZero();
+
+        assertThat(stats.getAverage()).isZero();
+
+        assertThat(stats.getHistogram()).hasSize(5).containsValues(0L);
+    }
+
+    @Test
+    @DisplayName("findByProductSlug Throws ResourceNotFoundException When Product Not Found")
+    void findByProductSlug_ThrowsResourceNotFoundException_WhenProductNotFound() {
+        BDDMockito
+                .when(productRatingStatsRepository.findViewByProductSlug(SLUG))
+                .thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> productRatingStatsService.findByProductSlug(SLUG));
+    }
+
+    @Test
+    @DisplayName("add Increments Count Sum And Star Bucket When Row Exists")
+    void add_IncrementsCountSumAndStarBucket_WhenRowExists() {
+        Rating rating = createRating(product, null);
+        rating.setStars(4);
+
+        productRatingStatsService.add(rating);
+
+        BDDMockito
+                .verify(productRatingStatsRepository)
+                .increment(product.getId(), 1, 4, 0, 0, 0, 1, 0);
+
+        BDDMockito
+                .verify(productRatingStatsRepository, BDDMockito.never())
+                .saveAndFlush(ArgumentMatchers.any(ProductRatingStats.class));
+    }
+
+    @Test
+    @DisplayName("add Creates Row Before Incrementing When Row Does Not Exist")
+    void add_CreatesRowBeforeIncrementing_WhenRowDoesNotExist() {
+        BDDMockito
+                .when(productRatingStatsRepository.existsByProductId(ArgumentMatchers.any(UUID.class)))
+                .thenReturn(false);
+
+        Rating rating = createRating(product, null);
+        rating.setStars(5);
+
+        productRatingStatsService.add(rating);
+
+        ArgumentCaptor<ProductRatingStats> statsCaptor = ArgumentCaptor.forClass(ProductRatingStats.class);
+
+        BDDMockito
+                .verify(productRatingStatsRepository)
+                .saveAndFlush(statsCaptor.capture());
+
+        assertThat(statsCaptor.getValue().getProduct()).isEqualTo(product);
+
+        assertThat(statsCaptor.getValue().getRatingCount()).isZero();
+
+        BDDMockito
+                .verify(productRatingStatsRepository)
+                .increment(product.getId(), 1, 5, 0, 0, 0, 0, 1);
+    }
+
+    @Test
+    @DisplayName("remove Decrements Count Sum And Star Bucket When Successful")
+    void remove_DecrementsCountSumAndStarBucket_WhenSuccessful() {
+        Rating rating = createRating(product, null);
+        rating.setStars(2);
+
+        productRatingStatsService.remove(rating);
+
+        BDDMockito
+                .verify(productRatingStatsRepository)
+                .increment(product.getId(), -1, -2, 0, -1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("rebuild Replaces Rows With Aggregates Of Ratings When Successful")
+    @SuppressWarnings("unchecked")
+    void rebuild_ReplacesRowsWithAggregatesOfRatings_WhenSuccessful() {
+        BDDMockito
+                .when(productRatingStatsRepository.countRatingsByProductAndStars())
+                .thenReturn(List.of(
+                        new Object[]{product.getId(), 5, 2L},
+                        new Object[]{product.getId(), 1, 1L}
+                ));
+
+        productRatingStatsService.rebuild();
+
+        ArgumentCaptor<Iterable<ProductRatingStats>> statsCaptor = ArgumentCaptor.forClass(Iterable.class);
+
+        BDDMockito
+                .verify(productRatingStatsRepository)
+                .deleteAllInBatch();
+
+        BDDMockito
+                .verify(productRatingStatsRepository)
+                .saveAll(statsCaptor.capture());
+
+        assertThat(statsCaptor.getValue())
+                .singleElement()
+                .satisfies((stats) -> {
+                    assertThat(stats.getProduct()).isEqualTo(product);
+
+                    assertThat(stats.getRatingCount()).isEqualTo(3);
+
+                    assertThat(stats.getStarsSum()).isEqualTo(11);
+
+                    assertThat(stats.getOneStar()).isEqualTo(1);
+
+                    assertThat(stats.getFiveStars()).isEqualTo(2);
+                });
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.skyg0d.shop.shiny.service;
 
+import com.skyg0d.shop.shiny.exception.BadRequestException;
+import com.skyg0d.shop.shiny.exception.InactiveProductOnOrderException;
 import com.skyg0d.shop.shiny.exception.ProductCategoryNotFoundException;
+import com.skyg0d.shop.shiny.exception.ProductOverflowAmountException;
 import com.skyg0d.shop.shiny.exception.ResourceNotFoundException;
 import com.skyg0d.shop.shiny.exception.SlugAlreadyExistsException;
 import com.skyg0d.shop.shiny.mapper.ProductMapper;
@@ -9,8 +12,17 @@ import com.skyg0d.shop.shiny.payload.ApplyDiscountParams;
 import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceProductRequest;
 import com.skyg0d.shop.shiny.payload.response.AdminProductResponse;
+import com.skyg0d.shop.shiny.payload.response.CategoryResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductFacetsResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductRatingStatsResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductSearchResponse;
 import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
+import com.skyg0d.shop.shiny.recommendation.RelatedProductsIndex;
 import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.projection.ProductCategoryView;
+import com.skyg0d.shop.shiny.repository.projection.ProductElementView;
+import com.skyg0d.shop.shiny.repository.projection.ProductView;
+import com.skyg0d.shop.shiny.search.ProductSearchIndex;
 import com.skyg0d.shop.shiny.util.category.CategoryCreator;
 import com.stripe.model.Price;
 import com.stripe.param.ProductUpdateParams;
@@ -24,14 +36,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static com.skyg0d.shop.shiny.util.product.ProductCreator.*;
 import static org.assertj.core.api.Assertions.*;
@@ -52,6 +68,21 @@ public class ProductServiceTest {
     @Mock
     StripeService stripeService;
 
+    @Mock
+    ProductCacheService productCacheService;
+
+    @Mock
+    ProductSearchIndex productSearchIndex;
+
+    @Mock
+    StripeOutboxService stripeOutboxService;
+
+    @Mock
+    ProductRatingStatsService productRatingStatsService;
+
+    @Mock
+    RelatedProductsIndex relatedProductsIndex;
+
     @Spy
     ProductMapper productMapper = ProductMapper.INSTANCE;
 
@@ -62,21 +93,25 @@ public class ProductServiceTest {
 
         com.stripe.model.Product stripeProductMock = new com.stripe.model.Product();
 
+        BDDMockito
+                .when(productCacheService.get(ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .thenAnswer((invocation) -> invocation.<Function<String, UserProductResponse>>getArgument(1).apply(invocation.getArgument(0)));
+
         BDDMockito
                 .when(productRepository.findAll(ArgumentMatchers.any(Pageable.class)))
                 .thenReturn(productsPage);
 
         BDDMockito
-                .when(productRepository.findAllByActiveTrue(ArgumentMatchers.any(Pageable.class)))
-                .thenReturn(productsPage);
+                .when(productRepository.findAllActiveViews(ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(createProductView())));
 
         BDDMockito
                 .when(productRepository.findBySlug(ArgumentMatchers.anyString()))
                 .thenReturn(Optional.of(createProduct()));
 
         BDDMockito
-                .when(productRepository.findAll(ArgumentMatchers.<Specification<Product>>any(), ArgumentMatchers.any(Pageable.class)))
-                .thenReturn(productsPage);
+                .when(productRepository.findViewBySlug(ArgumentMatchers.anyString()))
+                .thenReturn(Optional.of(createProductView()));
 
         BDDMockito
                 .when(productRepository.existsBySlug(ArgumentMatchers.anyString()))
@@ -169,6 +204,47 @@ public class ProductServiceTest {
         assertThat(productsPage.getContent().get(0).getSlug()).isEqualTo(expectedProduct.getSlug());
     }
 
+    @Test
+    @DisplayName("listAllActive Loads Collections Once Per Page When Successful")
+    void listAllActive_LoadsCollectionsOncePerPage_WhenSuccessful() {
+        ProductView first = createProductView();
+        ProductView second = createProductView();
+
+        BDDMockito
+                .when(productRepository.findAllActiveViews(ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(first, second)));
+
+        BDDMockito
+                .when(productRepository.findAllCategoryViewsByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(new ProductCategoryView(second.getId(), "category", "Category", null, null)));
+
+        BDDMockito
+                .when(productRepository.findAllImageViewsByIdIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(new ProductElementView(first.getId(), "first-image"), new ProductElementView(second.getId(), "second-image")));
+
+        BDDMockito
+                .when(productRatingStatsService.findAllByProductIds(ArgumentMatchers.anyCollection()))
+                .thenReturn(Map.of(first.getId(), ProductRatingStatsResponse.builder().count(2).average(4.5).build()));
+
+        List<UserProductResponse> products = productService.listAllActive(PageRequest.of(0, 2)).getContent();
+
+        assertThat(products).extracting(UserProductResponse::getImages).containsExactly(List.of("first-image"), List.of("second-image"));
+
+        assertThat(products.get(0).getCategories()).isEmpty();
+
+        assertThat(products.get(1).getCategories()).extracting(CategoryResponse::getSlug).containsExactly("category");
+
+        assertThat(products.get(0).getRating().getAverage()).isEqualTo(4.5);
+
+        BDDMockito
+                .verify(productRepository)
+                .findAllImageViewsByIdIn(Set.of(first.getId(), second.getId()));
+
+        BDDMockito
+                .verify(productRatingStatsService)
+                .findAllByProductIds(Set.of(first.getId(), second.getId()));
+    }
+
     @Test
     @DisplayName("findBySlug Returns Product When Successful")
     void findBySlug_ReturnsProduct_WhenSuccessful() {
@@ -204,23 +280,90 @@ public class ProductServiceTest {
         assertThat(productFound.getSlug()).isEqualTo(expectedProduct.getSlug());
     }
 
+    @Test
+    @DisplayName("findBySlugMapped Reads Product Through Cache When Successful")
+    void findBySlugMapped_ReadsProductThroughCache_WhenSuccessful() {
+        productService.findBySlugMapped(SLUG);
+
+        BDDMockito
+                .verify(productCacheService)
+                .get(ArgumentMatchers.eq(SLUG), ArgumentMatchers.any());
+    }
+
     @Test
     @DisplayName("findBySlugMapped Throws ResourceNotFoundException When Product Don't Exists")
     void findBySlugMapped_ThrowsResourceNotFoundException_WhenProductDoNotExists() {
         BDDMockito
-                .when(productRepository.findBySlug(ArgumentMatchers.anyString()))
+                .when(productRepository.findViewBySlug(ArgumentMatchers.anyString()))
                 .thenReturn(Optional.empty());
 
         assertThatExceptionOfType(ResourceNotFoundException.class)
                 .isThrownBy(() -> productService.findBySlugMapped("test-slug"));
     }
 
+    @Test
+    @DisplayName("findRelated Returns Related Products In Index Order When Successful")
+    void findRelated_ReturnsRelatedProductsInIndexOrder_WhenSuccessful() {
+        BDDMockito
+                .when(relatedProductsIndex.findRelatedSlugs(SLUG, 5))
+                .thenReturn(List.of(SLUG, "deleted-slug"));
+
+        BDDMockito
+                .when(productRepository.findViewBySlug("deleted-slug"))
+                .thenReturn(Optional.empty());
+
+        List<UserProductResponse> related = productService.findRelated(SLUG, 5);
+
+        assertThat(related)
+                .singleElement()
+                .satisfies((product) -> assertThat(product.getSlug()).isEqualTo(SLUG));
+    }
+
+    @Test
+    @DisplayName("findRelated Throws ResourceNotFoundException When Product Don't Exists")
+    void findRelated_ThrowsResourceNotFoundException_WhenProductDoNotExists() {
+        BDDMockito
+                .when(productRepository.findViewBySlug(ArgumentMatchers.anyString()))
+                .thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> productService.findRelated("test-slug", 5));
+
+        BDDMockito
+                .verifyNoInteractions(relatedProductsIndex);
+    }
+
+    @Test
+    @DisplayName("findRelated Throws BadRequestException When Limit Is Out Of Range")
+    void findRelated_ThrowsBadRequestException_WhenLimitIsOutOfRange() {
+        assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> productService.findRelated(SLUG, -1));
+
+        assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> productService.findRelated(SLUG, ProductService.MAX_RELATED_LIMIT + 1));
+
+        BDDMockito
+                .verifyNoInteractions(relatedProductsIndex);
+    }
+
     @Test
     @DisplayName("search Returns List Of Products Inside Page Object When Successful")
     void search_ReturnsListOfProductsInsidePageObject_WhenSuccessful() {
         UserProductResponse expectedProduct = createUserProductResponse();
 
-        Page<UserProductResponse> productsPage = productService.search(createProductParametersSearch(), PageRequest.of(0, 1));
+        ProductView product = createProductView();
+
+        ProductFacetsResponse facets = ProductFacetsResponse.builder().withoutDiscount(3).build();
+
+        BDDMockito
+                .when(productSearchIndex.search(ArgumentMatchers.any(), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(new ProductSearchResponse<>(List.of(product.getId()), PageRequest.of(0, 1), 3, facets));
+
+        BDDMockito
+                .when(productRepository.findAllViewsByIdIn(List.of(product.getId())))
+                .thenReturn(List.of(product));
+
+        ProductSearchResponse<UserProductResponse> productsPage = productService.search(createProductParametersSearch(), PageRequest.of(0, 1));
 
         assertThat(productsPage).isNotEmpty();
 
@@ -229,6 +372,10 @@ public class ProductServiceTest {
         assertThat(productsPage.getContent().get(0)).isNotNull();
 
         assertThat(productsPage.getContent().get(0).getSlug()).isEqualTo(expectedProduct.getSlug());
+
+        assertThat(productsPage.getTotalElements()).isEqualTo(3);
+
+        assertThat(productsPage.getFacets()).isSameAs(facets);
     }
 
     @Test
@@ -268,6 +415,7 @@ public class ProductServiceTest {
 
     @Test
     @DisplayName("replace Updates Product When Successful")
+    @SneakyThrows
     void replace_UpdatesProduct_WhenSuccessful() {
         BDDMockito
                 .when(productMapper.toProduct(ArgumentMatchers.any(ReplaceProductRequest.class), ArgumentMatchers.any(Product.class)))
@@ -281,6 +429,60 @@ public class ProductServiceTest {
 
         assertThatCode(() -> productService.replace(secondRequest))
                 .doesNotThrowAnyException();
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(1))
+                .createPrice(ArgumentMatchers.any(), ArgumentMatchers.eq(new BigDecimal(400)));
+
+        BDDMockito
+                .verify(stripeOutboxService, BDDMockito.times(1))
+                .retirePrice(ArgumentMatchers.any(Product.class));
+
+        BDDMockito
+                .verify(stripeOutboxService, BDDMockito.times(2))
+                .updateProduct(ArgumentMatchers.any(Product.class));
+    }
+
+    @Test
+    @DisplayName("replace Saves New Stripe Price With Local Price When Price Changed")
+    @SneakyThrows
+    void replace_SavesNewStripePriceWithLocalPrice_WhenPriceChanged() {
+        Price newPrice = new Price();
+        newPrice.setId("price_new");
+
+        BDDMockito
+                .when(stripeService.createPrice(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(newPrice);
+
+        BDDMockito
+                .when(productMapper.toProduct(ArgumentMatchers.any(ReplaceProductRequest.class), ArgumentMatchers.any(Product.class)))
+                .thenAnswer((invocation) -> invocation.getArgument(1));
+
+        AtomicReference<String> retiredPriceId = new AtomicReference<>();
+
+        BDDMockito
+                .doAnswer((invocation) -> {
+                    retiredPriceId.set(invocation.<Product>getArgument(0).getStripePriceId());
+
+                    return null;
+                })
+                .when(stripeOutboxService)
+                .retirePrice(ArgumentMatchers.any(Product.class));
+
+        ReplaceProductRequest request = createReplaceProductRequest();
+        request.setPrice(new BigDecimal(400));
+
+        productService.replace(request);
+
+        ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
+
+        BDDMockito
+                .verify(productRepository)
+                .save(productCaptor.capture());
+
+        assertThat(productCaptor.getValue().getStripePriceId()).isEqualTo("price_new");
+
+        assertThat(retiredPriceId).hasValue(STRIPE_PRICE_ID);
     }
 
     @Test
@@ -311,6 +513,101 @@ public class ProductServiceTest {
                 .doesNotThrowAnyException();
     }
 
+    @Test
+    @DisplayName("changeAmount Evicts Cached Product When Successful")
+    void changeAmount_EvictsCachedProduct_WhenSuccessful() {
+        productService.changeAmount(SLUG, 10);
+
+        BDDMockito
+                .verify(productCacheService)
+                .evict(SLUG);
+    }
+
+    @Test
+    @DisplayName("addCategory Touches Product Update Time When Successful")
+    void addCategory_TouchesProductUpdateTime_WhenSuccessful() {
+        Product productToReturn = createProduct();
+        productToReturn.setUpdatedAt(LocalDateTime.now().minusDays(1));
+
+        BDDMockito
+                .when(productRepository.findBySlug(ArgumentMatchers.anyString()))
+                .thenReturn(Optional.of(productToReturn));
+
+        productService.addCategory("test-product", "test-category");
+
+        assertThat(productToReturn.getUpdatedAt()).isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("findAllBySlug Returns Products By Slug When Successful")
+    void findAllBySlug_ReturnsProductsBySlug_WhenSuccessful() {
+        BDDMockito
+                .when(productRepository.findAllBySlugIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(createProduct()));
+
+        Map<String, Product> productsFound = productService.findAllBySlug(Set.of(SLUG));
+
+        assertThat(productsFound).containsOnlyKeys(SLUG);
+
+        assertThat(productsFound.get(SLUG).getName()).isEqualTo(NAME);
+    }
+
+    @Test
+    @DisplayName("findAllBySlug Throws ResourceNotFoundException When Some Product Don't Exists")
+    void findAllBySlug_ThrowsResourceNotFoundException_WhenSomeProductDoNotExists() {
+        BDDMockito
+                .when(productRepository.findAllBySlugIn(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(createProduct()));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> productService.findAllBySlug(Set.of(SLUG, "other-slug")));
+    }
+
+    @Test
+    @DisplayName("decreaseAmount Decreases Product Amount When Successful")
+    void decreaseAmount_DecreasesProductAmount_WhenSuccessful() {
+        BDDMockito
+                .when(productRepository.decreaseAmount(ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        assertThatCode(() -> productService.decreaseAmount(createProduct(), 1))
+                .doesNotThrowAnyException();
+
+        BDDMockito
+                .verify(productSearchIndex)
+                .changeAmount(null, -1);
+    }
+
+    @Test
+    @DisplayName("decreaseAmount Throws ProductOverflowAmountException When Product Has No Stock")
+    void decreaseAmount_ThrowsProductOverflowAmountException_WhenProductHasNoStock() {
+        BDDMockito
+                .when(productRepository.decreaseAmount(ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        BDDMockito
+                .when(productRepository.findActiveAmountById(ArgumentMatchers.any()))
+                .thenReturn(Optional.of(0L));
+
+        assertThatExceptionOfType(ProductOverflowAmountException.class)
+                .isThrownBy(() -> productService.decreaseAmount(createProduct(), 1));
+    }
+
+    @Test
+    @DisplayName("decreaseAmount Throws InactiveProductOnOrderException When Product Is Inactive")
+    void decreaseAmount_ThrowsInactiveProductOnOrderException_WhenProductIsInactive() {
+        BDDMockito
+                .when(productRepository.decreaseAmount(ArgumentMatchers.any(), ArgumentMatchers.anyLong(), ArgumentMatchers.any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        BDDMockito
+                .when(productRepository.findActiveAmountById(ArgumentMatchers.any()))
+                .thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(InactiveProductOnOrderException.class)
+                .isThrownBy(() -> productService.decreaseAmount(createProduct(), 1));
+    }
+
     @Test
     @DisplayName("addCategory Append Category To Product When Successful")
     void addCategory_AppendCategoryToProduct_WhenSuccessful() {
@@ -342,18 +639,24 @@ public class ProductServiceTest {
 
     @Test
     @DisplayName("delete Removes Product When Successful")
-    @SneakyThrows
     void delete_RemovesProduct_WhenSuccessful() {
         assertThatCode(() -> productService.delete("test-slug"))
                 .doesNotThrowAnyException();
 
         BDDMockito
-                .willThrow(new RuntimeException())
-                .given(stripeService)
-                .desactivePrice(ArgumentMatchers.anyString());
+                .verify(stripeOutboxService)
+                .deleteProduct(ArgumentMatchers.any(Product.class));
 
-        assertThatCode(() -> productService.delete("test-slug"))
-                .doesNotThrowAnyException();
+        BDDMockito
+                .verify(productRatingStatsService)
+                .removeProduct(ArgumentMatchers.any(Product.class));
+
+        BDDMockito
+                .verify(relatedProductsIndex)
+                .remove(ArgumentMatchers.any());
+
+        BDDMockito
+                .verifyNoInteractions(stripeService);
     }
 
 }
@@ -9,6 +9,7 @@ import com.skyg0d.shop.shiny.model.Product;
 import com.skyg0d.shop.shiny.model.Rating;
 import com.skyg0d.shop.shiny.model.User;
 import com.skyg0d.shop.shiny.payload.request.CreateRatingRequest;
+import com.skyg0d.shop.shiny.payload.response.ProductRatingStatsResponse;
 import com.skyg0d.shop.shiny.payload.response.RatingResponse;
 import com.skyg0d.shop.shiny.payload.response.RatingStarsAverageResponse;
 import com.skyg0d.shop.shiny.repository.RatingRepository;
@@ -53,6 +54,12 @@ public class RatingServiceTest {
     @Mock
     AuthUtils authUtils;
 
+    @Mock
+    ProductRatingStatsService productRatingStatsService;
+
+    @Mock
+    ProductCacheService productCacheService;
+
     @Spy
     RatingMapper ratingMapper = new RatingMapperImpl();
 
@@ -77,8 +84,8 @@ public class RatingServiceTest {
                 .thenReturn(ratingsPage);
 
         BDDMockito
-                .when(ratingRepository.productStarsAverage(ArgumentMatchers.anyString()))
-                .thenReturn(5D);
+                .when(productRatingStatsService.findByProductSlug(ArgumentMatchers.anyString()))
+                .thenReturn(ProductRatingStatsResponse.builder().count(1).average(5D).build());
 
         BDDMockito
                 .when(ratingRepository.existsByProductAndUser(ArgumentMatchers.any(Product.class), ArgumentMatchers.any(User.class)))
@@ -158,6 +165,17 @@ public class RatingServiceTest {
         assertThat(productStarsAverage.getStars()).isEqualTo(5);
     }
 
+    @Test
+    @DisplayName("productStarsAverage Throws ResourceNotFoundException When Product Not Found")
+    void productStarsAverage_ThrowsResourceNotFoundException_WhenProductNotFound() {
+        BDDMockito
+                .when(productRatingStatsService.findByProductSlug(ArgumentMatchers.anyString()))
+                .thenThrow(new ResourceNotFoundException("Product not found with slug: " + ProductCreator.SLUG));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> ratingService.productStarsAverage(ProductCreator.SLUG));
+    }
+
     @Test
     @DisplayName("create Persists Rating When Successful")
     void create_PersistsRating_WhenSuccessful() {
@@ -170,6 +188,14 @@ public class RatingServiceTest {
         assertThat(ratingCreated.getUser().getEmail()).isEqualTo(UserCreator.EMAIL);
 
         assertThat(ratingCreated.getProduct().getSlug()).isEqualTo(ProductCreator.SLUG);
+
+        BDDMockito
+                .verify(productRatingStatsService)
+                .add(ArgumentMatchers.any(Rating.class));
+
+        BDDMockito
+                .verify(productCacheService)
+                .evict(ProductCreator.SLUG);
     }
 
     @Test
@@ -191,6 +217,10 @@ public class RatingServiceTest {
     void delete_RemovesRating_WhenSuccessful() {
         assertThatCode(() -> ratingService.delete(UUID.randomUUID().toString()))
                 .doesNotThrowAnyException();
+
+        BDDMockito
+                .verify(productRatingStatsService)
+                .remove(ArgumentMatchers.any(Rating.class));
     }
 
     @Test
@@ -0,0 +1,212 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.exception.ProductOverflowAmountException;
+import com.skyg0d.shop.shiny.model.EReservationStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.model.StockReservation;
+import com.skyg0d.shop.shiny.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrder;
+import static com.skyg0d.shop.shiny.util.reservation.StockReservationCreator.createStockReservation;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for StockReservationService")
+public class StockReservationServiceTest {
+
+    static final Set<EReservationStatus> HOLDING_STATUSES = EnumSet.of(EReservationStatus.ACTIVE, EReservationStatus.CONFIRMED);
+
+    @InjectMocks
+    StockReservationService stockReservationService;
+
+    @Mock
+    StockReservationRepository reservationRepository;
+
+    @Mock
+    ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        BDDMockito
+                .when(reservationRepository.saveAll(ArgumentMatchers.anyList()))
+                .thenAnswer((invocation) -> invocation.getArgument(0));
+
+        BDDMockito
+                .when(reservationRepository.findAllByOrder(ArgumentMatchers.any(Order.class)))
+                .thenReturn(List.of(createStockReservation()));
+
+        BDDMockito
+                .when(reservationRepository.changeStatus(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any(EReservationStatus.class), ArgumentMatchers.any(EReservationStatus.class)))
+                .thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("hold Reserves Stock For Every Item When Successful")
+    void hold_ReservesStockForEveryItem_WhenSuccessful() {
+        Order order = createOrder();
+
+        List<StockReservation> reservations = stockReservationService.hold(order);
+
+        assertThat(reservations).hasSize(order.getItems().size());
+
+        assertThat(reservations.get(0).getStatus()).isEqualTo(EReservationStatus.ACTIVE);
+
+        BDDMockito
+                .verify(productService)
+                .decreaseAmount(order.getItems().get(0).getProduct(), order.getItems().get(0).getAmount());
+    }
+
+    @Test
+    @DisplayName("hold Throws ProductOverflowAmountException When Product No Stock")
+    void hold_ThrowsProductOverflowAmountException_WhenProductNoStock() {
+        BDDMockito
+                .doThrow(new ProductOverflowAmountException("test-slug", 0))
+                .when(productService)
+                .decreaseAmount(ArgumentMatchers.any(Product.class), ArgumentMatchers.anyLong());
+
+        assertThatExceptionOfType(ProductOverflowAmountException.class)
+                .isThrownBy(() -> stockReservationService.hold(createOrder()));
+
+        BDDMockito
+                .verify(reservationRepository, BDDMockito.never())
+                .saveAll(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    @DisplayName("confirm Confirms Active Reservations When Successful")
+    void confirm_ConfirmsActiveReservations_WhenSuccessful() {
+        stockReservationService.confirm(createOrder());
+
+        BDDMockito
+                .verify(reservationRepository)
+                .changeStatus(ArgumentMatchers.any(UUID.class), ArgumentMatchers.eq(EReservationStatus.ACTIVE), ArgumentMatchers.eq(EReservationStatus.CONFIRMED));
+
+        BDDMockito
+                .verify(productService, BDDMockito.never())
+                .increaseAmount(ArgumentMatchers.any(Product.class), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("release Restores Stock When Reservation Is Active")
+    void release_RestoresStock_WhenReservationIsActive() {
+        stockReservationService.release(createOrder());
+
+        BDDMockito
+                .verify(productService)
+                .increaseAmount(ArgumentMatchers.any(Product.class), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("release Does Not Restore Stock When Reservation Is No Longer Active")
+    void release_DoesNotRestoreStock_WhenReservationIsNoLongerActive() {
+        BDDMockito
+                .when(reservationRepository.changeStatus(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any(EReservationStatus.class), ArgumentMatchers.any(EReservationStatus.class)))
+                .thenReturn(0);
+
+        stockReservationService.release(createOrder());
+
+        BDDMockito
+                .verify(productService, BDDMockito.never())
+                .increaseAmount(ArgumentMatchers.any(Product.class), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("release Restores Stock When Reservation Is Confirmed")
+    void release_RestoresStock_WhenReservationIsConfirmed() {
+        StockReservation reservation = createStockReservation();
+        reservation.setStatus(EReservationStatus.CONFIRMED);
+
+        BDDMockito
+                .when(reservationRepository.findAllByOrder(ArgumentMatchers.any(Order.class)))
+                .thenReturn(List.of(reservation));
+
+        stockReservationService.release(createOrder());
+
+        BDDMockito
+                .verify(reservationRepository)
+                .changeStatus(reservation.getId(), EReservationStatus.CONFIRMED, EReservationStatus.RELEASED);
+
+        BDDMockito
+                .verify(productService)
+                .increaseAmount(reservation.getProduct(), reservation.getAmount());
+    }
+
+    @Test
+    @DisplayName("release Does Not Restore Stock When Reservation Was Already Released")
+    void release_DoesNotRestoreStock_WhenReservationWasAlreadyReleased() {
+        StockReservation reservation = createStockReservation();
+        reservation.setStatus(EReservationStatus.RELEASED);
+
+        BDDMockito
+                .when(reservationRepository.findAllByOrder(ArgumentMatchers.any(Order.class)))
+                .thenReturn(List.of(reservation));
+
+        stockReservationService.release(createOrder());
+
+        BDDMockito
+                .verify(reservationRepository, BDDMockito.never())
+                .changeStatus(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any(EReservationStatus.class), ArgumentMatchers.any(EReservationStatus.class));
+
+        BDDMockito
+                .verify(productService, BDDMockito.never())
+                .increaseAmount(ArgumentMatchers.any(Product.class), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("releaseAll Restores Stock And Releases Reservations Of Orders When Reservations Are Active Or Confirmed")
+    void releaseAll_RestoresStockAndReleasesReservationsOfOrders_WhenReservationsAreActiveOrConfirmed() {
+        List<UUID> orderIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<StockReservation> reservations = List.of(createStockReservation());
+
+        BDDMockito
+                .when(reservationRepository.findAllByStatusInAndOrderIdIn(HOLDING_STATUSES, orderIds))
+                .thenReturn(reservations);
+
+        stockReservationService.releaseAll(orderIds);
+
+        BDDMockito
+                .verify(productService)
+                .increaseAmountByReservations(reservations);
+
+        BDDMockito
+                .verify(reservationRepository)
+                .changeStatusByOrderIdIn(orderIds, HOLDING_STATUSES, EReservationStatus.RELEASED);
+    }
+
+    @Test
+    @DisplayName("releaseAll Does Not Restore Stock When Orders Hold No Stock")
+    void releaseAll_DoesNotRestoreStock_WhenOrdersHoldNoStock() {
+        List<UUID> orderIds = List.of(UUID.randomUUID());
+
+        BDDMockito
+                .when(reservationRepository.findAllByStatusInAndOrderIdIn(HOLDING_STATUSES, orderIds))
+                .thenReturn(List.of());
+
+        stockReservationService.releaseAll(orderIds);
+
+        BDDMockito
+                .verify(productService, BDDMockito.never())
+                .increaseAmountByReservations(ArgumentMatchers.anyCollection());
+
+        BDDMockito
+                .verify(reservationRepository, BDDMockito.never())
+                .changeStatusByOrderIdIn(ArgumentMatchers.anyCollection(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+}
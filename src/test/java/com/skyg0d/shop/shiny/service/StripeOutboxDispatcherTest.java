@@ -0,0 +1,374 @@
+package com.skyg0d.shop.shiny.service;
+
+import com.skyg0d.shop.shiny.model.EOutboxStatus;
+import com.skyg0d.shop.shiny.model.EStripeOutboxType;
+import com.skyg0d.shop.shiny.model.StripeOutboxEvent;
+import com.skyg0d.shop.shiny.payload.ApplyDiscountParams;
+import com.skyg0d.shop.shiny.property.StripeOutboxProps;
+import com.skyg0d.shop.shiny.repository.ProductRepository;
+import com.skyg0d.shop.shiny.repository.StripeOutboxEventRepository;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.param.ProductUpdateParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.skyg0d.shop.shiny.util.product.ProductCreator.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for StripeOutboxDispatcher")
+public class StripeOutboxDispatcherTest {
+
+    StripeOutboxDispatcher stripeOutboxDispatcher;
+
+    @Mock
+    StripeOutboxEventRepository stripeOutboxEventRepository;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    StripeService stripeService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    MeterRegistry meterRegistry;
+
+    List<StripeOutboxEvent> events;
+
+    @BeforeEach
+    @SneakyThrows
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        events = new ArrayList<>();
+
+        StripeOutboxProps stripeOutboxProps = new StripeOutboxProps(Duration.ofSeconds(5), 10, 3, Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        stripeOutboxDispatcher = new StripeOutboxDispatcher(stripeOutboxEventRepository, productRepository, stripeService, stripeOutboxProps, new SyncTaskExecutor(), meterRegistry, transactionManager);
+
+        BDDMockito
+                .when(stripeOutboxEventRepository.findAllDueStripeProductIds(ArgumentMatchers.eq(EOutboxStatus.PENDING), ArgumentMatchers.any(Instant.class), ArgumentMatchers.any(Pageable.class)))
+                .thenAnswer((invocation) -> events.stream().map(StripeOutboxEvent::getStripeProductId).filter(Objects::nonNull).distinct().collect(Collectors.toList()))
+                .thenReturn(List.of());
+
+        BDDMockito
+                .when(stripeOutboxEventRepository.findAllDueIdsByType(ArgumentMatchers.eq(EOutboxStatus.PENDING), ArgumentMatchers.eq(EStripeOutboxType.DEACTIVATE_PAYMENT_LINK), ArgumentMatchers.any(Instant.class), ArgumentMatchers.any(Pageable.class)))
+                .thenAnswer((invocation) -> events.stream().filter((event) -> event.getStripePaymentLinkId() != null).map(StripeOutboxEvent::getId).collect(Collectors.toList()))
+                .thenReturn(List.of());
+
+        BDDMockito
+                .when(stripeOutboxEventRepository.findAllByStatusAndClaimedByOrderByCreatedAt(ArgumentMatchers.eq(EOutboxStatus.PENDING), ArgumentMatchers.anyString()))
+                .thenAnswer((invocation) -> new ArrayList<>(events));
+
+        BDDMockito
+                .when(productRepository.findByStripeProductId(STRIPE_PRODUCT_ID))
+                .thenReturn(Optional.of(createProduct()));
+
+        BDDMockito
+                .when(stripeService.createPromotionCode(ArgumentMatchers.any(ApplyDiscountParams.class), ArgumentMatchers.anyString()))
+                .thenReturn(createPromotionCodeCreated());
+    }
+
+    @Test
+    @DisplayName("dispatch Coalesces Pending Updates Into One Stripe Call When Product Changed Many Times")
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    void dispatch_CoalescesPendingUpdatesIntoOneStripeCall_WhenProductChangedManyTimes() {
+        events.add(event(EStripeOutboxType.UPDATE_PRODUCT).build());
+        events.add(event(EStripeOutboxType.UPDATE_PRODUCT).build());
+        events.add(event(EStripeOutboxType.UPDATE_PRODUCT).build());
+
+        stripeOutboxDispatcher.dispatch();
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(1))
+                .updateProduct(ArgumentMatchers.eq(STRIPE_PRODUCT_ID), ArgumentMatchers.any(ProductUpdateParams.class));
+
+        ArgumentCaptor<Collection<UUID>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .deleteAllByIdIn(captor.capture());
+
+        assertThat(captor.getValue()).hasSize(3);
+
+        assertThat(meterRegistry.get("shop.stripe.outbox.coalesced").summary().totalAmount()).isEqualTo(3);
+
+        assertThat(meterRegistry.get("shop.stripe.outbox.dispatch").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("dispatch Deactivates Each Replaced Price Once When Price Changed Many Times")
+    @SneakyThrows
+    void dispatch_DeactivatesEachReplacedPriceOnce_WhenPriceChangedManyTimes() {
+        events.add(event(EStripeOutboxType.CHANGE_PRICE).stripePriceId(STRIPE_PRICE_ID).build());
+        events.add(event(EStripeOutboxType.CHANGE_PRICE).stripePriceId(STRIPE_PRICE_ID).build());
+        events.add(event(EStripeOutboxType.CHANGE_PRICE).stripePriceId("price_replaced_later").build());
+
+        stripeOutboxDispatcher.dispatch();
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.times(1))
+                .desactivePrice(STRIPE_PRICE_ID);
+
+        BDDMockito
+                .verify(stripeService)
+                .desactivePrice("price_replaced_later");
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.never())
+                .createPrice(ArgumentMatchers.anyString(), ArgumentMatchers.any(BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("dispatch Keeps Event For Retry When Old Price Deactivation Fails")
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    void dispatch_KeepsEventForRetry_WhenOldPriceDeactivationFails() {
+        BDDMockito
+                .doThrow(new ApiConnectionException("Stripe unavailable"))
+                .when(stripeService)
+                .desactivePrice(STRIPE_PRICE_ID);
+
+        events.add(event(EStripeOutboxType.CHANGE_PRICE).stripePriceId(STRIPE_PRICE_ID).build());
+
+        stripeOutboxDispatcher.dispatch();
+
+        ArgumentCaptor<List<StripeOutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .saveAll(captor.capture());
+
+        assertThat(captor.getValue())
+                .singleElement()
+                .satisfies((event) -> {
+                    assertThat(event.getStripePriceId()).isEqualTo(STRIPE_PRICE_ID);
+                    assertThat(event.getAttempts()).isEqualTo(1);
+                    assertThat(event.getClaimedBy()).isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("dispatch Dispatches Only Claimed Events When Successful")
+    @SneakyThrows
+    void dispatch_DispatchesOnlyClaimedEvents_WhenSuccessful() {
+        events.add(event(EStripeOutboxType.UPDATE_PRODUCT).build());
+
+        stripeOutboxDispatcher.dispatch();
+
+        ArgumentCaptor<String> claimedByCaptor = ArgumentCaptor.forClass(String.class);
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .claimAllByStripeProductIdIn(
+                        ArgumentMatchers.eq(EOutboxStatus.PENDING),
+                        ArgumentMatchers.eq(List.of(STRIPE_PRODUCT_ID)),
+                        claimedByCaptor.capture(),
+                        ArgumentMatchers.any(Instant.class),
+                        ArgumentMatchers.any(Instant.class)
+                );
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .findAllByStatusAndClaimedByOrderByCreatedAt(EOutboxStatus.PENDING, claimedByCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("dispatch Parks Events Without Stripe Product When Successful")
+    void dispatch_ParksEventsWithoutStripeProduct_WhenSuccessful() {
+        stripeOutboxDispatcher.dispatch();
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .failAllWithoutTarget(ArgumentMatchers.eq(EOutboxStatus.PENDING), ArgumentMatchers.eq(EOutboxStatus.FAILED), ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("dispatch Retires Stale Discount Without Creating A New One When Discount Was Removed After Applied")
+    @SneakyThrows
+    void dispatch_RetiresStaleDiscountWithoutCreatingANewOne_WhenDiscountWasRemovedAfterApplied() {
+        events.add(event(EStripeOutboxType.CHANGE_DISCOUNT)
+                .stripePromotionCodeId(STRIPE_PROMOTION_CODE_ID)
+                .stripeCouponId(STRIPE_COUPON_ID)
+                .discountCode(DISCOUNT_CODE)
+                .discount(DISCOUNT)
+                .build());
+        events.add(event(EStripeOutboxType.CHANGE_DISCOUNT).build());
+
+        stripeOutboxDispatcher.dispatch();
+
+        BDDMockito
+                .verify(stripeService)
+                .deletePromotionCode(STRIPE_PROMOTION_CODE_ID, STRIPE_COUPON_ID);
+
+        BDDMockito
+                .verify(stripeService, BDDMockito.never())
+                .createPromotionCode(ArgumentMatchers.any(ApplyDiscountParams.class), ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("dispatch Deletes Product And Skips Pending Updates When Product Was Deleted")
+    @SneakyThrows
+    void dispatch_DeletesProductAndSkipsPendingUpdates_WhenProductWasDeleted() {
+        events.add(event(EStripeOutboxType.UPDATE_PRODUCT).build());
+        events.add(event(EStripeOutboxType.DELETE_PRODUCT).stripePriceId(STRIPE_PRICE_ID).build());
+
+        stripeOutboxDispatcher.dispatch();
+
+        BDDMockito
+                .verify(stripeService)
+                .desactivePrice(STRIPE_PRICE_ID);
+
+        BDDMockito
+                .verify(stripeService)
+                .deleteProduct(STRIPE_PRODUCT_ID);
+
+        BDDMockito
+                .verify(productRepository, BDDMockito.never())
+                .findByStripeProductId(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("dispatch Schedules Retry With Backoff When Stripe Fails")
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    void dispatch_SchedulesRetryWithBackoff_WhenStripeFails() {
+        BDDMockito
+                .doThrow(new ApiConnectionException("Stripe unavailable"))
+                .when(stripeService)
+                .updateProduct(ArgumentMatchers.anyString(), ArgumentMatchers.any(ProductUpdateParams.class));
+
+        events.add(event(EStripeOutboxType.UPDATE_PRODUCT).build());
+        events.add(event(EStripeOutboxType.UPDATE_PRODUCT).attempts(2).build());
+
+        Instant before = Instant.now();
+
+        stripeOutboxDispatcher.dispatch();
+
+        ArgumentCaptor<List<StripeOutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .saveAll(captor.capture());
+
+        assertThat(captor.getValue())
+                .hasSize(2)
+                .allSatisfy((event) -> {
+                    assertThat(event.getAttempts()).isEqualTo(3);
+                    assertThat(event.getStatus()).isEqualTo(EOutboxStatus.FAILED);
+                    assertThat(event.getNextAttemptAt()).isAfter(before);
+                    assertThat(event.getLastError()).isEqualTo("Stripe unavailable");
+                });
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository, BDDMockito.never())
+                .deleteAllByIdIn(ArgumentMatchers.anyCollection());
+
+        assertThat(meterRegistry.get("shop.stripe.outbox.dispatch").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("dispatch Deactivates Payment Link And Removes Event When Successful")
+    @SneakyThrows
+    void dispatch_DeactivatesPaymentLinkAndRemovesEvent_WhenSuccessful() {
+        StripeOutboxEvent event = paymentLinkEvent();
+
+        events.add(event);
+
+        stripeOutboxDispatcher.dispatch();
+
+        BDDMockito
+                .verify(stripeService)
+                .desactivePaymentLink("plink_expired");
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .deleteAllByIdIn(List.of(event.getId()));
+
+        assertThat(meterRegistry.get("shop.stripe.payment_link.deactivate").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("dispatch Schedules Payment Link Retry With Backoff When Stripe Fails")
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    void dispatch_SchedulesPaymentLinkRetryWithBackoff_WhenStripeFails() {
+        BDDMockito
+                .doThrow(new ApiConnectionException("Stripe unavailable"))
+                .when(stripeService)
+                .desactivePaymentLink(ArgumentMatchers.anyString());
+
+        events.add(paymentLinkEvent());
+
+        Instant before = Instant.now();
+
+        stripeOutboxDispatcher.dispatch();
+
+        ArgumentCaptor<List<StripeOutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository)
+                .saveAll(captor.capture());
+
+        assertThat(captor.getValue())
+                .singleElement()
+                .satisfies((event) -> {
+                    assertThat(event.getAttempts()).isEqualTo(1);
+                    assertThat(event.getStatus()).isEqualTo(EOutboxStatus.PENDING);
+                    assertThat(event.getNextAttemptAt()).isAfter(before);
+                });
+
+        BDDMockito
+                .verify(stripeOutboxEventRepository, BDDMockito.never())
+                .deleteAllByIdIn(ArgumentMatchers.anyCollection());
+
+        assertThat(meterRegistry.get("shop.stripe.payment_link.deactivate").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    private StripeOutboxEvent paymentLinkEvent() {
+        return StripeOutboxEvent
+                .builder()
+                .id(UUID.randomUUID())
+                .stripePaymentLinkId("plink_expired")
+                .type(EStripeOutboxType.DEACTIVATE_PAYMENT_LINK)
+                .status(EOutboxStatus.PENDING)
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+
+    private StripeOutboxEvent.StripeOutboxEventBuilder<?, ?> event(EStripeOutboxType type) {
+        return StripeOutboxEvent
+                .builder()
+                .id(UUID.randomUUID())
+                .stripeProductId(STRIPE_PRODUCT_ID)
+                .type(type)
+                .nextAttemptAt(Instant.now());
+    }
+
+}
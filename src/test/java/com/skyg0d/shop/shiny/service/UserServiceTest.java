@@ -41,6 +41,9 @@ public class UserServiceTest {
     @Mock
     RoleService roleService;
 
+    @Mock
+    OrderSummaryService orderSummaryService;
+
     @BeforeEach
     void setUp() {
         List<User> usersList = List.of(
@@ -169,6 +172,22 @@ public class UserServiceTest {
                 .doesNotThrowAnyException();
     }
 
+    @Test
+    @DisplayName("replace Syncs User Order Summaries When Successful")
+    void replace_SyncsUserOrderSummaries_WhenSuccessful() {
+        BDDMockito
+                .when(userRepository.save(ArgumentMatchers.any(User.class)))
+                .thenAnswer((invocation) -> invocation.getArgument(0));
+
+        userService.replace(createReplaceUserRequest());
+
+        BDDMockito
+                .verify(orderSummaryService)
+                .syncUser(ArgumentMatchers.argThat((user) -> user.getEmail().equals(EMAIL)
+                        && user.getFullName().equals(FULL_NAME)
+                        && user.getUsername().equals(USERNAME)));
+    }
+
     @Test
     @DisplayName("promote Updates User Roles When Successful")
     void promote_UpdatesUserRoles_WhenSuccessful() {
@@ -0,0 +1,30 @@
+package com.skyg0d.shop.shiny.util;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+@Component
+public class StatementCounter {
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long count(Runnable action) {
+        statistics.clear();
+
+        action.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+}
@@ -4,12 +4,23 @@ import com.skyg0d.shop.shiny.mapper.OrderMapper;
 import com.skyg0d.shop.shiny.model.EOrderStatus;
 import com.skyg0d.shop.shiny.model.MyPaymentLink;
 import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.OrderDailyStats;
+import com.skyg0d.shop.shiny.model.OrderItem;
+import com.skyg0d.shop.shiny.model.OrderSummary;
+import com.skyg0d.shop.shiny.model.Product;
+import com.skyg0d.shop.shiny.payload.OrderStatusView;
+import com.skyg0d.shop.shiny.payload.request.ChangeOrdersStatusRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderProduct;
 import com.skyg0d.shop.shiny.payload.request.CreateOrderRequest;
+import com.skyg0d.shop.shiny.payload.response.ChangeOrdersStatusResponse;
 import com.skyg0d.shop.shiny.payload.response.OrderResponse;
+import com.skyg0d.shop.shiny.payload.response.OrderStatusChangeResponse;
 import com.skyg0d.shop.shiny.payload.search.OrderParameterSearch;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,11 +34,10 @@ public class OrderCreator {
     public static final String STRIPE_PAYMENT_URL = "test-payment-url";
 
     public static Order createOrder() {
-        return Order
+        Order order = Order
                 .builder()
                 .id(ID)
                 .price(new BigDecimal(10))
-                .products(List.of(createProduct()))
                 .user(createUser())
                 .status(EOrderStatus.WAITING)
                 .paymentLink(MyPaymentLink
@@ -36,6 +46,29 @@ public class OrderCreator {
                         .paymentUrl(STRIPE_PAYMENT_URL)
                         .build())
                 .build();
+
+        order.setItems(new ArrayList<>(List.of(createOrderItem(order, createProduct(), 1))));
+
+        return order;
+    }
+
+    public static OrderItem createOrderItem(Order order, Product product, long amount) {
+        return OrderItem
+                .builder()
+                .order(order)
+                .product(product)
+                .amount(amount)
+                .price(product.getPrice())
+                .discount(product.getDiscount())
+                .build();
+    }
+
+    public static OrderSummary createOrderSummary() {
+        OrderSummary summary = new OrderSummary();
+
+        OrderMapper.INSTANCE.updateOrderSummary(createOrder(), summary);
+
+        return summary;
     }
 
     public static OrderResponse createOrderResponse() {
@@ -49,6 +82,75 @@ public class OrderCreator {
                 .build();
     }
 
+    public static OrderDailyStats createOrderDailyStats() {
+        return OrderDailyStats
+                .builder()
+                .day(LocalDate.now())
+                .status(EOrderStatus.WAITING)
+                .orderCount(1)
+                .revenue(new BigDecimal(10))
+                .units(1)
+                .build();
+    }
+
+    public static OrderStatusView createOrderStatusView(UUID id, EOrderStatus status, LocalDateTime createdAt) {
+        UUID userId = UUID.randomUUID();
+
+        return new OrderStatusView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public EOrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return new BigDecimal(10);
+            }
+
+            @Override
+            public Long getUnits() {
+                return 2L;
+            }
+
+            @Override
+            public String getPaymentId() {
+                return "plink_" + id;
+            }
+        };
+    }
+
+    public static ChangeOrdersStatusRequest createChangeOrdersStatusRequest() {
+        return ChangeOrdersStatusRequest
+                .builder()
+                .ids(List.of(ID.toString()))
+                .status(EOrderStatus.SHIPPED)
+                .build();
+    }
+
+    public static ChangeOrdersStatusResponse createChangeOrdersStatusResponse() {
+        return ChangeOrdersStatusResponse
+                .builder()
+                .status(EOrderStatus.SHIPPED)
+                .changed(1)
+                .results(List.of(new OrderStatusChangeResponse(ID.toString(), true, null)))
+                .build();
+    }
+
     public static OrderParameterSearch createOrderParameterSearch() {
         return OrderParameterSearch
                 .builder()
@@ -8,13 +8,19 @@ import com.skyg0d.shop.shiny.payload.request.ApplyDiscountRequest;
 import com.skyg0d.shop.shiny.payload.request.CreateProductRequest;
 import com.skyg0d.shop.shiny.payload.request.ReplaceProductRequest;
 import com.skyg0d.shop.shiny.payload.response.AdminProductResponse;
+import com.skyg0d.shop.shiny.payload.response.FacetCountResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductFacetsResponse;
+import com.skyg0d.shop.shiny.payload.response.ProductSearchResponse;
 import com.skyg0d.shop.shiny.payload.response.UserProductResponse;
 import com.skyg0d.shop.shiny.payload.search.ProductParametersSearch;
+import com.skyg0d.shop.shiny.repository.projection.ProductView;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 public class ProductCreator {
 
@@ -70,6 +76,7 @@ public class ProductCreator {
                 .thumbnail(THUMBNAIL)
                 .brand(BRAND)
                 .price(PRICE)
+                .effectivePrice(PRICE)
                 .amount(AMOUNT)
                 .images(IMAGES)
                 .sizes(SIZES)
@@ -80,6 +87,10 @@ public class ProductCreator {
                 .build();
     }
 
+    public static ProductView createProductView() {
+        return new ProductView(UUID.randomUUID(), null, null, SLUG, NAME, DESCRIPTION, THUMBNAIL, BRAND, PRICE, PRICE, AMOUNT, 0, null);
+    }
+
     public static AdminProductResponse createAdminProductResponse() {
         return ProductMapper.INSTANCE.toAdminProductResponse(createProduct());
     }
@@ -152,4 +163,14 @@ public class ProductCreator {
                 .build();
     }
 
+    public static ProductSearchResponse<UserProductResponse> createProductSearchResponse() {
+        ProductFacetsResponse facets = ProductFacetsResponse
+                .builder()
+                .brands(List.of(new FacetCountResponse(BRAND, 1)))
+                .withoutDiscount(1)
+                .build();
+
+        return new ProductSearchResponse<>(List.of(createUserProductResponse()), PageRequest.of(0, 1), 1, facets);
+    }
+
 }
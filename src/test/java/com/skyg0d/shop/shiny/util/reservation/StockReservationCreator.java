@@ -0,0 +1,31 @@
+package com.skyg0d.shop.shiny.util.reservation;
+
+import com.skyg0d.shop.shiny.model.EReservationStatus;
+import com.skyg0d.shop.shiny.model.Order;
+import com.skyg0d.shop.shiny.model.StockReservation;
+
+import java.util.UUID;
+
+import static com.skyg0d.shop.shiny.util.order.OrderCreator.createOrder;
+
+public class StockReservationCreator {
+
+    public static final UUID ID = UUID.fromString("3f1c2a8e-5b7d-4c11-9e0a-7d2b6f4e8a19");
+    public static final long AMOUNT = 1;
+
+    public static StockReservation createStockReservation() {
+        return createStockReservation(createOrder());
+    }
+
+    public static StockReservation createStockReservation(Order order) {
+        return StockReservation
+                .builder()
+                .id(ID)
+                .order(order)
+                .product(order.getItems().get(0).getProduct())
+                .amount(AMOUNT)
+                .status(EReservationStatus.ACTIVE)
+                .build();
+    }
+
+}